@@ -0,0 +1,59 @@
+package com.example.simpledms.controller;
+
+import com.example.simpledms.service.ChangeStreamService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * packageName    : com.example.simpledms.controller
+ * fileName       : ChangeStreamController
+ * author         : ds
+ * date           : 2026-10-18
+ * description    : 데이터 변경 알림(Server-Sent Events) 컨트롤러
+ * 요약 :
+ * GET /api/stream/dept, /api/stream/emp, /api/stream/faq
+ * 사용법(Vue) : new EventSource("http://localhost:8000/api/stream/emp")
+ *              .addEventListener("update", e => JSON.parse(e.data).ids ... )
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 2026-10-18        ds       최초 생성
+ */
+@Slf4j
+@CrossOrigin(origins = "http://localhost:8081")
+@RestController
+@RequestMapping("/api")
+public class ChangeStreamController {
+
+    @Autowired
+    ChangeStreamService changeStreamService;
+
+//    변경 알림 구독 : 연결을 유지하면서 commit 된 생성/수정/삭제를 이벤트로 전송
+    @GetMapping(value = "/stream/{name}", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> subscribe(@PathVariable String name) {
+
+        Class<?> entityClass = changeStreamService.topic(name);
+        if (entityClass == null) {
+//            없는 구독 대상
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+
+        try {
+            SseEmitter emitter = changeStreamService.subscribe(entityClass);
+
+            return new ResponseEntity<>(emitter, HttpStatus.OK);
+        } catch (IllegalStateException e) {
+            log.debug(e.getMessage());
+//            구독자 수 초과 : 잠시 후 다시 연결
+            return new ResponseEntity<>(HttpStatus.SERVICE_UNAVAILABLE);
+        } catch (Exception e) {
+            log.debug(e.getMessage());
+            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+}
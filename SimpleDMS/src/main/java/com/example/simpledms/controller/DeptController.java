@@ -2,15 +2,29 @@ package com.example.simpledms.controller;
 
 
 import com.example.simpledms.model.Dept;
+import com.example.simpledms.service.ChangeFeedService;
 import com.example.simpledms.service.DeptService;
+import com.example.simpledms.service.ResponseCacheService;
+import com.example.simpledms.service.TableVersionService;
+import com.example.simpledms.util.ETagUtil;
+import com.example.simpledms.util.JsonStreamUtil;
+import com.example.simpledms.util.LookupUtil;
+import com.example.simpledms.util.PageUtil;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import javax.servlet.http.HttpServletRequest;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -38,7 +52,7 @@ import java.util.Optional;
 @Slf4j
 // CORS 보안 : 한사이트레서 포트를 달리 사용 못함
 // @CrossOrigin(허용할 사이트주소(Vue 사이트주소:포트) : CORS 보안을 허용해주는 어노테이션
-@CrossOrigin(origins = "http://localhost:8081")
+@CrossOrigin(origins = "http://localhost:8081", exposedHeaders = {PageUtil.NEXT_CURSOR_HEADER, HttpHeaders.ETAG, HttpHeaders.LAST_MODIFIED})
 @RestController
 @RequestMapping("/api")
 public class DeptController {
@@ -46,32 +60,85 @@ public class DeptController {
     @Autowired
     DeptService deptService; // @Autowired : 스프링부트가 가동될 때 생성된 객체를 하나 받아오기
 
+    @Autowired
+    ObjectMapper objectMapper; // 스트리밍 응답시 JSON 변환용
+
+    @Autowired
+    ResponseCacheService responseCacheService; // 조회 응답(JSON) 캐시
+
+    @Autowired
+    TableVersionService tableVersionService; // 테이블 버전 ( ETag/Last-Modified, 304 )
+
+    @Autowired
+    ChangeFeedService changeFeedService; // 변경분(change feed) 조회
+
 //    frontend url ( 쿼리 스트링 방식) : ? 매개변수 전송방식 사용했으면 ------> backend @RequestParam
 //    frontend url (파라메터 방식) : /{} 매개변수 전송방식 사용했으면 ------> backend @PathVariable
+//     조건부 조회 : If-None-Match/If-Modified-Since 가 현재 테이블 버전과 같으면 조회 없이 304 전송
+//     조회 응답 캐시 : 같은 url(쿼리스트링 포함)이면 JSON 변환 없이 캐시된 byte[] ( gzip ) 전송
+//     ids 가 있으면 기본키 목록 조회 ( ?ids=1,2,3 : 요청 순서대로 + 없는 번호 목록 )
+//     fields 가 있으면 필요한 속성만 조회 ( ?fields=dno,dname : 기본키는 항상 포함 )
     @GetMapping("/dept")
-    public ResponseEntity<Object> getDeptAll(@RequestParam(required = false) String dname) {
+    public ResponseEntity<Object> getDeptAll(@RequestParam(required = false) String dname,
+                                            @RequestParam(required = false) List<Integer> ids,
+                                            @RequestParam(required = false) List<String> fields,
+                                            @RequestParam(required = false) Integer cursor,
+                                            @RequestParam(required = false) Integer size,
+                                            @RequestParam(required = false) String sort,
+                                            HttpServletRequest request) {
+
+        return tableVersionService.conditionalGet(Dept.class, request,
+                () -> responseCacheService.getOrLoad(Dept.class, request, () -> (ids != null) ? loadDeptByIds(ids) : loadDeptAll(dname, fields, cursor, size, sort)));
+    }
+
+    private ResponseEntity<Object> loadDeptAll(String dname, List<String> fields, Integer cursor, Integer size, String sort) {
 
         try {
 //            1) dname 이 null 일 경우 : 전체 검색
 //            2) dname 에 값이 있을 경우 : 부서명 like 검색
             List<Dept> list = Collections.emptyList(); // null 대신 초기화
+//            키셋 페이징 : 한번에 최대 PageUtil.MAX_SIZE 건까지만 조회
+            int pageSize = PageUtil.clampSize(size);
+            boolean desc = PageUtil.isDesc(sort);
+
+//            fields 가 있으면 필요한 속성(컬럼)만 조회 ( 엔티티 대신 속성명 -> 값 )
+            if (fields != null) {
+                List<Map<String, Object>> rows = deptService.findAllFields(fields, dname, cursor, pageSize, desc);
+                if (rows.isEmpty() == true) {
+                    return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+                }
+                HttpHeaders headers = new HttpHeaders();
+                if (rows.size() == pageSize) {
+                    headers.set(PageUtil.NEXT_CURSOR_HEADER, String.valueOf(rows.get(rows.size() - 1).get("dno")));
+                }
+                return new ResponseEntity<>(rows, headers, HttpStatus.OK);
+            }
 
             //     1) dname 이 null 일 경우 : 전체 검색
             if(dname == null) {
-                list = deptService.findAll();
+                list = deptService.findAll(cursor, pageSize, desc);
             } else {
                 //  2) dname 에 값이 있을 경우 : 부서명 like 검색
-                list = deptService.findAllByDnameContaining(dname);
+                list = deptService.findAllByDnameContaining(dname, cursor, pageSize, desc);
             }
 
             if (list.isEmpty() == false) {
+//                한 페이지가 꽉 찼으면 다음 페이지 커서(마지막 dno)를 헤더로 전송
+                HttpHeaders headers = new HttpHeaders();
+                if (list.size() == pageSize) {
+                    headers.set(PageUtil.NEXT_CURSOR_HEADER, String.valueOf(list.get(list.size() - 1).getDno()));
+                }
 //                데이터 + 성공 메세지 전송
-                return new ResponseEntity<>(list, HttpStatus.OK);
+                return new ResponseEntity<>(list, headers, HttpStatus.OK);
             } else {
 //                데이터 없음 메세지 전송(클라이언트에)
                 return new ResponseEntity<>(HttpStatus.NO_CONTENT);
             }
 
+        } catch (IllegalArgumentException e) {
+            log.debug(e.getMessage());
+//           잘못된 요청 파라메터(sort 등) 메세지 전송(클라이언트)
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
         } catch (Exception e) {
             log.debug(e.getMessage());
 //           서버 에러 발생 메세지 전송(클라이언트)
@@ -79,13 +146,99 @@ public class DeptController {
         }
     }
 
+//    여러 건 조회 : 기본키 목록을 한번에 조회 ( GET /api/dept?ids=1,2,3 과 같음 )
+//     url 길이 제한 없이 많은 기본키를 보낼 때 사용, 요청 body : [1, 2, 3]
+    @PostMapping("/dept/lookup")
+    public ResponseEntity<Object> lookupDept(@RequestBody List<Integer> ids) {
+
+        return loadDeptByIds(ids);
+    }
+
+//    여러 건 조회 : 요청한 순서대로 { items : [...], missing : [없는 번호] } 전송
+    private ResponseEntity<Object> loadDeptByIds(List<Integer> ids) {
+
+        try {
+            List<Integer> distinctIds = LookupUtil.distinctIds(ids);
+            Map<Integer, Dept> found = deptService.findAllByIds(distinctIds);
+
+            return new ResponseEntity<>(LookupUtil.result(distinctIds, found), HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            log.debug(e.getMessage());
+//           잘못된 요청 파라메터(ids 개수 등) 메세지 전송(클라이언트)
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        } catch (Exception e) {
+            log.debug(e.getMessage());
+//           서버 에러 발생 메세지 전송(클라이언트)
+            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+//    자동완성 : prefix 로 시작하는 부서명을 빈도(같은 값 수) 순으로 최대 limit 개 전송 ( 서버 메모리 trie, DB 조회 없음 )
+//     검색창 글자 입력마다 호출하는 용도 ( limit 생략 또는 최대값 : simpledms.suggest.top-k )
+    @GetMapping("/dept/suggest")
+    public ResponseEntity<Object> suggestDept(@RequestParam(required = false) String prefix,
+                                              @RequestParam(required = false) Integer limit) {
+
+        try {
+            List<String> list = deptService.suggest(prefix, limit);
+            if (list.isEmpty() == true) {
+                return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+            }
+
+            return new ResponseEntity<>(list, HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            log.debug(e.getMessage());
+//           잘못된 요청 파라메터(prefix 등) 메세지 전송(클라이언트)
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        } catch (Exception e) {
+            log.debug(e.getMessage());
+//           서버 에러 발생 메세지 전송(클라이언트)
+            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+//    변경분 조회 : since(변경 순번), after(기본키) 다음부터 생성/수정/삭제된 데이터를 변경 순서대로 전송
+//     응답의 since/after 를 다음 요청에 그대로 사용 ( 삭제된 데이터는 deleteYn = 'Y' )
+    @GetMapping("/dept/changes")
+    public ResponseEntity<Object> getDeptChanges(@RequestParam(required = false) Long since,
+                                                 @RequestParam(required = false) Integer after,
+                                                 @RequestParam(required = false) Integer limit) {
+
+        try {
+            Map<String, Object> result = changeFeedService.changes(Dept.class, "DNO", Dept::getDno, since, after, limit);
+
+            return new ResponseEntity<>(result, HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            log.debug(e.getMessage());
+//           잘못된 요청 파라메터(since 등) 메세지 전송(클라이언트)
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        } catch (Exception e) {
+            log.debug(e.getMessage());
+//           서버 에러 발생 메세지 전송(클라이언트)
+            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+//    전체 조회(스트리밍) : 내보내기/관리화면용, 페이지 제한 없이 DB 커서로 한 건씩 JSON 배열로 전송
+//     -> 데이터 건수와 상관없이 서버 메모리 사용량이 일정함
+    @GetMapping("/dept/stream")
+    public ResponseEntity<StreamingResponseBody> streamDeptAll() {
+
+        StreamingResponseBody body = JsonStreamUtil.jsonArray(objectMapper, deptService::streamAll);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+
+//    전체 삭제 : loc 를 주면 부서 위치(loc) 조건에 맞는 데이터만 삭제, 삭제된 건수를 전송
     @DeleteMapping("/dept/all")
-    public ResponseEntity<Object> removeAll() {
+    public ResponseEntity<Object> removeAll(@RequestParam(required = false) String loc) {
 
         try {
-            deptService.removeAll();
+            int count = deptService.removeAll(loc);
 
-            return new ResponseEntity<>(HttpStatus.OK);
+            return new ResponseEntity<>(Collections.singletonMap("deleted", count), HttpStatus.OK);
 
         } catch (Exception e) {
             log.debug(e.getMessage());
@@ -107,18 +260,51 @@ public class DeptController {
         }
     }
 
+//    여러 건 생성 : JSON 배열을 받아서 JDBC batch insert 로 한번에 저장, 생성된 번호가 채워진 배열을 전송
+//     번호(기본키)가 있는 데이터가 있으면 400 에러 ( 수정은 PUT/PATCH 로 요청 )
+    @PostMapping("/dept/batch")
+    public ResponseEntity<Object> createDeptBatch(@RequestBody List<Dept> deptList) {
+
+        try {
+            List<Dept> list = deptService.saveAll(deptList);
+
+            return new ResponseEntity<>(list, HttpStatus.OK);
+
+        } catch (IllegalArgumentException e) {
+            log.debug(e.getMessage());
+//           기본키가 있는 데이터 메세지 전송(클라이언트) ( 수정은 PUT/PATCH 로 요청 )
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        } catch (Exception e) {
+            log.debug(e.getMessage());
+            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
     //    Optional 객체 : null 방지 객체
 //    주요함수 : get() 안에 있는 객체 꺼내기 함수
 //             .isPresent() 안에 있으면 true , 없으면 false
+//     조건부 조회 : If-None-Match/If-Modified-Since 가 현재 테이블 버전과 같으면 조회 없이 304 전송
+//     조회 응답 캐시 : 같은 url(쿼리스트링 포함)이면 JSON 변환 없이 캐시된 byte[] ( gzip ) 전송
     @GetMapping("/dept/{dno}")
-    public ResponseEntity<Object> getDeptId(@PathVariable int dno) {
+    public ResponseEntity<Object> getDeptId(@PathVariable int dno,
+                                            HttpServletRequest request) {
+
+        return tableVersionService.conditionalGet(Dept.class, request,
+                () -> responseCacheService.getOrLoad(Dept.class, request, () -> loadDeptId(dno)));
+    }
+
+    private ResponseEntity<Object> loadDeptId(int dno) {
 
         try {
             Optional<Dept> optionalDept = deptService.findById(dno);
 
             if (optionalDept.isPresent() == true) {
-//                데이터 + 성공 메세지 전송
-                return new ResponseEntity<>(optionalDept.get(), HttpStatus.OK);
+//                데이터 + 성공 메세지 전송 ( 수정 시 If-Match 로 쓸 수 있도록 버전을 ETag 로 전송 )
+                HttpHeaders headers = new HttpHeaders();
+                if (optionalDept.get().getVersion() != null) {
+                    headers.setETag(ETagUtil.of(optionalDept.get().getVersion()));
+                }
+                return new ResponseEntity<>(optionalDept.get(), headers, HttpStatus.OK);
             } else {
 //                데이터 없음 메세지 전송(클라이언트에)
                 return new ResponseEntity<>(HttpStatus.NO_CONTENT);
@@ -131,15 +317,73 @@ public class DeptController {
         }
     }
 
+//    수정 : If-Match 헤더(또는 body 의 version)가 있으면 버전이 같을 때만 수정
+//     버전이 다르면(다른 사용자가 먼저 수정) 412 에러 전송, 성공하면 새 버전을 ETag 로 전송
     @PutMapping("/dept/{dno}")
     public ResponseEntity<Object> updateDept(@PathVariable int dno,
-                                             @RequestBody Dept dept) {
+                                             @RequestBody Dept dept,
+                                             @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
 
         try {
-            Dept dept2 = deptService.save(dept);
+            Long version = (ifMatch != null) ? ETagUtil.parseIfMatch(ifMatch) : dept.getVersion();
+            Optional<Dept> optionalDept = deptService.update(dno, dept, version);
 
-            return new ResponseEntity<>(dept2, HttpStatus.OK);
+            if (optionalDept.isPresent() == true) {
+                HttpHeaders headers = new HttpHeaders();
+                if (optionalDept.get().getVersion() != null) {
+                    headers.setETag(ETagUtil.of(optionalDept.get().getVersion()));
+                }
+                return new ResponseEntity<>(optionalDept.get(), headers, HttpStatus.OK);
+            } else {
+//                데이터 없음 메세지 전송(클라이언트에)
+                return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+            }
 
+        } catch (OptimisticLockingFailureException e) {
+            log.debug(e.getMessage());
+//           버전 충돌 메세지 전송(클라이언트)
+            return new ResponseEntity<>(HttpStatus.PRECONDITION_FAILED);
+        } catch (IllegalArgumentException e) {
+            log.debug(e.getMessage());
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        } catch (Exception e) {
+            log.debug(e.getMessage());
+            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+//    부분 수정 : JSON Merge Patch ( 바꿀 속성만 전송, ex) { "loc" : "..." } )
+//     조회 없이 보낸 속성(컬럼)만 수정, If-Match 헤더가 있으면 버전이 같을 때만 수정
+    @PatchMapping(value = "/dept/{dno}",
+            consumes = {"application/merge-patch+json", MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<Object> patchDept(@PathVariable int dno,
+                                            @RequestBody Map<String, Object> patch,
+                                            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+
+        try {
+            Long version = ETagUtil.parseIfMatch(ifMatch);
+            boolean bSuccessed = deptService.patch(dno, patch, version);
+
+            if (bSuccessed == true) {
+//                버전을 알고 있으면 새 버전을 ETag 로 전송
+                HttpHeaders headers = new HttpHeaders();
+                if (version != null) {
+                    headers.setETag(ETagUtil.of(version + 1));
+                }
+                return new ResponseEntity<>(Collections.singletonMap("updated", 1), headers, HttpStatus.OK);
+            } else {
+//                데이터 없음 메세지 전송(클라이언트에)
+                return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+            }
+
+        } catch (OptimisticLockingFailureException e) {
+            log.debug(e.getMessage());
+//           버전 충돌 메세지 전송(클라이언트)
+            return new ResponseEntity<>(HttpStatus.PRECONDITION_FAILED);
+        } catch (IllegalArgumentException e) {
+            log.debug(e.getMessage());
+//           수정할 수 없는 속성/잘못된 값 메세지 전송(클라이언트)
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
         } catch (Exception e) {
             log.debug(e.getMessage());
             return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
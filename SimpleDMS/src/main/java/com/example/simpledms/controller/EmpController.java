@@ -3,15 +3,32 @@ package com.example.simpledms.controller;
 
 import com.example.simpledms.model.Dept;
 import com.example.simpledms.model.Emp;
+import com.example.simpledms.service.ChangeFeedService;
+import com.example.simpledms.service.EmpGroupCommitService;
 import com.example.simpledms.service.EmpService;
+import com.example.simpledms.service.ResponseCacheService;
+import com.example.simpledms.service.TableVersionService;
+import com.example.simpledms.service.EmpSyncService;
+import com.example.simpledms.util.ETagUtil;
+import com.example.simpledms.util.JsonStreamUtil;
+import com.example.simpledms.util.LookupUtil;
+import com.example.simpledms.util.PageUtil;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import javax.servlet.http.HttpServletRequest;
+import java.io.InputStream;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -39,7 +56,7 @@ import java.util.Optional;
 @Slf4j
 // CORS 보안 : 한사이트레서 포트를 달리 사용 못함
 // @CrossOrigin(허용할 사이트주소(Vue 사이트주소:포트) : CORS 보안을 허용해주는 어노테이션
-@CrossOrigin(origins = "http://localhost:8081")
+@CrossOrigin(origins = "http://localhost:8081", exposedHeaders = {PageUtil.NEXT_CURSOR_HEADER, HttpHeaders.ETAG, HttpHeaders.LAST_MODIFIED})
 @RestController
 @RequestMapping("/api")
 public class EmpController {
@@ -47,30 +64,178 @@ public class EmpController {
     @Autowired
     EmpService empService; // @Autowired : 스프링부트가 가동될 때 생성된 객체를 하나 받아오기
 
+    @Autowired
+    EmpGroupCommitService empGroupCommitService; // 동시에 들어온 생성 요청 묶음 저장
+
+    @Autowired
+    EmpSyncService empSyncService; // 전체 동기화(MERGE)
+
+    @Autowired
+    ObjectMapper objectMapper; // 스트리밍 응답시 JSON 변환용
+
+    @Autowired
+    ResponseCacheService responseCacheService; // 조회 응답(JSON) 캐시
+
+    @Autowired
+    TableVersionService tableVersionService; // 테이블 버전 ( ETag/Last-Modified, 304 )
+
+    @Autowired
+    ChangeFeedService changeFeedService; // 변경분(change feed) 조회
+
+//     조건부 조회 : If-None-Match/If-Modified-Since 가 현재 테이블 버전과 같으면 조회 없이 304 전송
+//     ids 가 있으면 기본키 목록 조회 ( ?ids=1,2,3 : 요청 순서대로 + 없는 번호 목록 )
+//     fields 가 있으면 필요한 속성만 조회 ( ?fields=eno,ename,dno : 기본키는 항상 포함 )
+//     fuzzy=1 이면 사원명 오타 허용 검색 ( ?ename=SMTIH&fuzzy=1 -> SMITH : 편집 거리 가까운 순 )
     @GetMapping("/emp")
-    public ResponseEntity<Object> getEmpAll(@RequestParam(required = false) String ename) {
+    public ResponseEntity<Object> getEmpAll(@RequestParam(required = false) String ename,
+                                            @RequestParam(required = false) List<Integer> ids,
+                                            @RequestParam(required = false) List<String> fields,
+                                            @RequestParam(required = false) Integer cursor,
+                                            @RequestParam(required = false) Integer size,
+                                            @RequestParam(required = false) String sort,
+                                            @RequestParam(required = false) Boolean fuzzy,
+                                            HttpServletRequest request) {
+
+        return tableVersionService.conditionalGet(Emp.class, request,
+                () -> (ids != null) ? loadEmpByIds(ids) : loadEmpAll(ename, fields, cursor, size, sort, fuzzy));
+    }
+
+    private ResponseEntity<Object> loadEmpAll(String ename, List<String> fields, Integer cursor, Integer size, String sort, Boolean fuzzy) {
 
         try {
 //            1) ename 이 null 일 경우 : 전체 검색
 //            2) ename 에 값이 있을 경우 : 부서명 like 검색
             List<Emp> list = Collections.emptyList(); // null 대신 초기화
+//            키셋 페이징 : 한번에 최대 PageUtil.MAX_SIZE 건까지만 조회
+            int pageSize = PageUtil.clampSize(size);
+            boolean desc = PageUtil.isDesc(sort);
+
+//            오타 허용 검색 : 편집 거리 순 정렬이므로 cursor 는 이미 받은 건수(offset) ( sort/fields 무시 )
+            if (Boolean.TRUE.equals(fuzzy) && ename != null) {
+                int offset = PageUtil.offset(cursor);
+                list = empService.findAllByEnameFuzzy(ename, offset, pageSize);
+                if (list.isEmpty() == true) {
+                    return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+                }
+                HttpHeaders headers = new HttpHeaders();
+                Integer next = PageUtil.nextOffset(offset, list.size(), pageSize);
+                if (next != null) {
+                    headers.set(PageUtil.NEXT_CURSOR_HEADER, String.valueOf(next));
+                }
+                return new ResponseEntity<>(list, headers, HttpStatus.OK);
+            }
+
+//            fields 가 있으면 필요한 속성(컬럼)만 조회 ( 엔티티 대신 속성명 -> 값 )
+            if (fields != null) {
+                List<Map<String, Object>> rows = empService.findAllFields(fields, ename, cursor, pageSize, desc);
+                if (rows.isEmpty() == true) {
+                    return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+                }
+                HttpHeaders headers = new HttpHeaders();
+                if (rows.size() == pageSize) {
+                    headers.set(PageUtil.NEXT_CURSOR_HEADER, String.valueOf(rows.get(rows.size() - 1).get("eno")));
+                }
+                return new ResponseEntity<>(rows, headers, HttpStatus.OK);
+            }
 
             //     1) ename 이 null 일 경우 : 전체 검색
             if(ename == null) {
-                list = empService.findAll();
+                list = empService.findAll(cursor, pageSize, desc);
             } else {
                 //  2) dname 에 값이 있을 경우 : 부서명 like 검색
-                list = empService.findAllByEnameContaining(ename);
+                list = empService.findAllByEnameContaining(ename, cursor, pageSize, desc);
             }
 
             if (list.isEmpty() == false) {
+//                한 페이지가 꽉 찼으면 다음 페이지 커서(마지막 eno)를 헤더로 전송
+                HttpHeaders headers = new HttpHeaders();
+                if (list.size() == pageSize) {
+                    headers.set(PageUtil.NEXT_CURSOR_HEADER, String.valueOf(list.get(list.size() - 1).getEno()));
+                }
 //                데이터 + 성공 메세지 전송
-                return new ResponseEntity<>(list, HttpStatus.OK);
+                return new ResponseEntity<>(list, headers, HttpStatus.OK);
             } else {
 //                데이터 없음 메세지 전송(클라이언트에)
                 return new ResponseEntity<>(HttpStatus.NO_CONTENT);
             }
 
+        } catch (IllegalArgumentException e) {
+            log.debug(e.getMessage());
+//           잘못된 요청 파라메터(sort 등) 메세지 전송(클라이언트)
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        } catch (Exception e) {
+            log.debug(e.getMessage());
+//           서버 에러 발생 메세지 전송(클라이언트)
+            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+//    여러 건 조회 : 기본키 목록을 한번에 조회 ( GET /api/emp?ids=1,2,3 과 같음 )
+//     url 길이 제한 없이 많은 기본키를 보낼 때 사용, 요청 body : [1, 2, 3]
+    @PostMapping("/emp/lookup")
+    public ResponseEntity<Object> lookupEmp(@RequestBody List<Integer> ids) {
+
+        return loadEmpByIds(ids);
+    }
+
+//    여러 건 조회 : 요청한 순서대로 { items : [...], missing : [없는 번호] } 전송
+    private ResponseEntity<Object> loadEmpByIds(List<Integer> ids) {
+
+        try {
+            List<Integer> distinctIds = LookupUtil.distinctIds(ids);
+            Map<Integer, Emp> found = empService.findAllByIds(distinctIds);
+
+            return new ResponseEntity<>(LookupUtil.result(distinctIds, found), HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            log.debug(e.getMessage());
+//           잘못된 요청 파라메터(ids 개수 등) 메세지 전송(클라이언트)
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        } catch (Exception e) {
+            log.debug(e.getMessage());
+//           서버 에러 발생 메세지 전송(클라이언트)
+            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+//    자동완성 : prefix 로 시작하는 사원명을 빈도(같은 값 수) 순으로 최대 limit 개 전송 ( 서버 메모리 trie, DB 조회 없음 )
+//     검색창 글자 입력마다 호출하는 용도 ( limit 생략 또는 최대값 : simpledms.suggest.top-k )
+    @GetMapping("/emp/suggest")
+    public ResponseEntity<Object> suggestEmp(@RequestParam(required = false) String prefix,
+                                             @RequestParam(required = false) Integer limit) {
+
+        try {
+            List<String> list = empService.suggest(prefix, limit);
+            if (list.isEmpty() == true) {
+                return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+            }
+
+            return new ResponseEntity<>(list, HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            log.debug(e.getMessage());
+//           잘못된 요청 파라메터(prefix 등) 메세지 전송(클라이언트)
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        } catch (Exception e) {
+            log.debug(e.getMessage());
+//           서버 에러 발생 메세지 전송(클라이언트)
+            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+//    변경분 조회 : since(변경 순번), after(기본키) 다음부터 생성/수정/삭제된 데이터를 변경 순서대로 전송
+//     응답의 since/after 를 다음 요청에 그대로 사용 ( 삭제된 데이터는 deleteYn = 'Y' )
+    @GetMapping("/emp/changes")
+    public ResponseEntity<Object> getEmpChanges(@RequestParam(required = false) Long since,
+                                                @RequestParam(required = false) Integer after,
+                                                @RequestParam(required = false) Integer limit) {
+
+        try {
+            Map<String, Object> result = changeFeedService.changes(Emp.class, "ENO", Emp::getEno, since, after, limit);
+
+            return new ResponseEntity<>(result, HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            log.debug(e.getMessage());
+//           잘못된 요청 파라메터(since 등) 메세지 전송(클라이언트)
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
         } catch (Exception e) {
             log.debug(e.getMessage());
 //           서버 에러 발생 메세지 전송(클라이언트)
@@ -78,14 +243,108 @@ public class EmpController {
         }
     }
 
+//    전체 조회(스트리밍) : 내보내기/관리화면용, 페이지 제한 없이 DB 커서로 한 건씩 JSON 배열로 전송
+//     -> 데이터 건수와 상관없이 서버 메모리 사용량이 일정함
+    @GetMapping("/emp/stream")
+    public ResponseEntity<StreamingResponseBody> streamEmpAll() {
+
+        StreamingResponseBody body = JsonStreamUtil.jsonArray(objectMapper, empService::streamAll);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+
+//    전체 삭제 : dno 를 주면 부서번호(dno) 조건에 맞는 데이터만 삭제, 삭제된 건수를 전송
     @DeleteMapping("/emp/all")
-    public ResponseEntity<Object> removeAll() {
+    public ResponseEntity<Object> removeAll(@RequestParam(required = false) Integer dno) {
+
+        try {
+            int count = empService.removeAll(dno);
+
+            return new ResponseEntity<>(Collections.singletonMap("deleted", count), HttpStatus.OK);
+
+        } catch (Exception e) {
+            log.debug(e.getMessage());
+            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+//    급여 일괄 인상 : ex) /emp/bulk/salary?dno=30&rate=1.05 -> 30번 부서 급여 5% 인상
+//     update 문 1번으로 처리, 수정된 건수를 전송 ( dno 가 없으면 전체 사원 )
+    @PutMapping("/emp/bulk/salary")
+    public ResponseEntity<Object> raiseSalary(@RequestParam(required = false) Integer dno,
+                                              @RequestParam double rate) {
 
         try {
-            empService.removeAll();
+            int count = empService.raiseSalary(dno, rate);
 
-            return new ResponseEntity<>(HttpStatus.OK);
+            return new ResponseEntity<>(Collections.singletonMap("updated", count), HttpStatus.OK);
 
+        } catch (IllegalArgumentException e) {
+            log.debug(e.getMessage());
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        } catch (Exception e) {
+            log.debug(e.getMessage());
+            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+//    상여금 일괄 추가 : ex) /emp/bulk/commission?dno=30&amount=100 ( 음수면 차감 )
+    @PutMapping("/emp/bulk/commission")
+    public ResponseEntity<Object> addCommission(@RequestParam(required = false) Integer dno,
+                                                @RequestParam int amount) {
+
+        try {
+            int count = empService.addCommission(dno, amount);
+
+            return new ResponseEntity<>(Collections.singletonMap("updated", count), HttpStatus.OK);
+
+        } catch (Exception e) {
+            log.debug(e.getMessage());
+            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+//    부서 이동 : ex) /emp/bulk/dept?from=30&to=40 -> 30번 부서 사원 전체를 40번 부서로 이동
+    @PutMapping("/emp/bulk/dept")
+    public ResponseEntity<Object> moveDept(@RequestParam("from") int fromDno,
+                                           @RequestParam("to") int toDno) {
+
+        try {
+            int count = empService.moveDept(fromDno, toDno);
+
+            return new ResponseEntity<>(Collections.singletonMap("updated", count), HttpStatus.OK);
+
+        } catch (IllegalArgumentException e) {
+            log.debug(e.getMessage());
+//           없는 부서번호 메세지 전송(클라이언트)
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        } catch (Exception e) {
+            log.debug(e.getMessage());
+            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+//    전체 동기화 : 인사 시스템 스냅샷(JSON 배열 또는 한 줄에 1건씩 JSON)을 사원번호(eno) 기준으로 MERGE(upsert)
+//     ex) /emp/sync?deleteMissing=true -> 스냅샷에 없는 사원은 soft delete
+//     생성/수정/변경없음/삭제 건수를 전송
+    @PutMapping("/emp/sync")
+    public ResponseEntity<Object> syncEmp(HttpServletRequest request,
+                                          @RequestParam(defaultValue = "false") boolean deleteMissing) {
+
+        try {
+            InputStream inputStream = request.getInputStream();
+            EmpSyncService.SyncResult result = empSyncService.sync(
+                    action -> JsonStreamUtil.readValues(objectMapper, inputStream, Emp.class, action),
+                    deleteMissing);
+
+            return new ResponseEntity<>(result, HttpStatus.OK);
+
+        } catch (IllegalArgumentException e) {
+            log.debug(e.getMessage());
+//           JSON 형식 오류, 사원번호 없음 메세지 전송(클라이언트)
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
         } catch (Exception e) {
             log.debug(e.getMessage());
             return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
@@ -96,7 +355,10 @@ public class EmpController {
     public ResponseEntity<Object> createEmp(@RequestBody Emp emp) {
 
         try {
-            Emp emp2 = empService.save(emp);
+//            group-commit 사용시 : 동시에 들어온 생성 요청과 묶어서 저장 ( 트랜잭션/commit 횟수 감소 )
+            Emp emp2 = empGroupCommitService.isEnabled()
+                    ? empGroupCommitService.save(emp)
+                    : empService.save(emp);
 
             return new ResponseEntity<>(emp2, HttpStatus.OK);
 
@@ -106,15 +368,48 @@ public class EmpController {
         }
     }
 
+//    여러 건 생성 : JSON 배열을 받아서 JDBC batch insert 로 한번에 저장, 생성된 번호가 채워진 배열을 전송
+//     번호(기본키)가 있는 데이터가 있으면 400 에러 ( 수정은 PUT/PATCH 로 요청 )
+    @PostMapping("/emp/batch")
+    public ResponseEntity<Object> createEmpBatch(@RequestBody List<Emp> empList) {
+
+        try {
+            List<Emp> list = empService.saveAll(empList);
+
+            return new ResponseEntity<>(list, HttpStatus.OK);
+
+        } catch (IllegalArgumentException e) {
+            log.debug(e.getMessage());
+//           기본키가 있는 데이터 메세지 전송(클라이언트) ( 수정은 PUT/PATCH 로 요청 )
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        } catch (Exception e) {
+            log.debug(e.getMessage());
+            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+//     조건부 조회 : If-None-Match/If-Modified-Since 가 현재 테이블 버전과 같으면 조회 없이 304 전송
+//     조회 응답 캐시 : 같은 url(쿼리스트링 포함)이면 JSON 변환 없이 캐시된 byte[] ( gzip ) 전송
     @GetMapping("/emp/{eno}")
-    public ResponseEntity<Object> getEmpId(@PathVariable int eno) {
+    public ResponseEntity<Object> getEmpId(@PathVariable int eno,
+                                           HttpServletRequest request) {
+
+        return tableVersionService.conditionalGet(Emp.class, request,
+                () -> responseCacheService.getOrLoad(Emp.class, request, () -> loadEmpId(eno)));
+    }
+
+    private ResponseEntity<Object> loadEmpId(int eno) {
 
         try {
             Optional<Emp> optionalEmp = empService.findById(eno);
 
             if (optionalEmp.isPresent() == true) {
-//                데이터 + 성공 메세지 전송
-                return new ResponseEntity<>(optionalEmp.get(), HttpStatus.OK);
+//                데이터 + 성공 메세지 전송 ( 수정 시 If-Match 로 쓸 수 있도록 버전을 ETag 로 전송 )
+                HttpHeaders headers = new HttpHeaders();
+                if (optionalEmp.get().getVersion() != null) {
+                    headers.setETag(ETagUtil.of(optionalEmp.get().getVersion()));
+                }
+                return new ResponseEntity<>(optionalEmp.get(), headers, HttpStatus.OK);
             } else {
 //                데이터 없음 메세지 전송(클라이언트에)
                 return new ResponseEntity<>(HttpStatus.NO_CONTENT);
@@ -127,15 +422,73 @@ public class EmpController {
         }
     }
 
+//    수정 : If-Match 헤더(또는 body 의 version)가 있으면 버전이 같을 때만 수정
+//     버전이 다르면(다른 사용자가 먼저 수정) 412 에러 전송, 성공하면 새 버전을 ETag 로 전송
     @PutMapping("/emp/{eno}")
     public ResponseEntity<Object> updateEmp(@PathVariable int eno,
-                                             @RequestBody Emp emp) {
+                                             @RequestBody Emp emp,
+                                             @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
 
         try {
-            Emp emp2 = empService.save(emp);
+            Long version = (ifMatch != null) ? ETagUtil.parseIfMatch(ifMatch) : emp.getVersion();
+            Optional<Emp> optionalEmp = empService.update(eno, emp, version);
 
-            return new ResponseEntity<>(emp2, HttpStatus.OK);
+            if (optionalEmp.isPresent() == true) {
+                HttpHeaders headers = new HttpHeaders();
+                if (optionalEmp.get().getVersion() != null) {
+                    headers.setETag(ETagUtil.of(optionalEmp.get().getVersion()));
+                }
+                return new ResponseEntity<>(optionalEmp.get(), headers, HttpStatus.OK);
+            } else {
+//                데이터 없음 메세지 전송(클라이언트에)
+                return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+            }
 
+        } catch (OptimisticLockingFailureException e) {
+            log.debug(e.getMessage());
+//           버전 충돌 메세지 전송(클라이언트)
+            return new ResponseEntity<>(HttpStatus.PRECONDITION_FAILED);
+        } catch (IllegalArgumentException e) {
+            log.debug(e.getMessage());
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        } catch (Exception e) {
+            log.debug(e.getMessage());
+            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+//    부분 수정 : JSON Merge Patch ( 바꿀 속성만 전송, ex) { "dno" : "..." } )
+//     조회 없이 보낸 속성(컬럼)만 수정, If-Match 헤더가 있으면 버전이 같을 때만 수정
+    @PatchMapping(value = "/emp/{eno}",
+            consumes = {"application/merge-patch+json", MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<Object> patchEmp(@PathVariable int eno,
+                                            @RequestBody Map<String, Object> patch,
+                                            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+
+        try {
+            Long version = ETagUtil.parseIfMatch(ifMatch);
+            boolean bSuccessed = empService.patch(eno, patch, version);
+
+            if (bSuccessed == true) {
+//                버전을 알고 있으면 새 버전을 ETag 로 전송
+                HttpHeaders headers = new HttpHeaders();
+                if (version != null) {
+                    headers.setETag(ETagUtil.of(version + 1));
+                }
+                return new ResponseEntity<>(Collections.singletonMap("updated", 1), headers, HttpStatus.OK);
+            } else {
+//                데이터 없음 메세지 전송(클라이언트에)
+                return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+            }
+
+        } catch (OptimisticLockingFailureException e) {
+            log.debug(e.getMessage());
+//           버전 충돌 메세지 전송(클라이언트)
+            return new ResponseEntity<>(HttpStatus.PRECONDITION_FAILED);
+        } catch (IllegalArgumentException e) {
+            log.debug(e.getMessage());
+//           수정할 수 없는 속성/잘못된 값 메세지 전송(클라이언트)
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
         } catch (Exception e) {
             log.debug(e.getMessage());
             return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
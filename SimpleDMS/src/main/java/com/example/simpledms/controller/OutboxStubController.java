@@ -0,0 +1,69 @@
+package com.example.simpledms.controller;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * packageName    : com.example.simpledms.controller
+ * fileName       : OutboxStubController
+ * author         : ds
+ * date           : 2026-10-18
+ * description    : 사원 변경 알림(webhook) 테스트용 수신 컨트롤러
+ * 요약 :
+ * 급여 시스템 대신 변경 알림을 받아서 건수만 세는 가짜 수신처
+ * POST /api/outbox/stub : 변경 알림 묶음 수신 ( simpledms.outbox.endpoints 에 이 url 을 넣어서 사용 )
+ * GET /api/outbox/stub : 받은 묶음/건수, 마지막으로 받은 id 조회
+ * local 프로필에서만 사용 ( application-local.properties )
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 2026-10-18        ds       최초 생성
+ */
+@Slf4j
+@Profile("local")
+@RestController
+@RequestMapping("/api/outbox")
+public class OutboxStubController {
+
+    private final AtomicLong batchCount = new AtomicLong();
+    private final AtomicLong eventCount = new AtomicLong();
+    private final AtomicLong lastId = new AtomicLong();
+
+    @PostMapping("/stub")
+    public ResponseEntity<Object> receive(@RequestBody Map<String, List<Map<String, Object>>> body) {
+
+        List<Map<String, Object>> events = body.get("events");
+        if (events == null) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+
+        batchCount.incrementAndGet();
+        eventCount.addAndGet(events.size());
+        for (Map<String, Object> event : events) {
+            long id = ((Number) event.get("id")).longValue();
+            lastId.accumulateAndGet(id, Math::max);
+        }
+        log.debug("outbox stub : " + events.size() + " 건 수신");
+
+        return new ResponseEntity<>(HttpStatus.OK);
+    }
+
+    @GetMapping("/stub")
+    public ResponseEntity<Object> getReceived() {
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("batchCount", batchCount.get());
+        result.put("eventCount", eventCount.get());
+        result.put("lastId", lastId.get());
+
+        return new ResponseEntity<>(result, HttpStatus.OK);
+    }
+}
@@ -0,0 +1,210 @@
+package com.example.simpledms.controller;
+
+import com.example.simpledms.service.CacheStatsService;
+import com.example.simpledms.service.ChangeStreamService;
+import com.example.simpledms.service.DbCircuitBreaker;
+import com.example.simpledms.service.EmpOutboxDispatcher;
+import com.example.simpledms.service.FaqSearchService;
+import com.example.simpledms.service.NameSearchService;
+import com.example.simpledms.service.ResponseCacheService;
+import com.example.simpledms.service.SingleFlightService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+/**
+ * packageName    : com.example.simpledms.controller
+ * fileName       : StatsController
+ * author         : ds
+ * date           : 2026-10-18
+ * description    : 운영 통계 컨트롤러
+ * 요약 :
+ * GET /api/stats/cache : 2차 캐시 적중/실패 통계
+ * DELETE /api/stats/cache : 2차 캐시 전체 비우기
+ * GET /api/stats/response-cache : 조회 응답(JSON) 캐시 적중/실패 통계
+ * GET /api/stats/stream : 변경 알림(SSE) 구독자 수, 전송/합쳐진 건수
+ * GET /api/stats/outbox : 사원 변경 알림(webhook) 남은/전송/실패 건수
+ * GET /api/stats/single-flight : 같은 조회 동시 요청 합치기 실행/합쳐진 수
+ * GET /api/stats/circuit-breaker : DB 조회 차단기 상태, 장애/거절/차단 횟수
+ * GET /api/stats/faq-search : FAQ 검색 색인 건수/단어 수, 검색 횟수, 평균 검색시간(ms)
+ * GET /api/stats/name-search : 사원명/부서명 검색 색인 건수/단어 수/압축 크기, 검색 횟수, 평균 검색시간(ms)
+ * POST /api/stats/name-search/rebuild : 사원명/부서명 검색 색인 전체 다시 생성 ( 별도 스레드, 그동안은 예전 색인 사용 )
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 2026-10-18        ds       최초 생성
+ */
+@Slf4j
+@CrossOrigin(origins = "http://localhost:8081")
+@RestController
+@RequestMapping("/api/stats")
+public class StatsController {
+
+    @Autowired
+    CacheStatsService cacheStatsService;
+
+    @Autowired
+    ResponseCacheService responseCacheService;
+
+    @Autowired
+    ChangeStreamService changeStreamService;
+
+    @Autowired
+    EmpOutboxDispatcher empOutboxDispatcher;
+
+    @Autowired
+    SingleFlightService singleFlightService;
+
+    @Autowired
+    DbCircuitBreaker dbCircuitBreaker;
+
+    @Autowired
+    FaqSearchService faqSearchService;
+
+    @Autowired
+    NameSearchService nameSearchService;
+
+    @GetMapping("/cache")
+    public ResponseEntity<Object> getCacheStats() {
+
+        try {
+            Map<String, Object> stats = cacheStatsService.getStats();
+
+            return new ResponseEntity<>(stats, HttpStatus.OK);
+
+        } catch (Exception e) {
+            log.debug(e.getMessage());
+            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    @DeleteMapping("/cache")
+    public ResponseEntity<Object> evictCache() {
+
+        try {
+            cacheStatsService.evictAll();
+
+            return new ResponseEntity<>(HttpStatus.OK);
+
+        } catch (Exception e) {
+            log.debug(e.getMessage());
+            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    @GetMapping("/response-cache")
+    public ResponseEntity<Object> getResponseCacheStats() {
+
+        try {
+            Map<String, Object> stats = responseCacheService.getStats();
+
+            return new ResponseEntity<>(stats, HttpStatus.OK);
+
+        } catch (Exception e) {
+            log.debug(e.getMessage());
+            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    @GetMapping("/stream")
+    public ResponseEntity<Object> getStreamStats() {
+
+        try {
+            Map<String, Object> stats = changeStreamService.getStats();
+
+            return new ResponseEntity<>(stats, HttpStatus.OK);
+
+        } catch (Exception e) {
+            log.debug(e.getMessage());
+            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    @GetMapping("/outbox")
+    public ResponseEntity<Object> getOutboxStats() {
+
+        try {
+            Map<String, Object> stats = empOutboxDispatcher.getStats();
+
+            return new ResponseEntity<>(stats, HttpStatus.OK);
+
+        } catch (Exception e) {
+            log.debug(e.getMessage());
+            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    @GetMapping("/single-flight")
+    public ResponseEntity<Object> getSingleFlightStats() {
+
+        try {
+            Map<String, Object> stats = singleFlightService.getStats();
+
+            return new ResponseEntity<>(stats, HttpStatus.OK);
+
+        } catch (Exception e) {
+            log.debug(e.getMessage());
+            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    @GetMapping("/circuit-breaker")
+    public ResponseEntity<Object> getCircuitBreakerStats() {
+
+        try {
+            Map<String, Object> stats = dbCircuitBreaker.getStats();
+
+            return new ResponseEntity<>(stats, HttpStatus.OK);
+
+        } catch (Exception e) {
+            log.debug(e.getMessage());
+            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    @GetMapping("/faq-search")
+    public ResponseEntity<Object> getFaqSearchStats() {
+
+        try {
+            Map<String, Object> stats = faqSearchService.getStats();
+
+            return new ResponseEntity<>(stats, HttpStatus.OK);
+
+        } catch (Exception e) {
+            log.debug(e.getMessage());
+            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    @GetMapping("/name-search")
+    public ResponseEntity<Object> getNameSearchStats() {
+
+        try {
+            Map<String, Object> stats = nameSearchService.getStats();
+
+            return new ResponseEntity<>(stats, HttpStatus.OK);
+
+        } catch (Exception e) {
+            log.debug(e.getMessage());
+            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    @PostMapping("/name-search/rebuild")
+    public ResponseEntity<Object> rebuildNameSearch() {
+
+        try {
+            nameSearchService.rebuildAll();
+
+            return new ResponseEntity<>(HttpStatus.ACCEPTED);
+
+        } catch (Exception e) {
+            log.debug(e.getMessage());
+            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+}
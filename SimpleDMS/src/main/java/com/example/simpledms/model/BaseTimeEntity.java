@@ -1,14 +1,20 @@
 package com.example.simpledms.model;
 
 import lombok.Getter;
+import lombok.Setter;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import javax.persistence.EntityListeners;
 import javax.persistence.MappedSuperclass;
 import javax.persistence.PrePersist;
 import javax.persistence.PreUpdate;
+import javax.persistence.Version;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * packageName    : com.example.jpaexam.model
@@ -35,18 +41,96 @@ public class BaseTimeEntity {
 //    soft delete 를 위한 속성 2개
     private String deleteYn;
     private String deleteTime;
+//    낙관적 잠금(optimistic lock) 버전 속성 : 수정될 때마다 1씩 증가
+//     수정 시 "where 기본키 = ? and version = ?" 로 실행해서 다른 사용자의 수정 내용을 덮어쓰지 않게 함
+    @Version
+    @Setter
+    private Long version;
+//    변경 순번 : 생성/수정/삭제될 때마다 nextChangeSeq() 값으로 바뀜 ( 변경분 조회에서 "이 순번 이후" 로 사용 )
+    private Long changeSeq;
+
+//    마지막으로 발급한 변경 순번
+    private static final AtomicLong LAST_CHANGE_SEQ = new AtomicLong();
+
+//    진행 중(commit/rollback 전)인 트랜잭션이 처음 발급받은 변경 순번 목록
+//     순번은 commit 전에 발급되므로, 변경분 조회는 이 중 가장 작은 순번 전까지만 조회 ( ChangeFeedService )
+    private static final ConcurrentSkipListSet<Long> IN_FLIGHT_CHANGE_SEQS = new ConcurrentSkipListSet<>();
+
+//    @Query 에서 변경 순번을 넣는 SpEL ( ex) "SET CHANGE_SEQ = " + NEXT_CHANGE_SEQ )
+    public static final String NEXT_CHANGE_SEQ = ":#{T(com.example.simpledms.model.BaseTimeEntity).nextChangeSeq()}";
+
+//    @Query 에서 현재 일시 문자열을 넣는 SpEL ( ex) "SET e.updateTime = " + CURRENT_TIME )
+    public static final String CURRENT_TIME = ":#{T(com.example.simpledms.model.BaseTimeEntity).currentTime()}";
+
+//    현재 일시를 yyyy-MM-dd HH:mm:ss 문자열로 만드는 함수 ( update 쿼리 직접 실행 시 수정일자로 사용 )
+    public static String currentTime() {
+        return LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"));
+    }
+
+//    변경 순번 발급 함수 : 현재시간(ms) * 1000 + 같은 ms 안의 순서 -> 항상 이전 값보다 큼
+//     update 쿼리 직접 실행 시에도 이 값을 사용 ( NEXT_CHANGE_SEQ )
+//     트랜잭션 안이면 첫 순번을 진행 중 목록에 등록 ( commit/rollback 후 삭제 )
+    public static long nextChangeSeq() {
+        long now = System.currentTimeMillis() * 1000;
+        long seq = LAST_CHANGE_SEQ.updateAndGet(last -> Math.max(now, last + 1));
+        registerInFlight(seq);
+        return seq;
+    }
+
+//    진행 중인 트랜잭션의 가장 작은 첫 순번 ( 없으면 Long.MAX_VALUE )
+//     이 순번 이후의 변경은 아직 commit 되지 않았을 수 있음
+    public static long lowestInFlightChangeSeq() {
+        Long lowest = IN_FLIGHT_CHANGE_SEQS.ceiling(Long.MIN_VALUE);
+        return (lowest == null) ? Long.MAX_VALUE : lowest;
+    }
+
+//    현재 트랜잭션의 첫 순번을 진행 중 목록에 등록 ( 트랜잭션마다 첫 순번 발급 때 1번 )
+//     트랜잭션이 중첩(REQUIRES_NEW)되면 바깥 트랜잭션의 등록은 잠시 빠졌다가(suspend) 다시 등록됨 ( 목록에는 그대로 남음 )
+    private static void registerInFlight(long seq) {
+        if (TransactionSynchronizationManager.isSynchronizationActive() == false) {
+            return;
+        }
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof InFlightChangeSeq) {
+                return;
+            }
+        }
+        IN_FLIGHT_CHANGE_SEQS.add(seq);
+        TransactionSynchronizationManager.registerSynchronization(new InFlightChangeSeq(seq));
+    }
+
+//    트랜잭션이 끝나면(commit/rollback) 진행 중 목록에서 삭제
+    static class InFlightChangeSeq implements TransactionSynchronization {
+        private final long firstSeq;
+
+        InFlightChangeSeq(long firstSeq) {
+            this.firstSeq = firstSeq;
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            IN_FLIGHT_CHANGE_SEQS.remove(firstSeq);
+        }
+    }
+
+//    해당 시간(ms)의 변경 순번 ( 이 값보다 작은 순번은 그 시간 이전에 발급된 것 )
+    public static long changeSeqAt(long epochMillis) {
+        return epochMillis * 1000;
+    }
 
 //    감시 함수
 //    대상 모델(엔티티)를 저장하기전(insert)에 실행되는 함수
     @PrePersist
     void onPrePersist() {
-        this.insertTime = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"));
+        this.insertTime = currentTime();
+        this.changeSeq = nextChangeSeq();
     }
 
 //    대상 모델(엔티티)을 수정하기전(update)에 실행되는 함수
     @PreUpdate
     void onPreUpdate() {
-        this.updateTime = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"));
+        this.updateTime = currentTime();
         this.insertTime = this.updateTime;
+        this.changeSeq = nextChangeSeq();
     }
 }
@@ -1,6 +1,8 @@
 package com.example.simpledms.model;
 
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.DynamicInsert;
 import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.annotations.SQLDelete;
@@ -25,7 +27,9 @@ import javax.persistence.*;
         name = "SQ_EMP_GENERATOR"
         , sequenceName = "SQ_EMP"
         , initialValue = 1
-        , allocationSize = 1
+//        allocationSize : 시퀀스 1번 조회로 받아오는 번호 개수 ( data.sql 의 INCREMENT BY 와 같아야 함 )
+//          pooled-lo 방식 : nextval 값부터 allocationSize 개를 메모리에서 순서대로 사용
+        , allocationSize = 50
 )
 @Getter
 @Setter
@@ -37,7 +41,12 @@ import javax.persistence.*;
 @DynamicInsert
 @DynamicUpdate
 @Where(clause = "DELETE_YN = 'N'")
-@SQLDelete(sql="UPDATE TB_EMP SET DELETE_YN = 'Y', DELETE_TIME = TO_CHAR(SYSDATE, 'YYYY-MM-DD HH24:MI:SS') WHERE ENO = ?")
+// 2차 캐시 : 기본키 조회(findById)는 DB 대신 캐시에서 조회 ( 크기/유효시간 : resources/ehcache.xml )
+//  READ_WRITE : 수정/삭제 시 캐시도 같이 갱신(락 사용)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+//  삭제는 softDeleteById() 사용 ( 변경 순번(CHANGE_SEQ)을 같이 바꿈 ), 엔티티 삭제(delete())는 변경 순번을 바꾸지 못해서 사용하지 않음
+@SQLDelete(sql="UPDATE TB_EMP SET DELETE_YN = 'Y', DELETE_TIME = TO_CHAR(SYSDATE, 'YYYY-MM-DD HH24:MI:SS') WHERE ENO = ? AND VERSION = ?")
 public class Emp extends BaseTimeEntity {
 
     @Id
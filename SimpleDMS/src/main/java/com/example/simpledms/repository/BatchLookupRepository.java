@@ -0,0 +1,87 @@
+package com.example.simpledms.repository;
+
+import com.example.simpledms.util.DbTimeoutUtil;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.Cache;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import static org.hibernate.jpa.QueryHints.SPEC_HINT_TIMEOUT;
+
+/**
+ * packageName    : com.example.simpledms.repository
+ * fileName       : BatchLookupRepository
+ * author         : ds
+ * date           : 2026-10-18
+ * description    : 여러 기본키를 한번에 조회하는 리파지토리
+ * 요약 :
+ * 1) 2차 캐시(ehcache)에 있는 기본키는 캐시에서 조회 ( DB 조회 없음 )
+ * 2) 캐시에 없는 기본키만 chunk-size 개씩 IN 목록 쿼리로 조회 ( where eno in (?, ?, ...) )
+ *    -> 200 건이면 DB 왕복 200번 대신 0 ~ 1번
+ * 오라클 IN 목록은 최대 1000 개 ( in_clause_parameter_padding 으로 2의 거듭제곱까지 늘어나므로 512 이하로 사용 )
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 2026-10-18        ds       최초 생성
+ */
+@Repository
+public class BatchLookupRepository {
+
+    @PersistenceContext
+    EntityManager entityManager;
+
+//    IN 목록 쿼리 1번에 넣는 최대 기본키 수
+    @Value("${simpledms.lookup.chunk-size:500}")
+    int chunkSize;
+
+//    기본키 목록 조회 함수 : 요청한 순서대로 ( 기본키 -> 엔티티 ) 리턴, 없는(삭제된) 기본키는 빠짐
+//     ids 는 중복이 없어야 함 ( LookupUtil.distinctIds )
+    @Transactional(readOnly = true)
+    public <T> Map<Integer, T> findAllByIds(Class<T> entityClass, String keyProperty,
+                                            Function<T, Integer> idGetter, List<Integer> ids) {
+        Map<Integer, T> found = new HashMap<>();
+
+//        1) 2차 캐시에 있는 기본키 : find() 가 DB 대신 캐시에서 조회
+        Cache cache = entityManager.getEntityManagerFactory().getCache();
+        List<Integer> misses = new ArrayList<>();
+        for (Integer id : ids) {
+            T entity = cache.contains(entityClass, id) ? entityManager.find(entityClass, id) : null;
+            if (entity != null) {
+                found.put(id, entity);
+            } else {
+                misses.add(id);
+            }
+        }
+
+//        2) 캐시에 없는 기본키 : IN 목록 쿼리로 조회 ( 조회 결과는 2차 캐시에도 저장됨 )
+        String jpql = "select e from " + entityClass.getSimpleName() + " e where e." + keyProperty + " in :ids";
+        for (int from = 0; from < misses.size(); from += chunkSize) {
+            List<Integer> chunk = misses.subList(from, Math.min(from + chunkSize, misses.size()));
+            for (T entity : entityManager.createQuery(jpql, entityClass)
+                    .setHint(SPEC_HINT_TIMEOUT, DbTimeoutUtil.READ_TIMEOUT_MS)
+                    .setParameter("ids", chunk)
+                    .getResultList()) {
+                found.put(idGetter.apply(entity), entity);
+            }
+        }
+
+//        요청한 순서대로 정렬
+        Map<Integer, T> ordered = new LinkedHashMap<>();
+        for (Integer id : ids) {
+            T entity = found.get(id);
+            if (entity != null) {
+                ordered.put(id, entity);
+            }
+        }
+        return ordered;
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.simpledms.repository;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * packageName    : com.example.simpledms.repository
+ * fileName       : BatchWriteRepository
+ * author         : ds
+ * date           : 2026-10-18
+ * description    : 여러 건을 한번에 저장하는 리파지토리 ( JDBC batch insert )
+ * 요약 :
+ * save() 반복 : 한 건마다 시퀀스 조회(nextval) + insert 1번씩 실행
+ * persistAll() : 생성만 가능 ( 기본키가 있으면 에러 ), 시퀀스는 allocationSize 만큼 한번에 받아오고(pooled-lo),
+ *               insert 는 batch_size 만큼 모아서 한번에 DB 로 전송(JDBC batch)
+ *               batch_size 마다 flush + clear 해서 영속성 컨텍스트가 커지지 않게 함
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 2026-10-18        ds       최초 생성
+ */
+@Repository
+public class BatchWriteRepository {
+
+    @PersistenceContext
+    EntityManager entityManager;
+
+//    JDBC batch 크기 ( application.properties : hibernate.jdbc.batch_size 와 같은 값 사용 )
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    int batchSize;
+
+//    전체 생성 함수 : 모두 insert(persist) 로 저장
+//     idGetter : 엔티티의 기본키를 꺼내는 함수 ( ex) Emp::getEno )
+//     기본키가 있는 데이터는 에러 ( 수정(merge)은 한 건마다 select 가 실행되어 batch 가 되지 않고,
+//     생성(CREATE) 변경 이벤트로 잘못 전달됨 -> 수정은 PUT/PATCH 로 요청 )
+    @Transactional
+    public <T> List<T> persistAll(List<T> entities, Function<T, ?> idGetter) {
+        for (T entity : entities) {
+            if (idGetter.apply(entity) != null) {
+                throw new IllegalArgumentException("여러 건 생성에는 기본키를 넣을 수 없습니다 : " + idGetter.apply(entity));
+            }
+        }
+
+        List<T> saved = new ArrayList<>(entities.size());
+
+        for (T entity : entities) {
+            entityManager.persist(entity);
+            saved.add(entity);
+
+//            batch_size 만큼 모이면 DB 로 전송(flush) 후 영속성 컨텍스트 비우기(clear)
+            if (saved.size() % batchSize == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+
+        return saved;
+    }
+}
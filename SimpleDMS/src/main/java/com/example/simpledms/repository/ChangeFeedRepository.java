@@ -0,0 +1,62 @@
+package com.example.simpledms.repository;
+
+import com.example.simpledms.model.BaseTimeEntity;
+import org.hibernate.CacheMode;
+import org.hibernate.jpa.QueryHints;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.Table;
+import java.util.List;
+
+/**
+ * packageName    : com.example.simpledms.repository
+ * fileName       : ChangeFeedRepository
+ * author         : ds
+ * date           : 2026-10-18
+ * description    : 변경분(change feed) 조회 리파지토리
+ * 요약 :
+ * 변경분 : 생성/수정/삭제될 때마다 바뀌는 변경 순번(CHANGE_SEQ) 순서로 조회
+ * findChanges() : (CHANGE_SEQ, 기본키) 복합 커서 다음부터 limit 건 조회 ( 인덱스 IX_*_CHANGE_SEQ 사용 )
+ *                native query 라서 @Where(DELETE_YN = 'N') 가 붙지 않음 -> 삭제된 데이터도 조회됨(삭제 알림)
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 2026-10-18        ds       최초 생성
+ */
+@Repository
+public class ChangeFeedRepository {
+
+    @PersistenceContext
+    EntityManager entityManager;
+
+//    변경분 조회 함수 : 순번이 since 보다 크거나, 같으면서 기본키가 after 보다 큰 데이터를 upto 순번까지 조회
+//     idColumn : 기본키 컬럼명 ( ex) DNO )
+    @Transactional(readOnly = true)
+    @SuppressWarnings("unchecked")
+    public <T extends BaseTimeEntity> List<T> findChanges(Class<T> entityClass, String idColumn,
+                                                          long since, int after, long upto, int limit) {
+        String table = entityClass.getAnnotation(Table.class).name();
+        String sql = "SELECT * FROM " + table + " " +
+                "WHERE (CHANGE_SEQ > :since OR (CHANGE_SEQ = :since AND " + idColumn + " > :after)) " +
+                "AND CHANGE_SEQ <= :upto " +
+                "ORDER BY CHANGE_SEQ, " + idColumn;
+
+        List<T> list = entityManager.createNativeQuery(sql, entityClass)
+                .setParameter("since", since)
+                .setParameter("after", after)
+                .setParameter("upto", upto)
+                .setMaxResults(limit)
+//                삭제된 데이터가 2차 캐시에 들어가지 않게 캐시 사용 안 함
+                .setHint(QueryHints.HINT_CACHE_MODE, CacheMode.IGNORE)
+                .setHint(QueryHints.HINT_READONLY, true)
+                .getResultList();
+
+//        조회한 엔티티(삭제된 데이터 포함)를 영속성 컨텍스트에서 제거
+        entityManager.clear();
+
+        return list;
+    }
+}
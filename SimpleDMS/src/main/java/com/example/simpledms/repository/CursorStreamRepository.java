@@ -0,0 +1,67 @@
+package com.example.simpledms.repository;
+
+import org.hibernate.CacheMode;
+import org.hibernate.jpa.QueryHints;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.Iterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * packageName    : com.example.simpledms.repository
+ * fileName       : CursorStreamRepository
+ * author         : ds
+ * date           : 2026-10-18
+ * description    : DB 커서(forward-only)로 전체 데이터를 한 건씩 읽어주는 리파지토리
+ * 요약 :
+ * findAll() : 전체 데이터를 List 에 모두 담고, 영속성 컨텍스트에도 모두 남아있음 -> 메모리 폭증
+ * forEach() : fetch-size 만큼씩 DB 에서 가져오고, 한 건 처리 후 바로 detach(영속성 컨텍스트에서 제거)
+ *            -> 데이터 건수와 상관없이 메모리 사용량이 일정함
+ *            2차 캐시(ehcache)에는 넣지 않음 ( 전체 내보내기/색인 생성이 캐시된 조회 데이터를 밀어내지 않게 )
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 2026-10-18        ds       최초 생성
+ */
+@Repository
+public class CursorStreamRepository {
+
+    @PersistenceContext
+    EntityManager entityManager;
+
+//    한번에 DB 에서 가져오는 행 수 ( application.properties : simpledms.stream.fetch-size )
+    @Value("${simpledms.stream.fetch-size:500}")
+    int fetchSize;
+
+//    엔티티 전체를 기본키 순서로 한 건씩 action 에 전달하는 함수
+//    @Transactional(readOnly = true) : 커서가 열려있는 동안 같은 DB 연결을 유지하기 위해 필요
+    @Transactional(readOnly = true)
+    public <T> long forEach(Class<T> entityClass, String keyProperty, Consumer<T> action) {
+        String jpql = "select e from " + entityClass.getSimpleName() + " e order by e." + keyProperty;
+        long count = 0;
+
+        try (Stream<T> stream = entityManager.createQuery(jpql, entityClass)
+                .setHint(QueryHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(QueryHints.HINT_READONLY, true)
+//                전체 데이터가 2차 캐시를 거치지 않게 캐시 사용 안 함 ( 자주 조회되는 데이터가 밀려나지 않게 )
+                .setHint(QueryHints.HINT_CACHE_MODE, CacheMode.IGNORE)
+                .getResultStream()) {
+
+            Iterator<T> iterator = stream.iterator();
+            while (iterator.hasNext()) {
+                T entity = iterator.next();
+                action.accept(entity);
+//                처리가 끝난 엔티티는 영속성 컨텍스트에서 바로 제거
+                entityManager.detach(entity);
+                count++;
+            }
+        }
+
+        return count;
+    }
+}
@@ -1,12 +1,23 @@
 package com.example.simpledms.repository;
 
 
+import com.example.simpledms.model.BaseTimeEntity;
 import com.example.simpledms.model.Dept;
+import com.example.simpledms.util.DbTimeoutUtil;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
 import java.util.List;
 
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.QueryHints.SPEC_HINT_TIMEOUT;
+
 /**
  * packageName    : com.example.jpaexam.repository
  * fileName       : DeptRepository
@@ -23,5 +34,78 @@ public interface DeptRepository extends JpaRepository<Dept, Integer> {
 
 //    부서명(dname)으로 조회하는 like 검색 함수
 //     1) 쿼리메소드 방식으로 함수 정의
+//     쿼리 캐시 : 같은 검색어면 DB 대신 캐시에서 조회 ( 테이블이 수정되면 자동 무효화 )
+    @QueryHints({@QueryHint(name = HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = SPEC_HINT_TIMEOUT, value = DbTimeoutUtil.READ_TIMEOUT_MS)})
     List<Dept> findAllByDnameContaining(String dname);
+
+//    키셋(커서) 페이징 함수 : dno 가 cursor 보다 큰/작은 데이터를 Pageable 의 size 만큼만 조회
+//     -> where dno > ? order by dno 로 실행되어 기본키 인덱스만 타고 필요한 만큼만 읽음
+    @QueryHints(@QueryHint(name = SPEC_HINT_TIMEOUT, value = DbTimeoutUtil.READ_TIMEOUT_MS))
+    List<Dept> findAllByDnoGreaterThan(Integer dno, Pageable pageable);
+
+    @QueryHints(@QueryHint(name = SPEC_HINT_TIMEOUT, value = DbTimeoutUtil.READ_TIMEOUT_MS))
+    List<Dept> findAllByDnoLessThan(Integer dno, Pageable pageable);
+
+//    부서명 like 검색 + 키셋 페이징 함수
+    @QueryHints({@QueryHint(name = HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = SPEC_HINT_TIMEOUT, value = DbTimeoutUtil.READ_TIMEOUT_MS)})
+    List<Dept> findAllByDnameContainingAndDnoGreaterThan(String dname, Integer dno, Pageable pageable);
+
+    @QueryHints({@QueryHint(name = HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = SPEC_HINT_TIMEOUT, value = DbTimeoutUtil.READ_TIMEOUT_MS)})
+    List<Dept> findAllByDnameContainingAndDnoLessThan(String dname, Integer dno, Pageable pageable);
+
+//    전체 soft delete 함수 : 한건씩 조회 후 삭제(deleteAll)하지 않고 update 문 1번으로 처리
+//     @Modifying : insert/update/delete 쿼리임을 알려주는 어노테이션, 리턴값은 변경된 행 수
+//     clearAutomatically = true : 실행 후 영속성 컨텍스트를 비워서 삭제된 데이터가 남아있지 않게 함
+//     JPQL(엔티티명) 로 작성 : 2차 캐시/쿼리 캐시에서 Dept 만 비움
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Dept e " +
+            "SET e.deleteYn = 'Y', e.deleteTime = " + BaseTimeEntity.CURRENT_TIME + ", " +
+            "e.changeSeq = " + BaseTimeEntity.NEXT_CHANGE_SEQ + " " +
+            "WHERE e.deleteYn = 'N'")
+    int softDeleteAll();
+
+//    부서 위치(loc) 조건 soft delete 함수
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Dept e " +
+            "SET e.deleteYn = 'Y', e.deleteTime = " + BaseTimeEntity.CURRENT_TIME + ", " +
+            "e.changeSeq = " + BaseTimeEntity.NEXT_CHANGE_SEQ + " " +
+            "WHERE e.deleteYn = 'N' AND e.loc = :loc")
+    int softDeleteAllByLoc(@Param("loc") String loc);
+
+//    기본키 soft delete 함수 : 존재확인(existsById) + 조회(findById) + update 3번 대신 update 1번으로 처리
+//     이미 삭제된(DELETE_YN = 'Y') 데이터는 조건에 걸리지 않으므로 리턴값 0 -> 없는 데이터로 판단
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Dept e " +
+            "SET e.deleteYn = 'Y', e.deleteTime = " + BaseTimeEntity.CURRENT_TIME + ", " +
+            "e.changeSeq = " + BaseTimeEntity.NEXT_CHANGE_SEQ + " " +
+            "WHERE e.dno = :dno AND e.deleteYn = 'N'")
+    int softDeleteById(@Param("dno") Integer dno);
+
+//    수정 함수 : 조회(select) 없이 update 문 1번으로 전체 컬럼 수정 + 버전 1 증가
+//     version 이 같을 때만 수정됨 -> 리턴값 0 이면 없는 데이터이거나 다른 사용자가 먼저 수정한 것(충돌)
+//     :#{#dept.속성} : 매개변수 객체의 속성값을 쿼리에 넣는 방법(SpEL)
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Dept e SET " +
+            "e.dname = :#{#dept.dname}, " +
+            "e.loc = :#{#dept.loc}, " +
+            "e.updateTime = :updateTime, e.version = e.version + 1, " +
+            "e.changeSeq = " + BaseTimeEntity.NEXT_CHANGE_SEQ + " " +
+            "WHERE e.dno = :#{#dept.dno} AND e.version = :version AND e.deleteYn = 'N'")
+    int updateByIdAndVersion(@Param("dept") Dept dept,
+                             @Param("version") Long version,
+                             @Param("updateTime") String updateTime);
+
+//    수정 함수 : 버전 확인 없이 수정 ( If-Match 헤더/버전이 없는 예전 클라이언트용 )
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Dept e SET " +
+            "e.dname = :#{#dept.dname}, " +
+            "e.loc = :#{#dept.loc}, " +
+            "e.updateTime = :updateTime, e.version = e.version + 1, " +
+            "e.changeSeq = " + BaseTimeEntity.NEXT_CHANGE_SEQ + " " +
+            "WHERE e.dno = :#{#dept.dno} AND e.deleteYn = 'N'")
+    int updateById(@Param("dept") Dept dept,
+                   @Param("updateTime") String updateTime);
 }
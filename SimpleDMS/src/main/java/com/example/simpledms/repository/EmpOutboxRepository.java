@@ -0,0 +1,148 @@
+package com.example.simpledms.repository;
+
+import com.example.simpledms.model.BaseTimeEntity;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * packageName    : com.example.simpledms.repository
+ * fileName       : EmpOutboxRepository
+ * author         : ds
+ * date           : 2026-10-18
+ * description    : 사원 변경 알림 보낼 목록(outbox) 리파지토리 ( TB_EMP_OUTBOX )
+ * 요약 :
+ * outbox : 외부 시스템(급여 등)에 보낼 변경 알림을 사원 변경과 같은 트랜잭션에서 테이블에 저장
+ *         -> 사원 변경이 commit 되면 알림도 반드시 저장됨, rollback 되면 알림도 없음
+ *         -> 실제 전송(HTTP)은 EmpOutboxDispatcher 가 나중에 따로 실행 ( 사원 저장 응답시간과 무관 )
+ * 받는 곳(endpoint)마다 1건씩 저장하고, 전송에 성공하면 삭제
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 2026-10-18        ds       최초 생성
+ */
+@Repository
+public class EmpOutboxRepository {
+
+//    변경 종류 ( EVENT_TYPE 컬럼, EntityChangeEvent.Type 과 같은 이름 )
+    public static final String CREATE = "CREATE";
+    public static final String UPDATE = "UPDATE";
+    public static final String DELETE = "DELETE";
+
+    private static final String INSERT_SQL = "INSERT INTO TB_EMP_OUTBOX (ID, ENDPOINT, ENO, EVENT_TYPE, INSERT_TIME) " +
+            "VALUES (SQ_EMP_OUTBOX.NEXTVAL, ?, ?, ?, ?)";
+
+//    일괄 변경 : 변경 순번이 update 문에 넣은 순번과 같은 사원 = 이 update 문에서 바뀐 사원
+//     ( "순번 > ?" 로 찾으면 그동안 다른 트랜잭션에서 바뀐 사원까지 이 변경 종류로 저장됨 -> ex) 생성이 삭제로 전송 )
+    private static final String INSERT_CHANGED_SQL = "INSERT INTO TB_EMP_OUTBOX (ID, ENDPOINT, ENO, EVENT_TYPE, INSERT_TIME) " +
+            "SELECT SQ_EMP_OUTBOX.NEXTVAL, ?, ENO, ?, ? FROM TB_EMP WHERE CHANGE_SEQ = ?";
+
+//    보낼 목록 + 사원 현재 데이터 ( 삭제된 사원 포함 )
+    private static final String SELECT_PENDING_SQL = "SELECT * FROM (" +
+            "SELECT o.ID, o.ENO, o.EVENT_TYPE, o.INSERT_TIME AS EVENT_TIME, " +
+            "e.ENAME, e.JOB, e.MANAGER, e.HIREDATE, e.SALARY, e.COMMISSION, e.DNO, e.DELETE_YN, e.VERSION, e.CHANGE_SEQ " +
+            "FROM TB_EMP_OUTBOX o LEFT JOIN TB_EMP e ON e.ENO = o.ENO " +
+            "WHERE o.ENDPOINT = ? ORDER BY o.ID) WHERE ROWNUM <= ?";
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+//    받는 곳(url) 목록 ( 없으면 outbox 에 저장하지 않음 )
+    @Value("${simpledms.outbox.endpoints:}")
+    String[] endpoints;
+
+//    변경된 사원번호 목록 저장 : 반드시 사원 변경과 같은 트랜잭션에서 실행 ( 트랜잭션이 없으면 에러 )
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(String eventType, Collection<Integer> enos) {
+        if (endpoints.length == 0 || enos.isEmpty()) {
+            return;
+        }
+
+        String now = BaseTimeEntity.currentTime();
+        List<Object[]> args = new ArrayList<>(endpoints.length * enos.size());
+        for (String endpoint : endpoints) {
+            for (Integer eno : enos) {
+                args.add(new Object[]{endpoint, eno, eventType, now});
+            }
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, args);
+    }
+
+//    일괄 변경된 사원 저장 : 변경 순번이 changeSeq 인 사원 전체 ( 서비스에서 발급해서 update 문에 넣은 순번 )
+    @Transactional(propagation = Propagation.MANDATORY)
+    public int appendChanged(String eventType, long changeSeq) {
+        String now = BaseTimeEntity.currentTime();
+        int count = 0;
+        for (String endpoint : endpoints) {
+            count += jdbcTemplate.update(INSERT_CHANGED_SQL, endpoint, eventType, now, changeSeq);
+        }
+        return count;
+    }
+
+//    받는 곳(endpoint)에 보낼 목록을 ID 순서로 limit 건 조회 ( 전송 중인 목록도 포함 )
+    public List<Map<String, Object>> findPending(String endpoint, int limit) {
+        return jdbcTemplate.query(SELECT_PENDING_SQL, (rs, rowNum) -> {
+            Map<String, Object> event = new LinkedHashMap<>();
+            event.put("id", rs.getLong("ID"));
+            event.put("type", rs.getString("EVENT_TYPE"));
+            event.put("eventTime", rs.getString("EVENT_TIME"));
+            event.put("eno", rs.getInt("ENO"));
+
+//            사원 현재 데이터 ( 여러 번 바뀌었으면 마지막 데이터, changeSeq 로 순서 비교 )
+            Map<String, Object> emp = new LinkedHashMap<>();
+            emp.put("eno", rs.getInt("ENO"));
+            emp.put("ename", rs.getString("ENAME"));
+            emp.put("job", rs.getString("JOB"));
+            emp.put("manager", rs.getObject("MANAGER") == null ? null : rs.getInt("MANAGER"));
+            emp.put("hiredate", rs.getString("HIREDATE"));
+            emp.put("salary", rs.getObject("SALARY") == null ? null : rs.getInt("SALARY"));
+            emp.put("commission", rs.getObject("COMMISSION") == null ? null : rs.getInt("COMMISSION"));
+            emp.put("dno", rs.getObject("DNO") == null ? null : rs.getInt("DNO"));
+            emp.put("deleteYn", rs.getString("DELETE_YN"));
+            emp.put("version", rs.getObject("VERSION") == null ? null : rs.getLong("VERSION"));
+            emp.put("changeSeq", rs.getObject("CHANGE_SEQ") == null ? null : rs.getLong("CHANGE_SEQ"));
+            event.put("emp", emp);
+            return event;
+        }, endpoint, limit);
+    }
+
+//    전송에 성공한 목록 삭제
+    @Transactional
+    public int deleteByIds(List<Long> ids) {
+        int[] rows = jdbcTemplate.batchUpdate("DELETE FROM TB_EMP_OUTBOX WHERE ID = ?", ids, ids.size(),
+                (ps, id) -> ps.setLong(1, id))[0];
+
+        int count = 0;
+        for (int row : rows) {
+            count += (row == Statement.SUCCESS_NO_INFO) ? 1 : row;
+        }
+        return count;
+    }
+
+//    받는 곳(endpoint)별 남은 건수
+    public Map<String, Long> countByEndpoint() {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (String endpoint : endpoints) {
+            counts.put(endpoint, 0L);
+        }
+        jdbcTemplate.query("SELECT ENDPOINT, COUNT(*) FROM TB_EMP_OUTBOX GROUP BY ENDPOINT",
+                rs -> {
+                    counts.put(rs.getString(1), rs.getLong(2));
+                });
+        return counts;
+    }
+
+    public String[] getEndpoints() {
+        return endpoints.clone();
+    }
+}
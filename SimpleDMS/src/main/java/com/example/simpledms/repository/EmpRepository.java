@@ -1,13 +1,24 @@
 package com.example.simpledms.repository;
 
 
+import com.example.simpledms.model.BaseTimeEntity;
 import com.example.simpledms.model.Dept;
 import com.example.simpledms.model.Emp;
+import com.example.simpledms.util.DbTimeoutUtil;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
 import java.util.List;
 
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.QueryHints.SPEC_HINT_TIMEOUT;
+
 /**
  * packageName    : com.example.jpaexam.repository
  * fileName       : EmpRepository
@@ -24,5 +35,137 @@ public interface EmpRepository extends JpaRepository<Emp, Integer> {
 
     //    사원명(ename)으로 조회하는 like 검색 함수
 //     1) 쿼리메소드 방식으로 함수 정의
+//     쿼리 캐시 : 같은 검색어면 DB 대신 캐시에서 조회 ( 테이블이 수정되면 자동 무효화 )
+    @QueryHints({@QueryHint(name = HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = SPEC_HINT_TIMEOUT, value = DbTimeoutUtil.READ_TIMEOUT_MS)})
     List<Emp> findAllByEnameContaining(String ename);
+
+//    키셋(커서) 페이징 함수 : eno 가 cursor 보다 큰/작은 데이터를 Pageable 의 size 만큼만 조회
+//     -> where eno > ? order by eno 로 실행되어 기본키 인덱스만 타고 필요한 만큼만 읽음
+    @QueryHints(@QueryHint(name = SPEC_HINT_TIMEOUT, value = DbTimeoutUtil.READ_TIMEOUT_MS))
+    List<Emp> findAllByEnoGreaterThan(Integer eno, Pageable pageable);
+
+    @QueryHints(@QueryHint(name = SPEC_HINT_TIMEOUT, value = DbTimeoutUtil.READ_TIMEOUT_MS))
+    List<Emp> findAllByEnoLessThan(Integer eno, Pageable pageable);
+
+//    사원명 like 검색 + 키셋 페이징 함수
+    @QueryHints({@QueryHint(name = HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = SPEC_HINT_TIMEOUT, value = DbTimeoutUtil.READ_TIMEOUT_MS)})
+    List<Emp> findAllByEnameContainingAndEnoGreaterThan(String ename, Integer eno, Pageable pageable);
+
+    @QueryHints({@QueryHint(name = HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = SPEC_HINT_TIMEOUT, value = DbTimeoutUtil.READ_TIMEOUT_MS)})
+    List<Emp> findAllByEnameContainingAndEnoLessThan(String ename, Integer eno, Pageable pageable);
+
+//    전체 soft delete 함수 : 한건씩 조회 후 삭제(deleteAll)하지 않고 update 문 1번으로 처리
+//     @Modifying : insert/update/delete 쿼리임을 알려주는 어노테이션, 리턴값은 변경된 행 수
+//     clearAutomatically = true : 실행 후 영속성 컨텍스트를 비워서 삭제된 데이터가 남아있지 않게 함
+//     JPQL(엔티티명) 로 작성 : 2차 캐시/쿼리 캐시에서 Emp 만 비움
+//      ( native query 는 어떤 테이블을 바꾸는지 몰라서 Dept, Faq 캐시까지 모두 비움 )
+//     changeSeq : 서비스에서 1번 발급한 변경 순번 ( 바뀐 사원 모두 같은 순번 -> outbox 에서 이 순번으로 바뀐 사원을 찾음 )
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Emp e " +
+            "SET e.deleteYn = 'Y', e.deleteTime = " + BaseTimeEntity.CURRENT_TIME + ", " +
+            "e.changeSeq = :changeSeq " +
+            "WHERE e.deleteYn = 'N'")
+    int softDeleteAll(@Param("changeSeq") long changeSeq);
+
+//    부서번호(dno) 조건 soft delete 함수
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Emp e " +
+            "SET e.deleteYn = 'Y', e.deleteTime = " + BaseTimeEntity.CURRENT_TIME + ", " +
+            "e.changeSeq = :changeSeq " +
+            "WHERE e.deleteYn = 'N' AND e.dno = :dno")
+    int softDeleteAllByDno(@Param("dno") Integer dno, @Param("changeSeq") long changeSeq);
+
+//    급여 일괄 인상 함수 : salary = salary * rate 를 update 문 1번으로 처리 ( 조회 후 한 건씩 수정 X )
+//     DB 가 현재 값으로 계산하므로 동시에 다른 수정이 있어도 값이 덮어써지지 않음(원자적 수정)
+//     수정시간/버전도 같이 갱신 ( 버전이 바뀌므로 수정 화면의 If-Match 는 412 로 충돌 감지 )
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Emp e " +
+            "SET e.salary = ROUND(e.salary * CAST(:rate AS double)), e.version = e.version + 1, " +
+            "e.changeSeq = :changeSeq, " +
+            "e.updateTime = " + BaseTimeEntity.CURRENT_TIME + " " +
+            "WHERE e.deleteYn = 'N'")
+    int raiseSalaryAll(@Param("rate") double rate, @Param("changeSeq") long changeSeq);
+
+//    부서번호(dno) 조건 급여 일괄 인상 함수
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Emp e " +
+            "SET e.salary = ROUND(e.salary * CAST(:rate AS double)), e.version = e.version + 1, " +
+            "e.changeSeq = :changeSeq, " +
+            "e.updateTime = " + BaseTimeEntity.CURRENT_TIME + " " +
+            "WHERE e.deleteYn = 'N' AND e.dno = :dno")
+    int raiseSalaryByDno(@Param("dno") Integer dno, @Param("rate") double rate, @Param("changeSeq") long changeSeq);
+
+//    상여금 일괄 추가 함수 : commission = commission + amount ( 상여금이 없으면(null) 0 으로 계산 )
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Emp e " +
+            "SET e.commission = COALESCE(e.commission, 0) + :amount, e.version = e.version + 1, " +
+            "e.changeSeq = :changeSeq, " +
+            "e.updateTime = " + BaseTimeEntity.CURRENT_TIME + " " +
+            "WHERE e.deleteYn = 'N'")
+    int addCommissionAll(@Param("amount") int amount, @Param("changeSeq") long changeSeq);
+
+//    부서번호(dno) 조건 상여금 일괄 추가 함수
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Emp e " +
+            "SET e.commission = COALESCE(e.commission, 0) + :amount, e.version = e.version + 1, " +
+            "e.changeSeq = :changeSeq, " +
+            "e.updateTime = " + BaseTimeEntity.CURRENT_TIME + " " +
+            "WHERE e.deleteYn = 'N' AND e.dno = :dno")
+    int addCommissionByDno(@Param("dno") Integer dno, @Param("amount") int amount, @Param("changeSeq") long changeSeq);
+
+//    부서 이동 함수 : from 부서의 사원 전체를 to 부서로 update 문 1번으로 이동
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Emp e " +
+            "SET e.dno = :toDno, e.version = e.version + 1, " +
+            "e.changeSeq = :changeSeq, " +
+            "e.updateTime = " + BaseTimeEntity.CURRENT_TIME + " " +
+            "WHERE e.deleteYn = 'N' AND e.dno = :fromDno")
+    int moveDept(@Param("fromDno") Integer fromDno, @Param("toDno") Integer toDno, @Param("changeSeq") long changeSeq);
+
+//    기본키 soft delete 함수 : 존재확인(existsById) + 조회(findById) + update 3번 대신 update 1번으로 처리
+//     이미 삭제된(DELETE_YN = 'Y') 데이터는 조건에 걸리지 않으므로 리턴값 0 -> 없는 데이터로 판단
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Emp e " +
+            "SET e.deleteYn = 'Y', e.deleteTime = " + BaseTimeEntity.CURRENT_TIME + ", " +
+            "e.changeSeq = " + BaseTimeEntity.NEXT_CHANGE_SEQ + " " +
+            "WHERE e.eno = :eno AND e.deleteYn = 'N'")
+    int softDeleteById(@Param("eno") Integer eno);
+
+//    수정 함수 : 조회(select) 없이 update 문 1번으로 전체 컬럼 수정 + 버전 1 증가
+//     version 이 같을 때만 수정됨 -> 리턴값 0 이면 없는 데이터이거나 다른 사용자가 먼저 수정한 것(충돌)
+//     :#{#emp.속성} : 매개변수 객체의 속성값을 쿼리에 넣는 방법(SpEL)
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Emp e SET " +
+            "e.ename = :#{#emp.ename}, " +
+            "e.job = :#{#emp.job}, " +
+            "e.manager = :#{#emp.manager}, " +
+            "e.hiredate = :#{#emp.hiredate}, " +
+            "e.salary = :#{#emp.salary}, " +
+            "e.commission = :#{#emp.commission}, " +
+            "e.dno = :#{#emp.dno}, " +
+            "e.updateTime = :updateTime, e.version = e.version + 1, " +
+            "e.changeSeq = " + BaseTimeEntity.NEXT_CHANGE_SEQ + " " +
+            "WHERE e.eno = :#{#emp.eno} AND e.version = :version AND e.deleteYn = 'N'")
+    int updateByIdAndVersion(@Param("emp") Emp emp,
+                             @Param("version") Long version,
+                             @Param("updateTime") String updateTime);
+
+//    수정 함수 : 버전 확인 없이 수정 ( If-Match 헤더/버전이 없는 예전 클라이언트용 )
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Emp e SET " +
+            "e.ename = :#{#emp.ename}, " +
+            "e.job = :#{#emp.job}, " +
+            "e.manager = :#{#emp.manager}, " +
+            "e.hiredate = :#{#emp.hiredate}, " +
+            "e.salary = :#{#emp.salary}, " +
+            "e.commission = :#{#emp.commission}, " +
+            "e.dno = :#{#emp.dno}, " +
+            "e.updateTime = :updateTime, e.version = e.version + 1, " +
+            "e.changeSeq = " + BaseTimeEntity.NEXT_CHANGE_SEQ + " " +
+            "WHERE e.eno = :#{#emp.eno} AND e.deleteYn = 'N'")
+    int updateById(@Param("emp") Emp emp,
+                   @Param("updateTime") String updateTime);
 }
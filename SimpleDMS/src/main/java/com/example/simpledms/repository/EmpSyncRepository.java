@@ -0,0 +1,188 @@
+package com.example.simpledms.repository;
+
+import com.example.simpledms.model.BaseTimeEntity;
+import com.example.simpledms.model.Emp;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.IntConsumer;
+
+/**
+ * packageName    : com.example.simpledms.repository
+ * fileName       : EmpSyncRepository
+ * author         : ds
+ * date           : 2026-10-18
+ * description    : 사원 전체 동기화(upsert) 리파지토리 ( Oracle MERGE + JDBC batch )
+ * 요약 :
+ * save() 반복 : 한 건마다 select(있는지 확인) -> insert 또는 update
+ * mergeChunk() : 사원번호(eno) 기준 MERGE 문을 JDBC batch 로 한번에 전송
+ *               없으면 insert, 있으면 바뀐 컬럼이 있을 때만 update ( 같으면 아무것도 안 함 )
+ *               삭제된(DELETE_YN = 'Y') 사원이 다시 들어오면 복구
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 2026-10-18        ds       최초 생성
+ */
+@Repository
+public class EmpSyncRepository {
+
+//    MERGE 결과 : 생성(insert)/수정(update)된 사원번호, 변경없는 건수
+//     ( 서비스에서 사원번호별 데이터 변경 이벤트 발행 -> 이름 색인 등은 바뀐 사원만 다시 색인 )
+    @Getter
+    public static class MergeResult {
+        private final List<Integer> inserted;
+        private final List<Integer> updated;
+        private final int unchanged;
+
+        public MergeResult(List<Integer> inserted, List<Integer> updated, int unchanged) {
+            this.inserted = inserted;
+            this.updated = updated;
+            this.unchanged = unchanged;
+        }
+    }
+
+//    MERGE 1건 : USING 절 8개 + 수정시간 + 변경순번(수정) + 생성시간 + 변경순번(생성) 파라메터
+//     DECODE(a, b, 0, 1) : null 끼리도 같은 값으로 비교 ( 바뀐 컬럼이 하나도 없으면 update 안 함 -> 변경 행 수 0 )
+    private static final String MERGE_SQL =
+            "MERGE INTO TB_EMP t " +
+            "USING (SELECT ? ENO, ? ENAME, ? JOB, ? MANAGER, ? HIREDATE, ? SALARY, ? COMMISSION, ? DNO FROM DUAL) s " +
+            "ON (t.ENO = s.ENO) " +
+            "WHEN MATCHED THEN UPDATE SET " +
+            "t.ENAME = s.ENAME, t.JOB = s.JOB, t.MANAGER = s.MANAGER, t.HIREDATE = s.HIREDATE, " +
+            "t.SALARY = s.SALARY, t.COMMISSION = s.COMMISSION, t.DNO = s.DNO, " +
+            "t.DELETE_YN = 'N', t.DELETE_TIME = NULL, t.UPDATE_TIME = ?, t.VERSION = t.VERSION + 1, " +
+            "t.CHANGE_SEQ = ? " +
+            "WHERE t.DELETE_YN = 'Y' " +
+            "OR DECODE(t.ENAME, s.ENAME, 0, 1) = 1 OR DECODE(t.JOB, s.JOB, 0, 1) = 1 " +
+            "OR DECODE(t.MANAGER, s.MANAGER, 0, 1) = 1 OR DECODE(t.HIREDATE, s.HIREDATE, 0, 1) = 1 " +
+            "OR DECODE(t.SALARY, s.SALARY, 0, 1) = 1 OR DECODE(t.COMMISSION, s.COMMISSION, 0, 1) = 1 " +
+            "OR DECODE(t.DNO, s.DNO, 0, 1) = 1 " +
+            "WHEN NOT MATCHED THEN INSERT " +
+            "(ENO, ENAME, JOB, MANAGER, HIREDATE, SALARY, COMMISSION, DNO, DELETE_YN, INSERT_TIME, VERSION, CHANGE_SEQ) " +
+            "VALUES (s.ENO, s.ENAME, s.JOB, s.MANAGER, s.HIREDATE, s.SALARY, s.COMMISSION, s.DNO, 'N', ?, 0, ?)";
+
+    private static final int[] MERGE_TYPES = {
+            Types.INTEGER, Types.VARCHAR, Types.VARCHAR, Types.INTEGER, Types.VARCHAR,
+            Types.INTEGER, Types.INTEGER, Types.INTEGER, Types.VARCHAR, Types.BIGINT, Types.VARCHAR, Types.BIGINT
+    };
+
+    private static final String SOFT_DELETE_SQL = "UPDATE TB_EMP " +
+            "SET DELETE_YN = 'Y', DELETE_TIME = TO_CHAR(SYSDATE, 'YYYY-MM-DD HH24:MI:SS'), CHANGE_SEQ = ? " +
+            "WHERE ENO = ? AND DELETE_YN = 'N'";
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    EmpOutboxRepository empOutboxRepository; // 외부 시스템 변경 알림(outbox) 저장
+
+//    사원번호 조회 시 DB 커서가 한번에 가져오는 행 수
+    @Value("${simpledms.stream.fetch-size:500}")
+    int fetchSize;
+
+//    여러 건 MERGE 함수 : 트랜잭션 1개 + JDBC batch 1번, 생성/수정된 사원번호 + 변경없음 건수 리턴
+//     emps 는 사원번호(eno)가 모두 있고 중복이 없어야 함 ( 최대 1000건 : Oracle IN 절 제한 )
+    @Transactional
+    public MergeResult mergeChunk(Collection<Emp> emps) {
+        List<Integer> enos = new ArrayList<>(emps.size());
+        for (Emp emp : emps) {
+            enos.add(emp.getEno());
+        }
+//        이미 있는 사원번호 ( 삭제된 사원 포함 ) : MERGE 결과에서 생성/수정을 구분하기 위해 먼저 조회
+        Set<Integer> existing = findExistingEnos(enos);
+
+        String now = BaseTimeEntity.currentTime();
+        List<Object[]> args = new ArrayList<>(emps.size());
+        for (Emp emp : emps) {
+//            변경 순번은 행마다 따로 발급 ( 수정/생성 중 하나만 사용됨 )
+            long changeSeq = BaseTimeEntity.nextChangeSeq();
+            args.add(new Object[]{emp.getEno(), emp.getEname(), emp.getJob(), emp.getManager(),
+                    emp.getHiredate(), emp.getSalary(), emp.getCommission(), emp.getDno(),
+                    now, changeSeq, now, changeSeq});
+        }
+
+        int[] rows = jdbcTemplate.batchUpdate(MERGE_SQL, args, MERGE_TYPES);
+
+        int unchanged = 0;
+        List<Integer> inserted = new ArrayList<>();
+        List<Integer> updated = new ArrayList<>();
+        int i = 0;
+        for (Emp emp : emps) {
+            if (existing.contains(emp.getEno()) == false) {
+                inserted.add(emp.getEno());
+            } else if (rows[i] == 0) {
+                unchanged++;
+            } else {
+//                SUCCESS_NO_INFO(-2) : 드라이버가 행 수를 알려주지 않으면 수정으로 계산
+                updated.add(emp.getEno());
+            }
+            i++;
+        }
+
+//        외부 시스템 변경 알림(outbox) : 같은 트랜잭션에서 저장
+        empOutboxRepository.append(EmpOutboxRepository.CREATE, inserted);
+        empOutboxRepository.append(EmpOutboxRepository.UPDATE, updated);
+        return new MergeResult(inserted, updated, unchanged);
+    }
+
+//    사원번호 목록 중 DB 에 있는 사원번호 조회
+    public Set<Integer> findExistingEnos(List<Integer> enos) {
+        if (enos.isEmpty()) {
+            return new HashSet<>();
+        }
+
+        StringBuilder sql = new StringBuilder("SELECT ENO FROM TB_EMP WHERE ENO IN (");
+        for (int i = 0; i < enos.size(); i++) {
+            sql.append(i == 0 ? "?" : ", ?");
+        }
+        sql.append(")");
+
+        return new HashSet<>(jdbcTemplate.queryForList(sql.toString(), Integer.class, enos.toArray()));
+    }
+
+//    삭제되지 않은 사원번호를 DB 커서로 한 건씩 action 에 전달
+    public void forEachActiveEno(IntConsumer action) {
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement("SELECT ENO FROM TB_EMP WHERE DELETE_YN = 'N'");
+            ps.setFetchSize(fetchSize);
+            return ps;
+        }, rs -> {
+            action.accept(rs.getInt(1));
+        });
+    }
+
+//    사원번호 목록 soft delete 함수 : JDBC batch 1번, 삭제된 건수 리턴
+    @Transactional
+    public int softDeleteByEnos(List<Integer> enos) {
+        int[] rows = jdbcTemplate.batchUpdate(SOFT_DELETE_SQL, enos, enos.size(),
+                (ps, eno) -> {
+                    ps.setLong(1, BaseTimeEntity.nextChangeSeq());
+                    ps.setInt(2, eno);
+                })[0];
+
+        int count = 0;
+        List<Integer> deleted = new ArrayList<>(enos.size());
+        for (int i = 0; i < rows.length; i++) {
+            int row = (rows[i] == Statement.SUCCESS_NO_INFO) ? 1 : rows[i];
+            if (row > 0) {
+                deleted.add(enos.get(i));
+            }
+            count += row;
+        }
+
+        empOutboxRepository.append(EmpOutboxRepository.DELETE, deleted);
+        return count;
+    }
+}
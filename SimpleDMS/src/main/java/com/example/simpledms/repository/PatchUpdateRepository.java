@@ -0,0 +1,95 @@
+package com.example.simpledms.repository;
+
+import com.example.simpledms.model.BaseTimeEntity;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.Query;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * packageName    : com.example.simpledms.repository
+ * fileName       : PatchUpdateRepository
+ * author         : ds
+ * date           : 2026-10-18
+ * description    : 부분 수정(JSON Merge Patch) 리파지토리
+ * 요약 :
+ * JSON Merge Patch : 바꿀 속성만 보내는 수정 방식 ( ex) { "loc" : "BUSAN" } )
+ *                    값이 null 인 속성은 null 로 수정
+ * patch() : 조회(select) 없이 보낸 속성(컬럼)만 update 문 1번으로 수정
+ *          ( @DynamicUpdate 처럼 바뀐 컬럼만 update 하지만, 조회 후 비교하는 과정이 없음 )
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 2026-10-18        ds       최초 생성
+ */
+@Repository
+public class PatchUpdateRepository {
+
+    @PersistenceContext
+    EntityManager entityManager;
+
+//    속성값 타입 변환용 ( ex) "3000" -> Integer )
+    @Autowired
+    ObjectMapper objectMapper;
+
+//    부분 수정 함수 : 수정된 건수 리턴 ( 0 이면 없는 데이터이거나 버전 충돌 )
+//     columns : 수정 가능한 속성 목록 ( 기본키, 버전, 삭제여부 등은 수정 불가 )
+//     version : null 이 아니면 버전이 같을 때만 수정
+    @Transactional
+    public <T extends BaseTimeEntity> int patch(Class<T> entityClass, String idProperty, Object id,
+                                                Map<String, Object> patch, Set<String> columns, Long version) {
+        if (patch == null || patch.isEmpty()) {
+            throw new IllegalArgumentException("수정할 속성이 없습니다");
+        }
+
+        StringBuilder jpql = new StringBuilder("UPDATE ")
+                .append(entityClass.getSimpleName()).append(" e SET ");
+        List<Object> values = new ArrayList<>(patch.size());
+
+        for (Map.Entry<String, Object> entry : patch.entrySet()) {
+            if (columns.contains(entry.getKey()) == false) {
+                throw new IllegalArgumentException("수정할 수 없는 속성입니다 : " + entry.getKey());
+            }
+
+//            속성 타입으로 변환 ( 변환할 수 없으면 IllegalArgumentException )
+            Class<?> type = BeanUtils.findPropertyType(entry.getKey(), entityClass);
+            Object value = (entry.getValue() == null) ? null : objectMapper.convertValue(entry.getValue(), type);
+
+            jpql.append("e.").append(entry.getKey()).append(" = :p").append(values.size()).append(", ");
+            values.add(value);
+        }
+
+        jpql.append("e.updateTime = :updateTime, e.version = e.version + 1, e.changeSeq = :changeSeq ")
+                .append("WHERE e.").append(idProperty).append(" = :id AND e.deleteYn = 'N'");
+        if (version != null) {
+            jpql.append(" AND e.version = :version");
+        }
+
+        Query query = entityManager.createQuery(jpql.toString());
+        for (int i = 0; i < values.size(); i++) {
+            query.setParameter("p" + i, values.get(i));
+        }
+        query.setParameter("updateTime", BaseTimeEntity.currentTime());
+        query.setParameter("changeSeq", BaseTimeEntity.nextChangeSeq());
+        query.setParameter("id", id);
+        if (version != null) {
+            query.setParameter("version", version);
+        }
+
+        int count = query.executeUpdate();
+
+//        영속성 컨텍스트에 남아있는 예전 데이터 제거 ( @Modifying(clearAutomatically = true) 와 같은 역할 )
+        entityManager.clear();
+
+        return count;
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.simpledms.repository;
+
+import com.example.simpledms.util.DbTimeoutUtil;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.Tuple;
+import javax.persistence.TypedQuery;
+import javax.persistence.metamodel.Attribute;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.hibernate.jpa.QueryHints.SPEC_HINT_TIMEOUT;
+
+/**
+ * packageName    : com.example.simpledms.repository
+ * fileName       : ProjectionRepository
+ * author         : ds
+ * date           : 2026-10-18
+ * description    : 필요한 속성(컬럼)만 조회하는 리파지토리 ( ?fields=eno,ename,dno )
+ * 요약 :
+ * 기존 : select e from Emp e -> 11개 컬럼 전체 조회 + 엔티티 생성 + 영속성 컨텍스트에 저장(변경 감지용 스냅샷)
+ * 변경 : select e.eno, e.ename, e.dno from Emp e -> 요청한 컬럼만 조회, 엔티티가 아닌 값(Tuple)으로 받음
+ *       -> 영속성 컨텍스트/2차 캐시에 저장하지 않음, ( 속성명 -> 값 ) 읽기 전용 Map 으로 리턴
+ * 기본키는 다음 페이지 커서로 쓰기 위해 요청하지 않아도 항상 맨 앞에 포함
+ * 속성명은 엔티티 메타모델에 있는 이름만 허용 ( 없는 이름이면 IllegalArgumentException )
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 2026-10-18        ds       최초 생성
+ */
+@Repository
+public class ProjectionRepository {
+
+    @PersistenceContext
+    EntityManager entityManager;
+
+//    키셋(커서) 페이징 + 필요한 속성만 조회 함수
+//     likeProperty/likeValue : like 검색 속성/검색어 ( likeValue 가 null 이면 전체 조회 )
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> findAll(Class<?> entityClass, String keyProperty, List<String> fields,
+                                             String likeProperty, String likeValue,
+                                             int cursor, int size, boolean desc) {
+        List<String> properties = properties(entityClass, keyProperty, fields);
+
+        StringBuilder jpql = new StringBuilder("select ");
+        for (int i = 0; i < properties.size(); i++) {
+            jpql.append(i == 0 ? "" : ", ").append("e.").append(properties.get(i));
+        }
+        jpql.append(" from ").append(entityClass.getSimpleName()).append(" e")
+                .append(" where e.").append(keyProperty).append(desc ? " < :cursor" : " > :cursor");
+        if (likeValue != null) {
+            jpql.append(" and e.").append(likeProperty).append(" like :like escape '\\'");
+        }
+        jpql.append(" order by e.").append(keyProperty).append(desc ? " desc" : " asc");
+
+        TypedQuery<Tuple> query = entityManager.createQuery(jpql.toString(), Tuple.class)
+                .setHint(SPEC_HINT_TIMEOUT, DbTimeoutUtil.READ_TIMEOUT_MS)
+                .setParameter("cursor", cursor)
+                .setMaxResults(size);
+        if (likeValue != null) {
+            query.setParameter("like", "%" + escapeLike(likeValue) + "%");
+        }
+
+        List<Map<String, Object>> list = new ArrayList<>();
+        for (Tuple tuple : query.getResultList()) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            for (int i = 0; i < properties.size(); i++) {
+                row.put(properties.get(i), tuple.get(i));
+            }
+            list.add(Collections.unmodifiableMap(row));
+        }
+        return list;
+    }
+
+//    조회할 속성 목록 : 기본키 + 요청한 속성 ( 중복 제거, 엔티티에 없는 속성이면 에러 )
+    List<String> properties(Class<?> entityClass, String keyProperty, List<String> fields) {
+        Set<String> allowed = new LinkedHashSet<>();
+        for (Attribute<?, ?> attribute : entityManager.getMetamodel().entity(entityClass).getSingularAttributes()) {
+            allowed.add(attribute.getName());
+        }
+
+        Set<String> properties = new LinkedHashSet<>();
+        properties.add(keyProperty);
+        for (String field : fields) {
+            String name = field.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (allowed.contains(name) == false) {
+                throw new IllegalArgumentException("fields 에 없는 속성입니다 : " + name);
+            }
+            properties.add(name);
+        }
+        return new ArrayList<>(properties);
+    }
+
+//    like 검색어의 %, _ 를 문자 그대로 검색 ( 쿼리 메소드 Containing 과 같은 방식, 쿼리에 escape '\' 필요 )
+    public static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.simpledms.service;
+
+import com.example.simpledms.model.Dept;
+import com.example.simpledms.model.Emp;
+import com.example.simpledms.model.Faq;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Service;
+
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.PersistenceUnit;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * packageName    : com.example.simpledms.service
+ * fileName       : CacheStatsService
+ * author         : ds
+ * date           : 2026-10-18
+ * description    : 2차 캐시(엔티티 + 쿼리 캐시) 통계/비우기 서비스 클래스
+ * 요약 :
+ * 통계 : 캐시 적중(hit) / 실패(miss, DB 조회) / 저장(put) 건수 ( 엔티티별 + 쿼리 캐시 )
+ * 비우기 : JPA 를 거치지 않고 DB 를 직접 수정한 경우(JDBC) 캐시에 남은 예전 데이터 제거
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 2026-10-18        ds       최초 생성
+ */
+@Service
+public class CacheStatsService {
+
+    @PersistenceUnit
+    EntityManagerFactory entityManagerFactory;
+
+//    캐시 통계 조회 함수
+    public Map<String, Object> getStats() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", statistics.isStatisticsEnabled());
+        stats.put("secondLevel", counts(statistics.getSecondLevelCacheHitCount(),
+                statistics.getSecondLevelCacheMissCount(), statistics.getSecondLevelCachePutCount()));
+        stats.put("query", counts(statistics.getQueryCacheHitCount(),
+                statistics.getQueryCacheMissCount(), statistics.getQueryCachePutCount()));
+
+//        엔티티별 통계 ( 캐시 이름 == 클래스 전체 이름 )
+        Map<String, Object> regions = new LinkedHashMap<>();
+        for (Class<?> entityClass : new Class<?>[]{Dept.class, Emp.class, Faq.class}) {
+            CacheRegionStatistics region = statistics.getDomainDataRegionStatistics(entityClass.getName());
+            if (region != null) {
+                Map<String, Object> count = counts(region.getHitCount(), region.getMissCount(), region.getPutCount());
+                count.put("size", region.getElementCountInMemory());
+                regions.put(entityClass.getSimpleName(), count);
+            }
+        }
+        stats.put("regions", regions);
+
+        return stats;
+    }
+
+//    캐시 전체 비우기 함수 : 엔티티 캐시 + 쿼리 캐시
+    public void evictAll() {
+        entityManagerFactory.getCache().evictAll();
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictQueryRegions();
+    }
+
+//    엔티티 1종류 캐시 비우기 함수 : 해당 엔티티 캐시 + 쿼리 캐시
+    public void evict(Class<?> entityClass) {
+        entityManagerFactory.getCache().evict(entityClass);
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictQueryRegions();
+    }
+
+    private Map<String, Object> counts(long hit, long miss, long put) {
+        Map<String, Object> count = new LinkedHashMap<>();
+        count.put("hit", hit);
+        count.put("miss", miss);
+        count.put("put", put);
+//        적중률 : hit / (hit + miss)
+        count.put("hitRatio", (hit + miss == 0) ? 0.0 : (double) hit / (hit + miss));
+        return count;
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.simpledms.service;
+
+import com.example.simpledms.model.BaseTimeEntity;
+import com.example.simpledms.repository.ChangeFeedRepository;
+import com.example.simpledms.util.PageUtil;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * packageName    : com.example.simpledms.service
+ * fileName       : ChangeFeedService
+ * author         : ds
+ * date           : 2026-10-18
+ * description    : 변경분(change feed) 조회 서비스
+ * 요약 :
+ * 사용법 : /api/emp/changes?since=0 -> 응답의 since/after 를 그대로 다음 요청에 넣어서 반복
+ *         hasMore 가 false 이면 지금까지의 변경분을 모두 받은 것 ( 잠시 후 같은 커서로 다시 요청 )
+ * 커서 : (since = 변경 순번, after = 기본키) -> 같은 순번이 여러 건이어도 빠짐/중복 없이 이어서 조회
+ * 진행 중 트랜잭션 : 순번은 commit 시점이 아니라 변경 시점(서버 시계)에 발급됨
+ *             -> 아직 commit 되지 않은 트랜잭션의 첫 순번 전까지만 조회 ( BaseTimeEntity.lowestInFlightChangeSeq() )
+ *             오래 걸리는 트랜잭션(일괄 수정 등)은 실패하지 않고, 끝날 때까지 그 이후 변경분 전송이 늦어짐
+ * safety-lag : 최근 safety-lag-ms 안에 발급된 순번도 다음 요청으로 미룸 ( 서버끼리 시계 차이 보정 )
+ *       safety-lag-ms >= max-clock-skew-ms 가 아니면 서버 시작 에러
+ * 주의 : 진행 중 트랜잭션 목록은 서버(JVM)마다 따로 있음 -> 서버가 여러 대이면 다른 서버의 진행 중 트랜잭션은 모름
+ *       ( 변경분 조회를 변경이 일어나는 서버에서 하거나, safety-lag 를 가장 긴 트랜잭션보다 길게 설정 )
+ * 삭제된 데이터는 deleteYn = 'Y' 로 전달됨
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 2026-10-18        ds       최초 생성
+ */
+@Service
+public class ChangeFeedService {
+
+    @Autowired
+    ChangeFeedRepository changeFeedRepository;
+
+//    최근 변경 순번을 제외하는 시간(ms) ( 서버 시계 차이 보정 )
+    @Value("${simpledms.changes.safety-lag-ms:2000}")
+    long safetyLagMs = 2000;
+
+//    서버(여러 대)끼리 허용하는 최대 시계 차이(ms)
+    @Value("${simpledms.changes.max-clock-skew-ms:1000}")
+    long maxClockSkewMs = 1000;
+
+//    safety-lag 가 시계 차이보다 짧으면 다른 서버가 발급한 순번이 빠질 수 있으므로 시작하지 않음
+    @PostConstruct
+    void init() {
+        if (safetyLagMs < maxClockSkewMs) {
+            throw new IllegalStateException("simpledms.changes.safety-lag-ms(" + safetyLagMs + ") 는 max-clock-skew-ms("
+                    + maxClockSkewMs + ") 이상이어야 합니다");
+        }
+    }
+
+//    변경분 조회 함수 : { changes, since, after, hasMore } 리턴
+//     since : 마지막으로 받은 변경 순번 ( null 이면 처음부터 )
+//     after : 마지막으로 받은 기본키 ( since 와 같은 순번 중 이 기본키 다음부터 )
+    public <T extends BaseTimeEntity> Map<String, Object> changes(Class<T> entityClass, String idColumn,
+                                                                  Function<T, Integer> idGetter,
+                                                                  Long since, Integer after, Integer limit) {
+        if (since != null && since < 0) {
+            throw new IllegalArgumentException("since 는 0 이상이어야 합니다 : " + since);
+        }
+//        처음부터 : 초기 데이터(변경 순번 0) 포함
+        long fromSeq = (since == null) ? -1L : since;
+        int fromId = (after == null) ? Integer.MIN_VALUE : after;
+
+        int pageSize = PageUtil.clampSize(limit);
+//        진행 중 트랜잭션의 첫 순번 전까지 ( 먼저 읽음 : 읽은 후 시작한 트랜잭션의 순번은 아래 시간 기준보다 큼 )
+        long inFlight = BaseTimeEntity.lowestInFlightChangeSeq();
+        long upto = Math.min(BaseTimeEntity.changeSeqAt(System.currentTimeMillis() - safetyLagMs), inFlight - 1);
+
+        List<T> list = changeFeedRepository.findChanges(entityClass, idColumn, fromSeq, fromId, upto, pageSize);
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("changes", list);
+        if (list.isEmpty()) {
+//            변경분 없음 : 커서 그대로
+            result.put("since", since);
+            result.put("after", after);
+        } else {
+//            다음 커서 : 마지막 데이터의 (변경 순번, 기본키)
+            T last = list.get(list.size() - 1);
+            result.put("since", last.getChangeSeq());
+            result.put("after", idGetter.apply(last));
+        }
+        result.put("hasMore", list.size() == pageSize);
+
+        return result;
+    }
+}
@@ -0,0 +1,412 @@
+package com.example.simpledms.service;
+
+import com.example.simpledms.model.Dept;
+import com.example.simpledms.model.Emp;
+import com.example.simpledms.model.Faq;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * packageName    : com.example.simpledms.service
+ * fileName       : ChangeStreamService
+ * author         : ds
+ * date           : 2026-10-18
+ * description    : 데이터 변경 알림(Server-Sent Events) 서비스 클래스
+ * 요약 :
+ * 기존 : 화면에서 주기적으로 목록을 다시 조회(polling)
+ * 변경 : GET /api/stream/{dept,emp,faq} 로 연결해 두면 commit 후 변경된 기본키를 바로 전송
+ *       event: create/update/delete , data: {"ids":[10,20]}
+ *       event: reset , data: {} -> 일괄 변경이거나 알림이 너무 많이 밀림 : 목록 전체를 다시 조회
+ *       ": ping" 주석 -> heartbeat ( 프록시/브라우저가 연결을 끊지 않게 함 )
+ * 구독자별 버퍼 : 보내지 못한 변경을 기본키별로 합침(coalescing) ( ex) 생성 후 수정 -> 생성 1건 )
+ *               buffer-size 건을 넘으면 버퍼를 비우고 reset 1건으로 대체 -> 느린 구독자도 메모리 사용량이 일정함
+ * 전송 : 구독자 1명당 전송 작업은 동시에 1개만 실행
+ *       SseEmitter.send() 는 blocking 쓰기 -> TCP 버퍼가 꽉 찬 구독자는 전송 스레드를 붙잡고 있음
+ *       write-timeout-ms 동안 쓰기가 끝나지 않으면 그 구독자는 끊고(제거), 붙잡힌 스레드 대신 전송 스레드 1개 추가
+ *       -> 느린 구독자가 다른 구독자를 막지 않음 ( 붙잡힌 스레드가 풀려나면 추가한 스레드도 다시 줄임 )
+ * 주의 : 서버 메모리에서 전달하므로 연결이 끊긴 동안의 변경은 /api/{dept,emp,faq}/changes 로 조회
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 2026-10-18        ds       최초 생성
+ */
+@Slf4j
+@Service
+public class ChangeStreamService {
+
+//    구독 가능한 대상 ( url 이름 -> 엔티티 )
+    static final Map<String, Class<?>> TOPICS;
+
+    static {
+        Map<String, Class<?>> topics = new HashMap<>();
+        topics.put("dept", Dept.class);
+        topics.put("emp", Emp.class);
+        topics.put("faq", Faq.class);
+        TOPICS = Collections.unmodifiableMap(topics);
+    }
+
+//    연결 유지 시간(ms) : 지나면 연결이 끊기고 브라우저(EventSource)가 다시 연결함
+    @Value("${simpledms.sse.timeout-ms:1800000}")
+    long timeoutMs;
+
+//    구독자별 보내지 못한 변경(기본키) 최대 건수
+    @Value("${simpledms.sse.buffer-size:256}")
+    int bufferSize;
+
+//    heartbeat 전송 간격(ms)
+    @Value("${simpledms.sse.heartbeat-ms:15000}")
+    long heartbeatMs;
+
+//    최대 구독자 수 ( 넘으면 구독 거절 )
+    @Value("${simpledms.sse.max-subscribers:1000}")
+    int maxSubscribers;
+
+//    전송 스레드 수
+    @Value("${simpledms.sse.sender-threads:4}")
+    int senderThreads;
+
+//    이벤트 1건 쓰기 최대 시간(ms) : 넘으면 느린 구독자로 보고 연결 끊기
+    @Value("${simpledms.sse.write-timeout-ms:5000}")
+    long writeTimeoutMs;
+
+    private final Map<Class<?>, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+
+    private ThreadPoolExecutor sender;
+    private ScheduledExecutorService heartbeatScheduler;
+
+//    SSE 이벤트 id
+    private final AtomicLong eventId = new AtomicLong();
+
+    private final AtomicLong sentCount = new AtomicLong();
+    private final AtomicLong coalescedCount = new AtomicLong();
+    private final AtomicLong resetCount = new AtomicLong();
+    private final AtomicLong droppedCount = new AtomicLong();
+
+//    구독자 1명에게 보낼 내용 ( 기본키별로 합친 변경 + reset + heartbeat )
+    static class Pending {
+        final Map<EntityChangeEvent.Type, List<Integer>> changes = new EnumMap<>(EntityChangeEvent.Type.class);
+        boolean reset;
+        boolean heartbeat;
+    }
+
+//    구독자 1명 : SSE 연결 + 보내지 못한 변경 버퍼
+    static class Subscriber {
+        final SseEmitter emitter;
+        private final int capacity;
+
+//        기본키 -> 합쳐진 변경 종류 ( 들어온 순서 유지 )
+        private final LinkedHashMap<Integer, EntityChangeEvent.Type> buffer = new LinkedHashMap<>();
+        private boolean reset;
+        private boolean heartbeat;
+//        전송 작업이 실행 중인가? ( 구독자 1명당 1개만 실행 )
+        private boolean sending;
+//        지금 실행 중인 쓰기의 시작 시간(nanoTime) ( 0 : 쓰는 중 아님 )
+        volatile long writeStartedNanos;
+//        쓰기 시간 초과로 끊긴 구독자인가? ( 전송 스레드를 1개 추가했으면 쓰기가 끝날 때 다시 줄임 )
+        volatile boolean dropped;
+
+        Subscriber(SseEmitter emitter, int capacity) {
+            this.emitter = emitter;
+            this.capacity = capacity;
+        }
+
+//        변경 추가 : 합쳐진(coalesced) 건수 리턴
+        synchronized int offer(EntityChangeEvent event) {
+            if (reset) {
+                return Math.max(1, event.getIds().size()); // 이미 전체 다시 조회 예정
+            }
+            if (event.isBulk()) {
+                int merged = buffer.size();
+                buffer.clear();
+                reset = true;
+                return merged;
+            }
+
+            int merged = 0;
+            for (Integer id : event.getIds()) {
+                EntityChangeEvent.Type old = buffer.remove(id);
+                if (old != null) {
+                    merged++;
+                }
+//                생성 후 수정 -> 생성, 그 외에는 마지막 변경 ( 삭제가 오면 삭제 )
+                EntityChangeEvent.Type type = (old == EntityChangeEvent.Type.CREATE
+                        && event.getType() == EntityChangeEvent.Type.UPDATE) ? old : event.getType();
+                buffer.put(id, type);
+            }
+
+            if (buffer.size() > capacity) {
+//                너무 많이 밀림 : 버퍼를 비우고 reset 1건으로 대체
+                merged += buffer.size();
+                buffer.clear();
+                reset = true;
+            }
+            return merged;
+        }
+
+        synchronized void heartbeat() {
+            heartbeat = true;
+        }
+
+//        보낼 내용이 있고 전송 작업이 없으면 전송 작업 시작 권한을 얻음
+        synchronized boolean claim() {
+            if (sending || isEmpty()) {
+                return false;
+            }
+            sending = true;
+            return true;
+        }
+
+//        보낼 내용을 꺼내고 버퍼 비우기 ( 없으면 null 리턴 + 전송 작업 종료 )
+        synchronized Pending take() {
+            if (isEmpty()) {
+                sending = false;
+                return null;
+            }
+
+            Pending pending = new Pending();
+            pending.reset = reset;
+            pending.heartbeat = heartbeat;
+            for (Map.Entry<Integer, EntityChangeEvent.Type> entry : buffer.entrySet()) {
+                pending.changes.computeIfAbsent(entry.getValue(), type -> new ArrayList<>()).add(entry.getKey());
+            }
+            buffer.clear();
+            reset = false;
+            heartbeat = false;
+            return pending;
+        }
+
+        private boolean isEmpty() {
+            return buffer.isEmpty() && reset == false && heartbeat == false;
+        }
+    }
+
+    @PostConstruct
+    void init() {
+        sender = new ThreadPoolExecutor(senderThreads, senderThreads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "sse-sender");
+            thread.setDaemon(true);
+            return thread;
+        });
+        heartbeatScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "sse-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        heartbeatScheduler.scheduleAtFixedRate(this::heartbeat, heartbeatMs, heartbeatMs, TimeUnit.MILLISECONDS);
+        long checkMs = Math.max(10, writeTimeoutMs / 4);
+        heartbeatScheduler.scheduleWithFixedDelay(this::dropStalled, checkMs, checkMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        heartbeatScheduler.shutdownNow();
+        sender.shutdownNow();
+        for (Set<Subscriber> set : subscribers.values()) {
+            for (Subscriber subscriber : set) {
+                subscriber.emitter.complete();
+            }
+        }
+    }
+
+//    url 이름으로 구독 대상 엔티티 조회 ( 없으면 null )
+    public Class<?> topic(String name) {
+        return TOPICS.get(name);
+    }
+
+//    구독 함수 : 연결(SseEmitter) 생성, 구독자가 너무 많으면 IllegalStateException
+    public SseEmitter subscribe(Class<?> entityClass) throws IOException {
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            throw new IllegalStateException("구독자 수가 최대값을 넘었습니다 : " + maxSubscribers);
+        }
+
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Subscriber subscriber = new Subscriber(emitter, bufferSize);
+        add(entityClass, subscriber);
+
+//        연결 확인용 첫 이벤트 ( retry : 끊겼을 때 브라우저가 다시 연결하는 간격(ms) )
+        emitter.send(SseEmitter.event().name("open").reconnectTime(3000).data(Collections.emptyMap()));
+
+        return emitter;
+    }
+
+//    구독자 등록 : 연결 종료(완료, 시간초과, 에러) 시 구독자 제거
+    void add(Class<?> entityClass, Subscriber subscriber) {
+        subscribers.computeIfAbsent(entityClass, key -> ConcurrentHashMap.newKeySet()).add(subscriber);
+
+        subscriber.emitter.onCompletion(() -> remove(entityClass, subscriber));
+        subscriber.emitter.onTimeout(() -> remove(entityClass, subscriber));
+        subscriber.emitter.onError(e -> remove(entityClass, subscriber));
+    }
+
+//    데이터 변경 이벤트 : commit 후 그 엔티티 구독자들의 버퍼에 추가하고 전송 작업 시작
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onEntityChange(EntityChangeEvent event) {
+        Set<Subscriber> set = subscribers.get(event.getEntityClass());
+        if (set == null) {
+            return;
+        }
+        for (Subscriber subscriber : set) {
+            coalescedCount.addAndGet(subscriber.offer(event));
+            schedule(subscriber);
+        }
+    }
+
+//    heartbeat : 모든 구독자에게 주석(": ping") 전송
+    void heartbeat() {
+        for (Set<Subscriber> set : subscribers.values()) {
+            for (Subscriber subscriber : set) {
+                subscriber.heartbeat();
+                schedule(subscriber);
+            }
+        }
+    }
+
+    private void schedule(Subscriber subscriber) {
+        if (subscriber.claim()) {
+            sender.execute(() -> send(subscriber));
+        }
+    }
+
+//    전송 작업 : 버퍼가 빌 때까지 꺼내서 전송 ( 전송 중에 들어온 변경은 버퍼에서 합쳐짐 )
+    private void send(Subscriber subscriber) {
+        try {
+            Pending pending;
+            while (subscriber.dropped == false && (pending = subscriber.take()) != null) {
+                if (pending.reset) {
+                    resetCount.incrementAndGet();
+                    write(subscriber, SseEmitter.event()
+                            .id(String.valueOf(eventId.incrementAndGet()))
+                            .name("reset")
+                            .data(Collections.emptyMap()));
+                }
+                for (Map.Entry<EntityChangeEvent.Type, List<Integer>> entry : pending.changes.entrySet()) {
+                    write(subscriber, SseEmitter.event()
+                            .id(String.valueOf(eventId.incrementAndGet()))
+                            .name(entry.getKey().name().toLowerCase())
+                            .data(Collections.singletonMap("ids", entry.getValue())));
+                    sentCount.incrementAndGet();
+                }
+                if (pending.heartbeat && pending.changes.isEmpty() && pending.reset == false) {
+                    write(subscriber, SseEmitter.event().comment("ping"));
+                }
+            }
+        } catch (IOException | IllegalStateException e) {
+//            연결이 끊긴 구독자 : 제거
+            log.debug(e.getMessage());
+            removeAll(subscriber);
+            subscriber.emitter.completeWithError(e);
+        } finally {
+            if (subscriber.dropped) {
+//                쓰기 시간 초과로 끊긴 구독자의 스레드가 풀려남 : 연결 종료 후 대신 추가했던 전송 스레드 줄이기
+                subscriber.emitter.completeWithError(new TimeoutException("SSE 쓰기 시간 초과"));
+                resizeSender(-1);
+            }
+        }
+    }
+
+//    이벤트 1건 쓰기 : 쓰는 동안 시작 시간을 기록 ( dropStalled() 에서 확인 )
+    private void write(Subscriber subscriber, SseEmitter.SseEventBuilder event) throws IOException {
+        subscriber.writeStartedNanos = System.nanoTime();
+        try {
+            subscriber.emitter.send(event);
+        } finally {
+            subscriber.writeStartedNanos = 0;
+        }
+    }
+
+//    느린 구독자 끊기 : write-timeout-ms 가 지나도록 쓰기가 끝나지 않은 구독자를 제거 ( 더 이상 변경을 받지 않음 )
+//     붙잡힌 스레드는 소켓 쓰기 제한시간까지 돌아오지 않을 수 있으므로 그동안 쓸 전송 스레드 1개 추가
+//     연결 종료(completeWithError)는 붙잡힌 스레드가 풀려날 때 실행 ( SseEmitter 는 쓰는 동안 잠겨 있어서 여기서 호출하면 같이 멈춤 )
+    void dropStalled() {
+        long now = System.nanoTime();
+        for (Set<Subscriber> set : subscribers.values()) {
+            for (Subscriber subscriber : set) {
+                long started = subscriber.writeStartedNanos;
+                if (started == 0 || now - started < TimeUnit.MILLISECONDS.toNanos(writeTimeoutMs)) {
+                    continue;
+                }
+                synchronized (subscriber) {
+                    if (subscriber.dropped || subscriber.writeStartedNanos != started) {
+                        continue;
+                    }
+                    subscriber.dropped = true;
+                }
+                droppedCount.incrementAndGet();
+                resizeSender(1);
+                removeAll(subscriber);
+                log.debug("SSE 쓰기 시간 초과 : 느린 구독자 연결 끊기 ( " + writeTimeoutMs + "ms )");
+            }
+        }
+    }
+
+//    전송 스레드 수 변경 ( 늘릴 때는 최대값 먼저, 줄일 때는 기본값 먼저 )
+    private synchronized void resizeSender(int delta) {
+        int size = sender.getCorePoolSize() + delta;
+        if (delta > 0) {
+            sender.setMaximumPoolSize(size);
+            sender.setCorePoolSize(size);
+        } else {
+            sender.setCorePoolSize(size);
+            sender.setMaximumPoolSize(size);
+        }
+    }
+
+    private void removeAll(Subscriber subscriber) {
+        for (Class<?> entityClass : subscribers.keySet()) {
+            remove(entityClass, subscriber);
+        }
+    }
+
+    private void remove(Class<?> entityClass, Subscriber subscriber) {
+        Set<Subscriber> set = subscribers.get(entityClass);
+        if (set != null && set.remove(subscriber)) {
+            subscriberCount.decrementAndGet();
+        }
+    }
+
+//    구독 통계 : 구독자 수, 전송/합쳐진/reset 건수
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        Map<String, Integer> topics = new LinkedHashMap<>();
+        for (Map.Entry<String, Class<?>> entry : TOPICS.entrySet()) {
+            Set<Subscriber> set = subscribers.get(entry.getValue());
+            topics.put(entry.getKey(), set == null ? 0 : set.size());
+        }
+        stats.put("subscribers", topics);
+        stats.put("sentCount", sentCount.get());
+        stats.put("coalescedCount", coalescedCount.get());
+        stats.put("resetCount", resetCount.get());
+        stats.put("droppedCount", droppedCount.get());
+        stats.put("senderThreads", sender.getCorePoolSize());
+
+        return stats;
+    }
+}
@@ -0,0 +1,163 @@
+package com.example.simpledms.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.dao.TransientDataAccessResourceException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * packageName    : com.example.simpledms.service
+ * fileName       : DbCircuitBreaker
+ * author         : ds
+ * date           : 2026-10-18
+ * description    : DB 조회 차단기(circuit breaker) 서비스 클래스
+ * 요약 :
+ * 기존 : DB 가 멈추면(redo log 전환, 긴 lock 등) 모든 조회 요청이 제한시간까지 기다린 후 500
+ * 변경 : DB 장애(제한시간 초과, 연결 실패 등)가 연속 failure-threshold 번 나면 차단(OPEN)
+ *       -> open-ms 동안은 DB 에 가지 않고 바로 TransientDataAccessResourceException ( 기다리지 않음 )
+ *       -> open-ms 가 지나면 조회 1번만 통과시켜 봄(HALF_OPEN) : 성공하면 정상(CLOSED), 실패하면 다시 차단
+ * 장애로 보는 예외 : 제한시간 초과, 연결/트랜잭션 시작 실패, lock 대기 등 ( 잘못된 요청, 버전 충돌은 제외 )
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 2026-10-18        ds       최초 생성
+ */
+@Slf4j
+@Service
+public class DbCircuitBreaker {
+
+    public enum State {
+        CLOSED,     // 정상 : 모두 통과
+        OPEN,       // 차단 : DB 에 가지 않고 바로 실패
+        HALF_OPEN   // 확인 중 : 1번만 통과
+    }
+
+//    사용 여부
+    @Value("${simpledms.circuit-breaker.enabled:true}")
+    boolean enabled = true;
+
+//    연속 장애 횟수가 이 값이 되면 차단
+    @Value("${simpledms.circuit-breaker.failure-threshold:5}")
+    int failureThreshold = 5;
+
+//    차단 유지 시간(ms)
+    @Value("${simpledms.circuit-breaker.open-ms:10000}")
+    long openMs = 10000;
+
+    private volatile State state = State.CLOSED;
+    private volatile long openedAt;
+
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+//    HALF_OPEN 에서 확인 조회가 실행 중인가?
+    private final AtomicBoolean trialRunning = new AtomicBoolean();
+
+    private final AtomicLong failureCount = new AtomicLong();
+    private final AtomicLong rejectedCount = new AtomicLong();
+    private final AtomicLong openCount = new AtomicLong();
+
+//    조회 실행 함수 : 차단 중이면 바로 예외, 아니면 loader 실행 후 결과(성공/장애) 기록
+    public <T> T call(Supplier<T> loader) {
+        if (enabled == false) {
+            return loader.get();
+        }
+
+        boolean trial = acquire();
+        try {
+            T result = loader.get();
+            onSuccess();
+            return result;
+        } catch (RuntimeException e) {
+            if (isDbFailure(e)) {
+                onFailure(e);
+            } else {
+//                DB 는 응답함 ( 잘못된 요청 등 )
+                onSuccess();
+            }
+            throw e;
+        } finally {
+            if (trial == true) {
+                trialRunning.set(false);
+            }
+        }
+    }
+
+//    차단 중인가? ( HALF_OPEN 은 차단 아님 )
+    public boolean isOpen() {
+        return enabled == true && state == State.OPEN && System.currentTimeMillis() - openedAt < openMs;
+    }
+
+//    다시 조회해 볼 때까지 남은 시간(초) ( Retry-After 헤더 )
+    public long retryAfterSeconds() {
+        long remaining = openMs - (System.currentTimeMillis() - openedAt);
+        return Math.max(1, (remaining + 999) / 1000);
+    }
+
+//    통계 조회 함수 : 상태, 연속 장애 횟수, 장애/거절/차단 횟수
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("state", state.name());
+        stats.put("consecutiveFailures", consecutiveFailures.get());
+        stats.put("failureCount", failureCount.get());
+        stats.put("rejectedCount", rejectedCount.get());
+        stats.put("openCount", openCount.get());
+        return stats;
+    }
+
+//    통과 여부 확인 : 통과하면 HALF_OPEN 확인 조회인지 리턴, 통과 못하면 예외
+    private boolean acquire() {
+        if (state == State.CLOSED) {
+            return false;
+        }
+        if (state == State.OPEN && System.currentTimeMillis() - openedAt >= openMs) {
+            state = State.HALF_OPEN;
+        }
+        if (state == State.HALF_OPEN && trialRunning.compareAndSet(false, true)) {
+            return true;
+        }
+        rejectedCount.incrementAndGet();
+        throw new TransientDataAccessResourceException("DB 조회 차단 중 ( circuit breaker " + state + " )");
+    }
+
+    private void onSuccess() {
+        consecutiveFailures.set(0);
+        if (state != State.CLOSED) {
+            state = State.CLOSED;
+            log.info("DB 조회 차단 해제");
+        }
+    }
+
+    private void onFailure(RuntimeException e) {
+        failureCount.incrementAndGet();
+        int failures = consecutiveFailures.incrementAndGet();
+        if (state == State.HALF_OPEN || (state == State.CLOSED && failures >= failureThreshold)) {
+            openedAt = System.currentTimeMillis();
+            state = State.OPEN;
+            openCount.incrementAndGet();
+            log.warn("DB 조회 차단 ( " + openMs + "ms ) : " + e.getMessage());
+        }
+    }
+
+//    DB 장애로 보는 예외인가? ( 제한시간 초과/lock 대기 = TransientDataAccessException, 연결 실패 등 )
+    static boolean isDbFailure(Throwable e) {
+        if (e instanceof OptimisticLockingFailureException) {
+            return false;
+        }
+        return e instanceof TransientDataAccessException
+                || e instanceof RecoverableDataAccessException
+                || e instanceof DataAccessResourceFailureException
+                || e instanceof CannotCreateTransactionException;
+    }
+}
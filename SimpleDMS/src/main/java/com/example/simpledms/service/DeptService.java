@@ -1,12 +1,28 @@
 package com.example.simpledms.service;
 
+import com.example.simpledms.model.BaseTimeEntity;
 import com.example.simpledms.model.Dept;
+import com.example.simpledms.repository.BatchLookupRepository;
+import com.example.simpledms.repository.BatchWriteRepository;
+import com.example.simpledms.repository.CursorStreamRepository;
 import com.example.simpledms.repository.DeptRepository;
+import com.example.simpledms.repository.PatchUpdateRepository;
+import com.example.simpledms.repository.ProjectionRepository;
+import com.example.simpledms.util.PageUtil;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 
 /**
  * packageName    : com.example.jpaexam.service.exam01
@@ -25,6 +41,36 @@ public class DeptService {
     @Autowired
     DeptRepository deptRepository;  // JPA
 
+    @Autowired
+    CursorStreamRepository cursorStreamRepository; // DB 커서 스트리밍
+
+    @Autowired
+    BatchWriteRepository batchWriteRepository; // JDBC batch 저장
+
+    @Autowired
+    BatchLookupRepository batchLookupRepository; // 여러 기본키 한번에 조회
+
+    @Autowired
+    ProjectionRepository projectionRepository; // 필요한 속성(컬럼)만 조회
+
+    @Autowired
+    PatchUpdateRepository patchUpdateRepository; // 부분 수정(JSON Merge Patch)
+
+    @Autowired
+    SingleFlightService singleFlightService; // 같은 조회 동시 요청 합치기
+
+    @Autowired
+    DbCircuitBreaker dbCircuitBreaker; // DB 장애가 계속되면 조회 차단 ( 기다리지 않고 바로 실패 )
+
+    @Autowired
+    NameSearchService nameSearchService; // 이름 부분 문자열 검색 색인 ( trigram )
+
+    @Autowired
+    ApplicationEventPublisher applicationEventPublisher; // 데이터 변경 이벤트 발행
+
+//    부분 수정(PATCH) 가능한 속성 목록
+    static final Set<String> PATCH_COLUMNS = new HashSet<>(Arrays.asList("dname", "loc"));
+
     //    전체 조회 함수
     public List<Dept> findAll() {
         List<Dept> list = deptRepository.findAll();
@@ -32,23 +78,120 @@ public class DeptService {
         return list;
     }
 
-    //    전체 삭제 함수
-    public void removeAll() {
-        deptRepository.deleteAll(); // 전체 삭제
+    //    키셋(커서) 페이징 조회 함수 : cursor 다음 dno 부터 size 개만 조회
+    public List<Dept> findAll(Integer cursor, int size, boolean desc) {
+        Pageable pageable = PageUtil.keysetPageable(size, "dno", desc);
+        int start = PageUtil.startCursor(cursor, desc);
+
+//        같은 조회가 동시에 들어오면 DB 조회 1번만 실행
+        return singleFlightService.execute(Dept.class, "findAll:" + start + ":" + size + ":" + desc, () -> dbCircuitBreaker.call(() -> {
+            if (desc == true) {
+                return deptRepository.findAllByDnoLessThan(start, pageable);
+            }
+            return deptRepository.findAllByDnoGreaterThan(start, pageable);
+        }));
+    }
+
+    //    필요한 속성(컬럼)만 키셋 페이징 조회 함수 : 엔티티 대신 ( 속성명 -> 값 ) 으로 리턴
+//     dname 가 null 이면 전체 조회, 값이 있으면 like 검색
+    public List<Map<String, Object>> findAllFields(List<String> fields, String dname, Integer cursor, int size, boolean desc) {
+        int start = PageUtil.startCursor(cursor, desc);
+
+        return singleFlightService.execute(Dept.class, "findAllFields:" + fields + ":" + dname + ":" + start + ":" + size + ":" + desc,
+                () -> dbCircuitBreaker.call(() -> projectionRepository.findAll(Dept.class, "dno", fields, "dname", dname, start, size, desc)));
+    }
+
+    //    전체 조회(스트리밍) 함수 : DB 커서로 한 건씩 읽어서 action 에 전달, 전달한 건수 리턴
+    public long streamAll(Consumer<Dept> action) {
+        return cursorStreamRepository.forEach(Dept.class, "dno", action);
+    }
+
+    //    전체 삭제 함수 : update 문 1번으로 soft delete, 삭제된 건수 리턴
+//     loc 가 null 이면 전체 삭제, 값이 있으면 부서 위치(loc) 조건에 맞는 데이터만 삭제
+    @Transactional
+    public int removeAll(String loc) {
+        int count;
+        if (loc == null) {
+            count = deptRepository.softDeleteAll(); // 전체 삭제
+        } else {
+            count = deptRepository.softDeleteAllByLoc(loc);
+        }
+
+        if (count > 0) {
+            publishChange(EntityChangeEvent.Type.DELETE);
+        }
+        return count;
     }
 
     //    부서 정보 저장/수정 함수
     public Dept save(Dept dept) {
+//        기본키가 없으면 생성, 있으면 수정
+        EntityChangeEvent.Type type = (dept.getDno() == null) ? EntityChangeEvent.Type.CREATE : EntityChangeEvent.Type.UPDATE;
         Dept dept2 = deptRepository.save(dept);
+        publishChange(type, dept2.getDno());
 
         return dept2;
     }
 
+    //    부서 정보 수정 함수 : 조회 없이 update 문 1번으로 수정
+//     version 이 있으면 ( If-Match ) 버전이 같을 때만 수정, 다르면 OptimisticLockingFailureException(충돌)
+//     없는 번호면 Optional.empty() 리턴
+    @Transactional
+    public Optional<Dept> update(int dno, Dept dept, Long version) {
+        dept.setDno(dno); // url 의 번호로 수정 ( body 의 번호는 무시 )
+
+        String updateTime = BaseTimeEntity.currentTime();
+        int count = (version == null)
+                ? deptRepository.updateById(dept, updateTime)
+                : deptRepository.updateByIdAndVersion(dept, version, updateTime);
+
+        if (count == 0) {
+//            수정된 행이 없을 때만 존재 여부 확인 : 있으면 버전 충돌, 없으면 없는 데이터
+            if (version != null && deptRepository.existsById(dno) == true) {
+                throw new OptimisticLockingFailureException("부서 정보가 다른 사용자에 의해 먼저 수정되었습니다 : " + dno);
+            }
+            return Optional.empty();
+        }
+
+//        버전 확인 없이 수정한 경우는 새 버전을 알 수 없으므로 null
+        dept.setVersion(version == null ? null : version + 1);
+        publishChange(EntityChangeEvent.Type.UPDATE, dno);
+
+        return Optional.of(dept);
+    }
+
+    //    부서 정보 부분 수정 함수 : 조회 없이 patch 에 있는 속성(컬럼)만 update 문 1번으로 수정
+//     수정되면 true, 없는 번호면 false 리턴, 버전이 다르면 OptimisticLockingFailureException(충돌)
+    @Transactional
+    public boolean patch(int dno, Map<String, Object> patch, Long version) {
+        int count = patchUpdateRepository.patch(Dept.class, "dno", dno, patch, PATCH_COLUMNS, version);
+
+        if (count == 0) {
+            if (version != null && deptRepository.existsById(dno) == true) {
+                throw new OptimisticLockingFailureException("부서 정보가 다른 사용자에 의해 먼저 수정되었습니다 : " + dno);
+            }
+            return false;
+        }
+
+        publishChange(EntityChangeEvent.Type.UPDATE, dno);
+        return true;
+    }
+
+    //    부서 여러 건 저장 함수 : 시퀀스 pooled-lo + JDBC batch insert 로 한번에 저장
+    public List<Dept> saveAll(List<Dept> deptList) {
+        List<Dept> list = batchWriteRepository.persistAll(deptList, Dept::getDno);
+        publishChange(EntityChangeEvent.Type.CREATE, list.stream().map(Dept::getDno).toArray(Integer[]::new));
+
+        return list;
+    }
+
     //    부서번호로 조회하는 함수
 
     public Optional<Dept> findById(int dno) {
 //       .findById(기본키속성)
-        Optional<Dept> optionalDept = deptRepository.findById(dno);
+//        같은 번호 조회가 동시에 들어오면 DB 조회 1번만 실행
+        Optional<Dept> optionalDept = singleFlightService.execute(Dept.class, "findById:" + dno,
+                () -> dbCircuitBreaker.call(() -> deptRepository.findById(dno)));
 
 ////        데이터 가공
 //        Dept dept = optionalDept.get();
@@ -60,15 +203,23 @@ public class DeptService {
         return optionalDept;
     }
 
+    //    부서번호 여러 개 조회 함수 : 2차 캐시 + IN 목록 쿼리, 요청한 순서대로 ( 기본키 -> 부서 ) 리턴
+//     ids 는 중복 없이 ( LookupUtil.distinctIds ), 없는(삭제된) 번호는 빠짐
+    public Map<Integer, Dept> findAllByIds(List<Integer> ids) {
+        return dbCircuitBreaker.call(() -> batchLookupRepository.findAllByIds(Dept.class, "dno", Dept::getDno, ids));
+    }
+
     //    부서번호(dno)로 삭제하는 함수
+//     update 문 1번(조건부 soft delete)으로 처리 : 변경된 행이 있으면 true, 없으면 false 리턴
+//     존재확인 후 삭제하는 사이에 다른 요청이 끼어드는 문제(check-then-act)도 없어짐
+    @Transactional
     public boolean removeById(int dno) {
-//       .existsById(기본키) 있으면 삭제 실행 + true 리턴
-        if(deptRepository.existsById(dno) == true) {
-            deptRepository.deleteById(dno);
-            return true;
+        int count = deptRepository.softDeleteById(dno);
+        if (count > 0) {
+            publishChange(EntityChangeEvent.Type.DELETE, dno);
         }
-//        없으면 그냥 false 리턴
-        return false;
+
+        return count > 0;
     }
 
 //    dname like 검색 함수
@@ -78,5 +229,32 @@ public class DeptService {
         return list;
     }
 
+    //    dname like 검색 + 키셋(커서) 페이징 함수
+//     검색 색인(trigram)을 사용할 수 있으면 색인에서 기본키를 찾아서 조회, 아니면 like 검색
+    public List<Dept> findAllByDnameContaining(String dname, Integer cursor, int size, boolean desc) {
+        Pageable pageable = PageUtil.keysetPageable(size, "dno", desc);
+        int start = PageUtil.startCursor(cursor, desc);
+
+//        같은 조회가 동시에 들어오면 DB 조회 1번만 실행
+        return singleFlightService.execute(Dept.class, "findAllByDnameContaining:" + dname + ":" + start + ":" + size + ":" + desc, () -> dbCircuitBreaker.call(() -> {
+            Optional<List<Dept>> indexed = nameSearchService.search(Dept.class, dname, cursor, size, desc);
+            if (indexed.isPresent() == true) {
+                return indexed.get();
+            }
+            if (desc == true) {
+                return deptRepository.findAllByDnameContainingAndDnoLessThan(dname, start, pageable);
+            }
+            return deptRepository.findAllByDnameContainingAndDnoGreaterThan(dname, start, pageable);
+        }));
+    }
+
+    //    부서명 자동완성 함수 : prefix 로 시작하는 부서명을 빈도 순으로 최대 limit 개 ( 이름 색인의 trie, DB 조회 없음 )
+    public List<String> suggest(String prefix, Integer limit) {
+        return nameSearchService.suggest(Dept.class, prefix, limit);
+    }
 
+//    데이터 변경 이벤트 발행 함수 : commit 후 응답 캐시 무효화 등에 사용 ( 기본키가 없으면 여러 건 변경 )
+    private void publishChange(EntityChangeEvent.Type type, Integer... dnos) {
+        applicationEventPublisher.publishEvent(EntityChangeEvent.of(Dept.class, type, dnos));
+    }
 }
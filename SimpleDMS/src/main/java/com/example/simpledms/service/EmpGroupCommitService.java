@@ -0,0 +1,200 @@
+package com.example.simpledms.service;
+
+import com.example.simpledms.model.Emp;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * packageName    : com.example.simpledms.service
+ * fileName       : EmpGroupCommitService
+ * author         : ds
+ * date           : 2026-10-18
+ * description    : 사원 생성 요청 묶음 저장(group commit) 서비스 클래스
+ * 요약 :
+ * 기존 : POST /api/emp 요청 1개 == 트랜잭션 1개 == commit 1번
+ * 변경 : 짧은 시간(window-ms) 동안 동시에 들어온 생성 요청을 모아서
+ *       saveAll() 1번 ( 트랜잭션 1개, JDBC batch insert ) 으로 저장하고
+ *       각 요청에는 자기 사원번호(eno)가 채워진 결과를 돌려줌
+ * 사용법 : application.properties 에서 simpledms.emp.group-commit.enabled=true ( 기본값 false )
+ * 대기시간 초과 : 아직 저장 스레드가 가져가지 않은 요청이면 취소(저장하지 않음) 후 에러
+ *               이미 저장 중이면 저장 결과를 기다림 ( 에러 응답 후 저장되어 재요청 시 중복 생성되는 것 방지 )
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 2026-10-18        ds       최초 생성
+ */
+@Slf4j
+@Service
+public class EmpGroupCommitService {
+
+    @Autowired
+    EmpService empService;
+
+//    묶음 저장 사용 여부
+    @Value("${simpledms.emp.group-commit.enabled:false}")
+    boolean enabled;
+
+//    첫 요청이 들어온 후 다른 요청을 기다리는 시간(ms)
+    @Value("${simpledms.emp.group-commit.window-ms:5}")
+    long windowMs;
+
+//    한번에 묶어서 저장하는 최대 건수
+    @Value("${simpledms.emp.group-commit.max-batch:100}")
+    int maxBatch;
+
+//    요청 스레드가 저장 결과를 기다리는 최대 시간(ms)
+    @Value("${simpledms.emp.group-commit.timeout-ms:5000}")
+    long timeoutMs;
+
+//    대기 중인 저장 요청 큐 ( 꽉 차면 묶지 않고 바로 저장 )
+    private final BlockingQueue<PendingSave> queue = new LinkedBlockingQueue<>(10000);
+
+    private Thread worker;
+
+    private volatile boolean running;
+
+//    저장 요청 1건 : 저장할 사원 + 결과를 받을 Future
+//     claimed : 저장 스레드(저장) 또는 요청 스레드(대기시간 초과 취소) 중 먼저 가져간 쪽만 처리
+    private static class PendingSave {
+        final Emp emp;
+        final CompletableFuture<Emp> future = new CompletableFuture<>();
+        final AtomicBoolean claimed = new AtomicBoolean();
+
+        PendingSave(Emp emp) {
+            this.emp = emp;
+        }
+    }
+
+    @PostConstruct
+    void start() {
+        if (enabled == false) {
+            return;
+        }
+        running = true;
+        worker = new Thread(this::run, "emp-group-commit");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @PreDestroy
+    void stop() {
+        running = false;
+        if (worker != null) {
+            worker.interrupt();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+//    사원 생성 함수 : 다른 요청과 묶어서 저장한 후 자기 결과만 리턴
+//     기본키(eno)가 있는 요청(수정)이나 큐가 꽉 찬 경우는 기존처럼 바로 저장
+    public Emp save(Emp emp) throws InterruptedException, ExecutionException {
+        if (running == false || emp.getEno() != null) {
+            return empService.save(emp);
+        }
+
+        PendingSave pendingSave = new PendingSave(emp);
+        if (queue.offer(pendingSave) == false) {
+            return empService.save(emp);
+        }
+
+        try {
+            return pendingSave.future.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            if (pendingSave.claimed.compareAndSet(false, true)) {
+//                저장 스레드가 아직 가져가지 않음 : 취소 ( 저장되지 않음 )
+                pendingSave.future.cancel(false);
+                throw new ExecutionException("사원 묶음 저장 대기시간 초과", e);
+            }
+//            이미 저장 중 : 결과(성공/실패)를 받아서 그대로 전달
+            return pendingSave.future.get();
+        }
+    }
+
+//    묶음 저장 스레드 : 첫 요청을 기다렸다가 window-ms 동안 max-batch 건까지 모아서 저장
+    private void run() {
+        while (running) {
+            try {
+                List<PendingSave> batch = new ArrayList<>();
+                batch.add(queue.take());
+
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(windowMs);
+                while (batch.size() < maxBatch) {
+                    long remaining = deadline - System.nanoTime();
+                    PendingSave next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+    }
+
+//    모인 요청을 트랜잭션 1개로 저장하고 각 요청에 결과 전달
+//     대기시간 초과로 취소된 요청은 제외
+//     saveAll() 에는 복사본을 전달 : 실패해도 persist 가 채운 사원번호/버전이 원래 요청에 남지 않음
+    private void flush(List<PendingSave> batch) {
+        batch.removeIf(pendingSave -> pendingSave.claimed.compareAndSet(false, true) == false);
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        List<Emp> empList = new ArrayList<>(batch.size());
+        for (PendingSave pendingSave : batch) {
+            empList.add(copy(pendingSave.emp));
+        }
+
+        try {
+            List<Emp> saved = empService.saveAll(empList);
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).future.complete(saved.get(i));
+            }
+        } catch (Exception e) {
+//            한 건이라도 실패하면 묶음 전체가 롤백되므로
+//            한 건씩 다시 저장해서 요청마다 자기 성공/실패 결과를 받게 함 ( 원래 요청 데이터로 저장 )
+            log.debug("사원 묶음 저장 실패, 한 건씩 다시 저장 : " + e.getMessage());
+            for (PendingSave pendingSave : batch) {
+                try {
+                    pendingSave.future.complete(empService.save(pendingSave.emp));
+                } catch (Exception ex) {
+                    pendingSave.future.completeExceptionally(ex);
+                }
+            }
+        }
+    }
+
+//    저장 요청 복사 ( 기본키/버전 없는 생성 요청 )
+    private static Emp copy(Emp emp) {
+        return Emp.builder()
+                .ename(emp.getEname())
+                .job(emp.getJob())
+                .manager(emp.getManager())
+                .hiredate(emp.getHiredate())
+                .salary(emp.getSalary())
+                .commission(emp.getCommission())
+                .dno(emp.getDno())
+                .build();
+    }
+}
@@ -0,0 +1,251 @@
+package com.example.simpledms.service;
+
+import com.example.simpledms.repository.EmpOutboxRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestTemplate;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * packageName    : com.example.simpledms.service
+ * fileName       : EmpOutboxDispatcher
+ * author         : ds
+ * date           : 2026-10-18
+ * description    : 사원 변경 알림(outbox) 전송 서비스 클래스 ( webhook )
+ * 요약 :
+ * poll-ms 마다 받는 곳(endpoint)별로 TB_EMP_OUTBOX 를 ID 순서로 읽어서
+ * batch-size 건씩 묶어 POST { "events" : [ { id, type, eno, emp : { 사원 현재 데이터 } }, ... ] } 전송
+ * 성공(2xx) : 보낸 목록 삭제
+ * 실패 : 같은 묶음을 backoff(1초, 2초, 4초 ... 최대 backoff-max-ms) 후 다시 전송, 그동안 그 endpoint 는 새 묶음을 보내지 않음
+ * max-concurrency : endpoint 1개에 동시에 보내는 묶음 수 ( 받는 쪽 서버 보호 )
+ * 주의 : 최소 1번 전송(at-least-once) -> 전송 후 삭제 전에 서버가 죽으면 다시 보냄, 받는 쪽은 id 로 중복 제거
+ *       동시에 여러 묶음을 보내므로 순서는 보장하지 않음 -> 받는 쪽은 emp.changeSeq 로 최신 데이터 판단
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 2026-10-18        ds       최초 생성
+ */
+@Slf4j
+@Service
+public class EmpOutboxDispatcher {
+
+    @Autowired
+    EmpOutboxRepository empOutboxRepository;
+
+//    전송 사용 여부 ( false 여도 outbox 저장은 계속됨 )
+    @Value("${simpledms.outbox.dispatcher.enabled:true}")
+    boolean enabled;
+
+//    outbox 조회 간격(ms)
+    @Value("${simpledms.outbox.poll-ms:500}")
+    long pollMs;
+
+//    POST 1번에 보내는 최대 건수
+    @Value("${simpledms.outbox.batch-size:100}")
+    int batchSize;
+
+//    endpoint 1개에 동시에 보내는 최대 묶음 수
+    @Value("${simpledms.outbox.max-concurrency:2}")
+    int maxConcurrency;
+
+//    재전송 대기시간(ms) : 처음 값에서 실패할 때마다 2배, 최대값까지
+    @Value("${simpledms.outbox.backoff-initial-ms:1000}")
+    long backoffInitialMs;
+
+    @Value("${simpledms.outbox.backoff-max-ms:60000}")
+    long backoffMaxMs;
+
+//    연결/응답 제한시간(ms)
+    @Value("${simpledms.outbox.timeout-ms:5000}")
+    int timeoutMs;
+
+//    받는 곳 1개의 전송 상태
+    static class Endpoint {
+        final String url;
+        final Semaphore permits;
+//        전송 중인 outbox ID ( 다시 조회해도 중복 전송하지 않음 )
+        final Set<Long> inFlight = ConcurrentHashMap.newKeySet();
+//        연속 실패 횟수 / 이 시간(ms)까지 새 묶음 전송 중지
+        final AtomicInteger failures = new AtomicInteger();
+        volatile long pausedUntil;
+
+        final AtomicLong deliveredCount = new AtomicLong();
+        final AtomicLong failedCount = new AtomicLong();
+
+        Endpoint(String url, int maxConcurrency) {
+            this.url = url;
+            this.permits = new Semaphore(maxConcurrency);
+        }
+    }
+
+    private final Map<String, Endpoint> endpoints = new LinkedHashMap<>();
+
+    RestTemplate restTemplate;
+    private ScheduledExecutorService scheduler;
+    private ExecutorService sender;
+
+    @PostConstruct
+    void init() {
+        for (String url : empOutboxRepository.getEndpoints()) {
+            endpoints.put(url, new Endpoint(url, maxConcurrency));
+        }
+        if (enabled == false || endpoints.isEmpty()) {
+            return;
+        }
+
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(timeoutMs);
+        requestFactory.setReadTimeout(timeoutMs);
+        restTemplate = new RestTemplate(requestFactory);
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "emp-outbox-poller");
+            thread.setDaemon(true);
+            return thread;
+        });
+        sender = Executors.newFixedThreadPool(endpoints.size() * maxConcurrency, runnable -> {
+            Thread thread = new Thread(runnable, "emp-outbox-sender");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::poll, pollMs, pollMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            sender.shutdownNow();
+        }
+    }
+
+//    모든 endpoint 에 보낼 묶음 만들기
+    void poll() {
+        for (Endpoint endpoint : endpoints.values()) {
+            try {
+                dispatch(endpoint);
+            } catch (Exception e) {
+//                DB 조회 실패 등 : 다음 조회 때 다시 시도
+                log.warn("outbox 조회 실패 : " + endpoint.url + " : " + e.getMessage());
+            }
+        }
+    }
+
+//    endpoint 1개 : 남은 동시 전송 수만큼 묶음을 만들어 전송 시작
+    void dispatch(Endpoint endpoint) {
+        int free = endpoint.permits.availablePermits();
+        if (free == 0 || System.currentTimeMillis() < endpoint.pausedUntil) {
+            return;
+        }
+
+//        전송 중인 목록도 같이 조회되므로 그만큼 더 조회
+        List<Map<String, Object>> rows = empOutboxRepository.findPending(endpoint.url,
+                batchSize * free + endpoint.inFlight.size());
+
+        List<Map<String, Object>> batch = new ArrayList<>(batchSize);
+        for (Map<String, Object> row : rows) {
+            if (endpoint.inFlight.contains((Long) row.get("id"))) {
+                continue;
+            }
+            batch.add(row);
+            if (batch.size() == batchSize) {
+                if (submit(endpoint, batch) == false) {
+                    return;
+                }
+                batch = new ArrayList<>(batchSize);
+            }
+        }
+        if (batch.isEmpty() == false) {
+            submit(endpoint, batch);
+        }
+    }
+
+    private boolean submit(Endpoint endpoint, List<Map<String, Object>> batch) {
+        if (endpoint.permits.tryAcquire() == false) {
+            return false;
+        }
+        for (Map<String, Object> row : batch) {
+            endpoint.inFlight.add((Long) row.get("id"));
+        }
+        sender.execute(() -> deliver(endpoint, batch));
+        return true;
+    }
+
+//    묶음 1개 전송 : 성공하면 outbox 에서 삭제, 실패하면 backoff 후 같은 묶음 다시 전송
+    void deliver(Endpoint endpoint, List<Map<String, Object>> batch) {
+        List<Long> ids = new ArrayList<>(batch.size());
+        for (Map<String, Object> row : batch) {
+            ids.add((Long) row.get("id"));
+        }
+
+        try {
+            HttpHeaders headers = new HttpHeaders();
+            headers.setContentType(MediaType.APPLICATION_JSON);
+            restTemplate.postForEntity(endpoint.url,
+                    new HttpEntity<>(Collections.singletonMap("events", batch), headers), Void.class);
+
+            empOutboxRepository.deleteByIds(ids);
+
+            endpoint.failures.set(0);
+            endpoint.deliveredCount.addAndGet(batch.size());
+            endpoint.inFlight.removeAll(ids);
+            endpoint.permits.release();
+        } catch (Exception e) {
+            endpoint.failedCount.incrementAndGet();
+            long delay = backoff(endpoint.failures.incrementAndGet(), backoffInitialMs, backoffMaxMs);
+            endpoint.pausedUntil = System.currentTimeMillis() + delay;
+            log.warn("outbox 전송 실패 : " + endpoint.url + " : " + e.getMessage() + " ( " + delay + "ms 후 재전송 )");
+
+//            전송 권한(permit)과 전송 중 표시는 그대로 두고 다시 전송
+            scheduler.schedule(() -> sender.execute(() -> deliver(endpoint, batch)), delay, TimeUnit.MILLISECONDS);
+        }
+    }
+
+//    재전송 대기시간 : initial * 2^(실패횟수-1) ( 최대 max ) 에 50~100% 랜덤 ( 여러 묶음이 동시에 재전송되지 않게 )
+    static long backoff(int failures, long initialMs, long maxMs) {
+        long delay = initialMs << Math.min(failures - 1, 20);
+        delay = Math.min(delay, maxMs);
+        return delay / 2 + ThreadLocalRandom.current().nextLong(delay / 2 + 1);
+    }
+
+//    전송 통계 : endpoint 별 남은 건수, 전송 중, 전송/실패 건수
+    public Map<String, Object> getStats() {
+        Map<String, Long> pending = empOutboxRepository.countByEndpoint();
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        for (Endpoint endpoint : endpoints.values()) {
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("pending", pending.getOrDefault(endpoint.url, 0L));
+            item.put("inFlight", endpoint.inFlight.size());
+            item.put("deliveredCount", endpoint.deliveredCount.get());
+            item.put("failedCount", endpoint.failedCount.get());
+            item.put("consecutiveFailures", endpoint.failures.get());
+            stats.put(endpoint.url, item);
+        }
+        return stats;
+    }
+}
@@ -1,13 +1,31 @@
 package com.example.simpledms.service;
 
 import com.example.simpledms.model.Dept;
+import com.example.simpledms.model.BaseTimeEntity;
 import com.example.simpledms.model.Emp;
+import com.example.simpledms.repository.BatchLookupRepository;
+import com.example.simpledms.repository.BatchWriteRepository;
+import com.example.simpledms.repository.CursorStreamRepository;
+import com.example.simpledms.repository.DeptRepository;
+import com.example.simpledms.repository.EmpOutboxRepository;
 import com.example.simpledms.repository.EmpRepository;
+import com.example.simpledms.repository.PatchUpdateRepository;
+import com.example.simpledms.repository.ProjectionRepository;
+import com.example.simpledms.util.PageUtil;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 
 /**
  * packageName    : com.example.jpaexam.service.exam01
@@ -26,6 +44,42 @@ public class EmpService {
     @Autowired
     EmpRepository empRepository;  // JPA
 
+    @Autowired
+    DeptRepository deptRepository; // 부서 이동 시 부서 존재 확인
+
+    @Autowired
+    CursorStreamRepository cursorStreamRepository; // DB 커서 스트리밍
+
+    @Autowired
+    BatchWriteRepository batchWriteRepository; // JDBC batch 저장
+
+    @Autowired
+    BatchLookupRepository batchLookupRepository; // 여러 기본키 한번에 조회
+
+    @Autowired
+    ProjectionRepository projectionRepository; // 필요한 속성(컬럼)만 조회
+
+    @Autowired
+    PatchUpdateRepository patchUpdateRepository; // 부분 수정(JSON Merge Patch)
+
+    @Autowired
+    EmpOutboxRepository empOutboxRepository; // 외부 시스템 변경 알림(outbox) 저장
+
+    @Autowired
+    SingleFlightService singleFlightService; // 같은 조회 동시 요청 합치기
+
+    @Autowired
+    DbCircuitBreaker dbCircuitBreaker; // DB 장애가 계속되면 조회 차단 ( 기다리지 않고 바로 실패 )
+
+    @Autowired
+    NameSearchService nameSearchService; // 이름 부분 문자열 검색 색인 ( trigram )
+
+    @Autowired
+    ApplicationEventPublisher applicationEventPublisher; // 데이터 변경 이벤트 발행
+
+//    부분 수정(PATCH) 가능한 속성 목록
+    static final Set<String> PATCH_COLUMNS = new HashSet<>(Arrays.asList("ename", "job", "manager", "hiredate", "salary", "commission", "dno"));
+
     //    전체 조회 함수
     public List<Emp> findAll() {
         List<Emp> list = empRepository.findAll();
@@ -33,37 +87,176 @@ public class EmpService {
         return list;
     }
 
-    //    전체 삭제 함수
-    public void removeAll() {
-        empRepository.deleteAll(); // 전체 삭제
+    //    키셋(커서) 페이징 조회 함수 : cursor 다음 eno 부터 size 개만 조회
+    public List<Emp> findAll(Integer cursor, int size, boolean desc) {
+        Pageable pageable = PageUtil.keysetPageable(size, "eno", desc);
+        int start = PageUtil.startCursor(cursor, desc);
+
+//        같은 조회가 동시에 들어오면 DB 조회 1번만 실행
+        return singleFlightService.execute(Emp.class, "findAll:" + start + ":" + size + ":" + desc, () -> dbCircuitBreaker.call(() -> {
+            if (desc == true) {
+                return empRepository.findAllByEnoLessThan(start, pageable);
+            }
+            return empRepository.findAllByEnoGreaterThan(start, pageable);
+        }));
+    }
+
+    //    필요한 속성(컬럼)만 키셋 페이징 조회 함수 : 엔티티 대신 ( 속성명 -> 값 ) 으로 리턴
+//     ename 가 null 이면 전체 조회, 값이 있으면 like 검색
+    public List<Map<String, Object>> findAllFields(List<String> fields, String ename, Integer cursor, int size, boolean desc) {
+        int start = PageUtil.startCursor(cursor, desc);
+
+        return singleFlightService.execute(Emp.class, "findAllFields:" + fields + ":" + ename + ":" + start + ":" + size + ":" + desc,
+                () -> dbCircuitBreaker.call(() -> projectionRepository.findAll(Emp.class, "eno", fields, "ename", ename, start, size, desc)));
+    }
+
+    //    전체 조회(스트리밍) 함수 : DB 커서로 한 건씩 읽어서 action 에 전달, 전달한 건수 리턴
+    public long streamAll(Consumer<Emp> action) {
+        return cursorStreamRepository.forEach(Emp.class, "eno", action);
+    }
+
+    //    전체 삭제 함수 : update 문 1번으로 soft delete, 삭제된 건수 리턴
+//     dno 가 null 이면 전체 삭제, 값이 있으면 부서번호(dno) 조건에 맞는 데이터만 삭제
+    @Transactional
+    public int removeAll(Integer dno) {
+        long changeSeq = BaseTimeEntity.nextChangeSeq();
+        int count;
+        if (dno == null) {
+            count = empRepository.softDeleteAll(changeSeq); // 전체 삭제
+        } else {
+            count = empRepository.softDeleteAllByDno(dno, changeSeq);
+        }
+
+        return publishBulkChange(EntityChangeEvent.Type.DELETE, changeSeq, count);
     }
 
 
-//    사원 정보 저장/수정 함수
+    //    급여 일괄 인상 함수 : update 문 1번으로 salary = salary * rate, 수정된 건수 리턴
+//     dno 가 null 이면 전체 사원, 값이 있으면 부서번호(dno) 조건에 맞는 사원만 인상
+    @Transactional
+    public int raiseSalary(Integer dno, double rate) {
+        if (rate <= 0) {
+            throw new IllegalArgumentException("인상률은 0 보다 커야 합니다 : " + rate);
+        }
+        long changeSeq = BaseTimeEntity.nextChangeSeq();
+        if (dno == null) {
+            return publishBulkChange(EntityChangeEvent.Type.UPDATE, changeSeq, empRepository.raiseSalaryAll(rate, changeSeq), "salary");
+        }
+        return publishBulkChange(EntityChangeEvent.Type.UPDATE, changeSeq, empRepository.raiseSalaryByDno(dno, rate, changeSeq), "salary");
+    }
+
+    //    상여금 일괄 추가 함수 : update 문 1번으로 commission = commission + amount, 수정된 건수 리턴
+    @Transactional
+    public int addCommission(Integer dno, int amount) {
+        long changeSeq = BaseTimeEntity.nextChangeSeq();
+        if (dno == null) {
+            return publishBulkChange(EntityChangeEvent.Type.UPDATE, changeSeq, empRepository.addCommissionAll(amount, changeSeq), "commission");
+        }
+        return publishBulkChange(EntityChangeEvent.Type.UPDATE, changeSeq, empRepository.addCommissionByDno(dno, amount, changeSeq), "commission");
+    }
+
+    //    부서 이동 함수 : fromDno 부서 사원 전체를 toDno 부서로 이동, 이동된 건수 리턴
+    @Transactional
+    public int moveDept(int fromDno, int toDno) {
+        if (deptRepository.existsById(toDno) == false) {
+            throw new IllegalArgumentException("없는 부서번호입니다 : " + toDno);
+        }
+        long changeSeq = BaseTimeEntity.nextChangeSeq();
+        return publishBulkChange(EntityChangeEvent.Type.UPDATE, changeSeq, empRepository.moveDept(fromDno, toDno, changeSeq), "dno");
+    }
+
+//    사원 정보 저장/수정 함수 : 변경 알림(outbox)도 같은 트랜잭션에서 저장
+    @Transactional
     public Emp save(Emp emp) {
+//        기본키가 없으면 생성, 있으면 수정
+        EntityChangeEvent.Type type = (emp.getEno() == null) ? EntityChangeEvent.Type.CREATE : EntityChangeEvent.Type.UPDATE;
         Emp emp2 = empRepository.save(emp);
+        publishChange(type, emp2.getEno());
 
         return emp2;
     }
 
+    //    사원 정보 수정 함수 : 조회 없이 update 문 1번으로 수정
+//     version 이 있으면 ( If-Match ) 버전이 같을 때만 수정, 다르면 OptimisticLockingFailureException(충돌)
+//     없는 번호면 Optional.empty() 리턴
+    @Transactional
+    public Optional<Emp> update(int eno, Emp emp, Long version) {
+        emp.setEno(eno); // url 의 번호로 수정 ( body 의 번호는 무시 )
+
+        String updateTime = BaseTimeEntity.currentTime();
+        int count = (version == null)
+                ? empRepository.updateById(emp, updateTime)
+                : empRepository.updateByIdAndVersion(emp, version, updateTime);
+
+        if (count == 0) {
+//            수정된 행이 없을 때만 존재 여부 확인 : 있으면 버전 충돌, 없으면 없는 데이터
+            if (version != null && empRepository.existsById(eno) == true) {
+                throw new OptimisticLockingFailureException("사원 정보가 다른 사용자에 의해 먼저 수정되었습니다 : " + eno);
+            }
+            return Optional.empty();
+        }
+
+//        버전 확인 없이 수정한 경우는 새 버전을 알 수 없으므로 null
+        emp.setVersion(version == null ? null : version + 1);
+        publishChange(EntityChangeEvent.Type.UPDATE, eno);
+
+        return Optional.of(emp);
+    }
+
+    //    사원 정보 부분 수정 함수 : 조회 없이 patch 에 있는 속성(컬럼)만 update 문 1번으로 수정
+//     수정되면 true, 없는 번호면 false 리턴, 버전이 다르면 OptimisticLockingFailureException(충돌)
+    @Transactional
+    public boolean patch(int eno, Map<String, Object> patch, Long version) {
+        int count = patchUpdateRepository.patch(Emp.class, "eno", eno, patch, PATCH_COLUMNS, version);
+
+        if (count == 0) {
+            if (version != null && empRepository.existsById(eno) == true) {
+                throw new OptimisticLockingFailureException("사원 정보가 다른 사용자에 의해 먼저 수정되었습니다 : " + eno);
+            }
+            return false;
+        }
+
+        publishChange(EntityChangeEvent.Type.UPDATE, eno);
+        return true;
+    }
+
+    //    사원 여러 건 저장 함수 : 시퀀스 pooled-lo + JDBC batch insert 로 한번에 저장
+    @Transactional
+    public List<Emp> saveAll(List<Emp> empList) {
+        List<Emp> list = batchWriteRepository.persistAll(empList, Emp::getEno);
+        publishChange(EntityChangeEvent.Type.CREATE, list.stream().map(Emp::getEno).toArray(Integer[]::new));
+
+        return list;
+    }
+
     //    사원번호로 조회하는 함수
 
     public Optional<Emp> findById(int eno) {
 //       .findById(기본키속성)
-        Optional<Emp> optionalEmp = empRepository.findById(eno);
+//        같은 번호 조회가 동시에 들어오면 DB 조회 1번만 실행
+        Optional<Emp> optionalEmp = singleFlightService.execute(Emp.class, "findById:" + eno,
+                () -> dbCircuitBreaker.call(() -> empRepository.findById(eno)));
 
         return optionalEmp;
     }
 
+    //    사원번호 여러 개 조회 함수 : 2차 캐시 + IN 목록 쿼리, 요청한 순서대로 ( 기본키 -> 사원 ) 리턴
+//     ids 는 중복 없이 ( LookupUtil.distinctIds ), 없는(삭제된) 번호는 빠짐
+    public Map<Integer, Emp> findAllByIds(List<Integer> ids) {
+        return dbCircuitBreaker.call(() -> batchLookupRepository.findAllByIds(Emp.class, "eno", Emp::getEno, ids));
+    }
+
     //    부서번호(eno)로 삭제하는 함수
+//     update 문 1번(조건부 soft delete)으로 처리 : 변경된 행이 있으면 true, 없으면 false 리턴
+//     존재확인 후 삭제하는 사이에 다른 요청이 끼어드는 문제(check-then-act)도 없어짐
+    @Transactional
     public boolean removeById(int eno) {
-//       .existsById(기본키) 있으면 삭제 실행 + true 리턴
-        if(empRepository.existsById(eno) == true) {
-            empRepository.deleteById(eno);
-            return true;
+        int count = empRepository.softDeleteById(eno);
+        if (count > 0) {
+            publishChange(EntityChangeEvent.Type.DELETE, eno);
         }
-//        없으면 그냥 false 리턴
-        return false;
+
+        return count > 0;
     }
 
 
@@ -74,6 +267,59 @@ public class EmpService {
         return list;
     }
 
+    //    ename like 검색 + 키셋(커서) 페이징 함수
+//     검색 색인(trigram)을 사용할 수 있으면 색인에서 기본키를 찾아서 조회, 아니면 like 검색
+    public List<Emp> findAllByEnameContaining(String ename, Integer cursor, int size, boolean desc) {
+        Pageable pageable = PageUtil.keysetPageable(size, "eno", desc);
+        int start = PageUtil.startCursor(cursor, desc);
+
+//        같은 조회가 동시에 들어오면 DB 조회 1번만 실행
+        return singleFlightService.execute(Emp.class, "findAllByEnameContaining:" + ename + ":" + start + ":" + size + ":" + desc, () -> dbCircuitBreaker.call(() -> {
+            Optional<List<Emp>> indexed = nameSearchService.search(Emp.class, ename, cursor, size, desc);
+            if (indexed.isPresent() == true) {
+                return indexed.get();
+            }
+            if (desc == true) {
+                return empRepository.findAllByEnameContainingAndEnoLessThan(ename, start, pageable);
+            }
+            return empRepository.findAllByEnameContainingAndEnoGreaterThan(ename, start, pageable);
+        }));
+    }
+
+    //    사원명 오타 허용 검색 함수 : 편집 거리가 가까운 순으로 offset 부터 size 개 ( ex) SMTIH -> SMITH )
+//     이름 색인을 사용할 수 없으면(서버 시작 중 등) ename like 검색 결과를 사원번호 순으로
+//     like 검색은 offset + size 건을 읽으므로 offset 은 PageUtil.MAX_OFFSET 까지만
+    public List<Emp> findAllByEnameFuzzy(String ename, int offset, int size) {
+        PageUtil.offset(offset);
+        Optional<List<Emp>> found = dbCircuitBreaker.call(() -> nameSearchService.fuzzy(Emp.class, ename, offset, size));
+        if (found.isPresent() == true) {
+            return found.get();
+        }
 
+        List<Emp> list = findAllByEnameContaining(ename, null, offset + size, false);
+        return list.subList(Math.min(offset, list.size()), list.size());
+    }
+
+    //    사원명 자동완성 함수 : prefix 로 시작하는 사원명을 빈도 순으로 최대 limit 개 ( 이름 색인의 trie, DB 조회 없음 )
+    public List<String> suggest(String prefix, Integer limit) {
+        return nameSearchService.suggest(Emp.class, prefix, limit);
+    }
 
+//    데이터 변경 이벤트 발행 함수 : commit 후 응답 캐시 무효화 등에 사용
+//     외부 시스템 변경 알림(outbox)은 같은 트랜잭션에서 바로 저장
+    private void publishChange(EntityChangeEvent.Type type, Integer... enos) {
+        empOutboxRepository.append(type.name(), Arrays.asList(enos));
+        applicationEventPublisher.publishEvent(EntityChangeEvent.of(Emp.class, type, enos));
+    }
+
+//    일괄 변경 이벤트 발행 : 변경된 행이 있을 때만 발행, 변경된 건수 그대로 리턴
+//     changeSeq : update 문에 넣은 변경 순번 ( 이 순번인 사원 = 이번에 바뀐 사원 )
+//     fields : update 문이 수정한 속성 ( 사원명이 없으면 이름 색인은 다시 만들지 않음 )
+    private int publishBulkChange(EntityChangeEvent.Type type, long changeSeq, int count, String... fields) {
+        if (count > 0) {
+            empOutboxRepository.appendChanged(type.name(), changeSeq);
+            applicationEventPublisher.publishEvent(EntityChangeEvent.bulk(Emp.class, type, fields));
+        }
+        return count;
+    }
 }
@@ -0,0 +1,138 @@
+package com.example.simpledms.service;
+
+import com.example.simpledms.model.Emp;
+import com.example.simpledms.repository.EmpSyncRepository;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * packageName    : com.example.simpledms.service
+ * fileName       : EmpSyncService
+ * author         : ds
+ * date           : 2026-10-18
+ * description    : 사원 전체 동기화(인사 시스템 스냅샷) 서비스 클래스
+ * 요약 :
+ * 스냅샷의 사원을 한 건씩 받아서 chunk-size 건씩 묶어 MERGE(upsert) ( 묶음 1개 == 트랜잭션 1개 )
+ * -> 전체를 메모리에 올리지 않으므로 수백만 건도 처리 가능
+ * deleteMissing = true : 스냅샷에 없는 사원은 마지막에 soft delete
+ *                       ( 스냅샷을 끝까지 읽은 경우에만 실행, 중간에 실패하면 삭제하지 않음 )
+ * JDBC 로 직접 수정하므로 묶음마다 commit 후 사원 2차 캐시를 비움
+ * 데이터 변경 이벤트는 생성/수정된 사원번호로 발행 ( 이름 색인 등은 바뀐 사원만 다시 색인 )
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 2026-10-18        ds       최초 생성
+ */
+@Slf4j
+@Service
+public class EmpSyncService {
+
+    @Autowired
+    EmpSyncRepository empSyncRepository;
+
+    @Autowired
+    CacheStatsService cacheStatsService; // JDBC 로 직접 수정하므로 2차 캐시 비우기용
+
+    @Autowired
+    ApplicationEventPublisher applicationEventPublisher; // 데이터 변경 이벤트 발행
+
+//    MERGE 를 묶어서 실행하는 건수 ( 최대 1000 : Oracle IN 절 제한 )
+    @Value("${simpledms.emp.sync.chunk-size:1000}")
+    int chunkSize;
+
+//    동기화 결과 건수 ( JSON 으로 전송 )
+    @Getter
+    public static class SyncResult {
+        private long inserted;
+        private long updated;
+        private long unchanged;
+        private long deleted;
+    }
+
+//    동기화 함수 : source 는 스냅샷의 사원을 한 건씩 넘겨주는 함수
+//     사원번호(eno)가 없는 사원이 있으면 IllegalArgumentException
+    public SyncResult sync(Consumer<Consumer<Emp>> source, boolean deleteMissing) {
+        int size = Math.max(1, Math.min(chunkSize, 1000));
+        SyncResult result = new SyncResult();
+//        스냅샷에 있던 사원번호 ( 사원번호 1개당 1bit )
+        BitSet seen = new BitSet();
+//        같은 묶음에 같은 사원번호가 또 나오면 뒤의 데이터로 덮어씀
+        Map<Integer, Emp> chunk = new LinkedHashMap<>();
+
+        source.accept(emp -> {
+            if (emp.getEno() == null || emp.getEno() < 0) {
+                throw new IllegalArgumentException("사원번호(eno)가 없는 데이터가 있습니다 : " + emp);
+            }
+            seen.set(emp.getEno());
+            chunk.put(emp.getEno(), emp);
+
+            if (chunk.size() >= size) {
+                merge(chunk, result);
+            }
+        });
+        merge(chunk, result);
+
+        if (deleteMissing == true) {
+            result.deleted = removeMissing(seen, size);
+        }
+
+        log.debug("emp sync : inserted={}, updated={}, unchanged={}, deleted={}",
+                result.inserted, result.updated, result.unchanged, result.deleted);
+        return result;
+    }
+
+    private void merge(Map<Integer, Emp> chunk, SyncResult result) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        EmpSyncRepository.MergeResult merged = empSyncRepository.mergeChunk(new ArrayList<>(chunk.values()));
+//        commit 후 캐시 비우기 ( JDBC 로 수정한 데이터는 hibernate 가 알지 못함 )
+        if (merged.getInserted().isEmpty() == false || merged.getUpdated().isEmpty() == false) {
+            cacheStatsService.evict(Emp.class);
+        }
+//        바뀐 사원번호만 이벤트 발행 ( 묶음 최대 1000건 )
+        publishChange(EntityChangeEvent.Type.CREATE, merged.getInserted());
+        publishChange(EntityChangeEvent.Type.UPDATE, merged.getUpdated());
+        result.inserted += merged.getInserted().size();
+        result.updated += merged.getUpdated().size();
+        result.unchanged += merged.getUnchanged();
+        chunk.clear();
+    }
+
+//    스냅샷에 없는 사원 soft delete : 삭제되지 않은 사원번호를 DB 커서로 읽으면서 size 건씩 삭제
+    private long removeMissing(BitSet seen, int size) {
+        List<Integer> missing = new ArrayList<>();
+        empSyncRepository.forEachActiveEno(eno -> {
+            if (seen.get(eno) == false) {
+                missing.add(eno);
+            }
+        });
+
+        long deleted = 0;
+        for (int i = 0; i < missing.size(); i += size) {
+            deleted += empSyncRepository.softDeleteByEnos(missing.subList(i, Math.min(i + size, missing.size())));
+        }
+        if (deleted > 0) {
+            cacheStatsService.evict(Emp.class);
+            applicationEventPublisher.publishEvent(EntityChangeEvent.of(Emp.class, EntityChangeEvent.Type.DELETE));
+        }
+        return deleted;
+    }
+
+    private void publishChange(EntityChangeEvent.Type type, List<Integer> enos) {
+        if (enos.isEmpty() == false) {
+            applicationEventPublisher.publishEvent(new EntityChangeEvent(Emp.class, type, enos));
+        }
+    }
+}
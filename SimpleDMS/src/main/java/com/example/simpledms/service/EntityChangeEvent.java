@@ -0,0 +1,78 @@
+package com.example.simpledms.service;
+
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * packageName    : com.example.simpledms.service
+ * fileName       : EntityChangeEvent
+ * author         : ds
+ * date           : 2026-10-18
+ * description    : 데이터 변경(생성/수정/삭제) 이벤트
+ * 요약 :
+ * 서비스에서 데이터를 변경하면 ApplicationEventPublisher 로 이벤트 발행
+ * -> @TransactionalEventListener(AFTER_COMMIT) 가 commit 후에 받아서 캐시 무효화 등에 사용
+ * type : 생성(CREATE)/수정(UPDATE)/삭제(DELETE)
+ * ids : 변경된 기본키 목록, 비어있으면 여러 건(일괄 수정/삭제)이 바뀐 것
+ * fields : 수정된 속성 목록 ( ex) 급여 일괄 인상 = salary ), 비어있으면 모든 속성이 바뀌었을 수 있음
+ *          -> 이름 색인처럼 특정 속성만 쓰는 곳은 그 속성이 바뀌지 않은 일괄 수정은 무시
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 2026-10-18        ds       최초 생성
+ */
+@Getter
+@ToString
+public class EntityChangeEvent {
+
+//    변경 종류
+    public enum Type {
+        CREATE, UPDATE, DELETE
+    }
+
+//    변경된 엔티티 종류 ( ex) Dept.class )
+    private final Class<?> entityClass;
+
+    private final Type type;
+
+    private final List<Integer> ids;
+
+    private final Set<String> fields;
+
+    public EntityChangeEvent(Class<?> entityClass, Type type, List<Integer> ids) {
+        this(entityClass, type, ids, Collections.emptySet());
+    }
+
+    public EntityChangeEvent(Class<?> entityClass, Type type, List<Integer> ids, Set<String> fields) {
+        this.entityClass = entityClass;
+        this.type = type;
+        this.ids = Collections.unmodifiableList(ids);
+        this.fields = Collections.unmodifiableSet(fields);
+    }
+
+//    기본키 목록으로 이벤트 생성 ( 기본키를 주지 않으면 여러 건 변경 )
+    public static EntityChangeEvent of(Class<?> entityClass, Type type, Integer... ids) {
+        return new EntityChangeEvent(entityClass, type, Arrays.asList(ids));
+    }
+
+//    일괄 수정 이벤트 생성 : fields = update 문이 수정한 속성 ( 주지 않으면 모든 속성 )
+    public static EntityChangeEvent bulk(Class<?> entityClass, Type type, String... fields) {
+        return new EntityChangeEvent(entityClass, type, Collections.emptyList(), new LinkedHashSet<>(Arrays.asList(fields)));
+    }
+
+//    property 속성이 바뀌었을 수 있는가? ( 생성/삭제는 항상 true )
+    public boolean mayChange(String property) {
+        return type != Type.UPDATE || fields.isEmpty() || fields.contains(property);
+    }
+
+//    여러 건(일괄 수정/삭제) 변경인가?
+    public boolean isBulk() {
+        return ids.isEmpty();
+    }
+}
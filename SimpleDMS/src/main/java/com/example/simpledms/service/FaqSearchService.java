@@ -0,0 +1,488 @@
+package com.example.simpledms.service;
+
+import com.example.simpledms.model.Faq;
+import com.example.simpledms.repository.BatchLookupRepository;
+import com.example.simpledms.repository.CursorStreamRepository;
+import com.example.simpledms.util.NgramUtil;
+import com.example.simpledms.util.SuggestTrie;
+import com.example.simpledms.util.VectorMatrix;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * packageName    : com.example.simpledms.service
+ * fileName       : FaqSearchService
+ * author         : ds
+ * date           : 2026-10-18
+ * description    : FAQ 검색 색인(inverted index) 서비스 클래스
+ * 요약 :
+ * 기존 : GET /api/faq?title= -> where title like '%검색어%' ( 인덱스를 못 타서 TB_FAQ 전체 읽기, 한글 단어 분리 없음 )
+ * 변경 : 서버 메모리에 제목(title) + 내용(content) 색인을 만들어서 DB 조회 없이 검색
+ * 색인 : 2글자(bigram)씩 자른 단어 -> ( FAQ 번호 -> [제목 빈도, 내용 빈도] ) ( NgramUtil )
+ * 검색 : 검색어의 bigram 이 모두 들어있는 FAQ 만 찾아서 BM25 점수(관련도) 순으로 정렬
+ *       BM25 : 드문 단어일수록, 짧은 글에 여러 번 나올수록 높은 점수 ( 제목은 title-weight 배 )
+ * 갱신 : 서버 시작 시 전체 생성, commit 후 데이터 변경 이벤트(EntityChangeEvent)로 바뀐 FAQ 만 다시 색인
+ *       일괄 삭제(기본키 없음)는 별도 스레드에서 전체 다시 생성 ( 어떤 행이 바뀌었는지 모름 -> 다시 만들 때까지 like 검색 )
+ *       생성 순서/생성 중 변경 반영은 NameSearchService 와 같은 IndexRebuilder 사용
+ *       응답 캐시/테이블 버전보다 먼저 실행(@Order) -> 캐시가 지워진 후에는 항상 새 색인으로 검색
+ * 자동완성 : 제목 trie(SuggestTrie)도 같이 관리 -> 앞글자로 시작하는 제목을 빈도(같은 제목 수) 순으로 top-k 개
+ * 관련 FAQ : FAQ 마다 제목+내용 bigram 의 TF-IDF 벡터를 고정 차원(dimensions)으로 해싱해서 압축 행렬(VectorMatrix)에 저장
+ *           -> GET /api/faq/{no} 에서 코사인 유사도가 높은 FAQ top-N 을 같이 전송 ( DB 조회 없음 )
+ *           IDF 는 벡터를 만들 때의 값 사용 ( 전체 다시 생성할 때 모두 다시 계산 )
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 2026-10-18        ds       최초 생성
+ */
+@Service
+public class FaqSearchService {
+
+//    글자 n-gram 크기 ( 한글 2글자 )
+    static final int GRAM = 2;
+
+//    BM25 상수 : k1 = 단어 빈도 포화 정도, b = 글 길이 보정 정도
+    static final double K1 = 1.2;
+    static final double B = 0.75;
+
+    static final int TITLE = 0;
+    static final int CONTENT = 1;
+
+    @Autowired
+    CursorStreamRepository cursorStreamRepository;
+
+    @Autowired
+    BatchLookupRepository batchLookupRepository;
+
+//    사용 여부 ( false 면 기존 like 검색 )
+    @Value("${simpledms.faq-search.enabled:true}")
+    boolean enabled = true;
+
+//    제목 가중치 ( 내용 = 1 )
+    @Value("${simpledms.faq-search.title-weight:2.0}")
+    double titleWeight = 2.0;
+
+//    자동완성 최대 건수
+    @Value("${simpledms.suggest.top-k:10}")
+    int suggestTopK = 10;
+
+//    관련 FAQ 기본 건수 / 최대 건수
+    @Value("${simpledms.related-faq.size:5}")
+    int relatedSize = 5;
+
+    static final int MAX_RELATED = 20;
+
+//    TF-IDF 벡터 차원 ( 단어를 해싱해서 이 개수의 칸에 나눠 담음 )
+    @Value("${simpledms.related-faq.dimensions:256}")
+    int dimensions = 256;
+
+//    색인 1개 : 전체 다시 생성할 때는 새로 만들어서 교체
+    static class Index {
+//        FAQ 번호 -> FAQ ( 검색 결과를 DB 조회 없이 전송 )
+        final Map<Integer, Faq> docs = new HashMap<>();
+//        FAQ 번호 -> [제목 길이, 내용 길이] ( bigram 수 )
+        final Map<Integer, int[]> lengths = new HashMap<>();
+//        bigram -> ( FAQ 번호 -> [제목 빈도, 내용 빈도] )
+        final Map<String, Map<Integer, int[]>> postings = new HashMap<>();
+        final long[] totalLength = new long[2];
+//        제목 자동완성
+        final SuggestTrie titles;
+//        관련 FAQ 용 TF-IDF 벡터 ( buildVectors() 전에는 계산하지 않음 : 전체 생성 시 단어 빈도가 다 모인 후 한번에 )
+        final VectorMatrix vectors;
+        final double titleWeight;
+        boolean vectorsBuilt;
+
+        Index(int suggestTopK, int dimensions, double titleWeight) {
+            this.titles = new SuggestTrie(suggestTopK);
+            this.vectors = new VectorMatrix(dimensions);
+            this.titleWeight = titleWeight;
+        }
+
+        void add(Faq faq) {
+            remove(faq.getNo());
+
+            List<String> title = NgramUtil.ngrams(faq.getTitle(), GRAM);
+            List<String> content = NgramUtil.ngrams(faq.getContent(), GRAM);
+            for (String term : title) {
+                postings.computeIfAbsent(term, key -> new HashMap<>())
+                        .computeIfAbsent(faq.getNo(), key -> new int[2])[TITLE]++;
+            }
+            for (String term : content) {
+                postings.computeIfAbsent(term, key -> new HashMap<>())
+                        .computeIfAbsent(faq.getNo(), key -> new int[2])[CONTENT]++;
+            }
+
+            docs.put(faq.getNo(), faq);
+            titles.add(faq.getTitle());
+            lengths.put(faq.getNo(), new int[]{title.size(), content.size()});
+            totalLength[TITLE] += title.size();
+            totalLength[CONTENT] += content.size();
+
+            if (vectorsBuilt == true) {
+                putVector(faq);
+            }
+        }
+
+//        전체 TF-IDF 벡터 계산
+        void buildVectors() {
+            for (Faq faq : docs.values()) {
+                putVector(faq);
+            }
+            vectorsBuilt = true;
+        }
+
+//        TF-IDF 벡터 : 단어마다 log(1 + 빈도(제목은 가중치 배)) * idf 를 해싱한 칸에 더한 후 길이 1 로 정규화
+//         해싱 : 칸 번호 = 해시값 % 차원, 부호 = 해시값 부호 ( 충돌한 단어끼리 한쪽으로 쌓이지 않게 )
+        void putVector(Faq faq) {
+            Set<String> terms = new LinkedHashSet<>(NgramUtil.ngrams(faq.getTitle(), GRAM));
+            terms.addAll(NgramUtil.ngrams(faq.getContent(), GRAM));
+
+            int dimensions = vectors.getDimensions();
+            float[] vector = new float[dimensions];
+            for (String term : terms) {
+                Map<Integer, int[]> posting = postings.get(term);
+                int[] tf = posting.get(faq.getNo());
+                double weight = Math.log(1 + titleWeight * tf[TITLE] + tf[CONTENT])
+                        * (Math.log((docs.size() + 1.0) / (posting.size() + 1.0)) + 1);
+
+                int hash = term.hashCode() * 0x9E3779B9;
+                hash ^= hash >>> 16;
+                vector[(hash & 0x7FFFFFFF) % dimensions] += (hash < 0) ? -weight : weight;
+            }
+
+            double norm = 0;
+            for (float value : vector) {
+                norm += value * value;
+            }
+            if (norm == 0) {
+                vectors.remove(faq.getNo());
+                return;
+            }
+            float inverse = (float) (1 / Math.sqrt(norm));
+            for (int j = 0; j < dimensions; j++) {
+                vector[j] *= inverse;
+            }
+            vectors.put(faq.getNo(), vector);
+        }
+
+        void remove(Integer no) {
+            Faq old = docs.remove(no);
+            if (old == null) {
+                return;
+            }
+            titles.remove(old.getTitle());
+            vectors.remove(no);
+
+            Set<String> terms = new LinkedHashSet<>(NgramUtil.ngrams(old.getTitle(), GRAM));
+            terms.addAll(NgramUtil.ngrams(old.getContent(), GRAM));
+            for (String term : terms) {
+                Map<Integer, int[]> posting = postings.get(term);
+                if (posting != null) {
+                    posting.remove(no);
+                    if (posting.isEmpty()) {
+                        postings.remove(term);
+                    }
+                }
+            }
+
+            int[] length = lengths.remove(no);
+            totalLength[TITLE] -= length[TITLE];
+            totalLength[CONTENT] -= length[CONTENT];
+        }
+
+//        검색어 단어 1개와 맞는 색인 단어 목록 : 2글자면 그대로, 1글자 단어(ex) "앱")면 그 글자가 들어있는 모든 단어
+        List<Map<Integer, int[]>> match(String term) {
+            if (term.codePointCount(0, term.length()) >= GRAM) {
+                Map<Integer, int[]> posting = postings.get(term);
+                return (posting == null) ? Collections.emptyList() : Collections.singletonList(posting);
+            }
+            List<Map<Integer, int[]>> matched = new ArrayList<>();
+            for (Map.Entry<String, Map<Integer, int[]>> entry : postings.entrySet()) {
+                if (entry.getKey().contains(term)) {
+                    matched.add(entry.getValue());
+                }
+            }
+            return matched;
+        }
+    }
+
+    private volatile Index index;
+
+//    전체 다시 생성 순서 관리 ( 색인 변경끼리 순서대로 실행, 전체 다시 생성 중에 들어온 변경도 순서대로 )
+    private IndexRebuilder<Index> rebuilder;
+
+    private ExecutorService executor;
+
+//    검색(read) / 색인 변경(write) 잠금 : 검색끼리는 동시에 실행
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final AtomicLong searchCount = new AtomicLong();
+    private final AtomicLong searchNanos = new AtomicLong();
+    private final AtomicLong relatedCount = new AtomicLong();
+    private final AtomicLong relatedNanos = new AtomicLong();
+
+    @PostConstruct
+    void init() {
+        executor = IndexRebuilder.newExecutor("faq-index-rebuild");
+        rebuilder = new IndexRebuilder<Index>("FAQ 검색 색인", executor) {
+//            전체 다시 생성 : TB_FAQ 전체를 번호 순서로 읽어서 새 색인 생성
+            @Override
+            protected Index build() {
+                Index fresh = new Index(suggestTopK, dimensions, titleWeight);
+                cursorStreamRepository.forEach(Faq.class, "no", fresh::add);
+                fresh.titles.build();
+                fresh.buildVectors();
+                return fresh;
+            }
+
+            @Override
+            protected Index current() {
+                return index;
+            }
+
+            @Override
+            protected void apply(Index target, Collection<Integer> nos, boolean lookup) {
+                FaqSearchService.this.apply(target, nos, lookup);
+            }
+
+            @Override
+            protected void swap(Index fresh) {
+                lock.writeLock().lock();
+                try {
+                    index = fresh;
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            }
+
+            @Override
+            protected String describe(Index fresh) {
+                return fresh.docs.size() + " 건, " + fresh.postings.size() + " 단어";
+            }
+        };
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+//    서버 시작 후 전체 색인 생성 ( 별도 스레드, 그동안은 like 검색 )
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        if (enabled == true) {
+            rebuilder.requestRebuild(false);
+        }
+    }
+
+//    데이터 변경 이벤트 : commit 후 바뀐 FAQ 만 다시 색인 ( 일괄 변경이면 전체 다시 생성 )
+//     @Order : 응답 캐시 삭제/테이블 버전 증가보다 먼저 실행
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onEntityChange(EntityChangeEvent event) {
+        if (enabled == false || event.getEntityClass() != Faq.class) {
+            return;
+        }
+
+        if (event.isBulk()) {
+//            어떤 행이 바뀌었는지 모름 -> 다시 만들 때까지 like 검색 ( commit 한 스레드는 기다리지 않음 )
+            rebuilder.requestRebuild(true);
+            return;
+        }
+
+//        반영 실패하면 다음 전체 생성까지 like 검색
+        rebuilder.change(event.getIds(), event.getType() != EntityChangeEvent.Type.DELETE);
+    }
+
+//    FAQ 번호 목록 반영 : lookup 이면 현재 데이터를 다시 읽어서 색인 ( 없으면 삭제 ), 아니면 삭제
+    private void apply(Index target, Collection<Integer> nos, boolean lookup) {
+        Map<Integer, Faq> found = (lookup == true)
+                ? batchLookupRepository.findAllByIds(Faq.class, "no", Faq::getNo, new ArrayList<>(nos))
+                : Collections.emptyMap();
+
+        lock.writeLock().lock();
+        try {
+            for (Integer no : nos) {
+                Faq faq = found.get(no);
+                if (faq != null) {
+                    target.add(faq);
+                } else {
+                    target.remove(no);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+//    색인 사용 가능 여부 ( 서버 시작 중이거나 사용 안 함이면 false )
+    public boolean isReady() {
+        return enabled == true && rebuilder.isReady() == true;
+    }
+
+//    검색 함수 : 검색어의 bigram 이 모두 들어있는 FAQ 를 BM25 점수 순으로 offset 부터 size 개
+//     점수가 같으면 번호 순
+    public List<Faq> search(String query, int offset, int size) {
+        long start = System.nanoTime();
+        List<String> terms = new ArrayList<>(new LinkedHashSet<>(NgramUtil.ngrams(query, GRAM)));
+        if (terms.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        lock.readLock().lock();
+        try {
+            Index current = index;
+            int docCount = current.docs.size();
+            double[] avgLength = {
+                    Math.max(1.0, (double) current.totalLength[TITLE] / Math.max(1, docCount)),
+                    Math.max(1.0, (double) current.totalLength[CONTENT] / Math.max(1, docCount))
+            };
+
+//            FAQ 번호 -> 점수 ( 모든 단어가 들어있는 FAQ 만 남김 )
+            Map<Integer, Double> scores = null;
+            for (String term : terms) {
+                Map<Integer, Double> termScores = new HashMap<>();
+                for (Map<Integer, int[]> posting : current.match(term)) {
+                    double idf = Math.log(1 + (docCount - posting.size() + 0.5) / (posting.size() + 0.5));
+                    for (Map.Entry<Integer, int[]> entry : posting.entrySet()) {
+                        if (scores != null && scores.containsKey(entry.getKey()) == false) {
+                            continue;
+                        }
+                        double score = idf * bm25(entry.getValue(), current.lengths.get(entry.getKey()), avgLength);
+                        termScores.merge(entry.getKey(), score, Double::sum);
+                    }
+                }
+                if (scores != null) {
+                    for (Map.Entry<Integer, Double> entry : termScores.entrySet()) {
+                        entry.setValue(entry.getValue() + scores.get(entry.getKey()));
+                    }
+                }
+                scores = termScores;
+                if (scores.isEmpty()) {
+                    break;
+                }
+            }
+
+            List<Map.Entry<Integer, Double>> ranked = new ArrayList<>(scores.entrySet());
+            ranked.sort((left, right) -> {
+                int compare = Double.compare(right.getValue(), left.getValue());
+                return (compare != 0) ? compare : Integer.compare(left.getKey(), right.getKey());
+            });
+
+            List<Faq> list = new ArrayList<>(Math.min(size, ranked.size()));
+            for (int i = offset; i < ranked.size() && list.size() < size; i++) {
+                list.add(current.docs.get(ranked.get(i).getKey()));
+            }
+            return list;
+        } finally {
+            lock.readLock().unlock();
+            searchCount.incrementAndGet();
+            searchNanos.addAndGet(System.nanoTime() - start);
+        }
+    }
+
+//    제목 자동완성 함수 : prefix 로 시작하는 제목을 빈도 순으로 최대 limit 개 ( limit 이 없거나 top-k 보다 크면 top-k 개 )
+//     색인이 아직 없으면 빈 목록
+    public List<String> suggest(String prefix, Integer limit) {
+        if (prefix == null || prefix.isEmpty()) {
+            throw new IllegalArgumentException("prefix 는 1글자 이상이어야 합니다");
+        }
+        if (limit != null && limit < 1) {
+            throw new IllegalArgumentException("limit 는 1 이상이어야 합니다 : " + limit);
+        }
+        if (isReady() == false) {
+            return Collections.emptyList();
+        }
+
+        lock.readLock().lock();
+        try {
+            return index.titles.suggest(prefix, (limit == null) ? suggestTopK : Math.min(limit, suggestTopK));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+//    관련 FAQ 함수 : no 와 제목/내용이 비슷한(TF-IDF 코사인 유사도) FAQ 를 점수 순으로 최대 size 개 { no, title, score }
+//     size 가 없으면 기본 건수, 0 이면 빈 목록, 색인이 아직 없으면 빈 목록
+    public List<Map<String, Object>> related(int no, Integer size) {
+        int count = (size == null) ? relatedSize : size;
+        if (count < 0 || count > MAX_RELATED) {
+            throw new IllegalArgumentException("관련 FAQ 건수는 0 ~ " + MAX_RELATED + " 이어야 합니다 : " + size);
+        }
+        if (count == 0 || isReady() == false) {
+            return Collections.emptyList();
+        }
+
+        long start = System.nanoTime();
+        lock.readLock().lock();
+        try {
+            List<Map<String, Object>> list = new ArrayList<>(count);
+            for (VectorMatrix.Match match : index.vectors.topK(no, count)) {
+                Map<String, Object> item = new LinkedHashMap<>();
+                item.put("no", match.id);
+                item.put("title", index.docs.get(match.id).getTitle());
+                item.put("score", Math.round(match.score * 10000) / 10000.0);
+                list.add(item);
+            }
+            return list;
+        } finally {
+            lock.readLock().unlock();
+            relatedCount.incrementAndGet();
+            relatedNanos.addAndGet(System.nanoTime() - start);
+        }
+    }
+
+//    BM25F 단어 점수 : 제목/내용 빈도를 길이 보정 + 가중치로 합친 후 포화 ( idf 제외 )
+    double bm25(int[] tf, int[] length, double[] avgLength) {
+        double title = tf[TITLE] / (1 - B + B * length[TITLE] / avgLength[TITLE]);
+        double content = tf[CONTENT] / (1 - B + B * length[CONTENT] / avgLength[CONTENT]);
+        double weighted = titleWeight * title + content;
+        return weighted * (K1 + 1) / (weighted + K1);
+    }
+
+//    통계 조회 함수 : 색인 건수/단어 수, 검색 횟수, 평균 검색시간(ms)
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("ready", isReady());
+
+        lock.readLock().lock();
+        try {
+            stats.put("docs", index == null ? 0 : index.docs.size());
+            stats.put("terms", index == null ? 0 : index.postings.size());
+            stats.put("vectorBytes", index == null ? 0 : index.vectors.byteSize());
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        long count = searchCount.get();
+        stats.put("searchCount", count);
+        stats.put("avgSearchMs", (count == 0) ? 0.0 : searchNanos.get() / 1_000_000.0 / count);
+
+        long related = relatedCount.get();
+        stats.put("relatedCount", related);
+        stats.put("avgRelatedMs", (related == 0) ? 0.0 : relatedNanos.get() / 1_000_000.0 / related);
+        return stats;
+    }
+}
@@ -1,12 +1,28 @@
 package com.example.simpledms.service;
 
+import com.example.simpledms.model.BaseTimeEntity;
 import com.example.simpledms.model.Faq;
+import com.example.simpledms.repository.BatchLookupRepository;
+import com.example.simpledms.repository.BatchWriteRepository;
+import com.example.simpledms.repository.CursorStreamRepository;
 import com.example.simpledms.repository.FaqRepository;
+import com.example.simpledms.repository.PatchUpdateRepository;
+import com.example.simpledms.repository.ProjectionRepository;
+import com.example.simpledms.util.PageUtil;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 
 /**
  * packageName    : com.example.jpaexam.service.exam01
@@ -25,6 +41,36 @@ public class FaqService {
     @Autowired
     FaqRepository faqRepository;  // JPA
 
+    @Autowired
+    CursorStreamRepository cursorStreamRepository; // DB 커서 스트리밍
+
+    @Autowired
+    BatchWriteRepository batchWriteRepository; // JDBC batch 저장
+
+    @Autowired
+    BatchLookupRepository batchLookupRepository; // 여러 기본키 한번에 조회
+
+    @Autowired
+    ProjectionRepository projectionRepository; // 필요한 속성(컬럼)만 조회
+
+    @Autowired
+    PatchUpdateRepository patchUpdateRepository; // 부분 수정(JSON Merge Patch)
+
+    @Autowired
+    SingleFlightService singleFlightService; // 같은 조회 동시 요청 합치기
+
+    @Autowired
+    DbCircuitBreaker dbCircuitBreaker; // DB 장애가 계속되면 조회 차단 ( 기다리지 않고 바로 실패 )
+
+    @Autowired
+    FaqSearchService faqSearchService; // 제목/내용 검색 색인 ( bigram + BM25 )
+
+    @Autowired
+    ApplicationEventPublisher applicationEventPublisher; // 데이터 변경 이벤트 발행
+
+//    부분 수정(PATCH) 가능한 속성 목록
+    static final Set<String> PATCH_COLUMNS = new HashSet<>(Arrays.asList("title", "content"));
+
     //    전체 조회 함수
     public List<Faq> findAll() {
         List<Faq> list = faqRepository.findAll();
@@ -32,36 +78,144 @@ public class FaqService {
         return list;
     }
 
-    //    전체 삭제 함수
-    public void removeAll() {
-        faqRepository.deleteAll(); // 전체 삭제
+    //    키셋(커서) 페이징 조회 함수 : cursor 다음 no 부터 size 개만 조회
+    public List<Faq> findAll(Integer cursor, int size, boolean desc) {
+        Pageable pageable = PageUtil.keysetPageable(size, "no", desc);
+        int start = PageUtil.startCursor(cursor, desc);
+
+//        같은 조회가 동시에 들어오면 DB 조회 1번만 실행
+        return singleFlightService.execute(Faq.class, "findAll:" + start + ":" + size + ":" + desc, () -> dbCircuitBreaker.call(() -> {
+            if (desc == true) {
+                return faqRepository.findAllByNoLessThan(start, pageable);
+            }
+            return faqRepository.findAllByNoGreaterThan(start, pageable);
+        }));
+    }
+
+    //    필요한 속성(컬럼)만 키셋 페이징 조회 함수 : 엔티티 대신 ( 속성명 -> 값 ) 으로 리턴
+//     title 가 null 이면 전체 조회, 값이 있으면 like 검색
+    public List<Map<String, Object>> findAllFields(List<String> fields, String title, Integer cursor, int size, boolean desc) {
+        int start = PageUtil.startCursor(cursor, desc);
+
+        return singleFlightService.execute(Faq.class, "findAllFields:" + fields + ":" + title + ":" + start + ":" + size + ":" + desc,
+                () -> dbCircuitBreaker.call(() -> projectionRepository.findAll(Faq.class, "no", fields, "title", title, start, size, desc)));
+    }
+
+    //    전체 조회(스트리밍) 함수 : DB 커서로 한 건씩 읽어서 action 에 전달, 전달한 건수 리턴
+    public long streamAll(Consumer<Faq> action) {
+        return cursorStreamRepository.forEach(Faq.class, "no", action);
+    }
+
+    //    전체 삭제 함수 : update 문 1번으로 soft delete, 삭제된 건수 리턴
+//     title 가 null 이면 전체 삭제, 값이 있으면 title like 조건에 맞는 데이터만 삭제
+//     title 의 %, _ 는 문자 그대로 검색, 빈 title 은 전체가 조건에 맞으므로 에러 ( 전체 삭제는 title 없이 요청 )
+    @Transactional
+    public int removeAll(String title) {
+        int count;
+        if (title == null) {
+            count = faqRepository.softDeleteAll(); // 전체 삭제
+        } else if (title.trim().isEmpty()) {
+            throw new IllegalArgumentException("삭제할 title 이 비어 있습니다");
+        } else {
+            count = faqRepository.softDeleteAllByTitle(ProjectionRepository.escapeLike(title));
+        }
+
+        if (count > 0) {
+            publishChange(EntityChangeEvent.Type.DELETE);
+        }
+        return count;
     }
 
     //    부서 정보 저장/수정 함수
     public Faq save(Faq faq) {
+//        기본키가 없으면 생성, 있으면 수정
+        EntityChangeEvent.Type type = (faq.getNo() == null) ? EntityChangeEvent.Type.CREATE : EntityChangeEvent.Type.UPDATE;
         Faq faq2 = faqRepository.save(faq);
+        publishChange(type, faq2.getNo());
 
         return faq2;
     }
 
+    //    FAQ 정보 수정 함수 : 조회 없이 update 문 1번으로 수정
+//     version 이 있으면 ( If-Match ) 버전이 같을 때만 수정, 다르면 OptimisticLockingFailureException(충돌)
+//     없는 번호면 Optional.empty() 리턴
+    @Transactional
+    public Optional<Faq> update(int no, Faq faq, Long version) {
+        faq.setNo(no); // url 의 번호로 수정 ( body 의 번호는 무시 )
+
+        String updateTime = BaseTimeEntity.currentTime();
+        int count = (version == null)
+                ? faqRepository.updateById(faq, updateTime)
+                : faqRepository.updateByIdAndVersion(faq, version, updateTime);
+
+        if (count == 0) {
+//            수정된 행이 없을 때만 존재 여부 확인 : 있으면 버전 충돌, 없으면 없는 데이터
+            if (version != null && faqRepository.existsById(no) == true) {
+                throw new OptimisticLockingFailureException("FAQ 정보가 다른 사용자에 의해 먼저 수정되었습니다 : " + no);
+            }
+            return Optional.empty();
+        }
+
+//        버전 확인 없이 수정한 경우는 새 버전을 알 수 없으므로 null
+        faq.setVersion(version == null ? null : version + 1);
+        publishChange(EntityChangeEvent.Type.UPDATE, no);
+
+        return Optional.of(faq);
+    }
+
+    //    FAQ 정보 부분 수정 함수 : 조회 없이 patch 에 있는 속성(컬럼)만 update 문 1번으로 수정
+//     수정되면 true, 없는 번호면 false 리턴, 버전이 다르면 OptimisticLockingFailureException(충돌)
+    @Transactional
+    public boolean patch(int no, Map<String, Object> patch, Long version) {
+        int count = patchUpdateRepository.patch(Faq.class, "no", no, patch, PATCH_COLUMNS, version);
+
+        if (count == 0) {
+            if (version != null && faqRepository.existsById(no) == true) {
+                throw new OptimisticLockingFailureException("FAQ 정보가 다른 사용자에 의해 먼저 수정되었습니다 : " + no);
+            }
+            return false;
+        }
+
+        publishChange(EntityChangeEvent.Type.UPDATE, no);
+        return true;
+    }
+
+    //    FAQ 여러 건 저장 함수 : 시퀀스 pooled-lo + JDBC batch insert 로 한번에 저장
+    public List<Faq> saveAll(List<Faq> faqList) {
+        List<Faq> list = batchWriteRepository.persistAll(faqList, Faq::getNo);
+        publishChange(EntityChangeEvent.Type.CREATE, list.stream().map(Faq::getNo).toArray(Integer[]::new));
+
+        return list;
+    }
+
     //    부서번호로 조회하는 함수
 
     public Optional<Faq> findById(int no) {
 //       .findById(기본키속성)
-        Optional<Faq> optionalFaq = faqRepository.findById(no);
+//        같은 번호 조회가 동시에 들어오면 DB 조회 1번만 실행
+        Optional<Faq> optionalFaq = singleFlightService.execute(Faq.class, "findById:" + no,
+                () -> dbCircuitBreaker.call(() -> faqRepository.findById(no)));
 
         return optionalFaq;
     }
 
+    //    FAQ 번호 여러 개 조회 함수 : 2차 캐시 + IN 목록 쿼리, 요청한 순서대로 ( 기본키 -> FAQ ) 리턴
+//     ids 는 중복 없이 ( LookupUtil.distinctIds ), 없는(삭제된) 번호는 빠짐
+    public Map<Integer, Faq> findAllByIds(List<Integer> ids) {
+        return dbCircuitBreaker.call(() -> batchLookupRepository.findAllByIds(Faq.class, "no", Faq::getNo, ids));
+    }
+
     //    부서번호(no)로 삭제하는 함수
+//     update 문 1번(조건부 soft delete)으로 처리 : 변경된 행이 있으면 true, 없으면 false 리턴
+//     존재확인 후 삭제하는 사이에 다른 요청이 끼어드는 문제(check-then-act)도 없어짐
+    @Transactional
     public boolean removeById(int no) {
-//       .existsById(기본키) 있으면 삭제 실행 + true 리턴
-        if(faqRepository.existsById(no) == true) {
-            faqRepository.deleteById(no);
-            return true;
+        int count = faqRepository.softDeleteById(no);
+        if (count > 0) {
+            publishChange(EntityChangeEvent.Type.DELETE, no);
         }
-//        없으면 그냥 false 리턴
-        return false;
+
+        return count > 0;
     }
 
 //    title like 검색 함수
@@ -71,5 +225,45 @@ public class FaqService {
         return list;
     }
 
+    //    title like 검색 + 키셋(커서) 페이징 함수
+    public List<Faq> findAllByTitleContaining(String title, Integer cursor, int size, boolean desc) {
+        Pageable pageable = PageUtil.keysetPageable(size, "no", desc);
+        int start = PageUtil.startCursor(cursor, desc);
+
+//        같은 조회가 동시에 들어오면 DB 조회 1번만 실행
+        return singleFlightService.execute(Faq.class, "findAllByTitleContaining:" + title + ":" + start + ":" + size + ":" + desc, () -> dbCircuitBreaker.call(() -> {
+            if (desc == true) {
+                return faqRepository.findAllByTitleContainingAndNoLessThan(title, start, pageable);
+            }
+            return faqRepository.findAllByTitleContainingAndNoGreaterThan(title, start, pageable);
+        }));
+    }
+
+    //    제목/내용 검색 함수 : 검색 색인에서 관련도(BM25 점수) 순으로 offset 부터 size 개 조회 ( DB 조회 없음 )
+//     색인이 아직 없으면(서버 시작 중) title like 검색 결과를 번호 순으로
+//     like 검색은 offset + size 건을 읽으므로 offset 은 PageUtil.MAX_OFFSET 까지만
+    public List<Faq> search(String query, int offset, int size) {
+        PageUtil.offset(offset);
+        if (faqSearchService.isReady() == true) {
+            return faqSearchService.search(query, offset, size);
+        }
 
+        List<Faq> list = findAllByTitleContaining(query, null, offset + size, false);
+        return list.subList(Math.min(offset, list.size()), list.size());
+    }
+
+    //    제목 자동완성 함수 : prefix 로 시작하는 제목을 빈도 순으로 최대 limit 개 ( 검색 색인의 trie, DB 조회 없음 )
+    public List<String> suggest(String prefix, Integer limit) {
+        return faqSearchService.suggest(prefix, limit);
+    }
+
+//    관련 FAQ 조회 함수 : no 와 제목/내용이 비슷한 FAQ 를 유사도 순으로 최대 size 개 ( 검색 색인의 TF-IDF 벡터, DB 조회 없음 )
+    public List<Map<String, Object>> findRelated(int no, Integer size) {
+        return faqSearchService.related(no, size);
+    }
+
+//    데이터 변경 이벤트 발행 함수 : commit 후 응답 캐시 무효화 등에 사용 ( 기본키가 없으면 여러 건 변경 )
+    private void publishChange(EntityChangeEvent.Type type, Integer... nos) {
+        applicationEventPublisher.publishEvent(EntityChangeEvent.of(Faq.class, type, nos));
+    }
 }
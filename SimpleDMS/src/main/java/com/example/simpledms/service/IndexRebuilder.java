@@ -0,0 +1,154 @@
+package com.example.simpledms.service;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * packageName    : com.example.simpledms.service
+ * fileName       : IndexRebuilder
+ * author         : ds
+ * date           : 2026-10-18
+ * description    : 메모리 색인 1개의 전체 다시 생성(별도 스레드) + 변경 반영 순서 관리 클래스
+ * 요약 :
+ *   NameSearchService(사원명/부서명 색인), FaqSearchService(FAQ 검색 색인)가 같이 사용
+ *   색인 종류별로 만들기(build) / 기본키 목록 반영(apply) / 교체(swap) 만 구현
+ * 순서 :
+ *   1) requestRebuild() : 생성 중이 아니면 별도 스레드에서 rebuild(), 생성 중이면 끝난 후 한번 더(rerun)
+ *   2) rebuild() : 잠금 없이 테이블 전체를 읽어서 새 색인 생성 ( 그동안 들어온 변경 기본키는 pending 에 모음 )
+ *   3) 교체 직전에 pending 을 새 색인에 다시 반영 -> 교체 -> 생성 중에 일괄 변경이 없었으면 사용 가능(ready)
+ *   변경 반영(change)과 교체는 synchronized (this) 안에서 순서대로 실행
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 2026-10-18        ds       최초 생성
+ */
+@Slf4j
+public abstract class IndexRebuilder<I> {
+
+//    로그에 쓰는 색인 이름 ( ex) "FAQ 검색 색인" )
+    private final String name;
+
+    private final ExecutorService executor;
+
+//    색인으로 검색 가능한가? ( 처음 생성 전, 일괄 변경 후 다시 생성 중이면 false )
+    private volatile boolean ready;
+
+//    아래는 synchronized (this) 안에서만 사용
+//    전체 다시 생성 중인가? / 생성 중에 일괄 변경이 와서 한번 더 생성해야 하는가? / 생성 중에 바뀐 기본키
+    private boolean rebuilding;
+    private boolean rerun;
+    private final Set<Integer> pending = new HashSet<>();
+
+    private volatile long lastRebuildMs;
+
+    protected IndexRebuilder(String name, ExecutorService executor) {
+        this.name = name;
+        this.executor = executor;
+    }
+
+//    전체 다시 생성용 스레드 1개 ( 서버 종료를 막지 않게 daemon )
+    public static ExecutorService newExecutor(String threadName) {
+        return Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, threadName);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+//    테이블 전체를 읽어서 새 색인 생성 ( 잠금 없이 실행 )
+    protected abstract I build();
+
+//    지금 검색에 쓰는 색인 ( 아직 없으면 null )
+    protected abstract I current();
+
+//    기본키 목록 반영 : lookup 이면 현재 데이터를 다시 읽어서 색인 ( 없으면 삭제 ), 아니면 삭제
+    protected abstract void apply(I index, Collection<Integer> ids, boolean lookup);
+
+//    새 색인으로 교체 ( 검색 잠금은 구현 쪽에서 )
+    protected abstract void swap(I fresh);
+
+//    생성 로그용 요약 ( ex) "10 건, 50 단어" )
+    protected abstract String describe(I fresh);
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public long getLastRebuildMs() {
+        return lastRebuildMs;
+    }
+
+//    데이터 변경 반영 : commit 후 바뀐 기본키만 지금 색인에 반영 ( 생성 중이면 새 색인에도 반영되게 pending 에 모음 )
+    public void change(Collection<Integer> ids, boolean lookup) {
+        try {
+            synchronized (this) {
+                if (rebuilding == true) {
+                    pending.addAll(ids);
+                }
+                I index = current();
+                if (index != null) {
+                    apply(index, ids, lookup);
+                }
+            }
+        } catch (Exception e) {
+//            반영 실패 : 다음 전체 생성까지 검색에 쓰지 않음
+            ready = false;
+            log.warn(name + " 갱신 실패 : " + e.getMessage());
+        }
+    }
+
+//    전체 다시 생성 요청 : 이미 생성 중이면 끝난 후 한번 더 ( invalidate : 지금 색인을 검색에 쓰지 않음 )
+    public void requestRebuild(boolean invalidate) {
+        synchronized (this) {
+            if (invalidate == true) {
+                ready = false;
+            }
+            if (rebuilding == true) {
+                rerun = rerun || invalidate;
+                return;
+            }
+            rebuilding = true;
+            pending.clear();
+        }
+        executor.execute(this::rebuild);
+    }
+
+//    전체 다시 생성 : 새 색인을 만든 후 그동안 바뀐 기본키를 다시 반영해서 교체
+    void rebuild() {
+        long start = System.currentTimeMillis();
+        boolean again;
+        try {
+            I fresh = build();
+
+            synchronized (this) {
+//                만드는 동안 바뀐 기본키 다시 읽어서 반영
+                if (pending.isEmpty() == false) {
+                    apply(fresh, new ArrayList<>(pending), true);
+                    pending.clear();
+                }
+                swap(fresh);
+//                만드는 중에 일괄 변경이 있었으면 한번 더 만든 후에 사용
+                ready = (rerun == false);
+            }
+            lastRebuildMs = System.currentTimeMillis() - start;
+            log.info(name + " 생성 : " + describe(fresh) + ", " + lastRebuildMs + "ms");
+        } catch (Exception e) {
+            log.warn(name + " 생성 실패 : " + e.getMessage());
+        } finally {
+            synchronized (this) {
+                rebuilding = false;
+                again = rerun;
+                rerun = false;
+            }
+        }
+        if (again == true) {
+            requestRebuild(true);
+        }
+    }
+}
@@ -0,0 +1,388 @@
+package com.example.simpledms.service;
+
+import com.example.simpledms.model.Dept;
+import com.example.simpledms.model.Emp;
+import com.example.simpledms.repository.BatchLookupRepository;
+import com.example.simpledms.repository.CursorStreamRepository;
+import com.example.simpledms.util.PageUtil;
+import com.example.simpledms.util.SuggestTrie;
+import com.example.simpledms.util.SymmetricDeleteIndex;
+import com.example.simpledms.util.TrigramIndex;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+/**
+ * packageName    : com.example.simpledms.service
+ * fileName       : NameSearchService
+ * author         : ds
+ * date           : 2026-10-18
+ * description    : 사원명/부서명 부분 문자열 검색 색인(trigram) + 자동완성(trie) + 오타 허용 검색 서비스 클래스
+ * 요약 :
+ * 기존 : GET /api/emp?ename=, /api/dept?dname= -> where ename like '%검색어%' ( 앞에 % 가 있어서 인덱스 사용 불가, 전체 읽기 )
+ * 변경 : 서버 메모리의 trigram 색인(TrigramIndex)으로 검색어가 들어있는 기본키 목록을 찾고
+ *       키셋 페이지(cursor 다음 size 개)만 기본키로 조회 ( 2차 캐시 + IN 목록, BatchLookupRepository )
+ * 갱신 : commit 후 데이터 변경 이벤트(EntityChangeEvent)로 바뀐 기본키만 다시 읽어서 색인
+ *       응답 캐시/테이블 버전보다 먼저 실행(@Order)
+ * 전체 다시 생성 : 서버 시작, 일괄 변경(기본키 없는 이벤트), 관리자 요청 시 별도 스레드에서 테이블 전체 읽기
+ *       ( 이름 속성을 수정하지 않는 일괄 수정(급여 인상, 부서 이동 등)은 무시 )
+ *       -> 다 만든 후 교체, 만드는 동안 바뀐 기본키는 모아두었다가 새 색인에 다시 반영 ( IndexRebuilder )
+ *       -> 일괄 변경으로 다시 만드는 중이거나 1글자 검색어면 기존 like 검색 ( Optional.empty() )
+ * 자동완성 : 같은 데이터로 이름 trie(SuggestTrie)도 같이 관리 -> 앞글자로 시작하는 이름을 빈도(같은 이름 수) 순으로 top-k 개
+ *           ( 일괄 변경 후 다시 만드는 동안은 빈 목록 )
+ * 오타 허용 검색 : 같은 데이터로 symmetric delete 색인(SymmetricDeleteIndex)도 같이 관리
+ *           -> 편집 거리 안의 이름을 찾은 후 trigram 색인으로 그 이름의 기본키 목록 조회
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 2026-10-18        ds       최초 생성
+ */
+@Service
+public class NameSearchService {
+
+    @Autowired
+    CursorStreamRepository cursorStreamRepository;
+
+    @Autowired
+    BatchLookupRepository batchLookupRepository;
+
+//    사용 여부 ( false 면 기존 like 검색 )
+    @Value("${simpledms.name-search.enabled:true}")
+    boolean enabled = true;
+
+//    자동완성 최대 건수 ( trie 노드마다 미리 계산해 두는 개수 )
+    @Value("${simpledms.suggest.top-k:10}")
+    int suggestTopK = 10;
+
+//    오타 허용 검색 최대 편집 거리 ( 4글자 이하 검색어는 1 )
+    @Value("${simpledms.fuzzy.max-distance:2}")
+    int fuzzyMaxDistance = 2;
+
+//    이름 색인 1벌 : trigram 색인 + 자동완성 trie + 오타 허용 색인 ( 전체 다시 생성할 때는 새로 만들어서 교체 )
+    static class Names {
+        final TrigramIndex index;
+        final SuggestTrie trie;
+        final SymmetricDeleteIndex fuzzy;
+
+        Names(TrigramIndex index, SuggestTrie trie, SymmetricDeleteIndex fuzzy) {
+            this.index = index;
+            this.trie = trie;
+            this.fuzzy = fuzzy;
+        }
+    }
+
+//    색인 대상 1개 ( 엔티티 + 이름 속성 ), 전체 다시 생성 순서는 IndexRebuilder
+    class Target<T> extends IndexRebuilder<Names> {
+        final Class<T> entityClass;
+        final String keyProperty;
+        final String nameProperty;
+        final Function<T, Integer> idGetter;
+        final Function<T, String> nameGetter;
+
+//        검색(read) / 색인 변경(write) 잠금
+        final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        Names names;
+
+        final AtomicLong searchCount = new AtomicLong();
+        final AtomicLong searchNanos = new AtomicLong();
+
+        Target(Class<T> entityClass, String keyProperty, String nameProperty,
+               Function<T, Integer> idGetter, Function<T, String> nameGetter) {
+            super(entityClass.getSimpleName() + " 이름 색인", rebuilder);
+            this.entityClass = entityClass;
+            this.keyProperty = keyProperty;
+            this.nameProperty = nameProperty;
+            this.idGetter = idGetter;
+            this.nameGetter = nameGetter;
+
+            SuggestTrie trie = new SuggestTrie(suggestTopK);
+            trie.build();
+            this.names = new Names(new TrigramIndex(), trie, new SymmetricDeleteIndex(fuzzyMaxDistance));
+        }
+
+//        전체 다시 생성 : 테이블 전체를 기본키 순서로 읽어서 새 색인 생성
+        @Override
+        protected Names build() {
+            Names fresh = new Names(new TrigramIndex(), new SuggestTrie(suggestTopK), new SymmetricDeleteIndex(fuzzyMaxDistance));
+            cursorStreamRepository.forEach(entityClass, keyProperty, entity -> {
+                String name = nameGetter.apply(entity);
+                fresh.index.put(idGetter.apply(entity), name);
+                fresh.trie.add(name);
+                fresh.fuzzy.add(name);
+            });
+            fresh.trie.build();
+            return fresh;
+        }
+
+        @Override
+        protected Names current() {
+            return names;
+        }
+
+        @Override
+        protected void apply(Names names, Collection<Integer> ids, boolean lookup) {
+            Map<Integer, T> found = (lookup == true)
+                    ? batchLookupRepository.findAllByIds(entityClass, keyProperty, idGetter, new ArrayList<>(ids))
+                    : Collections.emptyMap();
+
+            lock.writeLock().lock();
+            try {
+                for (Integer id : ids) {
+                    T entity = found.get(id);
+                    String name = (entity != null) ? nameGetter.apply(entity) : null;
+                    String old = names.index.get(id);
+                    names.trie.remove(old);
+                    names.trie.add(name);
+                    names.fuzzy.remove(old);
+                    names.fuzzy.add(name);
+                    names.index.put(id, name);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        @Override
+        protected void swap(Names fresh) {
+            lock.writeLock().lock();
+            try {
+                names = fresh;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        @Override
+        protected String describe(Names fresh) {
+            return fresh.index.size() + " 건, " + fresh.index.termCount() + " 단어, " + fresh.index.postingBytes() + " byte";
+        }
+    }
+
+    private final Map<Class<?>, Target<?>> targets = new LinkedHashMap<>();
+
+    private ExecutorService rebuilder;
+
+    @PostConstruct
+    void init() {
+//        대상 2개가 생성 스레드 1개를 같이 사용 ( 순서대로 생성 )
+        rebuilder = IndexRebuilder.newExecutor("name-index-rebuild");
+        targets.put(Emp.class, new Target<>(Emp.class, "eno", "ename", Emp::getEno, Emp::getEname));
+        targets.put(Dept.class, new Target<>(Dept.class, "dno", "dname", Dept::getDno, Dept::getDname));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        rebuilder.shutdownNow();
+    }
+
+//    서버 시작 후 전체 색인 생성 ( 별도 스레드, 그동안은 like 검색 )
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        rebuildAll();
+    }
+
+//    전체 색인 다시 생성 요청 ( 관리자용 ) : 만드는 동안은 예전 색인으로 검색
+    public void rebuildAll() {
+        if (enabled == false) {
+            return;
+        }
+        for (Target<?> target : targets.values()) {
+            target.requestRebuild(false);
+        }
+    }
+
+//    데이터 변경 이벤트 : commit 후 바뀐 기본키만 다시 색인 ( 일괄 변경이면 전체 다시 생성 )
+//     이름 속성을 수정하지 않은 변경(ex) 급여 일괄 인상)은 무시
+//     @Order : 응답 캐시 삭제/테이블 버전 증가보다 먼저 실행
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onEntityChange(EntityChangeEvent event) {
+        Target<?> target = targets.get(event.getEntityClass());
+        if (enabled == false || target == null || event.mayChange(target.nameProperty) == false) {
+            return;
+        }
+
+        if (event.isBulk()) {
+//            어떤 행이 바뀌었는지 모름 -> 다시 만들 때까지 like 검색
+            target.requestRebuild(true);
+            return;
+        }
+
+//        반영 실패하면 다음 전체 생성까지 like 검색
+        target.change(event.getIds(), event.getType() != EntityChangeEvent.Type.DELETE);
+    }
+
+//    검색 함수 : name 이 들어있는 엔티티를 키셋 페이징(cursor 다음 size 개)으로 조회
+//     색인을 사용할 수 없으면 ( 생성 중, 1글자 검색어 ) Optional.empty() -> 기존 like 검색
+    @SuppressWarnings("unchecked")
+    public <T> Optional<List<T>> search(Class<T> entityClass, String name, Integer cursor, int size, boolean desc) {
+        Target<T> target = (Target<T>) targets.get(entityClass);
+        if (enabled == false || target == null || target.isReady() == false || TrigramIndex.isSearchable(name) == false) {
+            return Optional.empty();
+        }
+
+        long startNanos = System.nanoTime();
+        int[] ids;
+        target.lock.readLock().lock();
+        try {
+            ids = target.names.index.search(name);
+        } finally {
+            target.lock.readLock().unlock();
+        }
+
+//        키셋 : 오름차순이면 start 보다 큰 기본키부터, 내림차순이면 start 보다 작은 기본키부터 거꾸로
+        int start = PageUtil.startCursor(cursor, desc);
+        int index = Arrays.binarySearch(ids, start);
+        int position = (desc == true)
+                ? ((index >= 0) ? index - 1 : -index - 2)
+                : ((index >= 0) ? index + 1 : -index - 1);
+        int step = (desc == true) ? -1 : 1;
+
+        List<T> page = new ArrayList<>(size);
+        while (page.size() < size && position >= 0 && position < ids.length) {
+            List<Integer> chunk = new ArrayList<>(size - page.size());
+            for (; chunk.size() < size - page.size() && position >= 0 && position < ids.length; position += step) {
+                chunk.add(ids[position]);
+            }
+//            조회 사이에 바뀐 데이터는 이름으로 한번 더 확인 ( 삭제된 데이터는 조회되지 않음 )
+            for (T entity : batchLookupRepository.findAllByIds(entityClass, target.keyProperty, target.idGetter, chunk).values()) {
+                String entityName = target.nameGetter.apply(entity);
+                if (entityName != null && entityName.contains(name)) {
+                    page.add(entity);
+                }
+            }
+        }
+
+        target.searchCount.incrementAndGet();
+        target.searchNanos.addAndGet(System.nanoTime() - startNanos);
+        return Optional.of(page);
+    }
+
+//    오타 허용 검색 함수 : 편집 거리 안의 이름을 가진 엔티티를 거리 가까운 순(같으면 기본키 순)으로 offset 부터 size 개
+//     색인을 사용할 수 없으면 ( 생성 중 ) Optional.empty()
+    @SuppressWarnings("unchecked")
+    public <T> Optional<List<T>> fuzzy(Class<T> entityClass, String name, int offset, int size) {
+        Target<T> target = (Target<T>) targets.get(entityClass);
+        if (target == null) {
+            throw new IllegalArgumentException("오타 허용 검색 대상이 아닙니다 : " + entityClass.getSimpleName());
+        }
+        if (offset < 0) {
+            throw new IllegalArgumentException("cursor 는 0 이상이어야 합니다 : " + offset);
+        }
+        if (enabled == false || target.isReady() == false) {
+            return Optional.empty();
+        }
+
+        long startNanos = System.nanoTime();
+        Set<String> matchedNames;
+        List<Integer> ids = new ArrayList<>();
+        target.lock.readLock().lock();
+        try {
+            Names names = target.names;
+            matchedNames = names.fuzzy.search(name).keySet();
+//            이름별 기본키 : trigram 색인으로 이름 전체를 검색한 후 이름이 같은 것만
+            for (String matched : matchedNames) {
+                for (int id : names.index.search(matched)) {
+                    if (matched.equals(names.index.get(id))) {
+                        ids.add(id);
+                    }
+                }
+                if (ids.size() >= offset + size) {
+                    break;
+                }
+            }
+        } finally {
+            target.lock.readLock().unlock();
+        }
+
+        List<T> page = new ArrayList<>(size);
+        if (offset < ids.size()) {
+            List<Integer> pageIds = ids.subList(offset, Math.min(offset + size, ids.size()));
+            for (T entity : batchLookupRepository.findAllByIds(entityClass, target.keyProperty, target.idGetter, pageIds).values()) {
+//                조회 사이에 이름이 바뀐 데이터 제외
+                if (matchedNames.contains(target.nameGetter.apply(entity))) {
+                    page.add(entity);
+                }
+            }
+        }
+
+        target.searchCount.incrementAndGet();
+        target.searchNanos.addAndGet(System.nanoTime() - startNanos);
+        return Optional.of(page);
+    }
+
+//    자동완성 함수 : prefix 로 시작하는 이름을 빈도(같은 이름 수) 순으로 최대 limit 개 ( DB 조회 없음 )
+//     limit 이 없거나 top-k 보다 크면 top-k 개, 색인을 사용할 수 없으면 ( 생성 중 ) 빈 목록
+    public List<String> suggest(Class<?> entityClass, String prefix, Integer limit) {
+        Target<?> target = targets.get(entityClass);
+        if (target == null) {
+            throw new IllegalArgumentException("자동완성 대상이 아닙니다 : " + entityClass.getSimpleName());
+        }
+        if (prefix == null || prefix.isEmpty()) {
+            throw new IllegalArgumentException("prefix 는 1글자 이상이어야 합니다");
+        }
+        if (limit != null && limit < 1) {
+            throw new IllegalArgumentException("limit 는 1 이상이어야 합니다 : " + limit);
+        }
+        if (enabled == false || target.isReady() == false) {
+            return Collections.emptyList();
+        }
+
+        target.lock.readLock().lock();
+        try {
+            return target.names.trie.suggest(prefix, (limit == null) ? suggestTopK : Math.min(limit, suggestTopK));
+        } finally {
+            target.lock.readLock().unlock();
+        }
+    }
+
+//    통계 조회 함수 : 대상별 사용 가능 여부, 이름 수, 단어 수, 압축 크기, 마지막 생성 시간, 검색 횟수/평균 시간(ms)
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        for (Target<?> target : targets.values()) {
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("ready", target.isReady());
+            target.lock.readLock().lock();
+            try {
+                Names names = target.names;
+                item.put("names", names.index.size());
+                item.put("terms", names.index.termCount());
+                item.put("postingBytes", names.index.postingBytes());
+                item.put("suggestTerms", names.trie.size());
+                item.put("fuzzyDeletes", names.fuzzy.deleteCount());
+            } finally {
+                target.lock.readLock().unlock();
+            }
+            item.put("lastRebuildMs", target.getLastRebuildMs());
+
+            long count = target.searchCount.get();
+            item.put("searchCount", count);
+            item.put("avgSearchMs", (count == 0) ? 0.0 : target.searchNanos.get() / 1_000_000.0 / count);
+            stats.put(target.entityClass.getSimpleName(), item);
+        }
+        return stats;
+    }
+}
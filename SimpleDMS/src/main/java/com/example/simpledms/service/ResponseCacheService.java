@@ -0,0 +1,349 @@
+package com.example.simpledms.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.servlet.http.HttpServletRequest;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * packageName    : com.example.simpledms.service
+ * fileName       : ResponseCacheService
+ * author         : ds
+ * date           : 2026-10-18
+ * description    : 조회 응답(JSON) 캐시 서비스 클래스
+ * 요약 :
+ * 기존 : 조회할 때마다 List<Dept> 를 jackson 으로 다시 JSON 변환
+ * 변경 : 처음 1번만 JSON 변환 후 byte[] ( + gzip 압축본 ) 으로 저장, 다음부터는 byte[] 를 그대로 전송
+ * 캐시 키 : 엔티티 + url + 쿼리스트링 ( ex) Dept:/api/dept?size=10 )
+ * 무효화 : 서비스에서 데이터가 바뀌면(EntityChangeEvent) commit 후 그 엔티티의 캐시 전체 삭제
+ * 크기 제한 : 전체 byte 수(max-bytes) + 유효시간(ttl-seconds)
+ * DB 장애 시(stale-while-revalidate) : 조회가 5xx 로 실패하면 마지막 정상 응답(max-stale-seconds 이내)을 대신 전송
+ *   -> Warning: 110 - "Response is Stale", Age: 보관된 시간(초) 헤더 추가, ETag/Last-Modified 는 보내지 않음
+ *   -> 백그라운드에서 backoff(refresh-initial-ms ~ refresh-max-ms) 로 재조회, 그동안 같은 url 은 기다리지 않고 바로 전송
+ *   -> 마지막 정상 응답도 없고 DB 조회 차단(DbCircuitBreaker) 중이면 503 + Retry-After
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 2026-10-18        ds       최초 생성
+ */
+@Slf4j
+@Service
+public class ResponseCacheService {
+
+//    오래된 응답 표시 헤더 값 ( RFC 7234 )
+    public static final String STALE_WARNING = "110 - \"Response is Stale\"";
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Autowired
+    DbCircuitBreaker dbCircuitBreaker;
+
+//    응답 캐시 사용 여부
+    @Value("${simpledms.response-cache.enabled:true}")
+    boolean enabled;
+
+//    캐시 전체 최대 크기(byte)
+    @Value("${simpledms.response-cache.max-bytes:16777216}")
+    long maxBytes;
+
+//    캐시 유효시간(초)
+    @Value("${simpledms.response-cache.ttl-seconds:300}")
+    long ttlSeconds;
+
+//    이 크기(byte) 이상인 응답만 gzip 압축본을 같이 저장
+    @Value("${simpledms.response-cache.gzip-min-bytes:256}")
+    int gzipMinBytes;
+
+//    DB 장애 시 대신 보낼 마지막 정상 응답 보관시간(초) : 데이터가 바뀌어도 삭제하지 않고 이 시간까지 보관
+    @Value("${simpledms.response-cache.max-stale-seconds:3600}")
+    long maxStaleSeconds;
+
+//    DB 장애 시 백그라운드 재조회 대기시간(ms) : 처음 값에서 실패할 때마다 2배, 최대값까지
+    @Value("${simpledms.response-cache.refresh-initial-ms:1000}")
+    long refreshInitialMs;
+
+    @Value("${simpledms.response-cache.refresh-max-ms:30000}")
+    long refreshMaxMs;
+
+    private Cache<String, CachedResponse> cache;
+
+//    마지막 정상 응답 ( 캐시 키 -> 응답 )
+    private Cache<String, CachedResponse> lastGood;
+
+//    백그라운드 재조회 중인 캐시 키
+    private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+
+    private ScheduledExecutorService refresher;
+
+//    엔티티별 변경 횟수 : 조회 중에 데이터가 바뀌었으면 예전 결과를 캐시에 저장하지 않기 위해 사용
+    private final Map<String, AtomicLong> generations = new ConcurrentHashMap<>();
+
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final AtomicLong staleCount = new AtomicLong();
+
+//    캐시된 응답 1건 : JSON byte[] + gzip byte[] + 헤더(커서, ETag 등)
+    static class CachedResponse {
+        final byte[] json;
+        final byte[] gzip;
+        final HttpHeaders headers;
+//        저장시간(ms) : 오래된 응답 전송 시 Age 헤더에 사용
+        final long storedAt = System.currentTimeMillis();
+
+        CachedResponse(byte[] json, byte[] gzip, HttpHeaders headers) {
+            this.json = json;
+            this.gzip = gzip;
+            this.headers = headers;
+        }
+
+        int weight() {
+            return json.length + (gzip == null ? 0 : gzip.length);
+        }
+
+        ResponseEntity<Object> toResponse(boolean acceptGzip) {
+            HttpHeaders headers = new HttpHeaders();
+            headers.putAll(this.headers);
+            headers.setContentType(MediaType.APPLICATION_JSON);
+            headers.add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+
+            if (acceptGzip == true && gzip != null) {
+                headers.set(HttpHeaders.CONTENT_ENCODING, "gzip");
+                return new ResponseEntity<>(gzip, headers, HttpStatus.OK);
+            }
+            return new ResponseEntity<>(json, headers, HttpStatus.OK);
+        }
+
+//        DB 장애 중 오래된 응답 : 오래된 데이터 표시 + 브라우저/프록시에 저장하지 않게 함
+        ResponseEntity<Object> toStaleResponse(boolean acceptGzip) {
+            ResponseEntity<Object> response = toResponse(acceptGzip);
+
+            HttpHeaders headers = new HttpHeaders();
+            headers.putAll(response.getHeaders());
+            headers.remove(HttpHeaders.ETAG);
+            headers.remove(HttpHeaders.LAST_MODIFIED);
+            headers.setCacheControl(CacheControl.noStore());
+            headers.set(HttpHeaders.AGE, String.valueOf((System.currentTimeMillis() - storedAt) / 1000));
+            headers.set(HttpHeaders.WARNING, STALE_WARNING);
+            return new ResponseEntity<>(response.getBody(), headers, HttpStatus.OK);
+        }
+    }
+
+    @PostConstruct
+    void init() {
+        cache = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((String key, CachedResponse value) -> value.weight())
+                .expireAfterWrite(ttlSeconds, TimeUnit.SECONDS)
+                .build();
+        lastGood = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((String key, CachedResponse value) -> value.weight())
+                .expireAfterWrite(maxStaleSeconds, TimeUnit.SECONDS)
+                .build();
+        refresher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "response-cache-refresher");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        refresher.shutdownNow();
+    }
+
+//    캐시 조회 함수 : 캐시에 있으면 저장된 byte[] 전송, 없으면 loader 로 조회 후 JSON 변환해서 저장
+//     loader : 기존 조회 함수 ( 200 OK 응답만 저장, 204/400/500 등은 저장하지 않음 )
+//     loader 가 5xx 로 실패하면 마지막 정상 응답을 대신 전송하고 백그라운드에서 재조회
+    public ResponseEntity<Object> getOrLoad(Class<?> entityClass, HttpServletRequest request,
+                                            Supplier<ResponseEntity<Object>> loader) {
+        if (enabled == false) {
+            return loader.get();
+        }
+
+        String key = keyOf(entityClass, request);
+        boolean acceptGzip = acceptsGzip(request);
+
+        CachedResponse cached = cache.getIfPresent(key);
+        if (cached != null) {
+            hitCount.incrementAndGet();
+            return cached.toResponse(acceptGzip);
+        }
+        missCount.incrementAndGet();
+
+//        이미 백그라운드 재조회 중(DB 장애)이면 DB 를 기다리지 않고 마지막 정상 응답 전송
+        CachedResponse stale = lastGood.getIfPresent(key);
+        if (stale != null && refreshing.contains(key)) {
+            staleCount.incrementAndGet();
+            return stale.toStaleResponse(acceptGzip);
+        }
+
+        long generation = generation(entityClass).get();
+        ResponseEntity<Object> response = loader.get();
+        if (response.getStatusCode().is5xxServerError()) {
+            return fallback(entityClass, key, stale, loader, response, acceptGzip);
+        }
+
+        CachedResponse entry = store(entityClass, key, generation, response);
+        return (entry == null) ? response : entry.toResponse(acceptGzip);
+    }
+
+//    조회 실패(5xx) 시 응답 : 마지막 정상 응답 + 백그라운드 재조회, 없으면 503(조회 차단 중) 또는 원래 응답
+    private ResponseEntity<Object> fallback(Class<?> entityClass, String key, CachedResponse stale,
+                                            Supplier<ResponseEntity<Object>> loader,
+                                            ResponseEntity<Object> response, boolean acceptGzip) {
+        if (stale != null) {
+            staleCount.incrementAndGet();
+            if (refreshing.add(key)) {
+                scheduleRefresh(entityClass, key, loader, 1);
+            }
+            return stale.toStaleResponse(acceptGzip);
+        }
+
+        if (dbCircuitBreaker.isOpen()) {
+            HttpHeaders headers = new HttpHeaders();
+            headers.set(HttpHeaders.RETRY_AFTER, String.valueOf(dbCircuitBreaker.retryAfterSeconds()));
+            return new ResponseEntity<>(headers, HttpStatus.SERVICE_UNAVAILABLE);
+        }
+        return response;
+    }
+
+//    백그라운드 재조회 : 성공하면 캐시에 저장하고 종료, 실패하면 backoff 후 다시 조회
+//     마지막 정상 응답도 만료되면 종료 ( 다음 요청이 직접 조회 )
+    private void scheduleRefresh(Class<?> entityClass, String key, Supplier<ResponseEntity<Object>> loader, int attempt) {
+        long delay = EmpOutboxDispatcher.backoff(attempt, refreshInitialMs, refreshMaxMs);
+        refresher.schedule(() -> refresh(entityClass, key, loader, attempt), delay, TimeUnit.MILLISECONDS);
+    }
+
+    void refresh(Class<?> entityClass, String key, Supplier<ResponseEntity<Object>> loader, int attempt) {
+        try {
+            long generation = generation(entityClass).get();
+            ResponseEntity<Object> response = loader.get();
+            if (response.getStatusCode().is5xxServerError() == false) {
+                store(entityClass, key, generation, response);
+                refreshing.remove(key);
+                return;
+            }
+        } catch (RuntimeException e) {
+            log.debug(e.getMessage());
+        }
+
+        if (lastGood.getIfPresent(key) == null) {
+            refreshing.remove(key);
+            return;
+        }
+        scheduleRefresh(entityClass, key, loader, attempt + 1);
+    }
+
+//    조회 결과 저장 : 200 OK 응답만 JSON 변환해서 저장, 저장한 응답 리턴 ( 저장 안 하면 null )
+//     204/4xx 등이면 마지막 정상 응답도 삭제 ( 없어진 데이터를 장애 중에 다시 보내지 않게 )
+    private CachedResponse store(Class<?> entityClass, String key, long generation, ResponseEntity<Object> response) {
+        if (response.getStatusCode() != HttpStatus.OK || response.getBody() == null) {
+            lastGood.invalidate(key);
+            return null;
+        }
+
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(response.getBody());
+            byte[] gzip = (json.length >= gzipMinBytes) ? gzip(json) : null;
+            CachedResponse entry = new CachedResponse(json, gzip, response.getHeaders());
+
+//            조회하는 동안 데이터가 바뀌지 않았을 때만 저장
+            if (generation == generation(entityClass).get()) {
+                cache.put(key, entry);
+                lastGood.put(key, entry);
+            }
+            return entry;
+        } catch (JsonProcessingException e) {
+            log.debug(e.getMessage());
+            return null;
+        }
+    }
+
+//    데이터 변경 이벤트 : commit 후 해당 엔티티의 캐시 전체 삭제
+//     fallbackExecution = true : 트랜잭션 밖에서 발행된 이벤트도 바로 처리
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onEntityChange(EntityChangeEvent event) {
+        invalidate(event.getEntityClass());
+    }
+
+//    엔티티 캐시 삭제 함수 ( 마지막 정상 응답은 DB 장애 시 사용하기 위해 남겨둠 )
+    public void invalidate(Class<?> entityClass) {
+        generation(entityClass).incrementAndGet();
+        String prefix = entityClass.getSimpleName() + ":";
+        cache.asMap().keySet().removeIf(key -> key.startsWith(prefix));
+    }
+
+//    캐시 통계 조회 함수
+    public Map<String, Object> getStats() {
+        long hit = hitCount.get();
+        long miss = missCount.get();
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("hit", hit);
+        stats.put("miss", miss);
+        stats.put("hitRatio", (hit + miss == 0) ? 0.0 : (double) hit / (hit + miss));
+        stats.put("stale", staleCount.get());
+        stats.put("staleEntries", lastGood.estimatedSize());
+        stats.put("refreshing", refreshing.size());
+        stats.put("entries", cache.estimatedSize());
+        stats.put("bytes", cache.policy().eviction()
+                .map(eviction -> eviction.weightedSize().orElse(0L))
+                .orElse(0L));
+        return stats;
+    }
+
+    private AtomicLong generation(Class<?> entityClass) {
+        return generations.computeIfAbsent(entityClass.getSimpleName(), name -> new AtomicLong());
+    }
+
+    static String keyOf(Class<?> entityClass, HttpServletRequest request) {
+        String query = request.getQueryString();
+        return entityClass.getSimpleName() + ":" + request.getRequestURI() + (query == null ? "" : "?" + query);
+    }
+
+    static boolean acceptsGzip(HttpServletRequest request) {
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        return acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
+    }
+
+    static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 4 + 64);
+        try (GZIPOutputStream gzipOut = new GZIPOutputStream(out)) {
+            gzipOut.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.simpledms.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * packageName    : com.example.simpledms.service
+ * fileName       : SingleFlightService
+ * author         : ds
+ * date           : 2026-10-18
+ * description    : 같은 조회 동시 요청 합치기(single-flight) 서비스 클래스
+ * 요약 :
+ * 기존 : 같은 조회(ex) GET /api/dept/10)가 동시에 100번 들어오면 DB 조회도 100번
+ * 변경 : 먼저 들어온 요청 1개만 DB 조회하고, 그동안 들어온 같은 조회는 그 결과를 같이 받음 -> DB 조회 1번
+ * 키 : 엔티티 + 변경 횟수 + 조회 함수/매개변수 ( ex) Dept#3:findById:10 )
+ *     commit 후 데이터 변경 이벤트(EntityChangeEvent)가 오면 변경 횟수가 바뀜
+ *     -> 수정 후에 들어온 조회는 수정 전에 시작된 조회에 합쳐지지 않음
+ * 캐시가 아님 : 조회가 끝나면 바로 없어짐 ( 동시에 실행 중인 조회끼리만 합침 )
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 2026-10-18        ds       최초 생성
+ */
+@Service
+public class SingleFlightService {
+
+//    사용 여부
+    @Value("${simpledms.single-flight.enabled:true}")
+    boolean enabled = true;
+
+//    실행 중인 조회 ( 키 -> 결과 )
+    private final Map<String, CompletableFuture<Object>> flights = new ConcurrentHashMap<>();
+
+//    엔티티별 변경 횟수
+    private final Map<String, AtomicLong> generations = new ConcurrentHashMap<>();
+
+//    실제 실행된 조회 수 / 다른 조회에 합쳐진 수
+    private final AtomicLong executedCount = new AtomicLong();
+    private final AtomicLong coalescedCount = new AtomicLong();
+
+//    조회 실행 함수 : 같은 키의 조회가 실행 중이면 그 결과를 기다려서 같이 받음, 없으면 loader 실행
+//     loader 에서 발생한 예외는 기다리던 요청들에도 같이 전달됨
+    @SuppressWarnings("unchecked")
+    public <T> T execute(Class<?> entityClass, String key, Supplier<T> loader) {
+        if (enabled == false) {
+            return loader.get();
+        }
+
+        String flightKey = entityClass.getSimpleName() + "#" + generation(entityClass).get() + ":" + key;
+        CompletableFuture<Object> mine = new CompletableFuture<>();
+        CompletableFuture<Object> running = flights.putIfAbsent(flightKey, mine);
+        if (running != null) {
+            coalescedCount.incrementAndGet();
+            return (T) join(running);
+        }
+
+        executedCount.incrementAndGet();
+        try {
+            T result = loader.get();
+            mine.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            flights.remove(flightKey, mine);
+        }
+    }
+
+//    데이터 변경 이벤트 : commit 후 해당 엔티티 변경 횟수 1 증가
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onEntityChange(EntityChangeEvent event) {
+        generation(event.getEntityClass()).incrementAndGet();
+    }
+
+//    통계 조회 함수 : 실행/합쳐진 조회 수, 지금 실행 중인 조회 수
+    public Map<String, Object> getStats() {
+        long executed = executedCount.get();
+        long coalesced = coalescedCount.get();
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("executed", executed);
+        stats.put("coalesced", coalesced);
+        stats.put("coalescedRatio", (executed + coalesced == 0) ? 0.0 : (double) coalesced / (executed + coalesced));
+        stats.put("inFlight", flights.size());
+        return stats;
+    }
+
+    private AtomicLong generation(Class<?> entityClass) {
+        return generations.computeIfAbsent(entityClass.getSimpleName(), name -> new AtomicLong());
+    }
+
+//    먼저 실행된 조회 결과 기다리기 ( 예외는 원래 예외로 다시 던짐 )
+    private static Object join(CompletableFuture<Object> running) {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.simpledms.service;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * packageName    : com.example.simpledms.service
+ * fileName       : TableVersionService
+ * author         : ds
+ * date           : 2026-10-18
+ * description    : 테이블별 변경 버전 + 조건부 조회(304 Not Modified) 서비스 클래스
+ * 요약 :
+ * 테이블 버전 : 서비스에서 데이터가 바뀌면(EntityChangeEvent) commit 후 1 증가, 마지막 변경시간도 저장
+ * ETag : 목록 조회 "테이블버전", 기본키 조회 "테이블버전.데이터버전" ( 응답 본문 해시가 아님 )
+ * If-None-Match 의 테이블버전이 현재와 같으면(또는 If-Modified-Since 이후 변경이 없으면)
+ * -> 조회(DB, 캐시) 없이 바로 304 전송
+ * 주의 : 버전은 서버 메모리에 있으므로 서버 재시작 시 시작시간(ms)부터 다시 시작
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 2026-10-18        ds       최초 생성
+ */
+@Service
+public class TableVersionService {
+
+//    테이블 버전 1개 : 버전 + 마지막 변경시간(ms)
+    static class TableVersion {
+        final long version;
+        final long lastModified;
+
+        TableVersion(long version, long lastModified) {
+            this.version = version;
+            this.lastModified = lastModified;
+        }
+    }
+
+//    서버 시작시간 : 재시작 전의 ETag 와 겹치지 않도록 버전 시작값으로 사용
+    private final long startTime = System.currentTimeMillis();
+
+    private final Map<String, TableVersion> versions = new ConcurrentHashMap<>();
+
+//    데이터 변경 이벤트 : commit 후 테이블 버전 1 증가
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onEntityChange(EntityChangeEvent event) {
+        versions.compute(event.getEntityClass().getSimpleName(),
+                (name, old) -> new TableVersion((old == null ? startTime : old.version) + 1, System.currentTimeMillis()));
+    }
+
+//    현재 테이블 버전 조회 함수
+    public long version(Class<?> entityClass) {
+        return current(entityClass).version;
+    }
+
+//    조건부 조회 함수 : 바뀐 게 없으면 loader 실행 없이 304, 있으면 loader 결과에 ETag/Last-Modified 추가
+//     loader 가 ETag(데이터 버전)를 넣었으면 "테이블버전.데이터버전" 으로 바꿔서 전송
+    public ResponseEntity<Object> conditionalGet(Class<?> entityClass, HttpServletRequest request,
+                                                 Supplier<ResponseEntity<Object>> loader) {
+//        조회 전에 버전을 읽음 : 조회 중에 데이터가 바뀌면 다음 요청에서 다시 조회됨
+        TableVersion current = current(entityClass);
+
+        String matched = matchIfNoneMatch(request.getHeader(HttpHeaders.IF_NONE_MATCH), current.version);
+        if (matched != null || isNotModifiedSince(request, current.lastModified)) {
+            HttpHeaders headers = new HttpHeaders();
+            headers.setETag(matched != null ? matched : "\"" + current.version + "\"");
+            headers.setLastModified(current.lastModified);
+            return new ResponseEntity<>(headers, HttpStatus.NOT_MODIFIED);
+        }
+
+        ResponseEntity<Object> response = loader.get();
+//        DB 장애 중 오래된 응답(Warning 헤더)에는 현재 버전을 붙이지 않음 ( 304 로 계속 재사용되지 않게 )
+        if (response.getStatusCode() != HttpStatus.OK || response.getHeaders().containsKey(HttpHeaders.WARNING)) {
+            return response;
+        }
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.putAll(response.getHeaders());
+        String entityETag = response.getHeaders().getETag();
+        headers.setETag(entityETag == null
+                ? "\"" + current.version + "\""
+                : "\"" + current.version + "." + entityETag.replace("\"", "") + "\"");
+        headers.setLastModified(current.lastModified);
+
+        return new ResponseEntity<>(response.getBody(), headers, HttpStatus.OK);
+    }
+
+    private TableVersion current(Class<?> entityClass) {
+        return versions.computeIfAbsent(entityClass.getSimpleName(), name -> new TableVersion(startTime, startTime));
+    }
+
+//    If-None-Match 의 ETag 중 현재 테이블 버전과 같은 것이 있으면 그 ETag 리턴, 없으면 null
+//     ( "12" : 목록, "12.3" : 기본키 조회 -> 점(.) 앞의 테이블버전만 비교 )
+    static String matchIfNoneMatch(String ifNoneMatch, long version) {
+        if (ifNoneMatch == null) {
+            return null;
+        }
+        String prefix = String.valueOf(version);
+        for (String tag : ifNoneMatch.split(",")) {
+            String value = tag.trim();
+            if (value.startsWith("W/")) {
+                value = value.substring(2);
+            }
+            value = value.replace("\"", "");
+            if (value.equals(prefix) || value.startsWith(prefix + ".")) {
+                return "\"" + value + "\"";
+            }
+        }
+        return null;
+    }
+
+//    If-Modified-Since 이후 변경이 없는가? ( If-None-Match 가 있으면 If-Modified-Since 는 무시 )
+    static boolean isNotModifiedSince(HttpServletRequest request, long lastModified) {
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null) {
+            return false;
+        }
+        long ifModifiedSince;
+        try {
+            ifModifiedSince = request.getDateHeader(HttpHeaders.IF_MODIFIED_SINCE);
+        } catch (IllegalArgumentException e) {
+            return false; // 날짜 형식이 잘못되면 무시
+        }
+//        HTTP 날짜는 초 단위
+        return ifModifiedSince != -1 && lastModified / 1000 <= ifModifiedSince / 1000;
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.simpledms.util;
+
+/**
+ * packageName    : com.example.simpledms.util
+ * fileName       : DbTimeoutUtil
+ * author         : ds
+ * date           : 2026-10-18
+ * description    : DB 조회 제한시간 공통 상수 클래스
+ * 요약 :
+ * 조회(화면 목록/검색/기본키 조회)에만 제한시간을 설정 ( @QueryHints 또는 Query.setHint )
+ * 일괄 수정/삭제, 동기화(merge), 변경분 조회, 전체 스트리밍 등 오래 걸릴 수 있는 쿼리에는 설정하지 않음
+ *  ( javax.persistence.query.timeout 을 전역으로 설정하면 update 문까지 제한시간에 걸려서 취소됨 )
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 2026-10-18        ds       최초 생성
+ */
+public class DbTimeoutUtil {
+
+//    조회 제한시간(ms) : 넘으면 QueryTimeoutException -> DbCircuitBreaker 에서 장애로 기록
+//     어노테이션(@QueryHint) 값으로 쓰므로 문자열 상수
+    public static final String READ_TIMEOUT_MS = "3000";
+
+    private DbTimeoutUtil() {
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.simpledms.util;
+
+/**
+ * packageName    : com.example.simpledms.util
+ * fileName       : ETagUtil
+ * author         : ds
+ * date           : 2026-10-18
+ * description    : ETag / If-Match 헤더 변환 함수 클래스
+ * 요약 :
+ * ETag : 데이터의 버전을 나타내는 응답 헤더 ( ex) ETag: "3" )
+ * If-Match : 수정 요청 시 클라이언트가 알고 있는 버전을 보내는 요청 헤더
+ *           -> 서버 버전과 다르면 412(Precondition Failed) 에러
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 2026-10-18        ds       최초 생성
+ */
+public class ETagUtil {
+
+    private ETagUtil() {
+    }
+
+//    버전 -> ETag 문자열 ( ex) 3 -> "3" )
+    public static String of(Long version) {
+        return "\"" + version + "\"";
+    }
+
+//    If-Match 헤더 -> 버전 ( ex) "3", W/"3" -> 3 ), 헤더가 없거나 * 이면 null
+//     조회 ETag 형식 "테이블버전.데이터버전" 이면 점(.) 뒤의 데이터버전 사용 ( ex) "12.3" -> 3 )
+    public static Long parseIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.trim().equals("*")) {
+            return null;
+        }
+
+        String value = ifMatch.trim();
+        if (value.startsWith("W/")) {
+            value = value.substring(2);
+        }
+        value = value.replace("\"", "");
+        value = value.substring(value.lastIndexOf('.') + 1);
+
+        try {
+            return Long.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("If-Match 형식이 잘못되었습니다 : " + ifMatch);
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.example.simpledms.util;
+
+import java.util.Arrays;
+
+/**
+ * packageName    : com.example.simpledms.util
+ * fileName       : IntPostingList
+ * author         : ds
+ * date           : 2026-10-18
+ * description    : 정렬된 기본키 목록(posting list) 압축 저장 클래스
+ * 요약 :
+ * 기본키를 오름차순으로 정렬해서 앞 번호와의 차이(delta)만 가변 길이 정수(varint, 7bit 씩)로 저장
+ * ex) [7369, 7370, 7499] -> [7369, 1, 129] -> 2 + 1 + 2 = 5 byte ( int[] 면 12 byte )
+ * 추가 : 마지막 번호보다 크면(새 기본키, 대부분) 뒤에 바로 붙임, 아니면 풀어서 다시 압축
+ * 주의 : 기본키는 0 이상 ( 시퀀스 번호 ), 스레드 안전하지 않음 ( 사용하는 쪽에서 잠금 )
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 2026-10-18        ds       최초 생성
+ */
+public class IntPostingList {
+
+    private static final byte[] EMPTY = new byte[0];
+
+    private byte[] data = EMPTY;
+//    사용 중인 byte 수 / 기본키 개수 / 마지막(가장 큰) 기본키
+    private int length;
+    private int size;
+    private int last;
+
+//    기본키 추가 ( 이미 있으면 무시 )
+    public void add(int id) {
+        if (size == 0 || id > last) {
+            append(id);
+            return;
+        }
+
+        int[] ids = toArray();
+        int index = Arrays.binarySearch(ids, id);
+        if (index >= 0) {
+            return;
+        }
+        index = -index - 1;
+        int[] added = new int[ids.length + 1];
+        System.arraycopy(ids, 0, added, 0, index);
+        added[index] = id;
+        System.arraycopy(ids, index, added, index + 1, ids.length - index);
+        rebuild(added);
+    }
+
+//    기본키 삭제 ( 없으면 false )
+    public boolean remove(int id) {
+        int[] ids = toArray();
+        int index = Arrays.binarySearch(ids, id);
+        if (index < 0) {
+            return false;
+        }
+        int[] removed = new int[ids.length - 1];
+        System.arraycopy(ids, 0, removed, 0, index);
+        System.arraycopy(ids, index + 1, removed, index, ids.length - index - 1);
+        rebuild(removed);
+        return true;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+//    압축된 크기(byte) ( 통계용 )
+    public int byteSize() {
+        return length;
+    }
+
+//    전체 기본키 ( 오름차순 )
+    public int[] toArray() {
+        int[] ids = new int[size];
+        int position = 0;
+        int value = 0;
+        for (int i = 0; i < size; i++) {
+            int delta = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = data[position++];
+                delta |= (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            value += delta;
+            ids[i] = value;
+        }
+        return ids;
+    }
+
+//    교집합 : sorted(오름차순) 중에서 이 목록에도 있는 기본키만 리턴 ( 압축을 풀면서 한번에 비교 )
+    public int[] retainAll(int[] sorted) {
+        int[] result = new int[Math.min(sorted.length, size)];
+        int count = 0;
+        int position = 0;
+        int value = 0;
+        int decoded = 0;
+        for (int id : sorted) {
+//            id 이상이 나올 때까지 압축 풀기
+            while (decoded == 0 || value < id) {
+                if (decoded == size) {
+                    return Arrays.copyOf(result, count);
+                }
+                int delta = 0;
+                int shift = 0;
+                byte b;
+                do {
+                    b = data[position++];
+                    delta |= (b & 0x7F) << shift;
+                    shift += 7;
+                } while (b < 0);
+                value += delta;
+                decoded++;
+            }
+            if (value == id) {
+                result[count++] = id;
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    private void append(int id) {
+        int delta = (size == 0) ? id : id - last;
+        ensureCapacity(length + 5);
+        while ((delta & ~0x7F) != 0) {
+            data[length++] = (byte) ((delta & 0x7F) | 0x80);
+            delta >>>= 7;
+        }
+        data[length++] = (byte) delta;
+        last = id;
+        size++;
+    }
+
+    private void rebuild(int[] ids) {
+        data = EMPTY;
+        length = 0;
+        size = 0;
+        for (int id : ids) {
+            append(id);
+        }
+//        삭제 후 남는 공간 정리
+        if (data.length > length) {
+            data = Arrays.copyOf(data, length);
+        }
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (data.length < capacity) {
+            data = Arrays.copyOf(data, Math.max(capacity, data.length + (data.length >> 1) + 8));
+        }
+    }
+}
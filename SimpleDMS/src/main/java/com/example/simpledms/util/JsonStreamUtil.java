@@ -0,0 +1,69 @@
+package com.example.simpledms.util;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+/**
+ * packageName    : com.example.simpledms.util
+ * fileName       : JsonStreamUtil
+ * author         : ds
+ * date           : 2026-10-18
+ * description    : 데이터를 한 건씩 JSON 배열로 바로 써주는 스트리밍 응답 함수 클래스
+ * 요약 :
+ * ResponseEntity<>(list, OK) : List 전체를 메모리에 만든 후 한번에 JSON 변환
+ * jsonArray() : "[" 쓰고 -> 한 건 읽을 때마다 바로 JSON 으로 씀 -> "]" 로 마무리
+ * readValues() : 요청 본문(JSON 배열 또는 한 줄에 1건씩 JSON)을 한 건씩 읽어서 바로 전달
+ *               ( List 전체를 메모리에 만들지 않음 )
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 2026-10-18        ds       최초 생성
+ */
+public class JsonStreamUtil {
+
+    private JsonStreamUtil() {
+    }
+
+//    source : 한 건씩 넘겨주는 함수 ( ex) empService::streamAll )
+    public static <T> StreamingResponseBody jsonArray(ObjectMapper objectMapper, Consumer<Consumer<T>> source) {
+        return outputStream -> {
+            JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream);
+            generator.writeStartArray();
+
+            source.accept(item -> {
+                try {
+                    generator.writeObject(item);
+                } catch (IOException e) {
+//                    클라이언트 연결 끊김 등 : 예외를 던져서 DB 커서도 같이 닫히게 함
+                    throw new UncheckedIOException(e);
+                }
+            });
+
+            generator.writeEndArray();
+            generator.flush();
+        };
+    }
+
+//    요청 본문을 type 으로 한 건씩 변환해서 action 에 전달
+//     JSON 형식이 잘못되면 IllegalArgumentException
+    public static <T> void readValues(ObjectMapper objectMapper, InputStream inputStream,
+                                      Class<T> type, Consumer<T> action) {
+        try (MappingIterator<T> iterator = objectMapper.readerFor(type).readValues(inputStream)) {
+            while (iterator.hasNextValue()) {
+                action.accept(iterator.nextValue());
+            }
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("JSON 형식이 잘못되었습니다 : " + e.getOriginalMessage(), e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.simpledms.util;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * packageName    : com.example.simpledms.util
+ * fileName       : LookupUtil
+ * author         : ds
+ * date           : 2026-10-18
+ * description    : 여러 기본키 한번에 조회(batch lookup) 공통 함수 클래스
+ * 요약 :
+ * 기존 : 화면에서 GET /api/emp/{eno} 를 사원 수만큼(최대 200번) 호출
+ * 변경 : GET /api/emp?ids=7369,7499,... 또는 POST /api/emp/lookup [7369, 7499, ...] 1번 호출
+ * 응답 : { "items" : [ 요청한 순서대로 ], "missing" : [ 없는(삭제된) 기본키 ] }
+ * 같은 기본키를 여러 번 보내면 1번만 조회/전송 ( 처음 나온 순서 기준 )
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 2026-10-18        ds       최초 생성
+ */
+public class LookupUtil {
+
+//    한번에 조회 가능한 최대 기본키 수
+    public static final int MAX_IDS = 1000;
+
+    private LookupUtil() {
+    }
+
+//    기본키 목록 검사 함수 : 중복 제거(순서 유지), 비어있거나 MAX_IDS 보다 많으면 에러
+    public static List<Integer> distinctIds(List<Integer> ids) {
+        if (ids == null || ids.isEmpty()) {
+            throw new IllegalArgumentException("ids 가 비어 있습니다");
+        }
+        Set<Integer> distinct = new LinkedHashSet<>();
+        for (Integer id : ids) {
+            if (id == null) {
+                throw new IllegalArgumentException("ids 에 null 이 있습니다");
+            }
+            distinct.add(id);
+        }
+        if (distinct.size() > MAX_IDS) {
+            throw new IllegalArgumentException("ids 는 최대 " + MAX_IDS + " 개까지 가능합니다 : " + distinct.size());
+        }
+        return new ArrayList<>(distinct);
+    }
+
+//    응답 생성 함수 : 찾은 데이터(요청 순서) + 없는 기본키 목록
+    public static <T> Map<String, Object> result(List<Integer> ids, Map<Integer, T> found) {
+        List<T> items = new ArrayList<>(found.size());
+        List<Integer> missing = new ArrayList<>();
+        for (Integer id : ids) {
+            T item = found.get(id);
+            if (item != null) {
+                items.add(item);
+            } else {
+                missing.add(id);
+            }
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("items", items);
+        result.put("missing", missing);
+        return result;
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.simpledms.util;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * packageName    : com.example.simpledms.util
+ * fileName       : NgramUtil
+ * author         : ds
+ * date           : 2026-10-18
+ * description    : 글자 n-gram 분리 공통 함수 클래스 ( 검색 색인용 )
+ * 요약 :
+ * 한글은 띄어쓰기/조사 때문에 단어 단위로 나누면 검색이 잘 안됨 ( ex) "비밀번호를" 로는 "비밀번호" 검색 불가 )
+ * -> 글자(또는 숫자)가 이어진 부분마다 n 글자씩 겹치게 잘라서 색인
+ * ex) n = 2 : "비밀번호 변경" -> [비밀, 밀번, 번호, 변경]
+ * 정규화 : 유니코드 NFKC(전각/반각 통일) + 영문 소문자
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 2026-10-18        ds       최초 생성
+ */
+public class NgramUtil {
+
+    private NgramUtil() {
+    }
+
+//    정규화 함수 : NFKC + 소문자 ( null 이면 빈 문자열 )
+    public static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        return Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase();
+    }
+
+//    n-gram 분리 함수 : 글자/숫자가 이어진 부분(단어)마다 n 글자씩, 단어가 n 글자보다 짧으면 단어 전체
+//     같은 n-gram 이 여러 번 나오면 나온 횟수만큼 들어있음 ( 단어 빈도 계산용 )
+    public static List<String> ngrams(String text, int n) {
+        String normalized = normalize(text);
+        List<String> grams = new ArrayList<>();
+
+        int[] word = new int[normalized.length()];
+        int length = 0;
+        for (int i = 0; i <= normalized.length(); ) {
+            int codePoint = (i < normalized.length()) ? normalized.codePointAt(i) : -1;
+            if (codePoint != -1 && Character.isLetterOrDigit(codePoint)) {
+                word[length++] = codePoint;
+                i += Character.charCount(codePoint);
+                continue;
+            }
+
+//            단어 끝 : n 글자씩 잘라서 추가
+            if (length > 0) {
+                if (length < n) {
+                    grams.add(new String(word, 0, length));
+                } else {
+                    for (int start = 0; start + n <= length; start++) {
+                        grams.add(new String(word, start, n));
+                    }
+                }
+                length = 0;
+            }
+            i += (codePoint == -1) ? 1 : Character.charCount(codePoint);
+        }
+        return grams;
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.simpledms.util;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+/**
+ * packageName    : com.example.simpledms.util
+ * fileName       : PageUtil
+ * author         : ds
+ * date           : 2026-10-18
+ * description    : 키셋(커서) 페이징 공통 함수 클래스
+ * 요약 :
+ * 키셋 페이징 : offset 대신 "마지막으로 받은 기본키(cursor)" 다음부터 size 개만 조회하는 방식
+ * 장점 : 테이블이 커져도 인덱스(기본키)로 바로 찾아가므로 응답시간/메모리가 일정함
+ * 사용법 : /api/emp?cursor=7788&size=100&sort=asc
+ *         다음 페이지 커서는 응답 헤더(X-Next-Cursor)로 전달함
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 2026-10-18        ds       최초 생성
+ */
+public class PageUtil {
+
+//    기본 페이지 크기
+    public static final int DEFAULT_SIZE = 100;
+//    서버에서 강제하는 최대 페이지 크기 ( 이보다 크게 요청해도 잘라냄 )
+    public static final int MAX_SIZE = 1000;
+//    관련도/편집 거리 순 검색(offset 페이징)에서 허용하는 최대 offset
+//     like 검색으로 대신할 때는 offset + size 건을 읽어야 하므로 깊은 페이지는 막음
+    public static final int MAX_OFFSET = 1000;
+//    다음 페이지 커서를 전달하는 응답 헤더명
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private PageUtil() {
+    }
+
+//    요청 size 를 1 ~ MAX_SIZE 사이로 보정하는 함수
+    public static int clampSize(Integer size) {
+        if (size == null) {
+            return DEFAULT_SIZE;
+        }
+        return Math.max(1, Math.min(size, MAX_SIZE));
+    }
+
+//    offset 페이징 커서 해석 함수 : null -> 0, 0 ~ MAX_OFFSET 밖이면 에러
+    public static int offset(Integer cursor) {
+        int offset = (cursor == null) ? 0 : cursor;
+        if (offset < 0 || offset > MAX_OFFSET) {
+            throw new IllegalArgumentException("cursor 는 0 ~ " + MAX_OFFSET + " 이어야 합니다 : " + cursor);
+        }
+        return offset;
+    }
+
+//    offset 페이징 다음 페이지 커서 : 한 페이지가 꽉 찼고 다음 offset 이 MAX_OFFSET 이하일 때만 ( 아니면 null )
+    public static Integer nextOffset(int offset, int size, int pageSize) {
+        int next = offset + pageSize;
+        return (size == pageSize && next <= MAX_OFFSET) ? next : null;
+    }
+
+//    sort 파라메터 해석 함수 : null/asc -> 오름차순, desc -> 내림차순, 그 외 -> 에러
+    public static boolean isDesc(String sort) {
+        if (sort == null || sort.equalsIgnoreCase("asc")) {
+            return false;
+        }
+        if (sort.equalsIgnoreCase("desc")) {
+            return true;
+        }
+        throw new IllegalArgumentException("sort 는 asc 또는 desc 만 가능합니다 : " + sort);
+    }
+
+//    키셋 조회용 Pageable 생성 함수 : 항상 0 페이지 + 기본키 정렬 ( offset 을 쓰지 않음 )
+    public static Pageable keysetPageable(int size, String keyProperty, boolean desc) {
+        Sort sort = desc ? Sort.by(keyProperty).descending() : Sort.by(keyProperty).ascending();
+        return PageRequest.of(0, size, sort);
+    }
+
+//    첫 페이지 커서 : 오름차순이면 최소값, 내림차순이면 최대값부터 시작
+    public static int startCursor(Integer cursor, boolean desc) {
+        if (cursor != null) {
+            return cursor;
+        }
+        return desc ? Integer.MAX_VALUE : Integer.MIN_VALUE;
+    }
+}
@@ -0,0 +1,237 @@
+package com.example.simpledms.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * packageName    : com.example.simpledms.util
+ * fileName       : SuggestTrie
+ * author         : ds
+ * date           : 2026-10-18
+ * description    : 자동완성(앞글자 검색)용 trie 클래스
+ * 요약 :
+ * 값(사원명 등)을 글자 단위 트리로 저장 : 같은 앞글자를 가진 값은 같은 노드를 공유
+ * 노드마다 하위 값 중 빈도(같은 값 개수) 상위 k 개를 미리 계산해 둠
+ * -> 자동완성 조회 = 앞글자만큼 노드를 따라간 후 미리 계산된 목록 리턴 ( 데이터 건수와 상관없이 앞글자 길이만큼만 )
+ * 추가/삭제 : 값이 있는 노드부터 루트까지 상위 k 개 다시 계산
+ * 전체 생성 : build() 전에는 계산하지 않고 모아서 한번에 계산 ( 건마다 다시 계산하지 않음 )
+ * 노드 : 자식 글자/노드를 정렬된 배열로 저장 ( HashMap 보다 메모리 적음 )
+ * 주의 : 스레드 안전하지 않음 ( 사용하는 쪽에서 잠금 ), 조회(suggest)는 트리를 바꾸지 않음
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 2026-10-18        ds       최초 생성
+ */
+public class SuggestTrie {
+
+    private static final char[] NO_KEYS = new char[0];
+    private static final Node[] NO_NODES = new Node[0];
+
+//    빈도 내림차순, 같으면 값 오름차순
+    private static final Comparator<Node> RANK = (left, right) -> {
+        int compare = Integer.compare(right.count, left.count);
+        return (compare != 0) ? compare : left.term.compareTo(right.term);
+    };
+
+    static final class Node {
+//        자식 글자 ( 정렬 ) / 자식 노드
+        char[] keys = NO_KEYS;
+        Node[] children = NO_NODES;
+//        이 노드에서 끝나는 값과 개수 ( 개수 0 = 값 없음 )
+        String term;
+        int count;
+//        하위 전체(자신 포함) 빈도 상위 k 개 ( null = 아직 계산 안 함 )
+        Node[] top;
+    }
+
+    private final int k;
+    private final Node root = new Node();
+//    build() 후에는 추가/삭제할 때 바로 다시 계산
+    private boolean built;
+    private int termCount;
+
+    public SuggestTrie(int k) {
+        this.k = k;
+    }
+
+//    값 1개 추가 ( 같은 값이면 개수 + 1 )
+    public void add(String term) {
+        if (term == null || term.isEmpty()) {
+            return;
+        }
+
+        Node[] path = new Node[term.length() + 1];
+        Node node = root;
+        path[0] = node;
+        for (int i = 0; i < term.length(); i++) {
+            node = child(node, term.charAt(i), true);
+            path[i + 1] = node;
+        }
+        if (node.count == 0) {
+            node.term = term;
+            termCount++;
+        }
+        node.count++;
+        refresh(path, path.length - 1);
+    }
+
+//    값 1개 삭제 ( 개수 - 1, 0 이 되면 값 없음 + 빈 노드 정리 )
+    public void remove(String term) {
+        if (term == null || term.isEmpty()) {
+            return;
+        }
+
+        Node[] path = new Node[term.length() + 1];
+        Node node = root;
+        path[0] = node;
+        for (int i = 0; i < term.length(); i++) {
+            node = child(node, term.charAt(i), false);
+            if (node == null) {
+                return;
+            }
+            path[i + 1] = node;
+        }
+        if (node.count == 0) {
+            return;
+        }
+
+        node.count--;
+        int depth = path.length - 1;
+        if (node.count == 0) {
+            node.term = null;
+            termCount--;
+//            자식도 값도 없는 노드는 부모에서 제거
+            while (depth > 0 && path[depth].count == 0 && path[depth].keys.length == 0) {
+                removeChild(path[depth - 1], term.charAt(depth - 1));
+                depth--;
+            }
+        }
+        refresh(path, depth);
+    }
+
+//    전체 생성 후 모든 노드의 상위 k 개 계산 ( 아래 노드부터 )
+    public void build() {
+        compute(root, true);
+        built = true;
+    }
+
+//    자동완성 함수 : prefix 로 시작하는 값을 빈도 순으로 최대 limit 개 ( limit 은 k 이하 )
+    public List<String> suggest(String prefix, int limit) {
+        Node node = root;
+        for (int i = 0; i < prefix.length() && node != null; i++) {
+            node = child(node, prefix.charAt(i), false);
+        }
+        if (node == null) {
+            return Collections.emptyList();
+        }
+
+        Node[] top = (node.top != null) ? node.top : compute(node, false);
+        List<String> list = new ArrayList<>(Math.min(limit, top.length));
+        for (int i = 0; i < top.length && list.size() < limit; i++) {
+            list.add(top[i].term);
+        }
+        return list;
+    }
+
+//    서로 다른 값 수
+    public int size() {
+        return termCount;
+    }
+
+    public int getK() {
+        return k;
+    }
+
+//    path[0..depth] 의 상위 k 개 다시 계산 ( 아래 노드부터, 루트는 조회하지 않으므로 제외 )
+    private void refresh(Node[] path, int depth) {
+        if (built == false) {
+            return;
+        }
+        for (int i = depth; i > 0; i--) {
+            path[i].top = merge(path[i]);
+        }
+    }
+
+//    하위 노드부터 상위 k 개 계산 ( store : 노드에 저장 )
+    private Node[] compute(Node node, boolean store) {
+        if (store == false) {
+            return merge(node);
+        }
+        for (Node child : node.children) {
+            if (child.top == null) {
+                compute(child, true);
+            }
+        }
+        node.top = merge(node);
+        return node.top;
+    }
+
+//    자신 + 자식들의 상위 k 개 목록을 합쳐서 상위 k 개 ( 크기 k 인 heap )
+    private Node[] merge(Node node) {
+        PriorityQueue<Node> heap = new PriorityQueue<>(k + 1, RANK.reversed());
+        if (node.count > 0) {
+            heap.add(node);
+        }
+        for (Node child : node.children) {
+            Node[] childTop = (child.top != null) ? child.top : compute(child, false);
+            for (Node candidate : childTop) {
+                if (heap.size() < k) {
+                    heap.add(candidate);
+                } else if (RANK.compare(candidate, heap.peek()) < 0) {
+                    heap.poll();
+                    heap.add(candidate);
+                } else {
+//                    자식 목록은 순위 순서 -> 나머지도 들어갈 수 없음
+                    break;
+                }
+            }
+        }
+
+        Node[] top = heap.toArray(NO_NODES);
+        Arrays.sort(top, RANK);
+        return top;
+    }
+
+    private static Node child(Node node, char key, boolean create) {
+        int index = Arrays.binarySearch(node.keys, key);
+        if (index >= 0) {
+            return node.children[index];
+        }
+        if (create == false) {
+            return null;
+        }
+
+        index = -index - 1;
+        Node child = new Node();
+        char[] keys = new char[node.keys.length + 1];
+        Node[] children = new Node[node.children.length + 1];
+        System.arraycopy(node.keys, 0, keys, 0, index);
+        System.arraycopy(node.children, 0, children, 0, index);
+        keys[index] = key;
+        children[index] = child;
+        System.arraycopy(node.keys, index, keys, index + 1, node.keys.length - index);
+        System.arraycopy(node.children, index, children, index + 1, node.children.length - index);
+        node.keys = keys;
+        node.children = children;
+        return child;
+    }
+
+    private static void removeChild(Node node, char key) {
+        int index = Arrays.binarySearch(node.keys, key);
+        if (index < 0) {
+            return;
+        }
+        char[] keys = new char[node.keys.length - 1];
+        Node[] children = new Node[node.children.length - 1];
+        System.arraycopy(node.keys, 0, keys, 0, index);
+        System.arraycopy(node.children, 0, children, 0, index);
+        System.arraycopy(node.keys, index + 1, keys, index, keys.length - index);
+        System.arraycopy(node.children, index + 1, children, index, children.length - index);
+        node.keys = (keys.length == 0) ? NO_KEYS : keys;
+        node.children = (children.length == 0) ? NO_NODES : children;
+    }
+}
@@ -0,0 +1,205 @@
+package com.example.simpledms.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * packageName    : com.example.simpledms.util
+ * fileName       : SymmetricDeleteIndex
+ * author         : ds
+ * date           : 2026-10-18
+ * description    : 오타 허용(fuzzy) 검색용 symmetric delete 색인 클래스
+ * 요약 :
+ * 오타 = 글자 추가/삭제/변경/순서 바뀜 ( 편집 거리, ex) SMTIH -> SMITH : 1, MILER -> MILLER : 1 )
+ * 색인 : 값마다 글자를 maxDistance 개까지 지운 문자열을 모두 만들어서 ( 지운 문자열 -> 원래 값 목록 ) 으로 저장
+ *       ex) "WARD" -> [ward, ard, wrd, wad, war, rd, ad, ar, wd, wr, wa]
+ * 검색 : 검색어도 같은 방법으로 지운 문자열을 만들어서 색인에서 찾은 값만 편집 거리 계산
+ *       -> 데이터 건수와 상관없이 검색어 길이에 따라 조회 횟수가 정해짐
+ * 대소문자 구분 없음, 4글자 이하 검색어는 편집 거리 1 까지만 ( 짧은 이름은 거리 2 면 거의 모든 이름이 비슷함 )
+ * 2 ~ MAX_TERM_LENGTH 글자 값만 색인 ( 긴 값은 지운 문자열 수가 너무 많아짐 )
+ * 주의 : 스레드 안전하지 않음 ( 사용하는 쪽에서 잠금 )
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 2026-10-18        ds       최초 생성
+ */
+public class SymmetricDeleteIndex {
+
+    public static final int MIN_TERM_LENGTH = 2;
+    public static final int MAX_TERM_LENGTH = 32;
+
+    private final int maxDistance;
+
+//    지운 문자열(소문자) -> 원래 값 목록
+    private final Map<String, Set<String>> deletes = new HashMap<>();
+
+//    원래 값 -> 개수 ( 같은 값이 여러 건이면 마지막 1건이 삭제될 때 색인에서 제거 )
+    private final Map<String, Integer> counts = new HashMap<>();
+
+    public SymmetricDeleteIndex(int maxDistance) {
+        this.maxDistance = maxDistance;
+    }
+
+    public void add(String term) {
+        if (isIndexable(term) == false) {
+            return;
+        }
+        if (counts.merge(term, 1, Integer::sum) > 1) {
+            return;
+        }
+        for (String deleted : deletes(lower(term), maxDistance)) {
+            deletes.computeIfAbsent(deleted, key -> new HashSet<>(2)).add(term);
+        }
+    }
+
+    public void remove(String term) {
+        Integer count = counts.get(term);
+        if (count == null) {
+            return;
+        }
+        if (count > 1) {
+            counts.put(term, count - 1);
+            return;
+        }
+
+        counts.remove(term);
+        for (String deleted : deletes(lower(term), maxDistance)) {
+            Set<String> terms = deletes.get(deleted);
+            if (terms != null) {
+                terms.remove(term);
+                if (terms.isEmpty()) {
+                    deletes.remove(deleted);
+                }
+            }
+        }
+    }
+
+//    검색 함수 : 편집 거리 안에 있는 값 -> 거리 ( 거리 가까운 순, 같으면 개수 많은 순, 값 순 )
+    public Map<String, Integer> search(String query) {
+        if (query == null || query.length() < MIN_TERM_LENGTH) {
+            throw new IllegalArgumentException("오타 허용 검색어는 " + MIN_TERM_LENGTH + "글자 이상이어야 합니다 : " + query);
+        }
+        if (query.length() > MAX_TERM_LENGTH + maxDistance) {
+            return Collections.emptyMap();
+        }
+
+        String lowerQuery = lower(query);
+        int distance = distanceFor(lowerQuery);
+
+        Map<String, Integer> matched = new HashMap<>();
+        for (String deleted : deletes(lowerQuery, distance)) {
+            Set<String> terms = deletes.get(deleted);
+            if (terms == null) {
+                continue;
+            }
+            for (String term : terms) {
+                if (matched.containsKey(term) == false) {
+                    int termDistance = distance(lower(term), lowerQuery, distance);
+                    if (termDistance <= distance) {
+                        matched.put(term, termDistance);
+                    }
+                }
+            }
+        }
+
+        List<Map.Entry<String, Integer>> ranked = new ArrayList<>(matched.entrySet());
+        ranked.sort((left, right) -> {
+            int compare = Integer.compare(left.getValue(), right.getValue());
+            if (compare == 0) {
+                compare = Integer.compare(counts.get(right.getKey()), counts.get(left.getKey()));
+            }
+            return (compare != 0) ? compare : left.getKey().compareTo(right.getKey());
+        });
+
+        Map<String, Integer> result = new LinkedHashMap<>();
+        for (Map.Entry<String, Integer> entry : ranked) {
+            result.put(entry.getKey(), entry.getValue());
+        }
+        return result;
+    }
+
+//    서로 다른 값 수 / 지운 문자열 수 ( 통계용 )
+    public int size() {
+        return counts.size();
+    }
+
+    public int deleteCount() {
+        return deletes.size();
+    }
+
+//    검색어 길이별 허용 편집 거리
+    int distanceFor(String query) {
+        return (query.length() <= 4) ? Math.min(1, maxDistance) : maxDistance;
+    }
+
+    private static boolean isIndexable(String term) {
+        return term != null && term.length() >= MIN_TERM_LENGTH && term.length() <= MAX_TERM_LENGTH;
+    }
+
+    private static String lower(String text) {
+        return text.toLowerCase(Locale.ROOT);
+    }
+
+//    글자를 0 ~ distance 개 지운 문자열 전체 ( 자신 포함, 중복 없음 )
+    static Set<String> deletes(String word, int distance) {
+        Set<String> result = new HashSet<>();
+        result.add(word);
+        List<String> current = Collections.singletonList(word);
+        for (int step = 0; step < distance; step++) {
+            List<String> next = new ArrayList<>();
+            for (String text : current) {
+                for (int i = 0; i < text.length(); i++) {
+                    String deleted = text.substring(0, i) + text.substring(i + 1);
+                    if (result.add(deleted)) {
+                        next.add(deleted);
+                    }
+                }
+            }
+            current = next;
+        }
+        return result;
+    }
+
+//    편집 거리 ( 추가/삭제/변경/이웃 글자 순서 바뀜 = 1, Optimal String Alignment )
+//     max 보다 크면 max + 1 리턴 ( 계산 중단 )
+    static int distance(String a, String b, int max) {
+        if (Math.abs(a.length() - b.length()) > max) {
+            return max + 1;
+        }
+
+        int[] before = new int[b.length() + 1];
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = (a.charAt(i - 1) == b.charAt(j - 1)) ? 0 : 1;
+                int value = Math.min(Math.min(previous[j] + 1, current[j - 1] + 1), previous[j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    value = Math.min(value, before[j - 2] + 1);
+                }
+                current[j] = value;
+                rowMin = Math.min(rowMin, value);
+            }
+            if (rowMin > max) {
+                return max + 1;
+            }
+            int[] swap = before;
+            before = previous;
+            previous = current;
+            current = swap;
+        }
+        return Math.min(previous[b.length()], max + 1);
+    }
+}
@@ -0,0 +1,152 @@
+package com.example.simpledms.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * packageName    : com.example.simpledms.util
+ * fileName       : TrigramIndex
+ * author         : ds
+ * date           : 2026-10-18
+ * description    : 부분 문자열(like '%검색어%') 검색용 trigram 색인 클래스
+ * 요약 :
+ * 이름을 3글자(trigram)씩 겹치게 잘라서 ( 3글자 -> 기본키 목록(IntPostingList) ) 으로 저장
+ * ex) "SMITH" -> [SMI, MIT, ITH] ( + 2글자 [SM, MI, IT, TH] : 2글자 검색어용 )
+ * 검색 : 검색어의 trigram 목록을 모두 가진 기본키 = 기본키 목록 교집합 ( 작은 목록부터 )
+ *       -> 글자 순서까지 맞는지 이름으로 한번 더 확인 ( ex) "SMITHS" 검색 시 "ITHSMI" 제외 )
+ *       2글자 검색어는 2글자 목록 그대로, 1글자 검색어는 색인 사용 안 함 ( isSearchable )
+ * like 와 같게 대소문자/공백 그대로 비교
+ * 주의 : 스레드 안전하지 않음 ( 사용하는 쪽에서 잠금 )
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 2026-10-18        ds       최초 생성
+ */
+public class TrigramIndex {
+
+//    기본키 -> 색인된 이름 ( 수정/삭제 시 예전 trigram 찾기, 글자 순서 확인용 )
+    private final Map<Integer, String> names = new HashMap<>();
+
+//    2/3 글자 -> 기본키 목록
+    private final Map<String, IntPostingList> postings = new HashMap<>();
+
+//    이름 색인 ( 같은 기본키가 있으면 교체, null 이면 삭제 )
+    public void put(int id, String name) {
+        remove(id);
+        if (name == null) {
+            return;
+        }
+
+        names.put(id, name);
+        for (String gram : grams(name)) {
+            postings.computeIfAbsent(gram, key -> new IntPostingList()).add(id);
+        }
+    }
+
+    public void remove(int id) {
+        String old = names.remove(id);
+        if (old == null) {
+            return;
+        }
+
+        for (String gram : grams(old)) {
+            IntPostingList posting = postings.get(gram);
+            if (posting != null && posting.remove(id) == true && posting.isEmpty() == true) {
+                postings.remove(gram);
+            }
+        }
+    }
+
+//    색인으로 찾을 수 있는 검색어인가? ( 2글자 이상 )
+    public static boolean isSearchable(String query) {
+        return query != null && query.length() >= 2;
+    }
+
+//    검색 함수 : query 가 들어있는 이름의 기본키 목록 ( 오름차순 )
+    public int[] search(String query) {
+        if (isSearchable(query) == false) {
+            throw new IllegalArgumentException("검색어는 2글자 이상이어야 합니다 : " + query);
+        }
+
+        if (query.length() == 2) {
+            IntPostingList posting = postings.get(query);
+            return (posting == null) ? new int[0] : posting.toArray();
+        }
+
+//        검색어 trigram 의 기본키 목록 : 하나라도 없으면 결과 없음
+        List<IntPostingList> lists = new ArrayList<>();
+        for (String gram : trigrams(query)) {
+            IntPostingList posting = postings.get(gram);
+            if (posting == null) {
+                return new int[0];
+            }
+            lists.add(posting);
+        }
+
+//        작은 목록부터 교집합 ( 후보가 빨리 줄어듦 )
+        lists.sort((left, right) -> Integer.compare(left.size(), right.size()));
+        int[] candidates = lists.get(0).toArray();
+        for (int i = 1; i < lists.size() && candidates.length > 0; i++) {
+            candidates = lists.get(i).retainAll(candidates);
+        }
+
+//        trigram 이 모두 있어도 순서가 다를 수 있으므로 이름으로 확인 ( 3글자 검색어는 확인 불필요 )
+        if (query.length() == 3) {
+            return candidates;
+        }
+        int count = 0;
+        for (int id : candidates) {
+            if (names.get(id).contains(query)) {
+                candidates[count++] = id;
+            }
+        }
+        return Arrays.copyOf(candidates, count);
+    }
+
+//    색인된 이름 ( 없으면 null )
+    public String get(int id) {
+        return names.get(id);
+    }
+
+//    색인된 이름 수
+    public int size() {
+        return names.size();
+    }
+
+//    2/3 글자 단어 수
+    public int termCount() {
+        return postings.size();
+    }
+
+//    기본키 목록 압축 크기 합계(byte)
+    public long postingBytes() {
+        long bytes = 0;
+        for (IntPostingList posting : postings.values()) {
+            bytes += posting.byteSize();
+        }
+        return bytes;
+    }
+
+//    이름의 2글자 + 3글자 목록 ( 중복 없음 )
+    static Set<String> grams(String name) {
+        Set<String> grams = new LinkedHashSet<>();
+        for (int i = 0; i + 2 <= name.length(); i++) {
+            grams.add(name.substring(i, i + 2));
+        }
+        grams.addAll(trigrams(name));
+        return grams;
+    }
+
+    static Set<String> trigrams(String text) {
+        Set<String> grams = new LinkedHashSet<>();
+        for (int i = 0; i + 3 <= text.length(); i++) {
+            grams.add(text.substring(i, i + 3));
+        }
+        return grams;
+    }
+}
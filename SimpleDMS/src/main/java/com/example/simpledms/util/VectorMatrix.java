@@ -0,0 +1,193 @@
+package com.example.simpledms.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * packageName    : com.example.simpledms.util
+ * fileName       : VectorMatrix
+ * author         : ds
+ * date           : 2026-10-18
+ * description    : 비슷한 벡터 top-k 검색용 압축 행렬 클래스
+ * 요약 :
+ * 길이 1 로 정규화된 벡터를 행 1개로 저장 -> 코사인 유사도 = 두 행의 내적
+ * 압축 : 값(-1 ~ 1)을 행마다 최대 절대값 기준으로 byte(-127 ~ 127)로 바꿔서 저장 ( float 의 1/4 크기 )
+ *       ex) 10만 건 x 256 차원 = 약 25MB, 조회할 때 읽는 메모리도 1/4 -> 전체 비교(brute-force)가 빨라짐
+ * 검색 : 모든 행과 내적 계산 후 점수 상위 k 개 ( 크기 k 배열에서 최소값만 교체 )
+ *       내적은 int 로 계산 : JIT(C2)가 단순한 int 곱셈/덧셈 반복문은 SIMD 명령어로 바꿔줌 ( float 합계는 순서 때문에 안 바꿔줌 )
+ * 삭제 : 마지막 행을 삭제된 자리로 옮김 ( 빈 행 없음 )
+ * 주의 : 스레드 안전하지 않음 ( 사용하는 쪽에서 잠금 )
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 2026-10-18        ds       최초 생성
+ */
+public class VectorMatrix {
+
+//    검색 결과 1건 ( 기본키, 코사인 유사도 )
+    public static final class Match {
+        public final int id;
+        public final float score;
+
+        Match(int id, float score) {
+            this.id = id;
+            this.score = score;
+        }
+    }
+
+    private final int dimensions;
+
+//    행 x 차원 ( 행 번호 * dimensions 부터 dimensions 개 )
+    private byte[] values = new byte[0];
+//    행마다 byte -> 원래 값 배율 ( 최대 절대값 / 127 )
+    private float[] scales = new float[0];
+//    행 번호 -> 기본키 / 기본키 -> 행 번호
+    private int[] ids = new int[0];
+    private final Map<Integer, Integer> rows = new HashMap<>();
+    private int size;
+
+    public VectorMatrix(int dimensions) {
+        this.dimensions = dimensions;
+    }
+
+//    벡터 저장 ( 같은 기본키가 있으면 교체 ), vector 는 길이 1 로 정규화된 값
+    public void put(int id, float[] vector) {
+        if (vector.length != dimensions) {
+            throw new IllegalArgumentException("벡터 차원이 다릅니다 : " + vector.length + " ( " + dimensions + " )");
+        }
+
+        Integer row = rows.get(id);
+        if (row == null) {
+            ensureCapacity(size + 1);
+            row = size++;
+            rows.put(id, row);
+            ids[row] = id;
+        }
+
+        float max = 0;
+        for (float value : vector) {
+            max = Math.max(max, Math.abs(value));
+        }
+        float scale = (max == 0) ? 0 : max / 127;
+        int base = row * dimensions;
+        for (int j = 0; j < dimensions; j++) {
+            values[base + j] = (scale == 0) ? 0 : (byte) Math.round(vector[j] / scale);
+        }
+        scales[row] = scale;
+    }
+
+    public void remove(int id) {
+        Integer row = rows.remove(id);
+        if (row == null) {
+            return;
+        }
+
+//        마지막 행을 빈 자리로 이동
+        int last = --size;
+        if (row != last) {
+            System.arraycopy(values, last * dimensions, values, row * dimensions, dimensions);
+            scales[row] = scales[last];
+            ids[row] = ids[last];
+            rows.put(ids[row], row);
+        }
+    }
+
+    public boolean contains(int id) {
+        return rows.containsKey(id);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int getDimensions() {
+        return dimensions;
+    }
+
+//    행렬 크기(byte) ( 통계용 )
+    public long byteSize() {
+        return (long) size * dimensions;
+    }
+
+//    id 행과 코사인 유사도가 높은 순으로 최대 k 개 ( 자신 제외, 유사도 0 이하 제외 )
+    public List<Match> topK(int id, int k) {
+        Integer queryRow = rows.get(id);
+        if (queryRow == null || k <= 0) {
+            return new ArrayList<>();
+        }
+
+        int[] query = new int[dimensions];
+        int queryBase = queryRow * dimensions;
+        for (int j = 0; j < dimensions; j++) {
+            query[j] = values[queryBase + j];
+        }
+        float queryScale = scales[queryRow];
+
+//        상위 k 개 ( 점수, 행 번호 ) + 그 중 최소값 위치
+        float[] topScores = new float[k];
+        int[] topRows = new int[k];
+        int count = 0;
+        int minIndex = 0;
+
+        for (int row = 0; row < size; row++) {
+            if (row == queryRow) {
+                continue;
+            }
+            int base = row * dimensions;
+            int dot = 0;
+            for (int j = 0; j < dimensions; j++) {
+                dot += query[j] * values[base + j];
+            }
+            float score = dot * queryScale * scales[row];
+            if (score <= 0) {
+                continue;
+            }
+
+            if (count < k) {
+                topScores[count] = score;
+                topRows[count] = row;
+                count++;
+                if (count == k) {
+                    minIndex = minIndex(topScores, k);
+                }
+            } else if (score > topScores[minIndex]) {
+                topScores[minIndex] = score;
+                topRows[minIndex] = row;
+                minIndex = minIndex(topScores, k);
+            }
+        }
+
+        Match[] matches = new Match[count];
+        for (int i = 0; i < count; i++) {
+            matches[i] = new Match(ids[topRows[i]], topScores[i]);
+        }
+//        점수 내림차순, 같으면 기본키 순
+        Arrays.sort(matches, (left, right) -> {
+            int compare = Float.compare(right.score, left.score);
+            return (compare != 0) ? compare : Integer.compare(left.id, right.id);
+        });
+        return new ArrayList<>(Arrays.asList(matches));
+    }
+
+    private static int minIndex(float[] scores, int length) {
+        int index = 0;
+        for (int i = 1; i < length; i++) {
+            if (scores[i] < scores[index]) {
+                index = i;
+            }
+        }
+        return index;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (ids.length < capacity) {
+            int grown = Math.max(capacity, ids.length + (ids.length >> 1) + 16);
+            ids = Arrays.copyOf(ids, grown);
+            scales = Arrays.copyOf(scales, grown);
+            values = Arrays.copyOf(values, grown * dimensions);
+        }
+    }
+}
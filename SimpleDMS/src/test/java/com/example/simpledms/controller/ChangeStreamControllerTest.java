@@ -0,0 +1,76 @@
+package com.example.simpledms.controller;
+
+import com.example.simpledms.model.Emp;
+import com.example.simpledms.service.ChangeStreamService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * packageName    : com.example.simpledms.controller
+ * fileName       : ChangeStreamControllerTest
+ * author         : ds
+ * date           : 2026-10-18
+ * description    : 데이터 변경 알림(SSE) 컨트롤러 테스트
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 2026-10-18        ds       최초 생성
+ */
+@ExtendWith(SpringExtension.class)
+@WebMvcTest(controllers = ChangeStreamController.class)
+class ChangeStreamControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ChangeStreamService changeStreamService; // 서비스에 가짜객체 넣기
+
+    @DisplayName("subscribe() : 구독하면 연결을 유지(비동기 응답)하는지 테스트")
+    @Test
+    void subscribe() throws Exception {
+        given(changeStreamService.topic("emp"))
+                .willAnswer(invocation -> Emp.class);
+        given(changeStreamService.subscribe(any()))
+                .willReturn(new SseEmitter());
+
+        mockMvc.perform(get("/api/stream/emp"))
+                .andExpect(status().isOk())
+                .andExpect(request().asyncStarted())
+                .andDo(print());
+    }
+
+    @DisplayName("subscribe() : 없는 구독 대상이면 404")
+    @Test
+    void subscribeNotFound() throws Exception {
+        mockMvc.perform(get("/api/stream/unknown"))
+                .andExpect(status().isNotFound())
+                .andDo(print());
+    }
+
+    @DisplayName("subscribe() : 구독자 수 초과면 503")
+    @Test
+    void subscribeTooMany() throws Exception {
+        given(changeStreamService.topic("emp"))
+                .willAnswer(invocation -> Emp.class);
+        given(changeStreamService.subscribe(any()))
+                .willThrow(new IllegalStateException("too many"));
+
+        mockMvc.perform(get("/api/stream/emp"))
+                .andExpect(status().isServiceUnavailable())
+                .andDo(print());
+    }
+}
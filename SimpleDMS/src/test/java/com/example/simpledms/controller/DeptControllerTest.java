@@ -1,7 +1,11 @@
 package com.example.simpledms.controller;
 
 import com.example.simpledms.model.Dept;
+import com.example.simpledms.service.ChangeFeedService;
+import com.example.simpledms.service.DbCircuitBreaker;
 import com.example.simpledms.service.DeptService;
+import com.example.simpledms.service.ResponseCacheService;
+import com.example.simpledms.service.TableVersionService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -9,19 +13,31 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
-import static org.mockito.BDDMockito.willDoNothing;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -78,6 +94,9 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 // @ExtendWith : 컨트롤러 테스르를 위한 어노테이션, URL 관련된 기능들을 사용할 수 있게 함
 @ExtendWith(SpringExtension.class)
 @WebMvcTest(controllers = DeptController.class)
+// 조회 응답 캐시/테이블 버전은 실제 객체 사용, 테스트마다 가짜 데이터가 다르므로 응답 캐시는 끄기
+@Import({ResponseCacheService.class, TableVersionService.class, DbCircuitBreaker.class})
+@TestPropertySource(properties = "simpledms.response-cache.enabled=false")
 class DeptControllerTest {
 
     //    가짜 객체 받기
@@ -87,6 +106,9 @@ class DeptControllerTest {
     @MockBean
     private DeptService deptService; // 서비스에 가짜객체 넣기
 
+    @MockBean
+    private ChangeFeedService changeFeedService; // 변경분 조회 서비스 가짜객체
+
     //    잭슨(jackson) 객체 생성 : 객체(모델) to Json, json to 객체(모델) 자동 변환시켜주는 라이브러리
     ObjectMapper objectMapper = new ObjectMapper();
 
@@ -117,7 +139,7 @@ class DeptControllerTest {
         );
 
 //        2) given 설정 : 가짜 데이터를 결과로 미리 예측
-        given(deptService.findAll())
+        given(deptService.findAll(any(), anyInt(), anyBoolean()))
                 .willReturn(list);
 //        3) when 설정 : 테스팅 실행 -> 결과 == 확인로 미리 예측확인 ( 등일 : OK , 틀리면 : 에러 )
 //        1> url/api/dept 인가?
@@ -136,12 +158,13 @@ class DeptControllerTest {
     @DisplayName("removeAll() : 부서 전체 삭제 함수 테스트")
     @Test
     void removeAll() throws Exception {
-//        given() : 기댓값 설정 ( void 함수 , 리턴값이 없음 )
-//        willDoNothing().given(서비스객체).함수명() : 리턴값이 없는 함수에 기댓값 설정하는 방법
-        willDoNothing().given(deptService).removeAll();
+//        given() : 기댓값 설정 ( 삭제된 건수 리턴 )
+        given(deptService.removeAll(any()))
+                .willReturn(3);
 
         mockMvc.perform(delete("/api/dept/all")) // 2) 테스트 실행
                 .andExpect(status().isOk())                // 3) 테스트 결과 검토
+                .andExpect(jsonPath("$.deleted").value(3))
                 .andDo(print());
     }
 
@@ -200,6 +223,52 @@ class DeptControllerTest {
                 .andDo(print());
     }
 
+    @DisplayName("getDeptAll() : If-None-Match 가 현재 ETag 와 같으면 조회 없이 304 테스트")
+    @Test
+    void getDeptAllNotModified() throws Exception {
+        List<Dept> list = new ArrayList<>();
+        list.add(Dept.builder().dno(10).dname("SALES").loc("SEOUL").build());
+
+        given(deptService.findAll(any(), anyInt(), anyBoolean()))
+                .willReturn(list);
+
+//        1) 처음 조회 : ETag 받기
+        MvcResult result = mockMvc.perform(get("/api/dept"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andExpect(header().exists("Last-Modified"))
+                .andReturn();
+        String eTag = result.getResponse().getHeader("ETag");
+
+//        2) 받은 ETag 로 다시 조회 : 304, 서비스(DB) 조회 안 함
+        mockMvc.perform(get("/api/dept").header("If-None-Match", eTag))
+                .andExpect(status().isNotModified())
+                .andDo(print());
+
+        verify(deptService, times(1)).findAll(any(), anyInt(), anyBoolean());
+    }
+
+    @DisplayName("getDeptChanges() : 변경분과 다음 커서(since/after) 조회 테스트")
+    @Test
+    void getDeptChanges() throws Exception {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("changes", Collections.singletonList(Dept.builder().dno(10).dname("SALES").loc("SEOUL").build()));
+        result.put("since", 1700000000000000L);
+        result.put("after", 10);
+        result.put("hasMore", false);
+
+        given(changeFeedService.changes(eq(Dept.class), eq("DNO"), any(), eq(0L), any(), any()))
+                .willReturn(result);
+
+        mockMvc.perform(get("/api/dept/changes").param("since", "0"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changes[0].dname").value("SALES"))
+                .andExpect(jsonPath("$.since").value(1700000000000000L))
+                .andExpect(jsonPath("$.after").value(10))
+                .andExpect(jsonPath("$.hasMore").value(false))
+                .andDo(print());
+    }
+
     @DisplayName("updateDept() : 부서번호로 수정 함수 테스트")
     @Test
     void updateDept() throws Exception {
@@ -210,8 +279,9 @@ class DeptControllerTest {
                 .loc("SEOUL2")
                 .build();
 
-        given(deptService.save(any()))
-                .willReturn(dept);
+        dept.setVersion(1L);
+        given(deptService.update(anyInt(), any(), any()))
+                .willReturn(Optional.of(dept));
 
 //        테스팅 실행
         mockMvc.perform(put("/api/dept/10")
@@ -219,11 +289,50 @@ class DeptControllerTest {
                         .content(objectMapper.writeValueAsString(dept)))
 //                        .content("{ \"dno\" : 10, \"dname\" : \"SALES2\", \"loc\": \"SEOUL2\"}"))
                 .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"1\""))
 //                .andExpect(jsonPath("$.dname").value("SALES2"))
                 .andDo(print());  // test 과정을 화면에 출력하는 함수
 
     }
 
+    @DisplayName("updateDeptConflict() : If-Match 버전이 다르면 412 에러 테스트")
+    @Test
+    void updateDeptConflict() throws Exception {
+
+        Dept dept = Dept.builder()
+                .dno(10)
+                .dname("SALES2")
+                .loc("SEOUL2")
+                .build();
+
+        given(deptService.update(anyInt(), any(), any()))
+                .willThrow(new OptimisticLockingFailureException("conflict"));
+
+        mockMvc.perform(put("/api/dept/10")
+                        .header("If-Match", "\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dept)))
+                .andExpect(status().isPreconditionFailed())
+                .andDo(print());
+    }
+
+    @DisplayName("patchDept() : 부분 수정(JSON Merge Patch) 함수 테스트")
+    @Test
+    void patchDept() throws Exception {
+
+        given(deptService.patch(anyInt(), any(), any()))
+                .willReturn(true);
+
+        mockMvc.perform(patch("/api/dept/10")
+                        .header("If-Match", "\"1\"")
+                        .contentType("application/merge-patch+json")
+                        .content("{ \"loc\" : \"BUSAN\" }"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"2\""))
+                .andExpect(jsonPath("$.updated").value(1))
+                .andDo(print());
+    }
+
     @DisplayName("deleteDept() : 부서번호로 삭제 함수 테스트")
     @Test
     void deleteDept() throws Exception {
@@ -236,4 +345,82 @@ class DeptControllerTest {
                 .andExpect(status().isOk())
                 .andDo(print());
     }
+
+    @DisplayName("getDeptAll() : 키셋 페이징 다음 커서 헤더 테스트")
+    @Test
+    void getDeptAllNextCursor() throws Exception {
+        List<Dept> list = new ArrayList<>();
+        list.add(Dept.builder()
+                .dno(10)
+                .dname("SALES")
+                .loc("SEOUL")
+                .build());
+        list.add(Dept.builder()
+                .dno(20)
+                .dname("ACCOUNTING")
+                .loc("BUSAN")
+                .build());
+
+        given(deptService.findAll(any(), anyInt(), anyBoolean()))
+                .willReturn(list);
+
+//        size 만큼 꽉 찬 페이지면 마지막 기본키가 다음 커서로 전달되는가?
+        mockMvc.perform(get("/api/dept").param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Cursor", "20"))
+                .andDo(print());
+
+//        sort 값이 asc/desc 가 아니면 400 에러가 나오는가?
+        mockMvc.perform(get("/api/dept").param("sort", "up"))
+                .andExpect(status().isBadRequest())
+                .andDo(print());
+    }
+
+    @DisplayName("streamDeptAll() : 전체 조회(스트리밍) 함수 테스트")
+    @Test
+    void streamDeptAll() throws Exception {
+//        1) given 설정 : 서비스가 한 건씩 넘겨주는 것처럼 흉내냄
+        willAnswer(invocation -> {
+            Consumer<Dept> action = invocation.getArgument(0);
+            action.accept(Dept.builder()
+                .dno(10)
+                .dname("SALES")
+                .loc("SEOUL")
+                .build());
+            return 1L;
+        }).given(deptService).streamAll(any());
+
+//        2) 테스트 실행 : 스트리밍 응답은 비동기로 처리되므로 asyncDispatch 로 결과를 받음
+        MvcResult mvcResult = mockMvc.perform(get("/api/dept/stream"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+//        3) 결과 점검 : JSON 배열로 전송되었는가?
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].dname").value("SALES"))
+                .andDo(print());
+    }
+
+    @DisplayName("createDeptBatch() : 여러 건 생성 함수 테스트")
+    @Test
+    void createDeptBatch() throws Exception {
+
+        List<Dept> list = new ArrayList<>();
+        list.add(Dept.builder()
+                .dname("SALES")
+                .loc("SEOUL")
+                .build());
+
+        given(deptService.saveAll(any()))
+                .willReturn(list);
+
+//        테스팅 실행 : JSON 배열 전송
+        mockMvc.perform(post("/api/dept/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(list)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].dname").value("SALES"))
+                .andDo(print());
+    }
 }
\ No newline at end of file
@@ -2,7 +2,13 @@ package com.example.simpledms.controller;
 
 
 import com.example.simpledms.model.Emp;
+import com.example.simpledms.service.ChangeFeedService;
+import com.example.simpledms.service.DbCircuitBreaker;
+import com.example.simpledms.service.EmpGroupCommitService;
 import com.example.simpledms.service.EmpService;
+import com.example.simpledms.service.ResponseCacheService;
+import com.example.simpledms.service.TableVersionService;
+import com.example.simpledms.service.EmpSyncService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -10,18 +16,30 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
-import static org.mockito.BDDMockito.willDoNothing;
+import static org.mockito.BDDMockito.willAnswer;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -39,6 +57,9 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
  */
 @ExtendWith(SpringExtension.class)
 @WebMvcTest(controllers = EmpController.class)
+// 조회 응답 캐시/테이블 버전은 실제 객체 사용, 테스트마다 가짜 데이터가 다르므로 응답 캐시는 끄기
+@Import({ResponseCacheService.class, TableVersionService.class, DbCircuitBreaker.class})
+@TestPropertySource(properties = "simpledms.response-cache.enabled=false")
 class EmpControllerTest {
 
     //    가짜 객체 받기
@@ -48,9 +69,115 @@ class EmpControllerTest {
     @MockBean
     private EmpService empService; // 서비스에 가짜객체 넣기
 
+    @MockBean
+    private ChangeFeedService changeFeedService; // 변경분 조회 서비스 가짜객체
+
+    @MockBean
+    private EmpGroupCommitService empGroupCommitService; // 묶음 저장 서비스 가짜객체 ( isEnabled() == false )
+
+    @MockBean
+    private EmpSyncService empSyncService; // 전체 동기화 서비스 가짜객체
+
     //    잭슨(jackson) 객체 생성 : 객체(모델) to Json, json to 객체(모델) 자동 변환시켜주는 라이브러리
     ObjectMapper objectMapper = new ObjectMapper();
 
+    @DisplayName("getEmpAll() : ids 가 있으면 요청한 순서대로 조회 + 없는 번호 목록 전송")
+    @Test
+    void getEmpAllByIds() throws Exception{
+
+        Map<Integer, Emp> found = new LinkedHashMap<>();
+        found.put(7499, Emp.builder().eno(7499).ename("ALLEN").build());
+        found.put(7369, Emp.builder().eno(7369).ename("SMITH").build());
+
+//        중복된 번호는 1번만 조회
+        given(empService.findAllByIds(Arrays.asList(7499, 9999, 7369)))
+                .willReturn(found);
+
+        mockMvc.perform(get("/api/emp").param("ids", "7499,9999,7369,7499"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].ename").value("ALLEN"))
+                .andExpect(jsonPath("$.items[1].ename").value("SMITH"))
+                .andExpect(jsonPath("$.missing[0]").value(9999))
+                .andDo(print());
+    }
+
+    @DisplayName("getEmpAll() : fields 가 있으면 필요한 속성만 조회")
+    @Test
+    void getEmpAllFields() throws Exception{
+
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("eno", 7369);
+        row.put("ename", "SMITH");
+        row.put("dno", 20);
+        List<Map<String, Object>> rows = new ArrayList<>();
+        rows.add(row);
+
+        given(empService.findAllFields(eq(Arrays.asList("ename", "dno")), any(), any(), anyInt(), anyBoolean()))
+                .willReturn(rows);
+
+        mockMvc.perform(get("/api/emp").param("fields", "ename,dno"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].ename").value("SMITH"))
+                .andExpect(jsonPath("$[0].job").doesNotExist())
+                .andDo(print());
+    }
+
+    @DisplayName("lookupEmp() : 기본키 목록이 비어 있으면 400 에러")
+    @Test
+    void lookupEmpEmpty() throws Exception{
+
+        mockMvc.perform(post("/api/emp/lookup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isBadRequest())
+                .andDo(print());
+    }
+
+    @DisplayName("suggestEmp() : 사원명 자동완성 함수 테스트")
+    @Test
+    void suggestEmp() throws Exception{
+
+        given(empService.suggest("SM", null))
+                .willReturn(Collections.singletonList("SMITH"));
+        given(empService.suggest(null, null))
+                .willThrow(new IllegalArgumentException("prefix 는 1글자 이상이어야 합니다"));
+
+        mockMvc.perform(get("/api/emp/suggest").param("prefix", "SM"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0]").value("SMITH"))
+                .andDo(print());
+
+//        prefix 가 없으면 400 에러
+        mockMvc.perform(get("/api/emp/suggest"))
+                .andExpect(status().isBadRequest())
+                .andDo(print());
+    }
+
+    @DisplayName("getEmpAll() : fuzzy=1 이면 오타 허용 검색 + offset 커서 테스트")
+    @Test
+    void getEmpAllFuzzy() throws Exception{
+
+        List<Emp> list = new ArrayList<>();
+        list.add(Emp.builder()
+                .eno(7369)
+                .ename("SMITH")
+                .build());
+
+        given(empService.findAllByEnameFuzzy("SMTIH", 0, 1))
+                .willReturn(list);
+
+        mockMvc.perform(get("/api/emp").param("ename", "SMTIH").param("fuzzy", "1").param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].ename").value("SMITH"))
+                .andExpect(header().string("X-Next-Cursor", "1"))
+                .andDo(print());
+
+//        최대 offset(1000) 을 넘는 커서는 400 에러
+        mockMvc.perform(get("/api/emp").param("ename", "SMTIH").param("fuzzy", "1").param("cursor", "1001"))
+                .andExpect(status().isBadRequest())
+                .andDo(print());
+    }
+
     @DisplayName("getEmpAll() : 사원 모두 조회 함수 테스트")
     @Test
     void getEmpAll() throws Exception{
@@ -90,7 +217,7 @@ class EmpControllerTest {
 
 
 //        2) given 설정 : 가짜 데이터를 결과로 미리 예측
-        given(empService.findAll())
+        given(empService.findAll(any(), anyInt(), anyBoolean()))
                 .willReturn(list);
 //        3) when 설정 : 테스팅 실행 -> 결과 == 확인로 미리 예측확인 ( 등일 : OK , 틀리면 : 에러 )
 //        1> url/api/dept 인가?
@@ -104,12 +231,59 @@ class EmpControllerTest {
     @Test
     void removeAll() throws Exception{
 
-        //        given() : 기댓값 설정 ( void 함수 , 리턴값이 없음 )
-//        willDoNothing().given(서비스객체).함수명() : 리턴값이 없는 함수에 기댓값 설정하는 방법
-        willDoNothing().given(empService).removeAll();
+//        given() : 기댓값 설정 ( 삭제된 건수 리턴 )
+        given(empService.removeAll(any()))
+                .willReturn(3);
 
         mockMvc.perform(delete("/api/emp/all")) // 2) 테스트 실행
                 .andExpect(status().isOk())                // 3) 테스트 결과 검토
+                .andExpect(jsonPath("$.deleted").value(3))
+                .andDo(print());
+    }
+
+    @DisplayName("raiseSalary() : 급여 일괄 인상 함수 테스트")
+    @Test
+    void raiseSalary() throws Exception{
+
+        given(empService.raiseSalary(30, 1.05))
+                .willReturn(6);
+
+        mockMvc.perform(put("/api/emp/bulk/salary?dno=30&rate=1.05"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.updated").value(6))
+                .andDo(print());
+    }
+
+    @DisplayName("moveDept() : 없는 부서로 이동 시 400 에러 테스트")
+    @Test
+    void moveDeptBadRequest() throws Exception{
+
+        given(empService.moveDept(30, 99))
+                .willThrow(new IllegalArgumentException("없는 부서번호입니다 : 99"));
+
+        mockMvc.perform(put("/api/emp/bulk/dept?from=30&to=99"))
+                .andExpect(status().isBadRequest())
+                .andDo(print());
+    }
+
+    @DisplayName("syncEmp() : 전체 동기화 함수 테스트")
+    @Test
+    void syncEmp() throws Exception{
+
+//        given() : 전달받은 스냅샷을 끝까지 읽고 결과 리턴
+        willAnswer(invocation -> {
+            Consumer<Consumer<Emp>> source = invocation.getArgument(0);
+            List<Emp> read = new ArrayList<>();
+            source.accept(read::add);
+            assertThat(read.size()).isEqualTo(2);
+            return new EmpSyncService.SyncResult();
+        }).given(empSyncService).sync(any(), anyBoolean());
+
+        mockMvc.perform(put("/api/emp/sync?deleteMissing=true")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"eno\":7369,\"ename\":\"SMITH\"},{\"eno\":7499,\"ename\":\"ALLEN\"}]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.inserted").value(0))
                 .andDo(print());
     }
 
@@ -187,8 +361,9 @@ class EmpControllerTest {
                 .dno(10)
                 .build();
 
-        given(empService.save(any()))
-                .willReturn(emp);
+        emp.setVersion(1L);
+        given(empService.update(anyInt(), any(), any()))
+                .willReturn(Optional.of(emp));
 
 //        테스팅 실행
         mockMvc.perform(put("/api/emp/7777")
@@ -196,10 +371,54 @@ class EmpControllerTest {
                         .content(objectMapper.writeValueAsString(emp)))
 //                        .content("{ \"dno\" : 10, \"dname\" : \"SALES2\", \"loc\": \"SEOUL2\"}"))
                 .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"1\""))
 //                .andExpect(jsonPath("$.dname").value("SALES2"))
                 .andDo(print());  // test 과정을 화면에 출력하는 함수
     }
 
+    @DisplayName("updateEmpConflict() : If-Match 버전이 다르면 412 에러 테스트")
+    @Test
+    void updateEmpConflict() throws Exception {
+
+        Emp emp = Emp.builder()
+                .eno(7777)
+                .ename("DODO")
+                .job("CLERK")
+                .manager(8888)
+                .hiredate("2022-11-04")
+                .salary(900)
+                .commission(500)
+                .dno(10)
+                .build();
+
+        given(empService.update(anyInt(), any(), any()))
+                .willThrow(new OptimisticLockingFailureException("conflict"));
+
+        mockMvc.perform(put("/api/emp/8000")
+                        .header("If-Match", "\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(emp)))
+                .andExpect(status().isPreconditionFailed())
+                .andDo(print());
+    }
+
+    @DisplayName("patchEmp() : 부분 수정(JSON Merge Patch) 함수 테스트")
+    @Test
+    void patchEmp() throws Exception {
+
+        given(empService.patch(anyInt(), any(), any()))
+                .willReturn(true);
+
+        mockMvc.perform(patch("/api/emp/8000")
+                        .header("If-Match", "\"1\"")
+                        .contentType("application/merge-patch+json")
+                        .content("{ \"salary\" : 3000 }"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"2\""))
+                .andExpect(jsonPath("$.updated").value(1))
+                .andDo(print());
+    }
+
     @DisplayName("deleteEmp() : 사원번호로 삭제 함수 테스트")
     @Test
     void deleteEmp() throws Exception{
@@ -212,4 +431,122 @@ class EmpControllerTest {
                 .andExpect(status().isOk())
                 .andDo(print());
     }
-}
\ No newline at end of file
+
+    @DisplayName("getEmpAll() : 키셋 페이징 다음 커서 헤더 테스트")
+    @Test
+    void getEmpAllNextCursor() throws Exception {
+        List<Emp> list = new ArrayList<>();
+        list.add(Emp.builder()
+                .eno(7777)
+                .ename("DODO")
+                .job("CLERK")
+                .manager(8888)
+                .hiredate("2022-11-04")
+                .salary(900)
+                .commission(500)
+                .dno(10)
+                .build());
+        list.add(Emp.builder()
+                .eno(7778)
+                .ename("GOGO")
+                .job("CLERK")
+                .manager(8878)
+                .hiredate("2022-11-04")
+                .salary(800)
+                .commission(400)
+                .dno(20)
+                .build());
+
+        given(empService.findAll(any(), anyInt(), anyBoolean()))
+                .willReturn(list);
+
+//        size 만큼 꽉 찬 페이지면 마지막 기본키가 다음 커서로 전달되는가?
+        mockMvc.perform(get("/api/emp").param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Cursor", "7778"))
+                .andDo(print());
+
+//        sort 값이 asc/desc 가 아니면 400 에러가 나오는가?
+        mockMvc.perform(get("/api/emp").param("sort", "up"))
+                .andExpect(status().isBadRequest())
+                .andDo(print());
+    }
+
+    @DisplayName("streamEmpAll() : 전체 조회(스트리밍) 함수 테스트")
+    @Test
+    void streamEmpAll() throws Exception {
+//        1) given 설정 : 서비스가 한 건씩 넘겨주는 것처럼 흉내냄
+        willAnswer(invocation -> {
+            Consumer<Emp> action = invocation.getArgument(0);
+            action.accept(Emp.builder()
+                .eno(7777)
+                .ename("DODO")
+                .job("CLERK")
+                .manager(8888)
+                .hiredate("2022-11-04")
+                .salary(900)
+                .commission(500)
+                .dno(10)
+                .build());
+            return 1L;
+        }).given(empService).streamAll(any());
+
+//        2) 테스트 실행 : 스트리밍 응답은 비동기로 처리되므로 asyncDispatch 로 결과를 받음
+        MvcResult mvcResult = mockMvc.perform(get("/api/emp/stream"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+//        3) 결과 점검 : JSON 배열로 전송되었는가?
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].ename").value("DODO"))
+                .andDo(print());
+    }
+
+    @DisplayName("createEmpBatch() : 여러 건 생성 함수 테스트")
+    @Test
+    void createEmpBatch() throws Exception {
+
+        List<Emp> list = new ArrayList<>();
+        list.add(Emp.builder()
+                .ename("DODO")
+                .job("CLERK")
+                .manager(8888)
+                .hiredate("2022-11-04")
+                .salary(900)
+                .commission(500)
+                .dno(10)
+                .build());
+
+        given(empService.saveAll(any()))
+                .willReturn(list);
+
+//        테스팅 실행 : JSON 배열 전송
+        mockMvc.perform(post("/api/emp/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(list)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].ename").value("DODO"))
+                .andDo(print());
+    }
+
+    @DisplayName("createEmpBatch() : 사원번호가 있는 데이터는 400 에러 ( 수정은 PUT/PATCH )")
+    @Test
+    void createEmpBatchWithEno() throws Exception {
+
+        List<Emp> list = new ArrayList<>();
+        list.add(Emp.builder()
+                .eno(7369)
+                .ename("SMITH")
+                .build());
+
+        given(empService.saveAll(any()))
+                .willThrow(new IllegalArgumentException());
+
+        mockMvc.perform(post("/api/emp/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(list)))
+                .andExpect(status().isBadRequest())
+                .andDo(print());
+    }
+}
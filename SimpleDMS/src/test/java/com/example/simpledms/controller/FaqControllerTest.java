@@ -1,7 +1,11 @@
 package com.example.simpledms.controller;
 
 import com.example.simpledms.model.Faq;
+import com.example.simpledms.service.ChangeFeedService;
+import com.example.simpledms.service.DbCircuitBreaker;
 import com.example.simpledms.service.FaqService;
+import com.example.simpledms.service.ResponseCacheService;
+import com.example.simpledms.service.TableVersionService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -9,18 +13,27 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.BDDMockito.given;
-import static org.mockito.BDDMockito.willDoNothing;
+import static org.mockito.BDDMockito.willAnswer;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -77,6 +90,9 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 // @ExtendWith : 컨트롤러 테스르를 위한 어노테이션, URL 관련된 기능들을 사용할 수 있게 함
 @ExtendWith(SpringExtension.class)
 @WebMvcTest(controllers = FaqController.class)
+// 조회 응답 캐시/테이블 버전은 실제 객체 사용, 테스트마다 가짜 데이터가 다르므로 응답 캐시는 끄기
+@Import({ResponseCacheService.class, TableVersionService.class, DbCircuitBreaker.class})
+@TestPropertySource(properties = "simpledms.response-cache.enabled=false")
 class FaqControllerTest {
 
     //    가짜 객체 받기
@@ -86,6 +102,9 @@ class FaqControllerTest {
     @MockBean
     private FaqService faqService; // 서비스에 가짜객체 넣기
 
+    @MockBean
+    private ChangeFeedService changeFeedService; // 변경분 조회 서비스 가짜객체
+
     //    잭슨(jackson) 객체 생성 : 객체(모델) to Json, json to 객체(모델) 자동 변환시켜주는 라이브러리
     ObjectMapper objectMapper = new ObjectMapper();
 
@@ -115,7 +134,7 @@ class FaqControllerTest {
                 .build());
 
 //        2) given 설정 : 가짜 데이터를 결과로 미리 예측
-        given(faqService.findAll())
+        given(faqService.findAll(any(), anyInt(), anyBoolean()))
                 .willReturn(list);
 //        3) when 설정 : 테스팅 실행 -> 결과 == 확인로 미리 예측확인 ( 등일 : OK , 틀리면 : 에러 )
 //        1> url/api/faq 인가?
@@ -134,12 +153,20 @@ class FaqControllerTest {
     @DisplayName("removeAll() : 부서 전체 삭제 함수 테스트")
     @Test
     void removeAll() throws Exception {
-//        given() : 기댓값 설정 ( void 함수 , 리턴값이 없음 )
-//        willDoNothing().given(서비스객체).함수명() : 리턴값이 없는 함수에 기댓값 설정하는 방법
-        willDoNothing().given(faqService).removeAll();
+//        given() : 기댓값 설정 ( 삭제된 건수 리턴 )
+        given(faqService.removeAll(any()))
+                .willReturn(3);
 
         mockMvc.perform(delete("/api/faq/all")) // 2) 테스트 실행
                 .andExpect(status().isOk())                // 3) 테스트 결과 검토
+                .andExpect(jsonPath("$.deleted").value(3))
+                .andDo(print());
+
+//        빈 title 은 400 에러 ( 전체 삭제는 title 없이 요청 )
+        given(faqService.removeAll(""))
+                .willThrow(new IllegalArgumentException());
+        mockMvc.perform(delete("/api/faq/all").param("title", ""))
+                .andExpect(status().isBadRequest())
                 .andDo(print());
     }
 
@@ -208,8 +235,9 @@ class FaqControllerTest {
                 .content("내용10")
                 .build();
 
-        given(faqService.save(any()))
-                .willReturn(faq);
+        faq.setVersion(1L);
+        given(faqService.update(anyInt(), any(), any()))
+                .willReturn(Optional.of(faq));
 
 //        테스팅 실행
         mockMvc.perform(put("/api/faq/10")
@@ -217,11 +245,50 @@ class FaqControllerTest {
                         .content(objectMapper.writeValueAsString(faq)))
 //                        .content("{ \"dno\" : 10, \"dname\" : \"SALES2\", \"loc\": \"SEOUL2\"}"))
                 .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"1\""))
 //                .andExpect(jsonPath("$.dname").value("SALES2"))
                 .andDo(print());  // test 과정을 화면에 출력하는 함수
 
     }
 
+    @DisplayName("updateFaqConflict() : If-Match 버전이 다르면 412 에러 테스트")
+    @Test
+    void updateFaqConflict() throws Exception {
+
+        Faq faq = Faq.builder()
+                .no(10)
+                .title("제목10")
+                .content("내용10")
+                .build();
+
+        given(faqService.update(anyInt(), any(), any()))
+                .willThrow(new OptimisticLockingFailureException("conflict"));
+
+        mockMvc.perform(put("/api/faq/1")
+                        .header("If-Match", "\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(faq)))
+                .andExpect(status().isPreconditionFailed())
+                .andDo(print());
+    }
+
+    @DisplayName("patchFaq() : 부분 수정(JSON Merge Patch) 함수 테스트")
+    @Test
+    void patchFaq() throws Exception {
+
+        given(faqService.patch(anyInt(), any(), any()))
+                .willReturn(true);
+
+        mockMvc.perform(patch("/api/faq/1")
+                        .header("If-Match", "\"1\"")
+                        .contentType("application/merge-patch+json")
+                        .content("{ \"title\" : \"제목2\" }"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"2\""))
+                .andExpect(jsonPath("$.updated").value(1))
+                .andDo(print());
+    }
+
     @DisplayName("deleteFaq() : 부서번호로 삭제 함수 테스트")
     @Test
     void deleteFaq() throws Exception {
@@ -234,4 +301,165 @@ class FaqControllerTest {
                 .andExpect(status().isOk())
                 .andDo(print());
     }
+
+    @DisplayName("getFaqAll() : 키셋 페이징 다음 커서 헤더 테스트")
+    @Test
+    void getFaqAllNextCursor() throws Exception {
+        List<Faq> list = new ArrayList<>();
+        list.add(Faq.builder()
+                .no(10)
+                .title("제목10")
+                .content("내용10")
+                .build());
+        list.add(Faq.builder()
+                .no(20)
+                .title("제목20")
+                .content("내용20")
+                .build());
+
+        given(faqService.findAll(any(), anyInt(), anyBoolean()))
+                .willReturn(list);
+
+//        size 만큼 꽉 찬 페이지면 마지막 기본키가 다음 커서로 전달되는가?
+        mockMvc.perform(get("/api/faq").param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Cursor", "20"))
+                .andDo(print());
+
+//        sort 값이 asc/desc 가 아니면 400 에러가 나오는가?
+        mockMvc.perform(get("/api/faq").param("sort", "up"))
+                .andExpect(status().isBadRequest())
+                .andDo(print());
+    }
+
+    @DisplayName("getFaqAll() : title 검색은 검색 색인(관련도 순) + offset 커서 테스트")
+    @Test
+    void getFaqAllSearch() throws Exception {
+        List<Faq> list = new ArrayList<>();
+        list.add(Faq.builder()
+                .no(20)
+                .title("비밀번호 변경")
+                .content("내용20")
+                .build());
+        list.add(Faq.builder()
+                .no(10)
+                .title("회원 탈퇴")
+                .content("비밀번호 확인")
+                .build());
+
+        given(faqService.search("비밀번호", 2, 2))
+                .willReturn(list);
+
+//        검색 결과가 꽉 찼으면 다음 커서 = 이미 받은 건수(offset + size)
+        mockMvc.perform(get("/api/faq").param("title", "비밀번호").param("cursor", "2").param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].no").value(20))
+                .andExpect(header().string("X-Next-Cursor", "4"))
+                .andDo(print());
+
+//        음수 커서는 400 에러
+        mockMvc.perform(get("/api/faq").param("title", "비밀번호").param("cursor", "-1"))
+                .andExpect(status().isBadRequest())
+                .andDo(print());
+
+//        최대 offset(1000) 을 넘는 커서도 400 에러 ( like 검색으로 대신할 때 offset + size 건을 읽으므로 )
+        mockMvc.perform(get("/api/faq").param("title", "비밀번호").param("cursor", "1001"))
+                .andExpect(status().isBadRequest())
+                .andDo(print());
+
+//        다음 커서가 최대 offset 을 넘으면 다음 커서 없음
+        given(faqService.search("비밀번호", 999, 2))
+                .willReturn(list);
+        mockMvc.perform(get("/api/faq").param("title", "비밀번호").param("cursor", "999").param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("X-Next-Cursor"))
+                .andDo(print());
+    }
+
+    @DisplayName("getFaqId() : 관련 FAQ(related) 같이 조회 테스트")
+    @Test
+    void getFaqIdRelated() throws Exception {
+        given(faqService.findById(10))
+                .willReturn(Optional.of(Faq.builder()
+                        .no(10)
+                        .title("비밀번호 변경")
+                        .content("내용10")
+                        .build()));
+
+        Map<String, Object> item = new LinkedHashMap<>();
+        item.put("no", 20);
+        item.put("title", "비밀번호 찾기");
+        item.put("score", 0.8123);
+        given(faqService.findRelated(10, 3))
+                .willReturn(Collections.singletonList(item));
+        given(faqService.findRelated(10, 21))
+                .willThrow(new IllegalArgumentException());
+
+        mockMvc.perform(get("/api/faq/10").param("related", "3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.no").value(10))
+                .andExpect(jsonPath("$.related[0].no").value(20))
+                .andExpect(jsonPath("$.related[0].score").value(0.8123))
+                .andDo(print());
+
+//        related=0 이면 FAQ 만 전송
+        mockMvc.perform(get("/api/faq/10").param("related", "0"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("비밀번호 변경"))
+                .andExpect(jsonPath("$.related").doesNotExist())
+                .andDo(print());
+
+//        최대 건수를 넘으면 400 에러
+        mockMvc.perform(get("/api/faq/10").param("related", "21"))
+                .andExpect(status().isBadRequest())
+                .andDo(print());
+    }
+
+    @DisplayName("streamFaqAll() : 전체 조회(스트리밍) 함수 테스트")
+    @Test
+    void streamFaqAll() throws Exception {
+//        1) given 설정 : 서비스가 한 건씩 넘겨주는 것처럼 흉내냄
+        willAnswer(invocation -> {
+            Consumer<Faq> action = invocation.getArgument(0);
+            action.accept(Faq.builder()
+                .no(10)
+                .title("제목10")
+                .content("내용10")
+                .build());
+            return 1L;
+        }).given(faqService).streamAll(any());
+
+//        2) 테스트 실행 : 스트리밍 응답은 비동기로 처리되므로 asyncDispatch 로 결과를 받음
+        MvcResult mvcResult = mockMvc.perform(get("/api/faq/stream"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+//        3) 결과 점검 : JSON 배열로 전송되었는가?
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].title").value("제목10"))
+                .andDo(print());
+    }
+
+    @DisplayName("createFaqBatch() : 여러 건 생성 함수 테스트")
+    @Test
+    void createFaqBatch() throws Exception {
+
+        List<Faq> list = new ArrayList<>();
+        list.add(Faq.builder()
+                .title("제목10")
+                .content("내용10")
+                .build());
+
+        given(faqService.saveAll(any()))
+                .willReturn(list);
+
+//        테스팅 실행 : JSON 배열 전송
+        mockMvc.perform(post("/api/faq/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(list)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].title").value("제목10"))
+                .andDo(print());
+    }
 }
\ No newline at end of file
@@ -0,0 +1,62 @@
+package com.example.simpledms.controller;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * packageName    : com.example.simpledms.controller
+ * fileName       : OutboxStubControllerTest
+ * author         : ds
+ * date           : 2026-10-18
+ * description    : 사원 변경 알림(webhook) 테스트용 수신 컨트롤러 테스트
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 2026-10-18        ds       최초 생성
+ */
+@ExtendWith(SpringExtension.class)
+@WebMvcTest(controllers = OutboxStubController.class)
+// 테스트용 수신처는 local 프로필에서만 등록됨
+@ActiveProfiles("local")
+class OutboxStubControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @DisplayName("receive() : 변경 알림 묶음 수신 후 건수/마지막 id 조회 테스트")
+    @Test
+    void receive() throws Exception {
+        mockMvc.perform(post("/api/outbox/stub")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"events\":[{\"id\":1,\"type\":\"UPDATE\",\"eno\":7369},{\"id\":2,\"type\":\"DELETE\",\"eno\":7499}]}"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/outbox/stub"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.batchCount").value(1))
+                .andExpect(jsonPath("$.eventCount").value(2))
+                .andExpect(jsonPath("$.lastId").value(2))
+                .andDo(print());
+    }
+
+    @DisplayName("receive() : events 가 없으면 400")
+    @Test
+    void receiveBadRequest() throws Exception {
+        mockMvc.perform(post("/api/outbox/stub")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{}"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.simpledms.controller;
+
+import com.example.simpledms.service.CacheStatsService;
+import com.example.simpledms.service.ChangeStreamService;
+import com.example.simpledms.service.DbCircuitBreaker;
+import com.example.simpledms.service.EmpOutboxDispatcher;
+import com.example.simpledms.service.FaqSearchService;
+import com.example.simpledms.service.NameSearchService;
+import com.example.simpledms.service.ResponseCacheService;
+import com.example.simpledms.service.SingleFlightService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * packageName    : com.example.simpledms.controller
+ * fileName       : StatsControllerTest
+ * author         : ds
+ * date           : 2026-10-18
+ * description    : 운영 통계 컨트롤러 테스트
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 2026-10-18        ds       최초 생성
+ */
+@ExtendWith(SpringExtension.class)
+@WebMvcTest(controllers = StatsController.class)
+class StatsControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private CacheStatsService cacheStatsService; // 서비스에 가짜객체 넣기
+
+    @MockBean
+    private ResponseCacheService responseCacheService;
+
+    @MockBean
+    private ChangeStreamService changeStreamService;
+
+    @MockBean
+    private EmpOutboxDispatcher empOutboxDispatcher;
+
+    @MockBean
+    private SingleFlightService singleFlightService;
+
+    @MockBean
+    private DbCircuitBreaker dbCircuitBreaker;
+
+    @MockBean
+    private FaqSearchService faqSearchService;
+
+    @MockBean
+    private NameSearchService nameSearchService;
+
+    @DisplayName("getCacheStats() : 캐시 통계 조회 함수 테스트")
+    @Test
+    void getCacheStats() throws Exception {
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", true);
+        stats.put("secondLevel", Collections.singletonMap("hit", 10));
+
+        given(cacheStatsService.getStats())
+                .willReturn(stats);
+
+        mockMvc.perform(get("/api/stats/cache"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.secondLevel.hit").value(10))
+                .andDo(print());
+    }
+
+    @DisplayName("evictCache() : 캐시 비우기 함수 테스트")
+    @Test
+    void evictCache() throws Exception {
+
+        mockMvc.perform(delete("/api/stats/cache"))
+                .andExpect(status().isOk())
+                .andDo(print());
+
+        verify(cacheStatsService, times(1)).evictAll();
+    }
+}
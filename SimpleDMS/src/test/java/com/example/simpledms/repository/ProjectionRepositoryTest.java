@@ -0,0 +1,141 @@
+package com.example.simpledms.repository;
+
+import com.example.simpledms.model.Emp;
+import com.example.simpledms.util.PageUtil;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import javax.persistence.EntityManager;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * packageName    : com.example.simpledms.repository
+ * fileName       : ProjectionRepositoryTest
+ * author         : ds
+ * date           : 2026-10-18
+ * description    : 필요한 속성(컬럼)만 조회하는 리파지토리 테스트 + 기존 엔티티 조회와 시간 비교
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 2026-10-18        ds       최초 생성
+ */
+@ExtendWith(SpringExtension.class)
+@DataJpaTest
+// 외장 DB ( 오라클 DB )로 테스트 진행
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(ProjectionRepository.class)
+class ProjectionRepositoryTest {
+
+    private static final Logger log = LoggerFactory.getLogger(ProjectionRepositoryTest.class);
+
+//    시간 비교 반복 횟수
+    private static final int ROUNDS = 200;
+
+    @Autowired
+    private ProjectionRepository projectionRepository;
+
+    @Autowired
+    private EmpRepository empRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private final List<String> fields = Arrays.asList("ename", "dno");
+
+    @DisplayName("findAll() : 요청한 속성만 조회, 영속성 컨텍스트에 엔티티가 남지 않음")
+    @Test
+    void findAll() {
+        entityManager.clear();
+
+        List<Map<String, Object>> rows = projectionRepository.findAll(Emp.class, "eno", fields,
+                "ename", null, Integer.MIN_VALUE, PageUtil.DEFAULT_SIZE, false);
+
+        assertThat(rows).isNotEmpty();
+        assertThat(rows.get(0).keySet()).containsExactly("eno", "ename", "dno");
+        assertThat(entityManager.unwrap(SessionImplementor.class)
+                .getPersistenceContext().getNumberOfManagedEntities()).isZero();
+    }
+
+    @DisplayName("findAll() : 엔티티에 없는 속성은 에러")
+    @Test
+    void findAllUnknownField() {
+        assertThatThrownBy(() -> projectionRepository.findAll(Emp.class, "eno", Arrays.asList("password"),
+                "ename", null, Integer.MIN_VALUE, PageUtil.DEFAULT_SIZE, false))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+//    시간 비교 : 같은 페이지를 기존 방식(엔티티 전체)과 필요한 속성만 조회로 ROUNDS 번씩 조회해서 평균(ms) 로그
+//     매번 영속성 컨텍스트를 비워서 엔티티 생성/스냅샷 비용이 포함되게 함
+//     검증이 아니라 측정이므로 기본 test 에서는 제외 ( ./gradlew benchmark 로 실행 )
+//     사원이 페이지 크기보다 적으면 측정용 사원을 추가 ( 테스트 트랜잭션이 끝나면 rollback )
+    @DisplayName("benchmark : 엔티티 전체 조회 vs 필요한 속성만 조회")
+    @Tag("benchmark")
+    @Test
+    void benchmark() {
+        int size = PageUtil.DEFAULT_SIZE;
+        seed(size);
+
+//        1) 준비 실행 ( JIT, 실행계획 캐시 )
+        for (int i = 0; i < ROUNDS / 10; i++) {
+            loadEntities(size);
+            loadFields(size);
+        }
+
+//        2) 시간 측정
+        long start = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            loadEntities(size);
+        }
+        double entityMs = (System.nanoTime() - start) / 1_000_000.0 / ROUNDS;
+
+        start = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            loadFields(size);
+        }
+        double fieldsMs = (System.nanoTime() - start) / 1_000_000.0 / ROUNDS;
+
+        log.info("benchmark rows={} rounds={} : entity {} ms, fields(eno,ename,dno) {} ms",
+                size, ROUNDS, String.format("%.3f", entityMs), String.format("%.3f", fieldsMs));
+    }
+
+//    측정용 사원 추가 : 삭제되지 않은 사원이 size 명이 되도록
+//     native insert 로 DELETE_YN 을 직접 넣음 ( 컬럼 기본값(DEFAULT 'N')이 없는 테이블에서도 조회되게 )
+    private void seed(int size) {
+        int maxEno = ((Number) entityManager.createNativeQuery("SELECT COALESCE(MAX(ENO), 0) FROM TB_EMP")
+                .getSingleResult()).intValue();
+        for (long i = empRepository.count(); i < size; i++) {
+            entityManager.createNativeQuery("INSERT INTO TB_EMP " +
+                            "(ENO, ENAME, JOB, MANAGER, HIREDATE, SALARY, COMMISSION, DNO, DELETE_YN, VERSION, CHANGE_SEQ) " +
+                            "VALUES (?, ?, 'CLERK', 7902, '2026-10-18', 1000, 0, 20, 'N', 0, 0)")
+                    .setParameter(1, ++maxEno)
+                    .setParameter(2, "BENCH" + i)
+                    .executeUpdate();
+        }
+        entityManager.clear();
+    }
+
+    private void loadEntities(int size) {
+        entityManager.clear();
+        empRepository.findAllByEnoGreaterThan(Integer.MIN_VALUE, PageUtil.keysetPageable(size, "eno", false));
+    }
+
+    private void loadFields(int size) {
+        entityManager.clear();
+        projectionRepository.findAll(Emp.class, "eno", fields, "ename", null, Integer.MIN_VALUE, size, false);
+    }
+}
@@ -0,0 +1,159 @@
+package com.example.simpledms.service;
+
+import com.example.simpledms.model.BaseTimeEntity;
+import com.example.simpledms.model.Dept;
+import com.example.simpledms.repository.ChangeFeedRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+
+/**
+ * packageName    : com.example.simpledms.service
+ * fileName       : ChangeFeedServiceTest
+ * author         : ds
+ * date           : 2026-10-18
+ * description    : 변경분(change feed) 조회 서비스 테스트
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 2026-10-18        ds       최초 생성
+ */
+@ExtendWith(MockitoExtension.class)
+class ChangeFeedServiceTest {
+
+    @Mock
+    private ChangeFeedRepository changeFeedRepository; // 가짜 변경분 리파지토리
+
+    @InjectMocks
+    private ChangeFeedService changeFeedService;
+
+//    변경 순번이 changeSeq 인 부서
+    private Dept dept(int dno, long changeSeq) {
+        Dept dept = Dept.builder().dno(dno).dname("SALES").loc("SEOUL").build();
+        ReflectionTestUtils.setField(dept, "changeSeq", changeSeq);
+        return dept;
+    }
+
+    @DisplayName("changes() : since 가 없으면 처음(-1)부터 조회, 다음 커서는 마지막 데이터의 (순번, 기본키)")
+    @Test
+    void changesFirstPage() {
+        List<Dept> list = new ArrayList<>();
+        list.add(dept(10, 0L));
+        list.add(dept(20, 5L));
+
+        given(changeFeedRepository.findChanges(eq(Dept.class), eq("DNO"), eq(-1L), eq(Integer.MIN_VALUE), anyLong(), eq(2)))
+                .willReturn(list);
+
+        Map<String, Object> result = changeFeedService.changes(Dept.class, "DNO", Dept::getDno, null, null, 2);
+
+        assertThat(result.get("changes")).isEqualTo(list);
+        assertThat(result.get("since")).isEqualTo(5L);
+        assertThat(result.get("after")).isEqualTo(20);
+        assertThat(result.get("hasMore")).isEqualTo(true);
+    }
+
+    @DisplayName("changes() : safety-lag 이내에 발급된 순번은 조회하지 않음(upto)")
+    @Test
+    void changesSafetyLag() {
+        changeFeedService.safetyLagMs = 2000;
+        long before = BaseTimeEntity.changeSeqAt(System.currentTimeMillis() - 2000);
+
+        given(changeFeedRepository.findChanges(eq(Dept.class), eq("DNO"), eq(5L), eq(20), anyLong(), anyInt()))
+                .willAnswer(invocation -> {
+                    long upto = invocation.getArgument(4);
+                    assertThat(upto).isBetween(before, BaseTimeEntity.changeSeqAt(System.currentTimeMillis() - 2000));
+                    return Collections.emptyList();
+                });
+
+        Map<String, Object> result = changeFeedService.changes(Dept.class, "DNO", Dept::getDno, 5L, 20, null);
+
+//        변경분 없음 : 커서 그대로
+        assertThat(result.get("since")).isEqualTo(5L);
+        assertThat(result.get("after")).isEqualTo(20);
+        assertThat(result.get("hasMore")).isEqualTo(false);
+    }
+
+    @DisplayName("changes() : since 가 음수이면 IllegalArgumentException")
+    @Test
+    void changesInvalidSince() {
+        assertThatThrownBy(() -> changeFeedService.changes(Dept.class, "DNO", Dept::getDno, -5L, null, null))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @DisplayName("nextChangeSeq() : 같은 ms 안에서도 항상 이전 값보다 큰 순번 발급")
+    @Test
+    void nextChangeSeqMonotonic() {
+        long last = BaseTimeEntity.nextChangeSeq();
+        for (int i = 0; i < 10000; i++) {
+            long next = BaseTimeEntity.nextChangeSeq();
+            assertThat(next).isGreaterThan(last);
+            last = next;
+        }
+    }
+
+    @DisplayName("init() : safety-lag 가 서버끼리 시계 차이보다 짧으면 시작 에러")
+    @Test
+    void initSafetyLagTooShort() {
+        changeFeedService.safetyLagMs = 500;
+        changeFeedService.maxClockSkewMs = 1000;
+
+        assertThatThrownBy(() -> changeFeedService.init())
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @DisplayName("changes() : 진행 중(commit 전) 트랜잭션이 있으면 그 트랜잭션의 첫 순번 전까지만 조회, 끝나면 다시 시간 기준")
+    @Test
+    void changesInFlightTransaction() {
+        changeFeedService.safetyLagMs = 0;
+        List<Long> uptos = new ArrayList<>();
+        given(changeFeedRepository.findChanges(eq(Dept.class), eq("DNO"), eq(5L), eq(20), anyLong(), anyInt()))
+                .willAnswer(invocation -> {
+                    uptos.add(invocation.getArgument(4));
+                    return Collections.emptyList();
+                });
+
+        TransactionSynchronizationManager.initSynchronization();
+        long first;
+        try {
+            first = BaseTimeEntity.nextChangeSeq();
+            BaseTimeEntity.nextChangeSeq();
+//            트랜잭션마다 1번만 등록
+            assertThat(TransactionSynchronizationManager.getSynchronizations()).hasSize(1);
+            assertThat(BaseTimeEntity.lowestInFlightChangeSeq()).isEqualTo(first);
+
+//            오래 걸리는 트랜잭션 : 실패하지 않고 변경분 조회가 그 전까지만 진행
+            changeFeedService.changes(Dept.class, "DNO", Dept::getDno, 5L, 20, null);
+            assertThat(uptos.get(0)).isEqualTo(first - 1);
+
+            for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+                synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+            }
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+//        commit 후 : 진행 중 목록에서 빠짐 -> 현재 시간 기준
+        assertThat(BaseTimeEntity.lowestInFlightChangeSeq()).isEqualTo(Long.MAX_VALUE);
+        long before = BaseTimeEntity.changeSeqAt(System.currentTimeMillis());
+        changeFeedService.changes(Dept.class, "DNO", Dept::getDno, 5L, 20, null);
+        assertThat(uptos.get(1)).isGreaterThanOrEqualTo(before);
+    }
+}
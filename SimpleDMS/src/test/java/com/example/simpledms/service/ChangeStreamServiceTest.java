@@ -0,0 +1,134 @@
+package com.example.simpledms.service;
+
+import com.example.simpledms.model.Dept;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * packageName    : com.example.simpledms.service
+ * fileName       : ChangeStreamServiceTest
+ * author         : ds
+ * date           : 2026-10-18
+ * description    : 데이터 변경 알림(SSE) 구독자 버퍼 테스트
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 2026-10-18        ds       최초 생성
+ */
+class ChangeStreamServiceTest {
+
+    private final ChangeStreamService.Subscriber subscriber = new ChangeStreamService.Subscriber(new SseEmitter(), 3);
+
+    @DisplayName("offer() : 같은 기본키 변경은 합쳐짐 ( 생성 후 수정 -> 생성, 수정 후 삭제 -> 삭제 )")
+    @Test
+    void offerCoalesce() {
+        subscriber.offer(EntityChangeEvent.of(Dept.class, EntityChangeEvent.Type.CREATE, 10));
+        subscriber.offer(EntityChangeEvent.of(Dept.class, EntityChangeEvent.Type.UPDATE, 10));
+        subscriber.offer(EntityChangeEvent.of(Dept.class, EntityChangeEvent.Type.UPDATE, 20));
+        int merged = subscriber.offer(EntityChangeEvent.of(Dept.class, EntityChangeEvent.Type.DELETE, 20));
+
+        assertThat(merged).isEqualTo(1);
+        assertThat(subscriber.claim()).isTrue();
+
+        ChangeStreamService.Pending pending = subscriber.take();
+        assertThat(pending.reset).isFalse();
+        assertThat(pending.changes.get(EntityChangeEvent.Type.CREATE)).isEqualTo(Collections.singletonList(10));
+        assertThat(pending.changes.get(EntityChangeEvent.Type.DELETE)).isEqualTo(Collections.singletonList(20));
+        assertThat(pending.changes.containsKey(EntityChangeEvent.Type.UPDATE)).isFalse();
+
+//        다 꺼냈으면 전송 작업 종료
+        assertThat(subscriber.take()).isNull();
+    }
+
+    @DisplayName("offer() : 버퍼 크기를 넘거나 일괄 변경이면 reset 1건으로 대체")
+    @Test
+    void offerOverflow() {
+        subscriber.offer(EntityChangeEvent.of(Dept.class, EntityChangeEvent.Type.UPDATE, 10, 20, 30, 40));
+
+        assertThat(subscriber.claim()).isTrue();
+        ChangeStreamService.Pending pending = subscriber.take();
+        assertThat(pending.reset).isTrue();
+        assertThat(pending.changes).isEmpty();
+        assertThat(subscriber.take()).isNull();
+
+        subscriber.offer(EntityChangeEvent.of(Dept.class, EntityChangeEvent.Type.DELETE));
+        assertThat(subscriber.claim()).isTrue();
+        assertThat(subscriber.take().reset).isTrue();
+    }
+
+    @DisplayName("claim() : 전송 작업이 실행 중이면 새 전송 작업을 만들지 않음 ( 버퍼에 쌓임 )")
+    @Test
+    void claimOnce() {
+        subscriber.offer(EntityChangeEvent.of(Dept.class, EntityChangeEvent.Type.UPDATE, 10));
+        assertThat(subscriber.claim()).isTrue();
+
+        subscriber.offer(EntityChangeEvent.of(Dept.class, EntityChangeEvent.Type.UPDATE, 20));
+        subscriber.heartbeat();
+        assertThat(subscriber.claim()).isFalse();
+
+        ChangeStreamService.Pending pending = subscriber.take();
+        assertThat(pending.changes.get(EntityChangeEvent.Type.UPDATE)).isEqualTo(Arrays.asList(10, 20));
+        assertThat(pending.heartbeat).isTrue();
+        assertThat(subscriber.take()).isNull();
+
+//        빈 버퍼 : 전송 작업 없음
+        assertThat(subscriber.claim()).isFalse();
+    }
+
+    @DisplayName("dropStalled() : 쓰기가 write-timeout-ms 를 넘은 구독자는 끊고, 다른 구독자 전송은 계속됨")
+    @Test
+    void dropStalled() throws Exception {
+        ChangeStreamService changeStreamService = new ChangeStreamService();
+        changeStreamService.bufferSize = 10;
+        changeStreamService.heartbeatMs = 60000;
+        changeStreamService.senderThreads = 1;
+        changeStreamService.writeTimeoutMs = 100;
+        changeStreamService.init();
+
+//        느린 구독자 : TCP 버퍼가 꽉 차서 쓰기가 끝나지 않음
+        CountDownLatch release = new CountDownLatch(1);
+        SseEmitter slowEmitter = new SseEmitter() {
+            @Override
+            public void send(SseEventBuilder builder) throws IOException {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        CountDownLatch received = new CountDownLatch(1);
+        SseEmitter fastEmitter = new SseEmitter() {
+            @Override
+            public void send(SseEventBuilder builder) {
+                received.countDown();
+            }
+        };
+
+        try {
+            changeStreamService.add(Dept.class, new ChangeStreamService.Subscriber(slowEmitter, 10));
+            changeStreamService.onEntityChange(EntityChangeEvent.of(Dept.class, EntityChangeEvent.Type.UPDATE, 10));
+            changeStreamService.add(Dept.class, new ChangeStreamService.Subscriber(fastEmitter, 10));
+            changeStreamService.onEntityChange(EntityChangeEvent.of(Dept.class, EntityChangeEvent.Type.UPDATE, 20));
+
+//            전송 스레드 1개가 느린 구독자에게 붙잡혀도 빠른 구독자는 받음
+            assertThat(received.await(5, TimeUnit.SECONDS)).isTrue();
+            Map<String, Object> stats = changeStreamService.getStats();
+            assertThat(stats.get("droppedCount")).isEqualTo(1L);
+            assertThat(((Map<?, ?>) stats.get("subscribers")).get("dept")).isEqualTo(1);
+        } finally {
+            release.countDown();
+            changeStreamService.shutdown();
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.simpledms.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.dao.TransientDataAccessResourceException;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * packageName    : com.example.simpledms.service
+ * fileName       : DbCircuitBreakerTest
+ * author         : ds
+ * date           : 2026-10-18
+ * description    : DB 조회 차단기(circuit breaker) 서비스 테스트
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 2026-10-18        ds       최초 생성
+ */
+class DbCircuitBreakerTest {
+
+    private DbCircuitBreaker dbCircuitBreaker;
+
+//    조회 함수(loader) 실행 횟수
+    private final AtomicInteger loadCount = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        dbCircuitBreaker = new DbCircuitBreaker();
+        dbCircuitBreaker.failureThreshold = 2;
+        dbCircuitBreaker.openMs = 60000;
+    }
+
+//    제한시간 초과로 실패하는 가짜 조회
+    private void timeout() {
+        try {
+            dbCircuitBreaker.call(() -> {
+                loadCount.incrementAndGet();
+                throw new QueryTimeoutException("ORA-01013");
+            });
+        } catch (QueryTimeoutException e) {
+//            원래 예외 그대로 전달됨
+        }
+    }
+
+    @DisplayName("call() : 연속 장애가 failure-threshold 번 나면 차단, 차단 중에는 DB 조회 없이 바로 실패")
+    @Test
+    void callOpen() {
+        timeout();
+        assertThat(dbCircuitBreaker.isOpen()).isFalse();
+        timeout();
+        assertThat(dbCircuitBreaker.isOpen()).isTrue();
+
+        assertThatThrownBy(() -> dbCircuitBreaker.call(() -> loadCount.incrementAndGet()))
+                .isInstanceOf(TransientDataAccessResourceException.class);
+        assertThat(loadCount.get()).isEqualTo(2);
+        assertThat(dbCircuitBreaker.getStats().get("rejectedCount")).isEqualTo(1L);
+    }
+
+    @DisplayName("call() : 잘못된 요청 등 DB 장애가 아닌 예외는 장애로 세지 않음")
+    @Test
+    void callIgnoreBadRequest() {
+        for (int i = 0; i < 3; i++) {
+            assertThatThrownBy(() -> dbCircuitBreaker.call(() -> {
+                throw new IllegalArgumentException("sort");
+            })).isInstanceOf(IllegalArgumentException.class);
+        }
+
+        assertThat(dbCircuitBreaker.isOpen()).isFalse();
+        assertThat(dbCircuitBreaker.getStats().get("failureCount")).isEqualTo(0L);
+    }
+
+    @DisplayName("call() : 차단시간이 지나면 1번 확인 조회, 성공하면 차단 해제")
+    @Test
+    void callHalfOpen() {
+        dbCircuitBreaker.openMs = 0;
+        timeout();
+        timeout();
+        assertThat(dbCircuitBreaker.getStats().get("state")).isEqualTo("OPEN");
+
+        assertThat(dbCircuitBreaker.call(() -> "SALES")).isEqualTo("SALES");
+        assertThat(dbCircuitBreaker.getStats().get("state")).isEqualTo("CLOSED");
+        assertThat(dbCircuitBreaker.getStats().get("consecutiveFailures")).isEqualTo(0);
+    }
+}
@@ -1,22 +1,32 @@
 package com.example.simpledms.service;
 
 import com.example.simpledms.model.Dept;
+import com.example.simpledms.repository.BatchWriteRepository;
+import com.example.simpledms.repository.CursorStreamRepository;
 import com.example.simpledms.repository.DeptRepository;
+import com.example.simpledms.repository.PatchUpdateRepository;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
 
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -42,10 +52,32 @@ class DeptServiceTest {
     @Mock
     private DeptRepository deptRepository; //  @Mock 붙이면 가짜 리파지토리
 
+    @Mock
+    private CursorStreamRepository cursorStreamRepository; // 가짜 커서 스트리밍 리파지토리
+
+    @Mock
+    private BatchWriteRepository batchWriteRepository; // 가짜 batch 저장 리파지토리
+
+    @Mock
+    private PatchUpdateRepository patchUpdateRepository; // 가짜 부분 수정 리파지토리
+
+    @Mock
+    private NameSearchService nameSearchService; // 가짜 이름 검색 색인 ( Optional.empty() : like 검색 )
+
+    @Mock
+    private ApplicationEventPublisher applicationEventPublisher; // 가짜 이벤트 발행
+
     // @InjectMocks 붙이면 가짜 리파지토리를 사용해서 서비스를 쓸수있게 만듦
     @InjectMocks
     private DeptService deptService;
 
+//    같은 조회 합치기/조회 차단기는 실제 객체 사용 ( 조회 함수를 그대로 실행 )
+    @BeforeEach
+    void setUp() {
+        deptService.singleFlightService = new SingleFlightService();
+        deptService.dbCircuitBreaker = new DbCircuitBreaker();
+    }
+
     @DisplayName("findAll() : 서비스 조회 함수 ")
     @Test
     void findAll() {
@@ -82,11 +114,13 @@ class DeptServiceTest {
     void removeAll() {
 
 //        1) 테스트 실행
-        deptService.removeAll();
+        given(deptRepository.softDeleteAll()).willReturn(3);
+        int count = deptService.removeAll(null);
 
 //        2) 위의 함수가 몇 번 실행되었는지 확인
 //        verify(리파지토리객체, times(몇번)) : 함수 실행 횟수 점검
-        verify(deptRepository, times(1)).deleteAll();
+        verify(deptRepository, times(1)).softDeleteAll();
+        assertThat(count).isEqualTo(3);
     }
 
     @DisplayName("save() : 서비스 부서정보 생성 함수 ")
@@ -141,13 +175,13 @@ class DeptServiceTest {
     @Test
     void removeById() {
 //        1) given() : 가정, 전제, 기댓값 설정
-        given(deptRepository.existsById(anyInt())).willReturn(true);
+        given(deptRepository.softDeleteById(anyInt())).willReturn(1);
 
 //        2) 테스트 실행
         boolean bSuccessed = deptService.removeById(anyInt()); // 서비스 함수 삭제 실행
 
 //        3) 몇번 실행되었는지 검토 / true 가 나오는 지 검토
-        verify(deptRepository, times(1)).deleteById(anyInt());
+        verify(deptRepository, times(1)).softDeleteById(anyInt());
         assertThat(bSuccessed).isEqualTo(true);
     }
 
@@ -180,5 +214,178 @@ class DeptServiceTest {
 
     }
 
+    @DisplayName("findAll(cursor, size, desc) : 서비스 키셋 페이징 조회 함수 ")
+    @Test
+    void findAllKeyset() {
+//        1) 기댓값 설정
+        List<Dept> list = new ArrayList<>();
+        list.add(Dept.builder()
+                .dno(10)
+                .dname("SALES")
+                .loc("SEOUL")
+                .build());
+        list.add(Dept.builder()
+                .dno(20)
+                .dname("ACCOUNTING")
+                .loc("BUSAN")
+                .build());
+
+        given(deptRepository.findAllByDnoGreaterThan(anyInt(), any())).willReturn(list);
+
+//        2) 테스트 실행 : 커서가 없으면 첫 페이지부터 조회
+        List<Dept> list2 = deptService.findAll(null, 2, false);
+
+//        3) 결과 검증 : 최소값 커서로 오름차순 조회가 실행되었는지 확인
+        verify(deptRepository, times(1)).findAllByDnoGreaterThan(eq(Integer.MIN_VALUE), any());
+        assertThat(list2.get(0).getDname()).isEqualTo("SALES");
+        assertThat(list2.get(1).getDname()).isEqualTo("ACCOUNTING");
+    }
+
+    @DisplayName("findAllByDnameContaining(dname, cursor, size, desc) : 서비스 검색 + 키셋 페이징 함수 ")
+    @Test
+    void findAllByDnameContainingKeyset() {
+//        1) 기댓값 설정
+        List<Dept> list = new ArrayList<>();
+        list.add(Dept.builder()
+                .dno(20)
+                .dname("ACCOUNTING")
+                .loc("BUSAN")
+                .build());
+
+        given(deptRepository.findAllByDnameContainingAndDnoLessThan(any(), anyInt(), any())).willReturn(list);
+
+//        2) 테스트 실행 : 내림차순, 커서 다음부터 조회
+        List<Dept> list2 = deptService.findAllByDnameContaining("SALES", 100000, 1, true);
+
+//        3) 결과 검증
+        verify(deptRepository, times(1)).findAllByDnameContainingAndDnoLessThan(eq("SALES"), eq(100000), any());
+        assertThat(list2.get(0).getDname()).isEqualTo("ACCOUNTING");
+    }
+
+    @DisplayName("streamAll() : 서비스 전체 조회(스트리밍) 함수 ")
+    @Test
+    void streamAll() {
+//        1) 기댓값 설정
+        given(cursorStreamRepository.forEach(eq(Dept.class), eq("dno"), any())).willReturn(2L);
+
+//        2) 테스트 실행
+        long count = deptService.streamAll(dept -> { });
+
+//        3) 결과 검증 : 기본키 순서로 커서 조회가 실행되었는지 확인
+        verify(cursorStreamRepository, times(1)).forEach(eq(Dept.class), eq("dno"), any());
+        assertThat(count).isEqualTo(2L);
+    }
+
+    @DisplayName("removeAll(loc) : 서비스 조건 삭제 함수 ")
+    @Test
+    void removeAllByLoc() {
+//        1) 기댓값 설정
+        given(deptRepository.softDeleteAllByLoc("SEOUL")).willReturn(2);
 
-}
\ No newline at end of file
+//        2) 테스트 실행
+        int count = deptService.removeAll("SEOUL");
+
+//        3) 결과 검증 : 전체 삭제가 아닌 조건 삭제가 실행되었는지 확인
+        verify(deptRepository, times(0)).softDeleteAll();
+        assertThat(count).isEqualTo(2);
+    }
+
+    @DisplayName("removeById() : 서비스 없는 번호 삭제 함수 ")
+    @Test
+    void removeByIdNotFound() {
+//        1) given() : 변경된 행이 없음 ( 없는 번호 또는 이미 삭제된 번호 )
+        given(deptRepository.softDeleteById(anyInt())).willReturn(0);
+
+//        2) 테스트 실행
+        boolean bSuccessed = deptService.removeById(99);
+
+//        3) false 가 나오는 지 검토
+        assertThat(bSuccessed).isEqualTo(false);
+    }
+
+    @DisplayName("saveAll() : 서비스 여러 건 저장 함수 ")
+    @Test
+    void saveAll() {
+//        1) 기댓값 설정
+        List<Dept> list = new ArrayList<>();
+        list.add(Dept.builder()
+                .dname("SALES")
+                .loc("SEOUL")
+                .build());
+
+        given(batchWriteRepository.<Dept>persistAll(any(), any())).willReturn(list);
+
+//        2) 테스트 실행
+        List<Dept> list2 = deptService.saveAll(list);
+
+//        3) 결과 검증
+        verify(batchWriteRepository, times(1)).persistAll(eq(list), any());
+        assertThat(list2.get(0).getDname()).isEqualTo("SALES");
+    }
+
+    @DisplayName("update() : 서비스 버전 확인 수정 함수 ")
+    @Test
+    void update() {
+//        1) 기댓값 설정
+        Dept dept = Dept.builder()
+                .dname("SALES")
+                .loc("SEOUL")
+                .build();
+
+        given(deptRepository.updateByIdAndVersion(any(), eq(1L), any()))
+                .willReturn(1);
+
+//        2) 테스트 실행
+        Optional<Dept> optionalDept = deptService.update(10, dept, 1L);
+
+//        3) 결과 검증 : url 의 번호로 수정되고 버전이 1 증가했는가?
+        assertThat(optionalDept.get().getDno()).isEqualTo(10);
+        assertThat(optionalDept.get().getVersion()).isEqualTo(2L);
+    }
+
+    @DisplayName("updateConflict() : 서비스 수정 시 버전 충돌 테스트 ")
+    @Test
+    void updateConflict() {
+//        1) 기댓값 설정 : 수정된 행은 없지만 데이터는 있음 -> 다른 사용자가 먼저 수정
+        Dept dept = Dept.builder()
+                .dname("SALES")
+                .loc("SEOUL")
+                .build();
+
+        given(deptRepository.updateByIdAndVersion(any(), eq(1L), any()))
+                .willReturn(0);
+        given(deptRepository.existsById(anyInt()))
+                .willReturn(true);
+
+//        2) 테스트 실행 + 3) 결과 검증
+        assertThatThrownBy(() -> deptService.update(10, dept, 1L))
+                .isInstanceOf(OptimisticLockingFailureException.class);
+    }
+
+    @DisplayName("patch() : 서비스 부분 수정 함수 ")
+    @Test
+    void patch() {
+//        1) 기댓값 설정
+        Map<String, Object> patch = new HashMap<>();
+        patch.put("loc", "BUSAN");
+
+        given(patchUpdateRepository.patch(eq(Dept.class), eq("dno"), eq(10), eq(patch), any(), any()))
+                .willReturn(1);
+
+//        2) 테스트 실행
+        boolean bSuccessed = deptService.patch(10, patch, null);
+
+//        3) 결과 검증
+        assertThat(bSuccessed).isEqualTo(true);
+    }
+
+    @DisplayName("removeById() : 삭제되면 데이터 변경 이벤트 발행 ")
+    @Test
+    void removeByIdPublishesChange() {
+        given(deptRepository.softDeleteById(10)).willReturn(1);
+
+        deptService.removeById(10);
+
+        verify(applicationEventPublisher, times(1)).publishEvent(any(EntityChangeEvent.class));
+    }
+}
@@ -0,0 +1,157 @@
+package com.example.simpledms.service;
+
+import com.example.simpledms.model.Emp;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * packageName    : com.example.simpledms.service
+ * fileName       : EmpGroupCommitServiceTest
+ * author         : ds
+ * date           : 2026-10-18
+ * description    : 사원 생성 묶음 저장(group commit) 서비스 테스트
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 2026-10-18        ds       최초 생성
+ */
+@ExtendWith(MockitoExtension.class)
+class EmpGroupCommitServiceTest {
+
+    @Mock
+    private EmpService empService; //  @Mock 붙이면 가짜 서비스
+
+    @InjectMocks
+    private EmpGroupCommitService empGroupCommitService;
+
+    @AfterEach
+    void tearDown() {
+        empGroupCommitService.stop();
+    }
+
+    @DisplayName("save() : 동시에 들어온 생성 요청을 saveAll() 1번으로 묶어서 저장 ")
+    @Test
+    void saveGroupCommit() throws Exception {
+//        1) 기댓값 설정 : saveAll() 이 받은 순서대로 번호를 채워서 돌려줌
+        willAnswer(invocation -> {
+            List<Emp> empList = invocation.getArgument(0);
+            List<Emp> saved = new ArrayList<>();
+            int eno = 8000;
+            for (Emp emp : empList) {
+                emp.setEno(eno++);
+                saved.add(emp);
+            }
+            return saved;
+        }).given(empService).saveAll(anyList());
+
+        empGroupCommitService.enabled = true;
+        empGroupCommitService.windowMs = 200;
+        empGroupCommitService.maxBatch = 2;
+        empGroupCommitService.timeoutMs = 5000;
+        empGroupCommitService.start();
+
+//        2) 테스트 실행 : 요청 2개를 동시에 보냄
+        CompletableFuture<Emp> first = CompletableFuture.supplyAsync(() -> saveQuietly("DODO"));
+        CompletableFuture<Emp> second = CompletableFuture.supplyAsync(() -> saveQuietly("GOGO"));
+
+//        3) 결과 검증 : saveAll() 1번, 각 요청은 자기 사원번호를 받음
+        Emp emp1 = first.get();
+        Emp emp2 = second.get();
+        verify(empService, times(1)).saveAll(anyList());
+        verify(empService, never()).save(any());
+        assertThat(emp1.getEno()).isNotNull();
+        assertThat(emp2.getEno()).isNotNull();
+        assertThat(emp1.getEno().equals(emp2.getEno())).isEqualTo(false);
+    }
+
+    @DisplayName("save() : 사용하지 않으면(enabled=false) 기존 save() 로 바로 저장 ")
+    @Test
+    void saveDisabled() throws Exception {
+        Emp emp = Emp.builder().ename("DODO").build();
+        given(empService.save(any())).willReturn(emp);
+
+        Emp emp2 = empGroupCommitService.save(emp);
+
+        verify(empService, times(1)).save(emp);
+        assertThat(emp2.getEname()).isEqualTo("DODO");
+    }
+
+    @DisplayName("save() : 대기시간이 지나도록 묶음 저장이 시작되지 않으면 취소 ( 에러 후 저장되지 않음 )")
+    @Test
+    void saveTimeoutCancelled() throws Exception {
+        empGroupCommitService.enabled = true;
+        empGroupCommitService.windowMs = 300;
+        empGroupCommitService.maxBatch = 2;
+        empGroupCommitService.timeoutMs = 50;
+        empGroupCommitService.start();
+
+        assertThatThrownBy(() -> empGroupCommitService.save(Emp.builder().ename("DODO").build()))
+                .isInstanceOf(ExecutionException.class);
+
+//        window-ms 가 지나서 묶음 저장이 실행되어도 취소된 요청은 저장하지 않음
+        Thread.sleep(500);
+        verify(empService, never()).saveAll(anyList());
+        verify(empService, never()).save(any());
+    }
+
+    @DisplayName("save() : 묶음 저장이 실패하면 원래 요청 데이터로 한 건씩 다시 저장 ")
+    @Test
+    void saveFallback() throws Exception {
+//        1) 기댓값 설정 : saveAll() 은 사원번호를 채운 후 실패, save() 는 사원번호 없는 데이터만 저장
+        willAnswer(invocation -> {
+            List<Emp> empList = invocation.getArgument(0);
+            for (Emp emp : empList) {
+                emp.setEno(8000);
+                emp.setVersion(0L);
+            }
+            throw new IllegalStateException("batch insert 실패");
+        }).given(empService).saveAll(anyList());
+        willAnswer(invocation -> {
+            Emp emp = invocation.getArgument(0);
+            assertThat(emp.getEno()).isNull();
+            assertThat(emp.getVersion()).isNull();
+            emp.setEno(9000);
+            return emp;
+        }).given(empService).save(any());
+
+        empGroupCommitService.enabled = true;
+        empGroupCommitService.windowMs = 5;
+        empGroupCommitService.maxBatch = 2;
+        empGroupCommitService.timeoutMs = 5000;
+        empGroupCommitService.start();
+
+//        2) 테스트 실행 + 3) 결과 검증
+        Emp emp = empGroupCommitService.save(Emp.builder().ename("DODO").build());
+
+        verify(empService, times(1)).save(any());
+        assertThat(emp.getEno()).isEqualTo(9000);
+    }
+
+    private Emp saveQuietly(String ename) {
+        try {
+            return empGroupCommitService.save(Emp.builder().ename(ename).build());
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.simpledms.service;
+
+import com.example.simpledms.repository.EmpOutboxRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+/**
+ * packageName    : com.example.simpledms.service
+ * fileName       : EmpOutboxDispatcherTest
+ * author         : ds
+ * date           : 2026-10-18
+ * description    : 사원 변경 알림(outbox) 전송 서비스 테스트
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 2026-10-18        ds       최초 생성
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class EmpOutboxDispatcherTest {
+
+    private static final String URL = "http://localhost:8000/api/outbox/stub";
+
+    @Mock
+    private EmpOutboxRepository empOutboxRepository; // 가짜 outbox 리파지토리
+
+    @InjectMocks
+    private EmpOutboxDispatcher empOutboxDispatcher;
+
+    private final RestTemplate restTemplate = mock(RestTemplate.class);
+
+    @BeforeEach
+    void setUp() {
+        given(empOutboxRepository.getEndpoints()).willReturn(new String[]{URL});
+
+        empOutboxDispatcher.enabled = true;
+        empOutboxDispatcher.pollMs = 3600000; // 자동 조회 안 함 ( poll() 직접 실행 )
+        empOutboxDispatcher.batchSize = 2;
+        empOutboxDispatcher.maxConcurrency = 2;
+        empOutboxDispatcher.backoffInitialMs = 3600000;
+        empOutboxDispatcher.backoffMaxMs = 3600000;
+        empOutboxDispatcher.timeoutMs = 1000;
+        empOutboxDispatcher.init();
+        empOutboxDispatcher.restTemplate = restTemplate;
+    }
+
+    @AfterEach
+    void tearDown() {
+        empOutboxDispatcher.shutdown();
+    }
+
+//    outbox 1건
+    private Map<String, Object> row(long id) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("id", id);
+        row.put("type", "UPDATE");
+        row.put("eno", 7369);
+        return row;
+    }
+
+    @DisplayName("poll() : batch-size 건씩 묶어서 전송하고, 성공하면 outbox 에서 삭제")
+    @Test
+    void pollDelivers() {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (long id = 1; id <= 3; id++) {
+            rows.add(row(id));
+        }
+        given(empOutboxRepository.findPending(eq(URL), anyInt())).willReturn(rows);
+        given(restTemplate.postForEntity(eq(URL), any(HttpEntity.class), eq(Void.class)))
+                .willReturn(ResponseEntity.ok().build());
+
+        empOutboxDispatcher.poll();
+
+//        묶음 2개 : [1, 2], [3]
+        verify(empOutboxRepository, timeout(2000)).deleteByIds(Arrays.asList(1L, 2L));
+        verify(empOutboxRepository, timeout(2000)).deleteByIds(Arrays.asList(3L));
+    }
+
+    @DisplayName("poll() : 전송 실패 시 삭제하지 않고, backoff 동안 같은 endpoint 에 새 묶음을 보내지 않음")
+    @Test
+    void pollFailureBacksOff() throws Exception {
+        given(empOutboxRepository.findPending(eq(URL), anyInt())).willReturn(Arrays.asList(row(1)));
+        given(restTemplate.postForEntity(eq(URL), any(HttpEntity.class), eq(Void.class)))
+                .willThrow(new ResourceAccessException("connection refused"));
+
+        empOutboxDispatcher.poll();
+        verify(restTemplate, timeout(2000)).postForEntity(eq(URL), any(HttpEntity.class), eq(Void.class));
+
+//        backoff 중 : 다시 조회해도 전송하지 않음
+        Thread.sleep(100);
+        empOutboxDispatcher.poll();
+
+        verify(empOutboxRepository, never()).deleteByIds(any());
+        verify(restTemplate, timeout(200).times(1)).postForEntity(eq(URL), any(HttpEntity.class), eq(Void.class));
+    }
+
+    @DisplayName("backoff() : 실패할 때마다 2배, 최대값 이하 ( 50~100% 랜덤 )")
+    @Test
+    void backoff() {
+        assertThat(EmpOutboxDispatcher.backoff(1, 1000, 60000)).isBetween(500L, 1000L);
+        assertThat(EmpOutboxDispatcher.backoff(3, 1000, 60000)).isBetween(2000L, 4000L);
+        assertThat(EmpOutboxDispatcher.backoff(30, 1000, 60000)).isBetween(30000L, 60000L);
+    }
+}
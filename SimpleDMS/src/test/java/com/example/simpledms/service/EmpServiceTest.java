@@ -2,21 +2,40 @@ package com.example.simpledms.service;
 
 
 import com.example.simpledms.model.Emp;
+import com.example.simpledms.repository.BatchLookupRepository;
+import com.example.simpledms.repository.BatchWriteRepository;
+import com.example.simpledms.repository.CursorStreamRepository;
+import com.example.simpledms.repository.DeptRepository;
+import com.example.simpledms.repository.EmpOutboxRepository;
 import com.example.simpledms.repository.EmpRepository;
+import com.example.simpledms.repository.PatchUpdateRepository;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -38,10 +57,58 @@ class EmpServiceTest {
     @Mock
     private EmpRepository empRepository; //  @Mock 붙이면 가짜 리파지토리
 
+    @Mock
+    private DeptRepository deptRepository; // 가짜 부서 리파지토리
+
+    @Mock
+    private CursorStreamRepository cursorStreamRepository; // 가짜 커서 스트리밍 리파지토리
+
+    @Mock
+    private BatchWriteRepository batchWriteRepository; // 가짜 batch 저장 리파지토리
+
+    @Mock
+    private PatchUpdateRepository patchUpdateRepository; // 가짜 부분 수정 리파지토리
+
+    @Mock
+    private BatchLookupRepository batchLookupRepository; // 가짜 여러 건 조회 리파지토리
+
+    @Mock
+    private EmpOutboxRepository empOutboxRepository; // 가짜 변경 알림(outbox) 리파지토리
+
+    @Mock
+    private NameSearchService nameSearchService; // 가짜 이름 검색 색인 ( Optional.empty() : like 검색 )
+
+    @Mock
+    private ApplicationEventPublisher applicationEventPublisher; // 가짜 이벤트 발행
+
     // @InjectMocks 붙이면 가짜 리파지토리를 사용해서 서비스를 쓸수있게 만듦
     @InjectMocks
     private EmpService empService;
 
+//    같은 조회 합치기/조회 차단기는 실제 객체 사용 ( 조회 함수를 그대로 실행 )
+    @BeforeEach
+    void setUp() {
+        empService.singleFlightService = new SingleFlightService();
+        empService.dbCircuitBreaker = new DbCircuitBreaker();
+    }
+
+    @DisplayName("findAllByIds() : 사원번호 여러 개를 리파지토리 1번 호출로 조회 ")
+    @Test
+    void findAllByIds() {
+        Map<Integer, Emp> found = new LinkedHashMap<>();
+        found.put(7369, Emp.builder().eno(7369).ename("SMITH").build());
+        List<Integer> ids = Arrays.asList(7369, 9999);
+
+        given(batchLookupRepository.findAllByIds(eq(Emp.class), eq("eno"), any(), eq(ids)))
+                .willReturn(found);
+
+        Map<Integer, Emp> result = empService.findAllByIds(ids);
+
+        assertThat(result.size()).isEqualTo(1);
+        assertThat(result.get(7369).getEname()).isEqualTo("SMITH");
+        verify(batchLookupRepository, times(1)).findAllByIds(eq(Emp.class), eq("eno"), any(), eq(ids));
+    }
+
     @DisplayName("findAll() : 서비스 조회 함수 ")
     @Test
     void findAll() {
@@ -87,9 +154,11 @@ class EmpServiceTest {
     @Test
     void removeAll() {
 
-        empService.removeAll();
+        given(empRepository.softDeleteAll(anyLong())).willReturn(3);
+        int count = empService.removeAll(null);
 
-        verify(empRepository, times(1)).deleteAll();
+        verify(empRepository, times(1)).softDeleteAll(anyLong());
+        assertThat(count).isEqualTo(3);
 
     }
 
@@ -149,13 +218,13 @@ class EmpServiceTest {
     @Test
     void removeById() {
         //        1) given() : 가정, 전제, 기댓값 설정
-        given(empRepository.existsById(anyInt())).willReturn(true);
+        given(empRepository.softDeleteById(anyInt())).willReturn(1);
 
 //        2) 테스트 실행
         boolean bSuccessed = empService.removeById(anyInt()); // 서비스 함수 삭제 실행
 
 //        3) 몇번 실행되었는지 검토 / true 가 나오는 지 검토
-        verify(empRepository, times(1)).deleteById(anyInt());
+        verify(empRepository, times(1)).softDeleteById(anyInt());
         assertThat(bSuccessed).isEqualTo(true);
     }
 
@@ -199,4 +268,242 @@ class EmpServiceTest {
         assertThat(list2.get(1).getEname()).isEqualTo("GOGO");
 
     }
-}
\ No newline at end of file
+
+    @DisplayName("findAll(cursor, size, desc) : 서비스 키셋 페이징 조회 함수 ")
+    @Test
+    void findAllKeyset() {
+//        1) 기댓값 설정
+        List<Emp> list = new ArrayList<>();
+        list.add(Emp.builder()
+                .eno(7777)
+                .ename("DODO")
+                .job("CLERK")
+                .manager(8888)
+                .hiredate("2022-11-04")
+                .salary(900)
+                .commission(500)
+                .dno(10)
+                .build());
+        list.add(Emp.builder()
+                .eno(7778)
+                .ename("GOGO")
+                .job("CLERK")
+                .manager(8878)
+                .hiredate("2022-11-04")
+                .salary(800)
+                .commission(400)
+                .dno(20)
+                .build());
+
+        given(empRepository.findAllByEnoGreaterThan(anyInt(), any())).willReturn(list);
+
+//        2) 테스트 실행 : 커서가 없으면 첫 페이지부터 조회
+        List<Emp> list2 = empService.findAll(null, 2, false);
+
+//        3) 결과 검증 : 최소값 커서로 오름차순 조회가 실행되었는지 확인
+        verify(empRepository, times(1)).findAllByEnoGreaterThan(eq(Integer.MIN_VALUE), any());
+        assertThat(list2.get(0).getEname()).isEqualTo("DODO");
+        assertThat(list2.get(1).getEname()).isEqualTo("GOGO");
+    }
+
+    @DisplayName("findAllByEnameContaining(ename, cursor, size, desc) : 서비스 검색 + 키셋 페이징 함수 ")
+    @Test
+    void findAllByEnameContainingKeyset() {
+//        1) 기댓값 설정
+        List<Emp> list = new ArrayList<>();
+        list.add(Emp.builder()
+                .eno(7778)
+                .ename("GOGO")
+                .job("CLERK")
+                .manager(8878)
+                .hiredate("2022-11-04")
+                .salary(800)
+                .commission(400)
+                .dno(20)
+                .build());
+
+        given(empRepository.findAllByEnameContainingAndEnoLessThan(any(), anyInt(), any())).willReturn(list);
+
+//        2) 테스트 실행 : 내림차순, 커서 다음부터 조회
+        List<Emp> list2 = empService.findAllByEnameContaining("DO", 100000, 1, true);
+
+//        3) 결과 검증
+        verify(empRepository, times(1)).findAllByEnameContainingAndEnoLessThan(eq("DO"), eq(100000), any());
+        assertThat(list2.get(0).getEname()).isEqualTo("GOGO");
+    }
+
+    @DisplayName("streamAll() : 서비스 전체 조회(스트리밍) 함수 ")
+    @Test
+    void streamAll() {
+//        1) 기댓값 설정
+        given(cursorStreamRepository.forEach(eq(Emp.class), eq("eno"), any())).willReturn(2L);
+
+//        2) 테스트 실행
+        long count = empService.streamAll(emp -> { });
+
+//        3) 결과 검증 : 기본키 순서로 커서 조회가 실행되었는지 확인
+        verify(cursorStreamRepository, times(1)).forEach(eq(Emp.class), eq("eno"), any());
+        assertThat(count).isEqualTo(2L);
+    }
+
+    @DisplayName("removeAll(dno) : 서비스 조건 삭제 함수 ")
+    @Test
+    void removeAllByDno() {
+//        1) 기댓값 설정
+        given(empRepository.softDeleteAllByDno(eq(10), anyLong())).willReturn(2);
+
+//        2) 테스트 실행
+        int count = empService.removeAll(10);
+
+//        3) 결과 검증 : 전체 삭제가 아닌 조건 삭제가 실행되었는지 확인
+        verify(empRepository, times(0)).softDeleteAll(anyLong());
+        assertThat(count).isEqualTo(2);
+    }
+
+    @DisplayName("removeById() : 서비스 없는 번호 삭제 함수 ")
+    @Test
+    void removeByIdNotFound() {
+//        1) given() : 변경된 행이 없음 ( 없는 번호 또는 이미 삭제된 번호 )
+        given(empRepository.softDeleteById(anyInt())).willReturn(0);
+
+//        2) 테스트 실행
+        boolean bSuccessed = empService.removeById(99);
+
+//        3) false 가 나오는 지 검토
+        assertThat(bSuccessed).isEqualTo(false);
+    }
+
+    @DisplayName("saveAll() : 서비스 여러 건 저장 함수 ")
+    @Test
+    void saveAll() {
+//        1) 기댓값 설정
+        List<Emp> list = new ArrayList<>();
+        list.add(Emp.builder()
+                .ename("DODO")
+                .job("CLERK")
+                .manager(8888)
+                .hiredate("2022-11-04")
+                .salary(900)
+                .commission(500)
+                .dno(10)
+                .build());
+
+        given(batchWriteRepository.<Emp>persistAll(any(), any())).willReturn(list);
+
+//        2) 테스트 실행
+        List<Emp> list2 = empService.saveAll(list);
+
+//        3) 결과 검증
+        verify(batchWriteRepository, times(1)).persistAll(eq(list), any());
+        assertThat(list2.get(0).getEname()).isEqualTo("DODO");
+    }
+
+    @DisplayName("update() : 서비스 버전 확인 수정 함수 ")
+    @Test
+    void update() {
+//        1) 기댓값 설정
+        Emp emp = Emp.builder()
+                .ename("SCOTT")
+                .job("CLERK")
+                .build();
+
+        given(empRepository.updateByIdAndVersion(any(), eq(1L), any()))
+                .willReturn(1);
+
+//        2) 테스트 실행
+        Optional<Emp> optionalEmp = empService.update(8000, emp, 1L);
+
+//        3) 결과 검증 : url 의 번호로 수정되고 버전이 1 증가했는가?
+        assertThat(optionalEmp.get().getEno()).isEqualTo(8000);
+        assertThat(optionalEmp.get().getVersion()).isEqualTo(2L);
+    }
+
+    @DisplayName("updateConflict() : 서비스 수정 시 버전 충돌 테스트 ")
+    @Test
+    void updateConflict() {
+//        1) 기댓값 설정 : 수정된 행은 없지만 데이터는 있음 -> 다른 사용자가 먼저 수정
+        Emp emp = Emp.builder()
+                .ename("SCOTT")
+                .job("CLERK")
+                .build();
+
+        given(empRepository.updateByIdAndVersion(any(), eq(1L), any()))
+                .willReturn(0);
+        given(empRepository.existsById(anyInt()))
+                .willReturn(true);
+
+//        2) 테스트 실행 + 3) 결과 검증
+        assertThatThrownBy(() -> empService.update(8000, emp, 1L))
+                .isInstanceOf(OptimisticLockingFailureException.class);
+    }
+
+    @DisplayName("patch() : 서비스 부분 수정 함수 ")
+    @Test
+    void patch() {
+//        1) 기댓값 설정
+        Map<String, Object> patch = new HashMap<>();
+        patch.put("salary", 3000);
+
+        given(patchUpdateRepository.patch(eq(Emp.class), eq("eno"), eq(8000), eq(patch), any(), any()))
+                .willReturn(1);
+
+//        2) 테스트 실행
+        boolean bSuccessed = empService.patch(8000, patch, null);
+
+//        3) 결과 검증
+        assertThat(bSuccessed).isEqualTo(true);
+    }
+
+    @DisplayName("raiseSalary() : 서비스 부서별 급여 일괄 인상 함수 ")
+    @Test
+    void raiseSalary() {
+//        1) 기댓값 설정
+        given(empRepository.raiseSalaryByDno(eq(30), eq(1.05), anyLong())).willReturn(6);
+
+//        2) 테스트 실행
+        int count = empService.raiseSalary(30, 1.05);
+
+//        3) 결과 검증 : 전체 인상이 아닌 부서 조건 인상이 실행되었는지 확인
+        verify(empRepository, times(0)).raiseSalaryAll(anyDouble(), anyLong());
+        assertThat(count).isEqualTo(6);
+//        인상된 사원은 update 문에 넣은 변경 순번 그대로 outbox 에 저장 ( 다른 트랜잭션에서 바뀐 사원 제외 )
+        ArgumentCaptor<Long> changeSeq = ArgumentCaptor.forClass(Long.class);
+        verify(empRepository).raiseSalaryByDno(eq(30), eq(1.05), changeSeq.capture());
+        verify(empOutboxRepository, times(1)).appendChanged("UPDATE", changeSeq.getValue());
+    }
+
+    @DisplayName("save() : 서비스 저장 시 변경 알림(outbox)도 같이 저장 ")
+    @Test
+    void saveAppendsOutbox() {
+//        1) 기댓값 설정 : 사원번호 없이 저장 -> 생성
+        Emp emp = Emp.builder().ename("SCOTT").job("ANALYST").build();
+        given(empRepository.save(emp)).willReturn(Emp.builder().eno(8000).ename("SCOTT").job("ANALYST").build());
+
+//        2) 테스트 실행
+        empService.save(emp);
+
+//        3) 결과 검증
+        verify(empOutboxRepository, times(1)).append("CREATE", Collections.singletonList(8000));
+    }
+
+    @DisplayName("moveDept() : 서비스 없는 부서로 이동 함수 ")
+    @Test
+    void moveDeptNotFound() {
+//        1) 기댓값 설정 : 이동할 부서가 없음
+        given(deptRepository.existsById(99)).willReturn(false);
+
+//        2) 테스트 실행 + 3) 결과 검증 : update 문이 실행되지 않아야 함
+        assertThatThrownBy(() -> empService.moveDept(30, 99))
+                .isInstanceOf(IllegalArgumentException.class);
+        verify(empRepository, times(0)).moveDept(anyInt(), anyInt(), anyLong());
+    }
+
+    @DisplayName("findAllByEnameFuzzy() : 서비스 오타 허용 검색 최대 offset 초과 함수 ")
+    @Test
+    void findAllByEnameFuzzyOffsetLimit() {
+//        2) 테스트 실행 + 3) 결과 검증 : like 검색으로 offset + size 건을 읽지 않아야 함
+        assertThatThrownBy(() -> empService.findAllByEnameFuzzy("SMTIH", 1001, 10))
+                .isInstanceOf(IllegalArgumentException.class);
+        verify(empRepository, times(0)).findAllByEnameContainingAndEnoGreaterThan(any(), anyInt(), any());
+    }
+}
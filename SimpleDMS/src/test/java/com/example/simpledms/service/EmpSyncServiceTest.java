@@ -0,0 +1,129 @@
+package com.example.simpledms.service;
+
+import com.example.simpledms.model.Emp;
+import com.example.simpledms.repository.EmpSyncRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * packageName    : com.example.simpledms.service
+ * fileName       : EmpSyncServiceTest
+ * author         : ds
+ * date           : 2026-10-18
+ * description    : 사원 전체 동기화 서비스 테스트
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 2026-10-18        ds       최초 생성
+ */
+@ExtendWith(MockitoExtension.class)
+class EmpSyncServiceTest {
+
+    @Mock
+    private EmpSyncRepository empSyncRepository; //  @Mock 붙이면 가짜 리파지토리
+
+    @Mock
+    private CacheStatsService cacheStatsService; // 가짜 캐시 서비스
+
+    @Mock
+    private ApplicationEventPublisher applicationEventPublisher; // 가짜 이벤트 발행
+
+    @InjectMocks
+    private EmpSyncService empSyncService;
+
+    @DisplayName("sync() : chunk-size 건씩 묶어서 MERGE 하고 건수를 합산 ")
+    @Test
+    void sync() {
+//        1) 기댓값 설정 : 2건씩 묶음, 묶음마다 첫번째 사원 생성 / 두번째 사원 변경없음
+        empSyncService.chunkSize = 2;
+        given(empSyncRepository.mergeChunk(anyList())).willAnswer(invocation -> {
+            List<Emp> chunk = invocation.getArgument(0);
+            return new EmpSyncRepository.MergeResult(
+                    Collections.singletonList(chunk.get(0).getEno()), Collections.emptyList(), 1);
+        });
+
+        List<Emp> snapshot = Arrays.asList(
+                Emp.builder().eno(7369).ename("SMITH").build(),
+                Emp.builder().eno(7499).ename("ALLEN").build(),
+                Emp.builder().eno(7521).ename("WARD").build(),
+                Emp.builder().eno(7566).ename("JONES").build());
+
+//        2) 테스트 실행
+        EmpSyncService.SyncResult result = empSyncService.sync(snapshot::forEach, false);
+
+//        3) 결과 검증 : MERGE 2번, 삭제는 실행하지 않음
+        verify(empSyncRepository, times(2)).mergeChunk(anyList());
+        verify(empSyncRepository, never()).forEachActiveEno(any());
+        assertThat(result.getInserted()).isEqualTo(2);
+        assertThat(result.getUnchanged()).isEqualTo(2);
+
+//        이벤트는 생성된 사원번호로 발행 ( 일괄 변경 아님 )
+        ArgumentCaptor<EntityChangeEvent> events = ArgumentCaptor.forClass(EntityChangeEvent.class);
+        verify(applicationEventPublisher, times(2)).publishEvent(events.capture());
+        assertThat(events.getAllValues().get(0).getType()).isEqualTo(EntityChangeEvent.Type.CREATE);
+        assertThat(events.getAllValues().get(0).getIds()).isEqualTo(Arrays.asList(7369));
+        assertThat(events.getAllValues().get(1).getIds()).isEqualTo(Arrays.asList(7521));
+    }
+
+    @DisplayName("sync() : 스냅샷에 없는 사원만 soft delete ")
+    @Test
+    void syncDeleteMissing() {
+//        1) 기댓값 설정 : DB 에는 7369, 7499, 7902 가 있음
+        empSyncService.chunkSize = 1000;
+        given(empSyncRepository.mergeChunk(anyList()))
+                .willReturn(new EmpSyncRepository.MergeResult(Collections.emptyList(), Arrays.asList(7369), 1));
+        willAnswer(invocation -> {
+            IntConsumer action = invocation.getArgument(0);
+            action.accept(7369);
+            action.accept(7499);
+            action.accept(7902);
+            return null;
+        }).given(empSyncRepository).forEachActiveEno(any());
+        given(empSyncRepository.softDeleteByEnos(Arrays.asList(7902)))
+                .willReturn(1);
+
+        List<Emp> snapshot = Arrays.asList(
+                Emp.builder().eno(7369).ename("SMITH").build(),
+                Emp.builder().eno(7499).ename("ALLEN").build());
+
+//        2) 테스트 실행
+        EmpSyncService.SyncResult result = empSyncService.sync(snapshot::forEach, true);
+
+//        3) 결과 검증 : 스냅샷에 없는 7902 만 삭제
+        verify(empSyncRepository, times(1)).softDeleteByEnos(Arrays.asList(7902));
+        verify(cacheStatsService, times(2)).evict(Emp.class); // MERGE 후 1번 + 삭제 후 1번
+        assertThat(result.getDeleted()).isEqualTo(1);
+    }
+
+    @DisplayName("sync() : 사원번호 없는 데이터가 있으면 에러, 삭제하지 않음 ")
+    @Test
+    void syncWithoutEno() {
+        empSyncService.chunkSize = 1000;
+        List<Emp> snapshot = Arrays.asList(Emp.builder().ename("SMITH").build());
+
+        assertThatThrownBy(() -> empSyncService.sync(snapshot::forEach, true))
+                .isInstanceOf(IllegalArgumentException.class);
+        verify(empSyncRepository, never()).forEachActiveEno(any());
+    }
+}
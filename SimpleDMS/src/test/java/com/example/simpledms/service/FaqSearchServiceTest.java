@@ -0,0 +1,187 @@
+package com.example.simpledms.service;
+
+import com.example.simpledms.model.Faq;
+import com.example.simpledms.repository.BatchLookupRepository;
+import com.example.simpledms.repository.CursorStreamRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+
+/**
+ * packageName    : com.example.simpledms.service
+ * fileName       : FaqSearchServiceTest
+ * author         : ds
+ * date           : 2026-10-18
+ * description    : FAQ 검색 색인(bigram + BM25) 서비스 테스트
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 2026-10-18        ds       최초 생성
+ */
+@ExtendWith(MockitoExtension.class)
+class FaqSearchServiceTest {
+
+    @Mock
+    CursorStreamRepository cursorStreamRepository;
+
+    @Mock
+    BatchLookupRepository batchLookupRepository;
+
+    @InjectMocks
+    FaqSearchService faqSearchService;
+
+    private final List<Faq> table = new ArrayList<>();
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() throws Exception {
+        table.add(Faq.builder().no(1).title("비밀번호 변경").content("내 정보 화면에서 비밀번호를 바꿀 수 있습니다").build());
+        table.add(Faq.builder().no(2).title("회원 탈퇴").content("탈퇴 전에 비밀번호를 한번 더 확인합니다").build());
+        table.add(Faq.builder().no(3).title("앱 설치").content("Android, iOS 앱을 지원합니다").build());
+
+        willAnswer(invocation -> {
+            Consumer<Faq> action = invocation.getArgument(2);
+            table.forEach(action);
+            return (long) table.size();
+        }).given(cursorStreamRepository).forEach(eq(Faq.class), eq("no"), any(Consumer.class));
+
+        faqSearchService.init();
+        faqSearchService.onReady();
+        awaitReady();
+    }
+
+    @AfterEach
+    void tearDown() {
+        faqSearchService.shutdown();
+    }
+
+    @DisplayName("search() : 제목/내용에 검색어가 있는 FAQ 를 관련도 순으로 조회 ( 제목 일치가 먼저 )")
+    @Test
+    void search() {
+        List<Faq> list = faqSearchService.search("비밀번호", 0, 10);
+
+        assertThat(list).extracting(Faq::getNo).containsExactly(1, 2);
+//        조사가 붙은 단어("비밀번호를")도 찾고, 없는 단어는 0 건
+        assertThat(faqSearchService.search("비밀번호를", 0, 10)).hasSize(2);
+        assertThat(faqSearchService.search("주소 변경", 0, 10)).isEmpty();
+//        영문은 대소문자 구분 없음, 1글자 검색어는 그 글자가 들어있는 단어로 검색
+        assertThat(faqSearchService.search("ANDROID", 0, 10)).extracting(Faq::getNo).containsExactly(3);
+        assertThat(faqSearchService.search("앱", 0, 10)).extracting(Faq::getNo).containsExactly(3);
+//        offset/size 페이징
+        assertThat(faqSearchService.search("비밀번호", 1, 10)).extracting(Faq::getNo).containsExactly(2);
+        assertThat(faqSearchService.getStats().get("docs")).isEqualTo(3);
+//        제목 자동완성
+        assertThat(faqSearchService.suggest("비밀", null)).containsExactly("비밀번호 변경");
+        assertThat(faqSearchService.suggest("회원 탈", 5)).containsExactly("회원 탈퇴");
+    }
+
+    @DisplayName("onEntityChange() : 수정/삭제된 FAQ 만 다시 색인, 일괄 변경이면 전체 다시 생성")
+    @Test
+    void onEntityChange() throws Exception {
+        Faq updated = Faq.builder().no(3).title("앱 비밀번호 찾기").content("앱에서 비밀번호를 찾습니다").build();
+        given(batchLookupRepository.findAllByIds(eq(Faq.class), eq("no"), any(), anyList()))
+                .willReturn(Collections.singletonMap(3, updated));
+
+        faqSearchService.onEntityChange(EntityChangeEvent.of(Faq.class, EntityChangeEvent.Type.UPDATE, 3));
+        assertThat(faqSearchService.search("비밀번호", 0, 10)).extracting(Faq::getNo).containsExactlyInAnyOrder(1, 2, 3);
+        assertThat(faqSearchService.search("설치", 0, 10)).isEmpty();
+
+        faqSearchService.onEntityChange(EntityChangeEvent.of(Faq.class, EntityChangeEvent.Type.DELETE, 1));
+        assertThat(faqSearchService.search("비밀번호", 0, 10)).extracting(Faq::getNo).containsExactlyInAnyOrder(2, 3);
+
+//        일괄 삭제 : DB(table) 에서 다시 읽음
+        table.remove(1);
+        faqSearchService.onEntityChange(EntityChangeEvent.of(Faq.class, EntityChangeEvent.Type.DELETE));
+        awaitReady();
+        assertThat(faqSearchService.search("탈퇴", 0, 10)).isEmpty();
+        assertThat(faqSearchService.getStats().get("docs")).isEqualTo(2);
+    }
+
+    @DisplayName("onEntityChange() : 일괄 변경이면 별도 스레드에서 다시 생성, 그동안은 like 검색 + 들어온 변경은 새 색인에 반영")
+    @Test
+    @SuppressWarnings("unchecked")
+    void onEntityChangeBulk() throws Exception {
+//        다시 생성할 때 TB_FAQ 읽기를 멈춰 둠
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        willAnswer(invocation -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            Consumer<Faq> action = invocation.getArgument(2);
+            table.forEach(action);
+            return (long) table.size();
+        }).given(cursorStreamRepository).forEach(eq(Faq.class), eq("no"), any(Consumer.class));
+
+        table.remove(1);
+        faqSearchService.onEntityChange(EntityChangeEvent.of(Faq.class, EntityChangeEvent.Type.DELETE));
+
+//        이벤트 스레드는 기다리지 않고 바로 돌아옴, 다 만들 때까지 색인 사용 안 함
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(faqSearchService.isReady()).isFalse();
+        assertThat(faqSearchService.related(1, null)).isEmpty();
+
+//        다시 만드는 중에 수정된 FAQ : 교체 직전에 다시 읽어서 반영
+        Faq updated = Faq.builder().no(3).title("앱 비밀번호 찾기").content("앱에서 비밀번호를 찾습니다").build();
+        given(batchLookupRepository.findAllByIds(eq(Faq.class), eq("no"), any(), anyList()))
+                .willReturn(Collections.singletonMap(3, updated));
+        faqSearchService.onEntityChange(EntityChangeEvent.of(Faq.class, EntityChangeEvent.Type.UPDATE, 3));
+
+        release.countDown();
+        awaitReady();
+        assertThat(faqSearchService.isReady()).isTrue();
+        assertThat(faqSearchService.search("비밀번호", 0, 10)).extracting(Faq::getNo).containsExactlyInAnyOrder(1, 3);
+        assertThat(faqSearchService.search("설치", 0, 10)).isEmpty();
+    }
+
+    @DisplayName("related() : 제목/내용이 비슷한 FAQ 를 유사도 순으로 조회 ( 자기 자신 제외 )")
+    @Test
+    void related() {
+        List<Map<String, Object>> list = faqSearchService.related(1, null);
+
+//        단어를 해싱해서 담으므로 겹치는 단어가 없어도 점수가 조금 나올 수 있음 -> 비슷한 FAQ 가 먼저인지만 확인
+        assertThat(list.get(0).get("no")).isEqualTo(2);
+        assertThat(list).extracting(item -> item.get("no")).doesNotContain(1);
+        assertThat(list.get(0).get("title")).isEqualTo("회원 탈퇴");
+        assertThat((Double) list.get(0).get("score")).isBetween(0.0, 1.0);
+        assertThat(faqSearchService.related(1, 0)).isEmpty();
+        assertThatThrownBy(() -> faqSearchService.related(1, 21)).isInstanceOf(IllegalArgumentException.class);
+
+//        수정된 FAQ 는 벡터도 바로 다시 계산
+        Faq updated = Faq.builder().no(3).title("비밀번호 변경 앱").content("앱에서 비밀번호를 바꿀 수 있습니다").build();
+        given(batchLookupRepository.findAllByIds(eq(Faq.class), eq("no"), any(), anyList()))
+                .willReturn(Collections.singletonMap(3, updated));
+        faqSearchService.onEntityChange(EntityChangeEvent.of(Faq.class, EntityChangeEvent.Type.UPDATE, 3));
+
+        assertThat(faqSearchService.related(1, 5)).extracting(item -> item.get("no")).startsWith(3, 2);
+        assertThat(faqSearchService.related(1, 1)).extracting(item -> item.get("no")).containsExactly(3);
+    }
+
+//    별도 스레드의 색인 생성이 끝날 때까지 기다림
+    private void awaitReady() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (System.currentTimeMillis() < deadline && faqSearchService.isReady() == false) {
+            Thread.sleep(5);
+        }
+    }
+}
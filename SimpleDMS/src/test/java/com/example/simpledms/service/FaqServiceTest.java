@@ -1,21 +1,31 @@
 package com.example.simpledms.service;
 
 import com.example.simpledms.model.Faq;
+import com.example.simpledms.repository.BatchWriteRepository;
+import com.example.simpledms.repository.CursorStreamRepository;
 import com.example.simpledms.repository.FaqRepository;
+import com.example.simpledms.repository.PatchUpdateRepository;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -41,10 +51,29 @@ class FaqServiceTest {
     @Mock
     private FaqRepository faqRepository; //  @Mock 붙이면 가짜 리파지토리
 
+    @Mock
+    private CursorStreamRepository cursorStreamRepository; // 가짜 커서 스트리밍 리파지토리
+
+    @Mock
+    private BatchWriteRepository batchWriteRepository; // 가짜 batch 저장 리파지토리
+
+    @Mock
+    private PatchUpdateRepository patchUpdateRepository; // 가짜 부분 수정 리파지토리
+
+    @Mock
+    private ApplicationEventPublisher applicationEventPublisher; // 가짜 이벤트 발행
+
     // @InjectMocks 붙이면 가짜 리파지토리를 사용해서 서비스를 쓸수있게 만듦
     @InjectMocks
     private FaqService faqService;
 
+//    같은 조회 합치기/조회 차단기는 실제 객체 사용 ( 조회 함수를 그대로 실행 )
+    @BeforeEach
+    void setUp() {
+        faqService.singleFlightService = new SingleFlightService();
+        faqService.dbCircuitBreaker = new DbCircuitBreaker();
+    }
+
     @DisplayName("findAll() : 서비스 조회 함수 ")
     @Test
     void findAll() {
@@ -80,11 +109,13 @@ class FaqServiceTest {
     void removeAll() {
 
 //        1) 테스트 실행
-        faqService.removeAll();
+        given(faqRepository.softDeleteAll()).willReturn(3);
+        int count = faqService.removeAll(null);
 
 //        2) 위의 함수가 몇 번 실행되었는지 확인
 //        verify(리파지토리객체, times(몇번)) : 함수 실행 횟수 점검
-        verify(faqRepository, times(1)).deleteAll();
+        verify(faqRepository, times(1)).softDeleteAll();
+        assertThat(count).isEqualTo(3);
     }
 
     @DisplayName("save() : 서비스 부서정보 생성 함수 ")
@@ -139,13 +170,13 @@ class FaqServiceTest {
     @Test
     void removeById() {
 //        1) given() : 가정, 전제, 기댓값 설정
-        given(faqRepository.existsById(anyInt())).willReturn(true);
+        given(faqRepository.softDeleteById(anyInt())).willReturn(1);
 
 //        2) 테스트 실행
         boolean bSuccessed = faqService.removeById(anyInt()); // 서비스 함수 삭제 실행
 
 //        3) 몇번 실행되었는지 검토 / true 가 나오는 지 검토
-        verify(faqRepository, times(1)).deleteById(anyInt());
+        verify(faqRepository, times(1)).softDeleteById(anyInt());
         assertThat(bSuccessed).isEqualTo(true);
     }
 
@@ -178,5 +209,178 @@ class FaqServiceTest {
 
     }
 
+    @DisplayName("findAll(cursor, size, desc) : 서비스 키셋 페이징 조회 함수 ")
+    @Test
+    void findAllKeyset() {
+//        1) 기댓값 설정
+        List<Faq> list = new ArrayList<>();
+        list.add(Faq.builder()
+                .no(10)
+                .title("제목10")
+                .content("내용10")
+                .build());
+        list.add(Faq.builder()
+                .no(20)
+                .title("제목20")
+                .content("내용20")
+                .build());
+
+        given(faqRepository.findAllByNoGreaterThan(anyInt(), any())).willReturn(list);
+
+//        2) 테스트 실행 : 커서가 없으면 첫 페이지부터 조회
+        List<Faq> list2 = faqService.findAll(null, 2, false);
+
+//        3) 결과 검증 : 최소값 커서로 오름차순 조회가 실행되었는지 확인
+        verify(faqRepository, times(1)).findAllByNoGreaterThan(eq(Integer.MIN_VALUE), any());
+        assertThat(list2.get(0).getTitle()).isEqualTo("제목10");
+        assertThat(list2.get(1).getTitle()).isEqualTo("제목20");
+    }
+
+    @DisplayName("findAllByTitleContaining(title, cursor, size, desc) : 서비스 검색 + 키셋 페이징 함수 ")
+    @Test
+    void findAllByTitleContainingKeyset() {
+//        1) 기댓값 설정
+        List<Faq> list = new ArrayList<>();
+        list.add(Faq.builder()
+                .no(20)
+                .title("제목20")
+                .content("내용20")
+                .build());
+
+        given(faqRepository.findAllByTitleContainingAndNoLessThan(any(), anyInt(), any())).willReturn(list);
+
+//        2) 테스트 실행 : 내림차순, 커서 다음부터 조회
+        List<Faq> list2 = faqService.findAllByTitleContaining("제목", 100000, 1, true);
+
+//        3) 결과 검증
+        verify(faqRepository, times(1)).findAllByTitleContainingAndNoLessThan(eq("제목"), eq(100000), any());
+        assertThat(list2.get(0).getTitle()).isEqualTo("제목20");
+    }
+
+    @DisplayName("streamAll() : 서비스 전체 조회(스트리밍) 함수 ")
+    @Test
+    void streamAll() {
+//        1) 기댓값 설정
+        given(cursorStreamRepository.forEach(eq(Faq.class), eq("no"), any())).willReturn(2L);
+
+//        2) 테스트 실행
+        long count = faqService.streamAll(faq -> { });
+
+//        3) 결과 검증 : 기본키 순서로 커서 조회가 실행되었는지 확인
+        verify(cursorStreamRepository, times(1)).forEach(eq(Faq.class), eq("no"), any());
+        assertThat(count).isEqualTo(2L);
+    }
+
+    @DisplayName("removeAll(title) : 서비스 조건 삭제 함수 ")
+    @Test
+    void removeAllByTitle() {
+//        1) 기댓값 설정
+        given(faqRepository.softDeleteAllByTitle("제목")).willReturn(2);
+
+//        2) 테스트 실행
+        int count = faqService.removeAll("제목");
+
+//        3) 결과 검증 : 전체 삭제가 아닌 조건 삭제가 실행되었는지 확인
+        verify(faqRepository, times(0)).softDeleteAll();
+        assertThat(count).isEqualTo(2);
+    }
+
+    @DisplayName("removeAll(title) : %, _ 는 문자 그대로 검색, 빈 title 은 에러 ")
+    @Test
+    void removeAllByTitleEscape() {
+        given(faqRepository.softDeleteAllByTitle("10\\%\\_")).willReturn(1);
+
+        assertThat(faqService.removeAll("10%_")).isEqualTo(1);
+        assertThatThrownBy(() -> faqService.removeAll(" ")).isInstanceOf(IllegalArgumentException.class);
+        verify(faqRepository, times(0)).softDeleteAll();
+    }
+
+    @DisplayName("removeById() : 서비스 없는 번호 삭제 함수 ")
+    @Test
+    void removeByIdNotFound() {
+//        1) given() : 변경된 행이 없음 ( 없는 번호 또는 이미 삭제된 번호 )
+        given(faqRepository.softDeleteById(anyInt())).willReturn(0);
+
+//        2) 테스트 실행
+        boolean bSuccessed = faqService.removeById(99);
+
+//        3) false 가 나오는 지 검토
+        assertThat(bSuccessed).isEqualTo(false);
+    }
+
+    @DisplayName("saveAll() : 서비스 여러 건 저장 함수 ")
+    @Test
+    void saveAll() {
+//        1) 기댓값 설정
+        List<Faq> list = new ArrayList<>();
+        list.add(Faq.builder()
+                .title("제목10")
+                .content("내용10")
+                .build());
+
+        given(batchWriteRepository.<Faq>persistAll(any(), any())).willReturn(list);
+
+//        2) 테스트 실행
+        List<Faq> list2 = faqService.saveAll(list);
+
+//        3) 결과 검증
+        verify(batchWriteRepository, times(1)).persistAll(eq(list), any());
+        assertThat(list2.get(0).getTitle()).isEqualTo("제목10");
+    }
+
+    @DisplayName("update() : 서비스 버전 확인 수정 함수 ")
+    @Test
+    void update() {
+//        1) 기댓값 설정
+        Faq faq = Faq.builder()
+                .title("제목")
+                .content("내용")
+                .build();
+
+        given(faqRepository.updateByIdAndVersion(any(), eq(1L), any()))
+                .willReturn(1);
 
-}
\ No newline at end of file
+//        2) 테스트 실행
+        Optional<Faq> optionalFaq = faqService.update(1, faq, 1L);
+
+//        3) 결과 검증 : url 의 번호로 수정되고 버전이 1 증가했는가?
+        assertThat(optionalFaq.get().getNo()).isEqualTo(1);
+        assertThat(optionalFaq.get().getVersion()).isEqualTo(2L);
+    }
+
+    @DisplayName("updateConflict() : 서비스 수정 시 버전 충돌 테스트 ")
+    @Test
+    void updateConflict() {
+//        1) 기댓값 설정 : 수정된 행은 없지만 데이터는 있음 -> 다른 사용자가 먼저 수정
+        Faq faq = Faq.builder()
+                .title("제목")
+                .content("내용")
+                .build();
+
+        given(faqRepository.updateByIdAndVersion(any(), eq(1L), any()))
+                .willReturn(0);
+        given(faqRepository.existsById(anyInt()))
+                .willReturn(true);
+
+//        2) 테스트 실행 + 3) 결과 검증
+        assertThatThrownBy(() -> faqService.update(1, faq, 1L))
+                .isInstanceOf(OptimisticLockingFailureException.class);
+    }
+
+    @DisplayName("patch() : 서비스 부분 수정 함수 ")
+    @Test
+    void patch() {
+//        1) 기댓값 설정
+        Map<String, Object> patch = new HashMap<>();
+        patch.put("title", "제목2");
+
+        given(patchUpdateRepository.patch(eq(Faq.class), eq("no"), eq(1), eq(patch), any(), any()))
+                .willReturn(1);
+
+//        2) 테스트 실행
+        boolean bSuccessed = faqService.patch(1, patch, null);
+
+//        3) 결과 검증
+        assertThat(bSuccessed).isEqualTo(true);
+    }
+}
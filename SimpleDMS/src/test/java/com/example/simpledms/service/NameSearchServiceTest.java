@@ -0,0 +1,223 @@
+package com.example.simpledms.service;
+
+import com.example.simpledms.model.Emp;
+import com.example.simpledms.repository.BatchLookupRepository;
+import com.example.simpledms.repository.CursorStreamRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * packageName    : com.example.simpledms.service
+ * fileName       : NameSearchServiceTest
+ * author         : ds
+ * date           : 2026-10-18
+ * description    : 사원명/부서명 검색 색인(trigram) 서비스 테스트
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 2026-10-18        ds       최초 생성
+ */
+@ExtendWith(MockitoExtension.class)
+class NameSearchServiceTest {
+
+    @Mock
+    CursorStreamRepository cursorStreamRepository;
+
+    @Mock
+    BatchLookupRepository batchLookupRepository;
+
+    @InjectMocks
+    NameSearchService nameSearchService;
+
+//    가짜 사원 테이블 ( 사원번호 -> 사원 )
+    private final Map<Integer, Emp> table = new TreeMap<>();
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() throws Exception {
+        String[] names = {"SMITH", "ALLEN", "WARD", "JONES", "MARTIN", "BLAKE", "CLARK", "SCOTT"};
+        int[] enos = {7369, 7499, 7521, 7566, 7654, 7698, 7782, 7788};
+        for (int i = 0; i < names.length; i++) {
+            table.put(enos[i], Emp.builder().eno(enos[i]).ename(names[i]).build());
+        }
+
+//        사원 테이블만 데이터가 있음 ( 부서는 0 건 )
+        willAnswer(invocation -> {
+            if (invocation.getArgument(0) != Emp.class) {
+                return 0L;
+            }
+            Consumer<Emp> action = invocation.getArgument(2);
+            table.values().forEach(action);
+            return (long) table.size();
+        }).given(cursorStreamRepository).forEach(any(Class.class), anyString(), any(Consumer.class));
+
+        willAnswer(invocation -> {
+            Map<Integer, Emp> found = new LinkedHashMap<>();
+            for (Integer eno : (List<Integer>) invocation.getArgument(3)) {
+                if (table.containsKey(eno)) {
+                    found.put(eno, table.get(eno));
+                }
+            }
+            return found;
+        }).given(batchLookupRepository).findAllByIds(any(Class.class), anyString(), any(), anyList());
+
+        nameSearchService.init();
+        nameSearchService.onReady();
+        awaitReady();
+    }
+
+    @AfterEach
+    void tearDown() {
+        nameSearchService.shutdown();
+    }
+
+    @DisplayName("search() : 이름에 검색어가 들어있는 사원을 키셋 페이징으로 조회")
+    @Test
+    void search() {
+        assertThat(enos(nameSearchService.search(Emp.class, "AR", null, 2, false))).containsExactly(7521, 7654);
+        assertThat(enos(nameSearchService.search(Emp.class, "AR", 7654, 2, false))).containsExactly(7782);
+        assertThat(enos(nameSearchService.search(Emp.class, "AR", null, 2, true))).containsExactly(7782, 7654);
+
+//        trigram 교집합 + 글자 순서 확인
+        assertThat(enos(nameSearchService.search(Emp.class, "MARTIN", null, 10, false))).containsExactly(7654);
+        assertThat(enos(nameSearchService.search(Emp.class, "TINMAR", null, 10, false))).isEmpty();
+//        like 와 같이 대소문자 구분
+        assertThat(enos(nameSearchService.search(Emp.class, "smith", null, 10, false))).isEmpty();
+//        1글자 검색어는 색인 사용 안 함 ( like 검색 )
+        assertThat(nameSearchService.search(Emp.class, "S", null, 10, false)).isEmpty();
+    }
+
+    @DisplayName("onEntityChange() : 수정/삭제된 사원만 다시 색인, 일괄 변경이면 다시 만들 때까지 like 검색")
+    @Test
+    void onEntityChange() throws Exception {
+//        수정 : 앞 번호가 "AR" 목록 중간에 추가됨
+        table.put(7369, Emp.builder().eno(7369).ename("SMARTY").build());
+        nameSearchService.onEntityChange(EntityChangeEvent.of(Emp.class, EntityChangeEvent.Type.UPDATE, 7369));
+        assertThat(enos(nameSearchService.search(Emp.class, "AR", null, 10, false))).containsExactly(7369, 7521, 7654, 7782);
+        assertThat(enos(nameSearchService.search(Emp.class, "SMITH", null, 10, false))).isEmpty();
+
+//        삭제
+        table.remove(7521);
+        nameSearchService.onEntityChange(EntityChangeEvent.of(Emp.class, EntityChangeEvent.Type.DELETE, 7521));
+        assertThat(enos(nameSearchService.search(Emp.class, "AR", null, 10, false))).containsExactly(7369, 7654, 7782);
+
+//        일괄 삭제 : 다시 만들어질 때까지 색인 사용 안 함
+        table.remove(7654);
+        nameSearchService.onEntityChange(EntityChangeEvent.of(Emp.class, EntityChangeEvent.Type.DELETE));
+        awaitReady();
+        assertThat(enos(nameSearchService.search(Emp.class, "AR", null, 10, false))).containsExactly(7369, 7782);
+    }
+
+    @DisplayName("onEntityChange() : 사원명을 수정하지 않은 일괄 수정은 다시 만들지 않음")
+    @Test
+    void onEntityChangeWithoutName() throws Exception {
+//        급여 일괄 인상 : 색인 그대로 사용
+        nameSearchService.onEntityChange(EntityChangeEvent.bulk(Emp.class, EntityChangeEvent.Type.UPDATE, "salary"));
+        assertThat(enos(nameSearchService.search(Emp.class, "AR", null, 10, false))).containsExactly(7521, 7654, 7782);
+
+//        속성 목록이 없는 일괄 수정 : 다시 만들 때까지 like 검색
+        nameSearchService.onEntityChange(EntityChangeEvent.bulk(Emp.class, EntityChangeEvent.Type.UPDATE));
+        awaitReady();
+
+//        사원 테이블 전체 읽기 : 서버 시작 1번 + 속성 목록 없는 일괄 수정 1번
+        verify(cursorStreamRepository, times(2)).forEach(eq(Emp.class), anyString(), any(Consumer.class));
+    }
+
+    @DisplayName("suggest() : 앞글자로 시작하는 사원명을 빈도(같은 이름 수) 순으로 조회")
+    @Test
+    void suggest() {
+        table.put(7900, Emp.builder().eno(7900).ename("SCOTT").build());
+        nameSearchService.onEntityChange(EntityChangeEvent.of(Emp.class, EntityChangeEvent.Type.CREATE, 7900));
+
+//        SCOTT 2명 > SMITH 1명
+        assertThat(nameSearchService.suggest(Emp.class, "S", null)).containsExactly("SCOTT", "SMITH");
+        assertThat(nameSearchService.suggest(Emp.class, "S", 1)).containsExactly("SCOTT");
+        assertThat(nameSearchService.suggest(Emp.class, "X", null)).isEmpty();
+
+//        삭제하면 빈도가 줄고, 0 이 되면 목록에서 빠짐
+        table.remove(7788);
+        table.remove(7900);
+        nameSearchService.onEntityChange(EntityChangeEvent.of(Emp.class, EntityChangeEvent.Type.DELETE, 7788, 7900));
+        assertThat(nameSearchService.suggest(Emp.class, "S", null)).containsExactly("SMITH");
+    }
+
+    @DisplayName("suggest() : 색인을 만들기 전에는 빈 목록")
+    @Test
+    void suggestNotReady() {
+        table.put(7900, Emp.builder().eno(7900).ename("SCOTT").build());
+        nameSearchService.onEntityChange(EntityChangeEvent.of(Emp.class, EntityChangeEvent.Type.CREATE, 7900));
+        assertThat(nameSearchService.suggest(Emp.class, "S", null)).containsExactly("SCOTT", "SMITH");
+
+//        서버 시작 직후 ( 첫 색인 생성 전 )
+        nameSearchService.shutdown();
+        nameSearchService.init();
+        assertThat(nameSearchService.suggest(Emp.class, "S", null)).isEmpty();
+    }
+
+    @DisplayName("fuzzy() : 오타가 있는 사원명도 편집 거리 가까운 순으로 조회")
+    @Test
+    void fuzzy() {
+        table.put(7934, Emp.builder().eno(7934).ename("MILLER").build());
+        table.put(7935, Emp.builder().eno(7935).ename("MILNER").build());
+        nameSearchService.onEntityChange(EntityChangeEvent.of(Emp.class, EntityChangeEvent.Type.CREATE, 7934, 7935));
+
+//        순서 바뀜 / 글자 빠짐 = 편집 거리 1, 대소문자 구분 없음
+        assertThat(enos(nameSearchService.fuzzy(Emp.class, "SMTIH", 0, 10))).containsExactly(7369);
+        assertThat(enos(nameSearchService.fuzzy(Emp.class, "wrad", 0, 10))).containsExactly(7521);
+//        MILLER, MILNER 모두 거리 1 -> 같은 거리면 이름 순
+        assertThat(enos(nameSearchService.fuzzy(Emp.class, "MILER", 0, 10))).containsExactly(7934, 7935);
+        assertThat(enos(nameSearchService.fuzzy(Emp.class, "MILER", 1, 10))).containsExactly(7935);
+        assertThat(enos(nameSearchService.fuzzy(Emp.class, "ZZZZZ", 0, 10))).isEmpty();
+
+//        이름이 바뀌면 예전 이름으로는 찾지 않음
+        table.put(7369, Emp.builder().eno(7369).ename("SMYTHE").build());
+        nameSearchService.onEntityChange(EntityChangeEvent.of(Emp.class, EntityChangeEvent.Type.UPDATE, 7369));
+        assertThat(enos(nameSearchService.fuzzy(Emp.class, "SMTIH", 0, 10))).isEmpty();
+        assertThat(enos(nameSearchService.fuzzy(Emp.class, "SMYTH", 0, 10))).containsExactly(7369);
+    }
+
+    private static List<Integer> enos(Optional<List<Emp>> result) {
+        return result.map(list -> {
+            List<Integer> enos = new ArrayList<>();
+            list.forEach(emp -> enos.add(emp.getEno()));
+            return enos;
+        }).orElse(null);
+    }
+
+//    별도 스레드의 색인 생성이 끝날 때까지 기다림
+    @SuppressWarnings("unchecked")
+    private void awaitReady() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (System.currentTimeMillis() < deadline) {
+            Map<String, Object> emp = (Map<String, Object>) nameSearchService.getStats().get("Emp");
+            Map<String, Object> dept = (Map<String, Object>) nameSearchService.getStats().get("Dept");
+            if ((boolean) emp.get("ready") && (boolean) dept.get("ready")) {
+                return;
+            }
+            Thread.sleep(5);
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package com.example.simpledms.service;
+
+import com.example.simpledms.model.Dept;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * packageName    : com.example.simpledms.service
+ * fileName       : ResponseCacheServiceTest
+ * author         : ds
+ * date           : 2026-10-18
+ * description    : 조회 응답(JSON) 캐시 서비스 테스트
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 2026-10-18        ds       최초 생성
+ */
+class ResponseCacheServiceTest {
+
+    private ResponseCacheService responseCacheService;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+//    조회 함수(loader) 실행 횟수
+    private final AtomicInteger loadCount = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        responseCacheService = new ResponseCacheService();
+        responseCacheService.objectMapper = objectMapper;
+        responseCacheService.enabled = true;
+        responseCacheService.maxBytes = 1024 * 1024;
+        responseCacheService.ttlSeconds = 60;
+        responseCacheService.gzipMinBytes = 256;
+        responseCacheService.maxStaleSeconds = 60;
+        responseCacheService.refreshInitialMs = 60000; // 테스트 중에는 백그라운드 재조회가 실행되지 않게
+        responseCacheService.refreshMaxMs = 60000;
+        responseCacheService.dbCircuitBreaker = new DbCircuitBreaker();
+        responseCacheService.init();
+    }
+
+//    부서 count 건을 조회하는 가짜 조회 함수
+    private Supplier<ResponseEntity<Object>> loader(int count) {
+        return () -> {
+            loadCount.incrementAndGet();
+            List<Dept> list = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                list.add(Dept.builder().dno(10 * (i + 1)).dname("SALES" + i).loc("SEOUL").build());
+            }
+            return new ResponseEntity<>(list, HttpStatus.OK);
+        };
+    }
+
+    @DisplayName("getOrLoad() : 같은 url 두번째 조회는 캐시된 JSON byte[] 전송 ")
+    @Test
+    void getOrLoadHit() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/dept");
+        request.setQueryString("size=10");
+
+        ResponseEntity<Object> first = responseCacheService.getOrLoad(Dept.class, request, loader(2));
+        ResponseEntity<Object> second = responseCacheService.getOrLoad(Dept.class, request, loader(2));
+
+        assertThat(loadCount.get()).isEqualTo(1);
+        assertThat((byte[]) second.getBody()).isEqualTo((byte[]) first.getBody());
+        assertThat(objectMapper.readTree((byte[]) second.getBody()).get(0).get("dname").asText()).isEqualTo("SALES0");
+    }
+
+    @DisplayName("getOrLoad() : Accept-Encoding: gzip 이면 미리 압축된 본문 전송 ")
+    @Test
+    void getOrLoadGzip() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/dept");
+        request.addHeader(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate");
+
+        ResponseEntity<Object> response = responseCacheService.getOrLoad(Dept.class, request, loader(20));
+
+        assertThat(response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream((byte[]) response.getBody()))) {
+            assertThat(objectMapper.readTree(in).size()).isEqualTo(20);
+        }
+    }
+
+    @DisplayName("onEntityChange() : 데이터가 바뀌면 해당 엔티티 캐시 삭제 ")
+    @Test
+    void onEntityChange() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/dept/10");
+
+        responseCacheService.getOrLoad(Dept.class, request, loader(1));
+        responseCacheService.onEntityChange(EntityChangeEvent.of(Dept.class, EntityChangeEvent.Type.UPDATE, 10));
+        responseCacheService.getOrLoad(Dept.class, request, loader(1));
+
+        assertThat(loadCount.get()).isEqualTo(2);
+    }
+
+    @DisplayName("getOrLoad() : 200 OK 가 아닌 응답은 저장하지 않음 ")
+    @Test
+    void getOrLoadNoContent() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/dept/99");
+        Supplier<ResponseEntity<Object>> noContent = () -> {
+            loadCount.incrementAndGet();
+            return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+        };
+
+        responseCacheService.getOrLoad(Dept.class, request, noContent);
+        ResponseEntity<Object> response = responseCacheService.getOrLoad(Dept.class, request, noContent);
+
+        assertThat(loadCount.get()).isEqualTo(2);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NO_CONTENT);
+    }
+
+    @DisplayName("getOrLoad() : 조회가 5xx 로 실패하면 마지막 정상 응답을 Warning/Age 헤더와 함께 전송 ")
+    @Test
+    void getOrLoadStale() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/dept/10");
+        Supplier<ResponseEntity<Object>> failure = () -> {
+            loadCount.incrementAndGet();
+            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+        };
+
+        responseCacheService.getOrLoad(Dept.class, request, loader(1));
+//        데이터 변경으로 캐시가 삭제된 후 DB 장애
+        responseCacheService.onEntityChange(EntityChangeEvent.of(Dept.class, EntityChangeEvent.Type.UPDATE, 10));
+        ResponseEntity<Object> stale = responseCacheService.getOrLoad(Dept.class, request, failure);
+
+        assertThat(stale.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(stale.getHeaders().getFirst(HttpHeaders.WARNING)).isEqualTo(ResponseCacheService.STALE_WARNING);
+        assertThat(stale.getHeaders().getFirst(HttpHeaders.AGE)).isNotNull();
+        assertThat(stale.getHeaders().getETag()).isNull();
+        assertThat(objectMapper.readTree((byte[]) stale.getBody()).get(0).get("dname").asText()).isEqualTo("SALES0");
+
+//        백그라운드 재조회 중에는 DB 를 기다리지 않고 바로 마지막 정상 응답 전송
+        responseCacheService.getOrLoad(Dept.class, request, failure);
+        assertThat(loadCount.get()).isEqualTo(2);
+        assertThat(responseCacheService.getStats().get("stale")).isEqualTo(2L);
+    }
+
+    @DisplayName("refresh() : 백그라운드 재조회가 성공하면 다시 캐시된 정상 응답 전송 ")
+    @Test
+    void refresh() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/dept/10");
+
+        responseCacheService.getOrLoad(Dept.class, request, loader(1));
+        responseCacheService.onEntityChange(EntityChangeEvent.of(Dept.class, EntityChangeEvent.Type.UPDATE, 10));
+        responseCacheService.getOrLoad(Dept.class, request, () -> new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR));
+
+        responseCacheService.refresh(Dept.class, ResponseCacheService.keyOf(Dept.class, request), loader(2), 1);
+        ResponseEntity<Object> response = responseCacheService.getOrLoad(Dept.class, request, loader(2));
+
+        assertThat(response.getHeaders().containsKey(HttpHeaders.WARNING)).isFalse();
+        assertThat(responseCacheService.getStats().get("refreshing")).isEqualTo(0);
+        assertThat(loadCount.get()).isEqualTo(2);
+    }
+
+    @DisplayName("getOrLoad() : 마지막 정상 응답이 없고 DB 조회 차단 중이면 503 + Retry-After ")
+    @Test
+    void getOrLoadCircuitOpen() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/dept/20");
+        DbCircuitBreaker dbCircuitBreaker = responseCacheService.dbCircuitBreaker;
+        dbCircuitBreaker.failureThreshold = 1;
+        try {
+            dbCircuitBreaker.call(() -> {
+                throw new QueryTimeoutException("timeout");
+            });
+        } catch (QueryTimeoutException e) {
+//            차단기 열림
+        }
+
+        ResponseEntity<Object> response = responseCacheService.getOrLoad(Dept.class, request,
+                () -> new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isNotNull();
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.simpledms.service;
+
+import com.example.simpledms.model.Dept;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * packageName    : com.example.simpledms.service
+ * fileName       : SingleFlightServiceTest
+ * author         : ds
+ * date           : 2026-10-18
+ * description    : 같은 조회 동시 요청 합치기(single-flight) 서비스 테스트
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 2026-10-18        ds       최초 생성
+ */
+class SingleFlightServiceTest {
+
+    private final SingleFlightService singleFlightService = new SingleFlightService();
+
+//    조회 함수(loader) 실행 횟수
+    private final AtomicInteger loadCount = new AtomicInteger();
+
+    @DisplayName("execute() : 같은 키 조회가 동시에 들어오면 loader 는 1번만 실행되고 결과를 같이 받음")
+    @Test
+    void executeCoalesce() throws Exception {
+        int threads = 8;
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                results.add(executor.submit(() -> singleFlightService.execute(Dept.class, "findById:10", () -> {
+                    loadCount.incrementAndGet();
+                    try {
+                        release.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return "SALES";
+                })));
+            }
+
+//            나머지 요청이 모두 합쳐질 때까지 기다린 후 조회 완료
+            long deadline = System.currentTimeMillis() + 5000;
+            while ((long) singleFlightService.getStats().get("coalesced") < threads - 1
+                    && System.currentTimeMillis() < deadline) {
+                Thread.sleep(5);
+            }
+            release.countDown();
+
+            for (Future<String> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("SALES");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(loadCount.get()).isEqualTo(1);
+        assertThat(singleFlightService.getStats().get("executed")).isEqualTo(1L);
+        assertThat(singleFlightService.getStats().get("coalesced")).isEqualTo((long) threads - 1);
+        assertThat(singleFlightService.getStats().get("inFlight")).isEqualTo(0);
+    }
+
+    @DisplayName("execute() : 조회가 끝나면 합치지 않음 ( 캐시가 아님 )")
+    @Test
+    void executeSequential() {
+        singleFlightService.execute(Dept.class, "findById:10", () -> loadCount.incrementAndGet());
+        singleFlightService.execute(Dept.class, "findById:10", () -> loadCount.incrementAndGet());
+
+        assertThat(loadCount.get()).isEqualTo(2);
+    }
+
+    @DisplayName("execute() : loader 예외는 원래 예외 그대로 전달")
+    @Test
+    void executeException() {
+        assertThatThrownBy(() -> singleFlightService.execute(Dept.class, "findById:10", () -> {
+            throw new IllegalStateException("db error");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(singleFlightService.getStats().get("inFlight")).isEqualTo(0);
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.simpledms.service;
+
+import com.example.simpledms.model.Dept;
+import com.example.simpledms.model.Faq;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+
+/**
+ * packageName    : com.example.simpledms.service
+ * fileName       : TableVersionServiceTest
+ * author         : ds
+ * date           : 2026-10-18
+ * description    : 테이블 버전 + 조건부 조회 서비스 테스트
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 2026-10-18        ds       최초 생성
+ */
+class TableVersionServiceTest {
+
+    private final TableVersionService tableVersionService = new TableVersionService();
+
+//    조회 함수(loader) 실행 횟수
+    private final AtomicInteger loadCount = new AtomicInteger();
+
+//    데이터 버전 3 인 부서를 조회하는 가짜 조회 함수
+    private final Supplier<ResponseEntity<Object>> loader = () -> {
+        loadCount.incrementAndGet();
+        HttpHeaders headers = new HttpHeaders();
+        headers.setETag("\"3\"");
+        return new ResponseEntity<>(Dept.builder().dno(10).build(), headers, HttpStatus.OK);
+    };
+
+    @DisplayName("conditionalGet() : ETag 는 테이블버전.데이터버전, 같은 ETag 로 다시 조회하면 304 ")
+    @Test
+    void conditionalGet() {
+        long version = tableVersionService.version(Dept.class);
+
+        ResponseEntity<Object> first = tableVersionService.conditionalGet(Dept.class,
+                new MockHttpServletRequest("GET", "/api/dept/10"), loader);
+        assertThat(first.getHeaders().getETag()).isEqualTo("\"" + version + ".3\"");
+
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/dept/10");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, first.getHeaders().getETag());
+        ResponseEntity<Object> second = tableVersionService.conditionalGet(Dept.class, request, loader);
+
+        assertThat(second.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(loadCount.get()).isEqualTo(1);
+    }
+
+    @DisplayName("onEntityChange() : 데이터가 바뀌면 그 테이블 버전만 증가 -> 예전 ETag 는 다시 조회 ")
+    @Test
+    void onEntityChange() {
+        long deptVersion = tableVersionService.version(Dept.class);
+        long faqVersion = tableVersionService.version(Faq.class);
+
+        tableVersionService.onEntityChange(EntityChangeEvent.of(Dept.class, EntityChangeEvent.Type.UPDATE, 10));
+
+        assertThat(tableVersionService.version(Dept.class)).isEqualTo(deptVersion + 1);
+        assertThat(tableVersionService.version(Faq.class)).isEqualTo(faqVersion);
+
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/dept/10");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"" + deptVersion + ".3\"");
+        ResponseEntity<Object> response = tableVersionService.conditionalGet(Dept.class, request, loader);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(loadCount.get()).isEqualTo(1);
+    }
+
+    @DisplayName("conditionalGet() : If-Modified-Since 이후 변경이 없으면 304 ")
+    @Test
+    void conditionalGetIfModifiedSince() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/dept");
+        request.addHeader(HttpHeaders.IF_MODIFIED_SINCE, System.currentTimeMillis() + 1000);
+
+        ResponseEntity<Object> response = tableVersionService.conditionalGet(Dept.class, request, loader);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(loadCount.get()).isEqualTo(0);
+    }
+}